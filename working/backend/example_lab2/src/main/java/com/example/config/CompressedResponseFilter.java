@@ -0,0 +1,143 @@
+package com.example.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzips large GET responses and keeps the compressed bytes of recently
+ * served versions, so a hot page is neither reserialized nor
+ * recompressed while it is unchanged.
+ *
+ * <p>Bodies below the size threshold are sent as is: for small payloads
+ * gzip costs more CPU than it saves on the wire. Only responses carrying
+ * an ETag are cached, keyed by that ETag and the request's
+ * {@code Accept} header. Before running the handler the filter asks
+ * {@code currentEtag} for the ETag the handler would produce and serves
+ * the cached bytes if it has them.</p>
+ */
+public class CompressedResponseFilter extends OncePerRequestFilter {
+
+    private static final String GZIP = "gzip";
+    private static final int CACHE_SIZE = 32;
+
+    private final Supplier<String> currentEtag;
+    private final int minSize;
+    private final Map<String, CompressedBody> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CompressedBody> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    /**
+     * @param currentEtag returns the ETag of the current representation
+     * @param minSize     smallest body, in bytes, that gets compressed
+     */
+    public CompressedResponseFilter(Supplier<String> currentEtag, int minSize) {
+        this.currentEtag = currentEtag;
+        this.minSize = minSize;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || !acceptsGzip(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        String etag = currentEtag.get();
+        CompressedBody cached = lookup(cacheKey(etag, request));
+        if (cached != null && !matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            cached.vary().forEach(value -> response.addHeader(HttpHeaders.VARY, value));
+            write(response, cached);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK
+                || wrapper.getContentSize() < minSize
+                || wrapper.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        String responseEtag = wrapper.getHeader(HttpHeaders.ETAG);
+        List<String> vary = wrapper.getHeaders(HttpHeaders.VARY).stream()
+            .filter(value -> !HttpHeaders.ACCEPT_ENCODING.equals(value))
+            .toList();
+        CompressedBody body = new CompressedBody(responseEtag, wrapper.getContentType(), vary,
+            gzip(wrapper.getContentAsByteArray()));
+        if (responseEtag != null) {
+            store(cacheKey(responseEtag, request), body);
+        }
+        write(response, body);
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains(GZIP);
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        return ifNoneMatch.trim().equals("*") || ifNoneMatch.contains(opaque);
+    }
+
+    private static String cacheKey(String etag, HttpServletRequest request) {
+        return etag + '|' + Objects.toString(request.getHeader(HttpHeaders.ACCEPT), "");
+    }
+
+    private CompressedBody lookup(String key) {
+        synchronized (cache) {
+            return cache.get(key);
+        }
+    }
+
+    private void store(String key, CompressedBody body) {
+        synchronized (cache) {
+            cache.put(key, body);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(body);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void write(HttpServletResponse response, CompressedBody body) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        if (body.etag() != null) {
+            response.setHeader(HttpHeaders.ETAG, body.etag());
+        }
+        response.setContentType(body.contentType());
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        response.setContentLength(body.gzipped().length);
+        response.getOutputStream().write(body.gzipped());
+    }
+
+    private record CompressedBody(String etag, String contentType, List<String> vary, byte[] gzipped) {}
+}
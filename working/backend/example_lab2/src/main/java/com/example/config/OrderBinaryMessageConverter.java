@@ -0,0 +1,84 @@
+package com.example.config;
+
+import com.example.dto.OrderBinaryCodec;
+import com.example.dto.OrderResponse;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Writes {@link OrderResponse} bodies in the compact binary format when a
+ * client sends {@code Accept: application/x-orders-binary}.
+ *
+ * <p>JSON stays the default: {@link WebConfig} registers this converter
+ * after the Jackson converter, so it is only chosen for clients that ask
+ * for the binary media type explicitly.</p>
+ */
+public class OrderBinaryMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType ORDERS_BINARY = MediaType.parseMediaType(OrderBinaryCodec.MEDIA_TYPE);
+
+    public OrderBinaryMessageConverter() {
+        super(ORDERS_BINARY);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return OrderResponse.class.isAssignableFrom(clazz) || List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        if (OrderResponse.class.isAssignableFrom(clazz)) {
+            return true;
+        }
+        if (type == null || !List.class.isAssignableFrom(clazz)) {
+            return false;
+        }
+        Class<?> element = ResolvableType.forType(type).asCollection().resolveGeneric(0);
+        return element != null && OrderResponse.class.isAssignableFrom(element);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        try {
+            if (body instanceof OrderResponse order) {
+                OrderBinaryCodec.encode(order, outputMessage.getBody());
+            } else {
+                OrderBinaryCodec.encode((List<OrderResponse>) body, outputMessage.getBody());
+            }
+        } catch (ArithmeticException e) {
+            throw new HttpMessageNotWritableException("Price cannot be encoded in cents", e);
+        }
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("Binary order requests are not supported", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+            throws HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("Binary order requests are not supported", inputMessage);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.config;
+
+import com.example.controller.OrderController;
+import com.example.service.OrderService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Spring MVC configuration for the orders API.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    /**
+     * Appends the binary order converter after the defaults so JSON
+     * remains the response format for {@code Accept: *}{@code /*}.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new OrderBinaryMessageConverter());
+    }
+
+    /**
+     * Compresses and caches large order list responses. The threshold
+     * defaults to 2 KiB; below that gzip is not worth the CPU.
+     */
+    @Bean
+    public FilterRegistrationBean<CompressedResponseFilter> orderListCompressionFilter(
+            OrderService orderService,
+            @Value("${orders.compression.min-size:2048}") int minSize) {
+        CompressedResponseFilter filter = new CompressedResponseFilter(
+            () -> OrderController.listEtag(orderService.findOrdersVersion()), minSize);
+        FilterRegistrationBean<CompressedResponseFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/orders");
+        return registration;
+    }
+}
@@ -2,16 +2,23 @@ package com.example.controller;
 
 import com.example.dto.OrderResponse;
 import com.example.service.OrderService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
 /**
  * REST controller for Order operations.
  * Part of the Order Management domain vertical slice.
+ *
+ * <p>Responses are JSON by default. Internal consumers can send
+ * {@code Accept: application/x-orders-binary} to get the compact
+ * binary encoding instead.</p>
  */
 @RestController
 @RequestMapping("/api/orders")
@@ -26,11 +33,42 @@ public class OrderController {
     /**
      * Returns all orders (stub with sample data).
      *
+     * <p>The response carries a weak ETag derived from the order list
+     * version; a matching {@code If-None-Match} gets 304 Not Modified
+     * before any orders are loaded.</p>
+     *
+     * @param request the current request, for conditional GET handling
      * @return List of OrderResponse DTOs
      */
     @GetMapping
-    public ResponseEntity<List<OrderResponse>> getAllOrders() {
+    public ResponseEntity<List<OrderResponse>> getAllOrders(WebRequest request) {
+        String etag = listEtag(orderService.findOrdersVersion());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         List<OrderResponse> orders = orderService.findAllOrders();
-        return ResponseEntity.ok(orders);
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .varyBy(HttpHeaders.ACCEPT)
+            .body(orders);
+    }
+
+    /**
+     * Returns a single order.
+     *
+     * @param id the order ID
+     * @return the OrderResponse DTO
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<OrderResponse> getOrder(@PathVariable Long id) {
+        return ResponseEntity.ok(orderService.findOrderById(id));
+    }
+
+    /**
+     * Builds the ETag for a given order list version. The tag is weak
+     * because the JSON and binary representations share it.
+     */
+    public static String listEtag(long version) {
+        return "W/\"orders-" + version + "\"";
     }
 }
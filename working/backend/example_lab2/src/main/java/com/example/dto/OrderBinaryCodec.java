@@ -0,0 +1,249 @@
+package com.example.dto;
+
+import com.example.dto.OrderResponse.ItemResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of {@link OrderResponse} lists for
+ * service-to-service calls.
+ *
+ * <p>Layout (all integers are unsigned LEB128 varints, signed values
+ * zig-zag encoded first):
+ * <pre>
+ * message   = 'O' 'R' version:byte count:varint order*
+ * order     = presence:byte id:zvarint? customerName:str? itemCount:varint item* status:str? total:price?
+ * item      = presence:byte id:zvarint? name:str? quantity:zvarint price:price?
+ * str       = 0 length:varint utf8-bytes     (new entry in the string table)
+ *           | ref:varint                     (ref-1 indexes the string table)
+ * price     = zvarint of the amount in cents
+ * </pre>
+ * Repeated strings such as statuses and item names are sent once per
+ * message. Prices are scaled integers (cents) and must have at most two
+ * decimal places.</p>
+ */
+public final class OrderBinaryCodec {
+
+    public static final String MEDIA_TYPE = "application/x-orders-binary";
+
+    private static final byte MAGIC_0 = 'O';
+    private static final byte MAGIC_1 = 'R';
+    private static final byte VERSION = 1;
+    private static final int PRICE_SCALE = 2;
+
+    private static final int HAS_ID = 1;
+    private static final int HAS_NAME = 1 << 1;
+    private static final int HAS_ITEMS = 1 << 2;
+    private static final int HAS_STATUS = 1 << 3;
+    private static final int HAS_TOTAL = 1 << 4;
+
+    private OrderBinaryCodec() {
+    }
+
+    /**
+     * Encodes a list of orders.
+     *
+     * @throws ArithmeticException if a price has more than two decimal places
+     */
+    public static void encode(List<OrderResponse> orders, OutputStream target) throws IOException {
+        Writer out = new Writer();
+        out.raw(MAGIC_0);
+        out.raw(MAGIC_1);
+        out.raw(VERSION);
+        out.varint(orders.size());
+        for (OrderResponse order : orders) {
+            int presence = (order.id() != null ? HAS_ID : 0)
+                | (order.customerName() != null ? HAS_NAME : 0)
+                | (order.items() != null ? HAS_ITEMS : 0)
+                | (order.status() != null ? HAS_STATUS : 0)
+                | (order.total() != null ? HAS_TOTAL : 0);
+            out.raw(presence);
+            if (order.id() != null) {
+                out.zigzag(order.id());
+            }
+            if (order.customerName() != null) {
+                out.string(order.customerName());
+            }
+            if (order.items() != null) {
+                out.varint(order.items().size());
+                for (ItemResponse item : order.items()) {
+                    encodeItem(item, out);
+                }
+            }
+            if (order.status() != null) {
+                out.string(order.status());
+            }
+            if (order.total() != null) {
+                out.price(order.total());
+            }
+        }
+        out.writeTo(target);
+    }
+
+    /**
+     * Encodes a single order as a one-element message.
+     */
+    public static void encode(OrderResponse order, OutputStream target) throws IOException {
+        encode(List.of(order), target);
+    }
+
+    /**
+     * Decodes a message produced by {@link #encode(List, OutputStream)}.
+     */
+    public static List<OrderResponse> decode(InputStream source) throws IOException {
+        Reader in = new Reader(source.readAllBytes());
+        if (in.raw() != MAGIC_0 || in.raw() != MAGIC_1 || in.raw() != VERSION) {
+            throw new IOException("Not an orders binary message");
+        }
+        int count = (int) in.varint();
+        List<OrderResponse> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int presence = in.raw();
+            Long id = (presence & HAS_ID) != 0 ? in.zigzag() : null;
+            String customerName = (presence & HAS_NAME) != 0 ? in.string() : null;
+            List<ItemResponse> items = null;
+            if ((presence & HAS_ITEMS) != 0) {
+                int itemCount = (int) in.varint();
+                items = new ArrayList<>(itemCount);
+                for (int j = 0; j < itemCount; j++) {
+                    items.add(decodeItem(in));
+                }
+            }
+            String status = (presence & HAS_STATUS) != 0 ? in.string() : null;
+            BigDecimal total = (presence & HAS_TOTAL) != 0 ? in.price() : null;
+            orders.add(new OrderResponse(id, customerName, items, status, total));
+        }
+        return orders;
+    }
+
+    private static void encodeItem(ItemResponse item, Writer out) {
+        int presence = (item.id() != null ? HAS_ID : 0)
+            | (item.name() != null ? HAS_NAME : 0)
+            | (item.price() != null ? HAS_TOTAL : 0);
+        out.raw(presence);
+        if (item.id() != null) {
+            out.zigzag(item.id());
+        }
+        if (item.name() != null) {
+            out.string(item.name());
+        }
+        out.zigzag(item.quantity());
+        if (item.price() != null) {
+            out.price(item.price());
+        }
+    }
+
+    private static ItemResponse decodeItem(Reader in) throws IOException {
+        int presence = in.raw();
+        Long id = (presence & HAS_ID) != 0 ? in.zigzag() : null;
+        String name = (presence & HAS_NAME) != 0 ? in.string() : null;
+        int quantity = (int) in.zigzag();
+        BigDecimal price = (presence & HAS_TOTAL) != 0 ? in.price() : null;
+        return new ItemResponse(id, name, quantity, price);
+    }
+
+    private static final class Writer {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        void raw(int b) {
+            bytes.write(b);
+        }
+
+        void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                bytes.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            bytes.write((int) value);
+        }
+
+        void zigzag(long value) {
+            varint((value << 1) ^ (value >> 63));
+        }
+
+        void string(String value) {
+            Integer ref = strings.get(value);
+            if (ref != null) {
+                varint(ref);
+                return;
+            }
+            strings.put(value, strings.size() + 1);
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            varint(0);
+            varint(utf8.length);
+            bytes.write(utf8, 0, utf8.length);
+        }
+
+        void price(BigDecimal value) {
+            zigzag(value.setScale(PRICE_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+        }
+
+        void writeTo(OutputStream target) throws IOException {
+            bytes.writeTo(target);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private final List<String> strings = new ArrayList<>();
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        int raw() throws IOException {
+            if (position >= data.length) {
+                throw new IOException("Truncated orders binary message");
+            }
+            return data[position++] & 0xFF;
+        }
+
+        long varint() throws IOException {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = raw();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        long zigzag() throws IOException {
+            long raw = varint();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        String string() throws IOException {
+            int ref = (int) varint();
+            if (ref > 0) {
+                return strings.get(ref - 1);
+            }
+            int length = (int) varint();
+            if (position + length > data.length) {
+                throw new IOException("Truncated orders binary message");
+            }
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            strings.add(value);
+            return value;
+        }
+
+        BigDecimal price() throws IOException {
+            return BigDecimal.valueOf(zigzag(), PRICE_SCALE);
+        }
+    }
+}
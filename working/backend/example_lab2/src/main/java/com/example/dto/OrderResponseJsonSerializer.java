@@ -0,0 +1,120 @@
+package com.example.dto;
+
+import com.example.dto.OrderResponse.ItemResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hand-written Jackson serializer for {@link OrderResponse}.
+ *
+ * <p>Writes fields in record declaration order straight to the generator,
+ * with field names and frequently repeated values (statuses, item names)
+ * pre-encoded as {@link SerializedString}s. The output is byte-for-byte
+ * identical to Jackson's default record serialization.</p>
+ */
+@JsonComponent
+public class OrderResponseJsonSerializer extends StdSerializer<OrderResponse> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString CUSTOMER_NAME = new SerializedString("customerName");
+    private static final SerializedString ITEMS = new SerializedString("items");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString TOTAL = new SerializedString("total");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString QUANTITY = new SerializedString("quantity");
+    private static final SerializedString PRICE = new SerializedString("price");
+
+    /** Upper bound on cached values, so unbounded item names cannot grow the cache forever. */
+    private static final int MAX_CACHED_VALUES = 10_000;
+
+    private final Map<String, SerializedString> valueCache = new ConcurrentHashMap<>();
+
+    public OrderResponseJsonSerializer() {
+        super(OrderResponse.class);
+    }
+
+    @Override
+    public void serialize(OrderResponse order, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(order);
+        writeLong(gen, ID, order.id());
+        writeString(gen, CUSTOMER_NAME, order.customerName(), false);
+        gen.writeFieldName(ITEMS);
+        writeItems(gen, order.items());
+        writeString(gen, STATUS, order.status(), true);
+        writeDecimal(gen, TOTAL, order.total());
+        gen.writeEndObject();
+    }
+
+    private void writeItems(JsonGenerator gen, List<ItemResponse> items) throws IOException {
+        if (items == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray(items, items.size());
+        for (ItemResponse item : items) {
+            if (item == null) {
+                gen.writeNull();
+                continue;
+            }
+            gen.writeStartObject(item);
+            writeLong(gen, ID, item.id());
+            writeString(gen, NAME, item.name(), true);
+            gen.writeFieldName(QUANTITY);
+            gen.writeNumber(item.quantity());
+            writeDecimal(gen, PRICE, item.price());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeLong(JsonGenerator gen, SerializableString field, Long value) throws IOException {
+        gen.writeFieldName(field);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    private static void writeDecimal(JsonGenerator gen, SerializableString field, BigDecimal value) throws IOException {
+        gen.writeFieldName(field);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    private void writeString(JsonGenerator gen, SerializableString field, String value, boolean cacheable)
+            throws IOException {
+        gen.writeFieldName(field);
+        if (value == null) {
+            gen.writeNull();
+        } else if (cacheable) {
+            gen.writeString(cached(value));
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    private SerializableString cached(String value) {
+        SerializedString encoded = valueCache.get(value);
+        if (encoded == null) {
+            encoded = new SerializedString(value);
+            if (valueCache.size() < MAX_CACHED_VALUES) {
+                valueCache.putIfAbsent(value, encoded);
+            }
+        }
+        return encoded;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.exception;
+
+/**
+ * Base for exceptions that report an expected outcome, such as a missing
+ * resource, rather than a fault.
+ *
+ * <p>They are thrown often and always end as an error response, so no
+ * stack trace or suppressed exceptions are captured. Set
+ * {@code -Dorders.exceptions.capture-stack=true} to get stack traces back
+ * while debugging.</p>
+ */
+public abstract class ExpectedException extends RuntimeException {
+
+    static final boolean CAPTURE_STACK = Boolean.getBoolean("orders.exceptions.capture-stack");
+
+    /**
+     * @param message the message, or null if the subclass formats it lazily
+     *                in {@link #getMessage()}
+     */
+    protected ExpectedException(String message) {
+        super(message, null, false, CAPTURE_STACK);
+    }
+}
@@ -1,58 +1,48 @@
 package com.example.exception;
 
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
-import java.net.URI;
-
 /**
  * Global exception handler returning RFC 7807 Problem Details.
  * Ensures consistent error response format across all endpoints.
+ *
+ * <p>Bodies are written from pre-serialized {@link ProblemTemplate}s.</p>
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final ProblemTemplate BAD_REQUEST = ProblemTemplate.of(
+        HttpStatus.BAD_REQUEST, "Bad Request", "https://api.example.com/problems/bad-request");
+    private static final ProblemTemplate NOT_FOUND = ProblemTemplate.of(
+        HttpStatus.NOT_FOUND, "Resource Not Found", "https://api.example.com/problems/not-found");
+    private static final ProblemTemplate INTERNAL_ERROR = ProblemTemplate.of(
+        HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", "https://api.example.com/problems/internal-error");
+
     /**
      * Handles IllegalArgumentException with 400 Bad Request.
      */
     @ExceptionHandler(IllegalArgumentException.class)
-    public ProblemDetail handleIllegalArgument(IllegalArgumentException ex) {
-        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
-            HttpStatus.BAD_REQUEST,
-            ex.getMessage()
-        );
-        problem.setTitle("Bad Request");
-        problem.setType(URI.create("https://api.example.com/problems/bad-request"));
-        return problem;
+    public ResponseEntity<byte[]> handleIllegalArgument(IllegalArgumentException ex, HttpServletRequest request) {
+        return BAD_REQUEST.response(ex.getMessage(), request);
     }
 
     /**
      * Handles resource not found scenarios.
      */
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ProblemDetail handleNotFound(ResourceNotFoundException ex) {
-        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
-            HttpStatus.NOT_FOUND,
-            ex.getMessage()
-        );
-        problem.setTitle("Resource Not Found");
-        problem.setType(URI.create("https://api.example.com/problems/not-found"));
-        return problem;
+    public ResponseEntity<byte[]> handleNotFound(ResourceNotFoundException ex, HttpServletRequest request) {
+        return NOT_FOUND.response(ex.getMessage(), request);
     }
 
     /**
      * Catch-all for unexpected exceptions.
      */
     @ExceptionHandler(Exception.class)
-    public ProblemDetail handleGeneric(Exception ex) {
-        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
-            HttpStatus.INTERNAL_SERVER_ERROR,
-            "An unexpected error occurred"
-        );
-        problem.setTitle("Internal Server Error");
-        problem.setType(URI.create("https://api.example.com/problems/internal-error"));
-        return problem;
+    public ResponseEntity<byte[]> handleGeneric(Exception ex, HttpServletRequest request) {
+        return INTERNAL_ERROR.response("An unexpected error occurred", request);
     }
 }
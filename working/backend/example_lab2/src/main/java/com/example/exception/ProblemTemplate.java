@@ -0,0 +1,82 @@
+package com.example.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Pre-serialized Problem Details response for one problem type.
+ *
+ * <p>Type, title and status never change for a problem type, so they are
+ * encoded to JSON once, when the template is created, and shared by every
+ * response. An error response only escapes its detail and request path;
+ * no {@code ProblemDetail} is built or serialized per error. The body has
+ * the same fields, in the same order, as a serialized
+ * {@code ProblemDetail}.</p>
+ */
+final class ProblemTemplate {
+
+    private static final JsonStringEncoder JSON = JsonStringEncoder.getInstance();
+    private static final byte[] DETAIL_FIELD = ",\"detail\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] INSTANCE_FIELD = ",\"instance\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] END_STRING = "\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte END_OBJECT = '}';
+
+    private final HttpStatus status;
+    private final byte[] head;
+
+    private ProblemTemplate(HttpStatus status, byte[] head) {
+        this.status = status;
+        this.head = head;
+    }
+
+    static ProblemTemplate of(HttpStatus status, String title, String type) {
+        String head = "{\"type\":\"" + new String(JSON.quoteAsString(type))
+            + "\",\"title\":\"" + new String(JSON.quoteAsString(title))
+            + "\",\"status\":" + status.value();
+        return new ProblemTemplate(status, head.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Builds the response for one occurrence of this problem.
+     */
+    ResponseEntity<byte[]> response(String detail, HttpServletRequest request) {
+        return ResponseEntity.status(status)
+            .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+            .body(body(detail, request.getRequestURI()));
+    }
+
+    /**
+     * Builds the response for one occurrence of a transient problem,
+     * telling the client when to retry.
+     */
+    ResponseEntity<byte[]> response(String detail, HttpServletRequest request, String retryAfterSeconds) {
+        return ResponseEntity.status(status)
+            .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+            .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+            .body(body(detail, request.getRequestURI()));
+    }
+
+    byte[] body(String detail, String instance) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(head.length + 128);
+        out.writeBytes(head);
+        if (detail != null) {
+            out.writeBytes(DETAIL_FIELD);
+            out.writeBytes(JSON.quoteAsUTF8(detail));
+            out.writeBytes(END_STRING);
+        }
+        if (instance != null) {
+            out.writeBytes(INSTANCE_FIELD);
+            out.writeBytes(JSON.quoteAsUTF8(instance));
+            out.writeBytes(END_STRING);
+        }
+        out.write(END_OBJECT);
+        return out.toByteArray();
+    }
+}
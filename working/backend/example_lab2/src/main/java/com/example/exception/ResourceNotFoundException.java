@@ -2,14 +2,34 @@ package com.example.exception;
 
 /**
  * Exception thrown when a requested resource is not found.
+ *
+ * <p>Crawlers and scanners probe missing IDs constantly, so the message
+ * is only formatted when it is actually read.</p>
  */
-public class ResourceNotFoundException extends RuntimeException {
-    
+public class ResourceNotFoundException extends ExpectedException {
+
+    private final String resourceType;
+    private final Long id;
+    private String message;
+
     public ResourceNotFoundException(String message) {
         super(message);
+        this.resourceType = null;
+        this.id = null;
+        this.message = message;
     }
     
     public ResourceNotFoundException(String resourceType, Long id) {
-        super(String.format("%s with id %d not found", resourceType, id));
+        super(null);
+        this.resourceType = resourceType;
+        this.id = id;
+    }
+
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            message = resourceType + " with id " + id + " not found";
+        }
+        return message;
     }
 }
@@ -2,6 +2,7 @@ package com.example.service;
 
 import com.example.dto.OrderResponse;
 import com.example.dto.OrderResponse.ItemResponse;
+import com.example.exception.ResourceNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -14,6 +15,8 @@ import java.util.List;
 @Service
 public class OrderService {
 
+    private static final long STUB_DATA_VERSION = 1L;
+
     /**
      * Returns all orders (stub implementation with sample data).
      *
@@ -43,4 +46,33 @@ public class OrderService {
             )
         );
     }
+
+    /**
+     * Returns a single order by ID (stub implementation).
+     *
+     * @param id the order ID
+     * @return the matching order
+     * @throws ResourceNotFoundException if no order has that ID
+     */
+    public OrderResponse findOrderById(Long id) {
+        return findAllOrders().stream()
+            .filter(order -> order.id().equals(id))
+            .findFirst()
+            .orElseThrow(() -> new ResourceNotFoundException("Order not found: " + id));
+    }
+
+    /**
+     * Returns the version of the current order list. It changes whenever
+     * any order in the list changes and is cheap to read, so callers can
+     * answer conditional GETs without loading or serializing the orders.
+     *
+     * <p>The stub data never changes, so this is a constant. A database
+     * backed implementation would derive it from {@code max(updated_at)}
+     * and the row count.</p>
+     *
+     * @return the order list version
+     */
+    public long findOrdersVersion() {
+        return STUB_DATA_VERSION;
+    }
 }
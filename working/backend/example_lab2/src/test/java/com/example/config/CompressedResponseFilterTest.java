@@ -0,0 +1,113 @@
+package com.example.config;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for CompressedResponseFilter.
+ */
+class CompressedResponseFilterTest {
+
+    private static final String ETAG = "W/\"orders-7\"";
+    private static final String BODY = "[" + "{\"id\":1,\"status\":\"PENDING\"},".repeat(200) + "{}]";
+
+    private final AtomicInteger handlerCalls = new AtomicInteger();
+    private final CompressedResponseFilter filter = new CompressedResponseFilter(() -> ETAG, 1024);
+
+    @Test
+    void largeResponse_IsGzipped() throws Exception {
+        MockHttpServletResponse response = perform(request());
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        assertThat(response.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getContentAsByteArray().length).isLessThan(BODY.length() / 4);
+        assertThat(gunzip(response.getContentAsByteArray())).isEqualTo(BODY);
+    }
+
+    @Test
+    void repeatedRequest_IsServedFromCacheWithoutCallingHandler() throws Exception {
+        perform(request());
+        MockHttpServletResponse response = perform(request());
+
+        assertThat(handlerCalls).hasValue(1);
+        assertThat(response.getContentType()).isEqualTo("application/json");
+        assertThat(response.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+        assertThat(gunzip(response.getContentAsByteArray())).isEqualTo(BODY);
+    }
+
+    @Test
+    void matchingIfNoneMatch_IsPassedToHandler() throws Exception {
+        perform(request());
+        MockHttpServletRequest conditional = request();
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+
+        perform(conditional);
+
+        assertThat(handlerCalls).hasValue(2);
+    }
+
+    @Test
+    void clientWithoutGzip_GetsUncompressedBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+
+        MockHttpServletResponse response = perform(request);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(BODY);
+    }
+
+    @Test
+    void smallResponse_IsNotCompressed() throws Exception {
+        CompressedResponseFilter strict = new CompressedResponseFilter(() -> ETAG, BODY.length() + 1);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        strict.doFilter(request(), response, new MockFilterChain(new OrdersServlet()));
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(BODY);
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new OrdersServlet()));
+        return response;
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+        return request;
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private class OrdersServlet extends HttpServlet {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            handlerCalls.incrementAndGet();
+            response.setHeader(HttpHeaders.ETAG, ETAG);
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            response.setContentType("application/json");
+            response.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.example.controller;
 
+import com.example.dto.OrderBinaryCodec;
+import com.example.dto.OrderResponse;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -49,4 +56,75 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$[0].items[0].quantity").exists())
                 .andExpect(jsonPath("$[0].items[0].price").exists());
     }
+
+    @Test
+    void getOrder_ReturnsSingleOrder() throws Exception {
+        mockMvc.perform(get("/api/orders/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.customerName").value("Alice"));
+    }
+
+    @Test
+    void getOrder_Returns404ProblemDetailWhenMissing() throws Exception {
+        mockMvc.perform(get("/api/orders/999"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.detail").value("Order not found: 999"));
+    }
+
+    @Test
+    void getAllOrders_DefaultsToJsonForWildcardAccept() throws Exception {
+        mockMvc.perform(get("/api/orders").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void getAllOrders_ReturnsBinaryWhenRequested() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/orders").accept(OrderBinaryCodec.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(OrderBinaryCodec.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<OrderResponse> orders = OrderBinaryCodec.decode(new ByteArrayInputStream(body));
+        assertThat(orders).hasSize(2);
+        assertThat(orders.get(0).customerName()).isEqualTo("Alice");
+        assertThat(orders.get(0).items()).hasSize(2);
+    }
+
+    @Test
+    void getOrder_ReturnsBinaryWhenRequested() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/orders/2").accept(OrderBinaryCodec.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<OrderResponse> orders = OrderBinaryCodec.decode(new ByteArrayInputStream(body));
+        assertThat(orders).singleElement()
+                .extracting(OrderResponse::status)
+                .isEqualTo("COMPLETED");
+    }
+
+    @Test
+    void getAllOrders_ReturnsWeakETag() throws Exception {
+        mockMvc.perform(get("/api/orders"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"orders-")));
+    }
+
+    @Test
+    void getAllOrders_Returns304WhenETagMatches() throws Exception {
+        String etag = mockMvc.perform(get("/api/orders"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/orders").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void getAllOrders_Returns200WhenETagIsStale() throws Exception {
+        mockMvc.perform(get("/api/orders").header(HttpHeaders.IF_NONE_MATCH, "W/\"orders-0\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(greaterThan(0))));
+    }
 }
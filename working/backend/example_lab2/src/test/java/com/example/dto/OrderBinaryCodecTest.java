@@ -0,0 +1,80 @@
+package com.example.dto;
+
+import com.example.dto.OrderResponse.ItemResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for OrderBinaryCodec.
+ */
+class OrderBinaryCodecTest {
+
+    private static final List<String> STATUSES = List.of("PENDING", "PROCESSING", "COMPLETED", "CANCELLED");
+    private static final List<String> ITEM_NAMES = List.of("Widget", "Gadget", "Gizmo", "Thingamajig");
+
+    @Test
+    void roundTrip_PreservesAllFields() throws Exception {
+        List<OrderResponse> orders = List.of(
+            new OrderResponse(1L, "Alice", List.of(
+                new ItemResponse(101L, "Widget", 2, new BigDecimal("10.00")),
+                new ItemResponse(102L, "Gadget", 1, new BigDecimal("25.00"))
+            ), "PENDING", new BigDecimal("45.00")),
+            new OrderResponse(null, null, null, null, null),
+            new OrderResponse(-3L, "Zoë", List.of(new ItemResponse(null, null, -1, null)), "PENDING", new BigDecimal("-1.50"))
+        );
+
+        assertThat(roundTrip(orders)).isEqualTo(orders);
+    }
+
+    @Test
+    void encode_RejectsPricesWithSubCentPrecision() {
+        List<OrderResponse> orders = List.of(
+            new OrderResponse(1L, "Alice", List.of(), "PENDING", new BigDecimal("1.005")));
+
+        assertThatThrownBy(() -> OrderBinaryCodec.encode(orders, new ByteArrayOutputStream()))
+            .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void encode_IsMuchSmallerThanJsonFor10kOrders() throws Exception {
+        List<OrderResponse> orders = sampleOrders(10_000);
+
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        OrderBinaryCodec.encode(orders, binary);
+        byte[] json = new ObjectMapper().writeValueAsBytes(orders);
+
+        assertThat(binary.size()).isLessThan(json.length / 4);
+        assertThat(roundTrip(orders)).isEqualTo(orders);
+    }
+
+    private static List<OrderResponse> roundTrip(List<OrderResponse> orders) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        OrderBinaryCodec.encode(orders, out);
+        return OrderBinaryCodec.decode(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static List<OrderResponse> sampleOrders(int count) {
+        List<OrderResponse> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<ItemResponse> items = new ArrayList<>();
+            BigDecimal total = BigDecimal.ZERO.setScale(2);
+            for (int j = 0; j <= i % 3; j++) {
+                BigDecimal price = BigDecimal.valueOf(499 + 500L * j, 2);
+                items.add(new ItemResponse((long) j + 1, ITEM_NAMES.get(j), 1, price));
+                total = total.add(price);
+            }
+            orders.add(new OrderResponse((long) i + 1, "Customer " + (i % 500), items,
+                STATUSES.get(i % STATUSES.size()), total));
+        }
+        return orders;
+    }
+}
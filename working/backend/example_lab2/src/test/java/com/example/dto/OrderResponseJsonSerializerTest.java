@@ -0,0 +1,83 @@
+package com.example.dto;
+
+import com.example.dto.OrderResponse.ItemResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Wire-compatibility tests for OrderResponseJsonSerializer.
+ * Every case must serialize to exactly the bytes Jackson's default produces.
+ */
+class OrderResponseJsonSerializerTest {
+
+    private ObjectMapper defaultMapper;
+    private ObjectMapper tunedMapper;
+
+    @BeforeEach
+    void setUp() {
+        defaultMapper = new ObjectMapper();
+        tunedMapper = new ObjectMapper().registerModule(
+            new SimpleModule().addSerializer(OrderResponse.class, new OrderResponseJsonSerializer()));
+    }
+
+    @Test
+    void serialize_MatchesDefaultForSampleOrders() throws Exception {
+        List<OrderResponse> orders = List.of(
+            new OrderResponse(1L, "Alice", List.of(
+                new ItemResponse(101L, "Widget", 2, new BigDecimal("10.00")),
+                new ItemResponse(102L, "Gadget", 1, new BigDecimal("25.00"))
+            ), "PENDING", new BigDecimal("45.00")),
+            new OrderResponse(2L, "Bob", List.of(
+                new ItemResponse(103L, "Sprocket", 5, new BigDecimal("5.00"))
+            ), "COMPLETED", new BigDecimal("25.00"))
+        );
+
+        assertSameBytes(orders);
+    }
+
+    @Test
+    void serialize_MatchesDefaultForNullFields() throws Exception {
+        assertSameBytes(new OrderResponse(null, null, null, null, null));
+        assertSameBytes(new OrderResponse(3L, "Carol", Arrays.asList(
+            new ItemResponse(null, null, 0, null), null), "PENDING", BigDecimal.ZERO));
+    }
+
+    @Test
+    void serialize_MatchesDefaultForEscapedAndUnicodeStrings() throws Exception {
+        assertSameBytes(new OrderResponse(4L, "Zoë \"Z\" O'Brien\n\t\\", List.of(
+            new ItemResponse(1L, "Café ☃ </script>", 1, new BigDecimal("9.99"))
+        ), "PENDING", new BigDecimal("9.99")));
+    }
+
+    @Test
+    void serialize_MatchesDefaultForDecimalScales() throws Exception {
+        assertSameBytes(new OrderResponse(5L, "Dave", List.of(
+            new ItemResponse(1L, "Bulk", 1000, new BigDecimal("1E+3")),
+            new ItemResponse(2L, "Tiny", 1, new BigDecimal("0.0000001"))
+        ), "PENDING", new BigDecimal("1000.0000001")));
+    }
+
+    @Test
+    void serialize_ReusesCachedValuesAcrossCalls() throws Exception {
+        OrderResponse order = new OrderResponse(6L, "Eve", List.of(
+            new ItemResponse(1L, "Widget", 1, new BigDecimal("9.99"))), "PENDING", new BigDecimal("9.99"));
+
+        byte[] first = tunedMapper.writeValueAsBytes(order);
+        byte[] second = tunedMapper.writeValueAsBytes(order);
+
+        assertThat(second).isEqualTo(first);
+    }
+
+    private void assertSameBytes(Object value) throws Exception {
+        assertThat(new String(tunedMapper.writeValueAsBytes(value)))
+            .isEqualTo(new String(defaultMapper.writeValueAsBytes(value)));
+    }
+}
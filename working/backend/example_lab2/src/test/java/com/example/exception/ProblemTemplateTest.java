@@ -0,0 +1,49 @@
+package com.example.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Wire-compatibility tests for ProblemTemplate.
+ * Every body must parse to the same JSON as the equivalent serialized ProblemDetail.
+ */
+class ProblemTemplateTest {
+
+    private static final String TYPE = "https://api.example.com/problems/not-found";
+    private static final String TITLE = "Resource Not Found";
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ProblemTemplate template = ProblemTemplate.of(HttpStatus.NOT_FOUND, TITLE, TYPE);
+
+    @Test
+    void body_MatchesSerializedProblemDetail() throws Exception {
+        assertSameJson("Order not found: 999", "/api/orders/999");
+    }
+
+    @Test
+    void body_MatchesSerializedProblemDetailForEscapedStrings() throws Exception {
+        assertSameJson("Zoë \"Z\" O'Brien\n\t\\ </script>", "/api/orders/%22x%22");
+    }
+
+    @Test
+    void body_OmitsMissingDetail() throws Exception {
+        assertSameJson(null, "/api/orders/1");
+    }
+
+    private void assertSameJson(String detail, String instance) throws Exception {
+        ProblemDetail expected = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, detail);
+        expected.setTitle(TITLE);
+        expected.setType(URI.create(TYPE));
+        expected.setInstance(URI.create(instance));
+
+        assertThat(mapper.readTree(template.body(detail, instance)))
+            .isEqualTo(mapper.readTree(mapper.writeValueAsBytes(expected)));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for ResourceNotFoundException and the ExpectedException base.
+ */
+class ResourceNotFoundExceptionTest {
+
+    @Test
+    void constructor_CapturesNoStackTraceByDefault() {
+        ResourceNotFoundException ex = new ResourceNotFoundException("Order", 999L);
+
+        assertThat(ExpectedException.CAPTURE_STACK).isFalse();
+        assertThat(ex.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    void getMessage_FormatsFromTypeAndId() {
+        assertThat(new ResourceNotFoundException("Order", 999L).getMessage())
+            .isEqualTo("Order with id 999 not found");
+    }
+
+    @Test
+    void getMessage_ReturnsExplicitMessage() {
+        assertThat(new ResourceNotFoundException("Order not found: 999").getMessage())
+            .isEqualTo("Order not found: 999");
+    }
+
+    @Test
+    void addSuppressed_IsIgnored() {
+        ResourceNotFoundException ex = new ResourceNotFoundException("Order", 1L);
+
+        ex.addSuppressed(new IllegalStateException("ignored"));
+
+        assertThat(ex.getSuppressed()).isEmpty();
+    }
+}
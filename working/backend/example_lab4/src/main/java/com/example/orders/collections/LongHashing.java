@@ -0,0 +1,16 @@
+package com.example.orders.collections;
+
+/**
+ * Slot hashing shared by the maps. Sequential IDs would otherwise fill
+ * neighbouring slots and turn linear probing into long runs.
+ */
+final class LongHashing {
+
+    private LongHashing() {
+    }
+
+    static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.orders.collections;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from {@code long} to non-negative {@code int},
+ * such as order ID to row number. Entries cannot be removed.
+ *
+ * <p>{@link Long#MIN_VALUE} marks empty slots, so that key is kept in
+ * separate fields.</p>
+ */
+public final class LongIntMap {
+
+    /** Returned by {@link #get} for an absent key. */
+    public static final int MISSING = -1;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private boolean hasMinKey;
+    private int minKeyValue;
+
+    /**
+     * @param expected number of entries to size for before the first resize
+     */
+    public LongIntMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, expected * 2) - 1) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Returns the value for {@code key}, or {@link #MISSING}.
+     */
+    public int get(long key) {
+        if (key == EMPTY) {
+            return hasMinKey ? minKeyValue : MISSING;
+        }
+        int mask = keys.length - 1;
+        for (int slot = LongHashing.hash(key) & mask; ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            if (keys[slot] == EMPTY) {
+                return MISSING;
+            }
+        }
+    }
+
+    public void put(long key, int value) {
+        if (key == EMPTY) {
+            hasMinKey = true;
+            minKeyValue = value;
+            return;
+        }
+        if ((size + 1) * 2 > keys.length) {
+            resize();
+        }
+        int mask = keys.length - 1;
+        int slot = LongHashing.hash(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == EMPTY) {
+            size++;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+    }
+
+    public int size() {
+        return hasMinKey ? size + 1 : size;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.orders.collections;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * Open-addressing hash map from {@code long} to non-null objects, such
+ * as item ID to the orders containing it. Entries cannot be removed.
+ *
+ * <p>{@link Long#MIN_VALUE} marks empty slots, so that key's value is
+ * kept in a separate field.</p>
+ *
+ * @param <V> value type
+ */
+public final class LongObjectMap<V> {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private V minKeyValue;
+
+    public LongObjectMap() {
+        this(16);
+    }
+
+    /**
+     * @param expected number of entries to size for before the first resize
+     */
+    public LongObjectMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, expected * 2) - 1) << 1;
+        keys = new long[capacity];
+        values = new Object[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Returns the value for {@code key}, or null.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == EMPTY) {
+            return minKeyValue;
+        }
+        int mask = keys.length - 1;
+        for (int slot = LongHashing.hash(key) & mask; ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+            if (keys[slot] == EMPTY) {
+                return null;
+            }
+        }
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Stores {@code value} under {@code key}.
+     *
+     * @return the previous value, or null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        if (key == EMPTY) {
+            V previous = minKeyValue;
+            minKeyValue = value;
+            return previous;
+        }
+        if ((size + 1) * 2 > keys.length) {
+            resize();
+        }
+        int slot = slotFor(key);
+        V previous = (V) values[slot];
+        if (keys[slot] == EMPTY) {
+            size++;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        return previous;
+    }
+
+    /**
+     * Returns the value for {@code key}, first storing the result of
+     * {@code create} if there is none.
+     */
+    public V computeIfAbsent(long key, LongFunction<V> create) {
+        V value = get(key);
+        if (value == null) {
+            value = create.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    public int size() {
+        return minKeyValue != null ? size + 1 : size;
+    }
+
+    /**
+     * Passes every value to {@code action}, in no particular order.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<V> action) {
+        if (minKeyValue != null) {
+            action.accept(minKeyValue);
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                action.accept((V) values[slot]);
+            }
+        }
+    }
+
+    private int slotFor(long key) {
+        int mask = keys.length - 1;
+        int slot = LongHashing.hash(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new Object[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slotFor(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
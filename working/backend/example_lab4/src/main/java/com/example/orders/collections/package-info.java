@@ -0,0 +1,12 @@
+/**
+ * Primitive-keyed collections for the in-memory order views.
+ *
+ * <p>A million orders held in {@code HashMap<Long, ...>} or
+ * {@code List<Long>} cost a boxed {@code Long} and a map node per entry,
+ * several times the size of the IDs themselves. These classes store
+ * {@code long} keys and values in plain arrays with open addressing
+ * instead. They are not thread-safe; owners guard them with their own
+ * locks. {@link Long#MIN_VALUE} is reserved as the empty-slot marker and
+ * cannot be used as a key.</p>
+ */
+package com.example.orders.collections;
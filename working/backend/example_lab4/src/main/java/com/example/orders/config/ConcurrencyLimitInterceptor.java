@@ -0,0 +1,61 @@
+package com.example.orders.config;
+
+import com.example.orders.exceptions.ServiceOverloadedException;
+import com.example.orders.services.AdaptiveConcurrencyLimiter;
+import com.example.orders.services.AdaptiveConcurrencyLimiter.Priority;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Admits order API requests through the {@link AdaptiveConcurrencyLimiter}.
+ *
+ * <p>GET and HEAD requests are reads; everything else, including status
+ * updates, is a write. A rejected request fails with
+ * {@link ServiceOverloadedException} before the handler runs, so it does
+ * not touch the database. Only successful requests feed their latency
+ * into the limit.</p>
+ */
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String OVERLOADED_MSG = "Service is at capacity, retry later";
+    private static final String PRIORITY_ATTR = ConcurrencyLimitInterceptor.class.getName() + ".priority";
+    private static final String START_ATTR = ConcurrencyLimitInterceptor.class.getName() + ".start";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Priority priority = isRead(request) ? Priority.READ : Priority.WRITE;
+        if (!limiter.tryAcquire(priority)) {
+            throw new ServiceOverloadedException(OVERLOADED_MSG);
+        }
+        request.setAttribute(PRIORITY_ATTR, priority);
+        request.setAttribute(START_ATTR, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Priority priority = (Priority) request.getAttribute(PRIORITY_ATTR);
+        if (priority == null) {
+            return;
+        }
+        request.removeAttribute(PRIORITY_ATTR);
+        if (ex == null && response.getStatus() < 500) {
+            limiter.release(priority, System.nanoTime() - (Long) request.getAttribute(START_ATTR));
+        } else {
+            limiter.releaseWithoutSample(priority);
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.orders.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Database access configuration for the orders API.
+ */
+@Configuration
+public class DatabaseConfig {
+
+    /**
+     * Wraps the application's DataSource so request deadlines become
+     * statement timeouts (see {@link DeadlineAwareDataSource}). Static so
+     * it is registered before the DataSource is created.
+     */
+    @Bean
+    static BeanPostProcessor deadlineAwareDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DeadlineAwareDataSource)) {
+                    return new DeadlineAwareDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Makes every {@code JdbcTemplate} report cancelled statements as
+     * query timeouts (see {@link QueryCanceledExceptionTranslator}).
+     */
+    @Bean
+    static BeanPostProcessor queryCanceledTranslatorPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof JdbcTemplate jdbcTemplate
+                        && !(jdbcTemplate.getExceptionTranslator() instanceof QueryCanceledExceptionTranslator)) {
+                    jdbcTemplate.setExceptionTranslator(
+                        new QueryCanceledExceptionTranslator(jdbcTemplate.getExceptionTranslator()));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.orders.config;
+
+import com.example.orders.services.RequestDeadline;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Passes the {@link RequestDeadline} down to JDBC.
+ *
+ * <p>A connection is only handed out while the deadline has time left,
+ * and every statement created on it gets the remaining time, rounded up
+ * to whole seconds, as its query timeout. The driver then cancels a
+ * statement the caller has stopped waiting for, which frees the request
+ * thread and returns the connection to the pool. This covers JPA and
+ * {@code JdbcTemplate} alike, since both create statements here.
+ * Threads without a deadline get plain connections.</p>
+ */
+public class DeadlineAwareDataSource extends DelegatingDataSource {
+
+    public DeadlineAwareDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        RequestDeadline.check();
+        return withDeadline(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        RequestDeadline.check();
+        return withDeadline(super.getConnection(username, password));
+    }
+
+    private static Connection withDeadline(Connection connection) throws SQLException {
+        if (!RequestDeadline.isSet()) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(DeadlineAwareDataSource.class.getClassLoader(),
+            new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (result instanceof Statement statement) {
+                    applyDeadline(statement);
+                }
+                return result;
+            });
+    }
+
+    private static void applyDeadline(Statement statement) throws SQLException {
+        long remaining = RequestDeadline.remainingNanos();
+        if (remaining == Long.MAX_VALUE) {
+            return;
+        }
+        if (remaining <= 0) {
+            statement.close();
+            RequestDeadline.check();
+        }
+        long seconds = (remaining + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+        statement.setQueryTimeout((int) Math.min(seconds, Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.orders.config;
+
+import com.example.orders.services.RequestDeadline;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Starts the {@link RequestDeadline} of each API request.
+ *
+ * <p>The budget is {@code orders.deadline.timeout}, or less if the
+ * client sends a shorter one in milliseconds in
+ * {@value #REQUEST_TIMEOUT_HEADER}, for example a gateway that will give
+ * up sooner. Clients cannot ask for more.</p>
+ */
+public class DeadlineInterceptor implements HandlerInterceptor {
+
+    static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+    private final Duration timeout;
+
+    public DeadlineInterceptor(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestDeadline.start(budget(request.getHeader(REQUEST_TIMEOUT_HEADER)));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RequestDeadline.clear();
+    }
+
+    Duration budget(String requestedMillis) {
+        if (requestedMillis == null) {
+            return timeout;
+        }
+        try {
+            long millis = Long.parseLong(requestedMillis.trim());
+            return millis > 0 && millis < timeout.toMillis() ? Duration.ofMillis(millis) : timeout;
+        } catch (NumberFormatException e) {
+            return timeout;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.orders.config;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+
+import java.sql.SQLException;
+
+/**
+ * Translates cancelled statements into {@link QueryTimeoutException}.
+ *
+ * <p>PostgreSQL reports a statement cancelled by its query timeout with
+ * SQLState {@value #QUERY_CANCELED}, which Spring's default translation
+ * files under {@code DataAccessResourceFailureException} with other
+ * connection faults. Those timeouts are how {@link DeadlineAwareDataSource}
+ * enforces request deadlines, so they are translated here to the type the
+ * API answers with 503 and {@code Retry-After}. Everything else goes to
+ * the default translator.</p>
+ */
+public class QueryCanceledExceptionTranslator implements SQLExceptionTranslator {
+
+    static final String QUERY_CANCELED = "57014";
+
+    private final SQLExceptionTranslator fallback;
+
+    public QueryCanceledExceptionTranslator(SQLExceptionTranslator fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public DataAccessException translate(String task, String sql, SQLException ex) {
+        for (SQLException e = ex; e != null; e = e.getNextException()) {
+            if (QUERY_CANCELED.equals(e.getSQLState())) {
+                return new QueryTimeoutException(task + "; SQL [" + sql + "]; " + ex.getMessage(), ex);
+            }
+        }
+        return fallback.translate(task, sql, ex);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.orders.config;
+
+import com.example.orders.exceptions.RateLimitExceededException;
+import com.example.orders.services.ClientRateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.security.Principal;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Applies {@link ClientRateLimiter} budgets to order API requests.
+ *
+ * <p>Clients are identified by their authenticated principal, or by an
+ * {@code X-API-Key} header holding one of the keys configured in
+ * {@code orders.rate-limit.api-keys}. Anyone else, including a client
+ * sending a key that is not configured, is identified by remote address,
+ * so rotating made-up keys neither earns fresh budgets nor fills the
+ * client table. Behind a proxy the remote address is only the client's
+ * when {@code server.forward-headers-strategy} is set. GET and HEAD
+ * requests draw on the read budget, everything else on the write
+ * budget. Requests the {@code exempt} predicate accepts, such as the
+ * start-up warm-up's, skip the limiter.</p>
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    static final String API_KEY_HEADER = "X-API-Key";
+
+    private final ClientRateLimiter rateLimiter;
+    private final Set<String> apiKeys;
+    private final Predicate<HttpServletRequest> exempt;
+
+    public RateLimitInterceptor(ClientRateLimiter rateLimiter, Set<String> apiKeys) {
+        this(rateLimiter, apiKeys, request -> false);
+    }
+
+    public RateLimitInterceptor(ClientRateLimiter rateLimiter, Set<String> apiKeys,
+            Predicate<HttpServletRequest> exempt) {
+        this.rateLimiter = rateLimiter;
+        this.apiKeys = Set.copyOf(apiKeys);
+        this.exempt = exempt;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (exempt.test(request)) {
+            return true;
+        }
+        String clientKey = clientKey(request);
+        String method = request.getMethod();
+        boolean allowed = "GET".equals(method) || "HEAD".equals(method)
+            ? rateLimiter.tryRead(clientKey)
+            : rateLimiter.tryWrite(clientKey);
+        if (!allowed) {
+            throw RateLimitExceededException.INSTANCE;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the budget key for a request. The prefixes keep a user name,
+     * an API key and an address that happen to be equal apart.
+     */
+    String clientKey(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "user:" + principal.getName();
+        }
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        if (apiKey != null && apiKeys.contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
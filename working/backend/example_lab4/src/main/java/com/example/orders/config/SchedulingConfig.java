@@ -0,0 +1,30 @@
+package com.example.orders.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Runs the {@code @Scheduled} maintenance tasks: cache invalidation
+ * flush, poll and prune, rate-limiter eviction, partition maintenance,
+ * and the read-model snapshot and load retry.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    /**
+     * Scheduler with enough threads that a slow task, such as a
+     * snapshot write or a read-model load retry, does not delay the
+     * invalidation poll on the others.
+     */
+    @Bean
+    ThreadPoolTaskScheduler taskScheduler(@Value("${orders.scheduling.pool-size:4}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("orders-scheduled-");
+        return scheduler;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.orders.config;
+
+import com.example.orders.services.AdaptiveConcurrencyLimiter;
+import com.example.orders.services.ClientRateLimiter;
+import com.example.orders.services.WarmUpService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Spring MVC configuration for the orders API.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final ClientRateLimiter rateLimiter;
+    private final WarmUpService warmUpService;
+    private final Duration requestTimeout;
+    private final Set<String> apiKeys;
+
+    public WebConfig(
+            AdaptiveConcurrencyLimiter concurrencyLimiter,
+            ClientRateLimiter rateLimiter,
+            WarmUpService warmUpService,
+            @Value("${orders.deadline.timeout:PT5S}") Duration requestTimeout,
+            @Value("${orders.rate-limit.api-keys:}") Set<String> apiKeys) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.rateLimiter = rateLimiter;
+        this.warmUpService = warmUpService;
+        this.requestTimeout = requestTimeout;
+        this.apiKeys = apiKeys;
+    }
+
+    /**
+     * Starts a deadline for every API request, applies per-client rate
+     * limits to the order and search endpoints, then puts order list
+     * reads and order and status writes behind the adaptive concurrency
+     * limit. The deadline starts first so time spent waiting in the
+     * limiters counts against it, and rate limiting runs before the
+     * concurrency limit so a client over its budget never takes a slot.
+     * The start-up warm-up's own requests are not rate limited.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new DeadlineInterceptor(requestTimeout))
+            .addPathPatterns("/api/**");
+        registry.addInterceptor(new RateLimitInterceptor(rateLimiter, apiKeys,
+                request -> warmUpService.isWarmUpToken(request.getHeader(WarmUpService.TOKEN_HEADER))))
+            .addPathPatterns("/api/orders", "/api/orders/**", "/api/customers/*/orders", "/api/search");
+        registry.addInterceptor(new ConcurrencyLimitInterceptor(concurrencyLimiter))
+            .addPathPatterns("/api/orders", "/api/orders/**");
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.orders.controllers;
+
+import com.example.orders.dto.CustomerOrderHistoryResponse;
+import com.example.orders.services.OrderService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for a customer's orders.
+ *
+ * <p>Endpoints:
+ * <ul>
+ *   <li>GET /api/customers/{id}/orders - Order history, newest first, keyset-paginated</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping("/api/customers")
+public class CustomerOrderController {
+
+    private final OrderService orderService;
+
+    public CustomerOrderController(OrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    /**
+     * Returns one page of a customer's order history.
+     *
+     * @param id     the customer ID
+     * @param cursor {@code nextCursor} from the previous page, omitted for the first page
+     * @param limit  page size (at most 200)
+     * @return the page
+     */
+    @GetMapping("/{id}/orders")
+    public ResponseEntity<CustomerOrderHistoryResponse> getOrderHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(orderService.getCustomerOrderHistory(id, cursor, limit));
+    }
+}
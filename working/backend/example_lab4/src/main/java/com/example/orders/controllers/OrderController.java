@@ -0,0 +1,187 @@
+package com.example.orders.controllers;
+
+import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.dto.OrderAcceptedResponse;
+import com.example.orders.dto.OrderFilterResponse;
+import com.example.orders.dto.OrderSummaryView;
+import com.example.orders.exceptions.OrderNotFoundException;
+import com.example.orders.exceptions.ReadModelUnavailableException;
+import com.example.orders.services.OrderFilterIndex;
+import com.example.orders.services.OrderFilterIndex.Criteria;
+import com.example.orders.services.OrderFilterIndex.Matches;
+import com.example.orders.services.OrderIntakeService;
+import com.example.orders.services.OrderIntakeService.Submission;
+import com.example.orders.services.OrderReadModel;
+import com.example.orders.services.RequestDeadline;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * REST controller for Order operations.
+ *
+ * <p>Endpoints:
+ * <ul>
+ *   <li>POST /api/orders - Create an order (write-behind)</li>
+ *   <li>GET /api/orders - List order summaries (in-memory read model)</li>
+ *   <li>GET /api/orders/filter - Count and list orders matching several criteria (bitmap index)</li>
+ *   <li>GET /api/orders/{id}/summary - One order summary (in-memory read model)</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping("/api/orders")
+public class OrderController {
+
+    private static final long COMMIT_WAIT_SECONDS = 5;
+    private static final int MAX_LIST_LIMIT = 500;
+    private static final String ORDER_NOT_FOUND_MSG = "Order not found: ";
+    private static final String READ_MODEL_LOADING_MSG = "Order read model is still loading, retry later";
+    private static final String FILTER_INDEX_LOADING_MSG = "Order filter index is still loading, retry later";
+
+    private final OrderIntakeService orderIntakeService;
+    private final OrderReadModel orderReadModel;
+    private final OrderFilterIndex orderFilterIndex;
+
+    public OrderController(OrderIntakeService orderIntakeService, OrderReadModel orderReadModel,
+            OrderFilterIndex orderFilterIndex) {
+        this.orderIntakeService = orderIntakeService;
+        this.orderReadModel = orderReadModel;
+        this.orderFilterIndex = orderFilterIndex;
+    }
+
+    /**
+     * Accepts a new order.
+     *
+     * <p>By default returns 202 Accepted as soon as the order is queued.
+     * With {@code wait=true} the call blocks until the order is committed
+     * and returns 201 Created, falling back to 202 if the commit takes
+     * longer than {@value #COMMIT_WAIT_SECONDS} seconds or than the request
+     * deadline allows.</p>
+     *
+     * <p>The insert itself runs in a batch on the intake writer thread,
+     * shared with other requests, and is not bound by this request's
+     * deadline: a queued order is committed even if its caller stops
+     * waiting.</p>
+     *
+     * @param request the order to create
+     * @param wait    whether to wait for the durable commit
+     * @return the assigned order ID
+     */
+    @PostMapping
+    public ResponseEntity<OrderAcceptedResponse> createOrder(
+            @Valid @RequestBody CreateOrderRequest request,
+            @RequestParam(defaultValue = "false") boolean wait) throws InterruptedException {
+
+        Submission submission = orderIntakeService.submit(request);
+        URI location = URI.create("/api/orders/" + submission.orderId());
+
+        if (wait) {
+            try {
+                long waitNanos = Math.min(
+                    TimeUnit.SECONDS.toNanos(COMMIT_WAIT_SECONDS), RequestDeadline.remainingNanos());
+                submission.committed().get(waitNanos, TimeUnit.NANOSECONDS);
+                return ResponseEntity.created(location)
+                    .body(new OrderAcceptedResponse(submission.orderId(), true));
+            } catch (TimeoutException e) {
+                // Still queued; fall through to 202 so the client can poll
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException("Order commit failed", cause);
+            }
+        }
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+            .location(location)
+            .body(new OrderAcceptedResponse(submission.orderId(), false));
+    }
+
+    /**
+     * Lists the most recent order summaries, optionally filtered.
+     *
+     * @param status     optional status filter
+     * @param customerId optional customer filter
+     * @param limit      maximum rows (at most {@value #MAX_LIST_LIMIT})
+     * @return matching summaries, newest first
+     */
+    @GetMapping
+    public ResponseEntity<List<OrderSummaryView>> listOrders(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(defaultValue = "50") int limit) {
+        requireReadModel();
+        int capped = Math.max(1, Math.min(limit, MAX_LIST_LIMIT));
+        return ResponseEntity.ok(orderReadModel.find(status, customerId, capped));
+    }
+
+    /**
+     * Counts the orders matching every given filter and returns the
+     * newest of them. Matching is done on order IDs in the bitmap index;
+     * only the returned page is read from the read model.
+     *
+     * @param status     optional status filter
+     * @param customerId optional customer filter
+     * @param from       optional first creation day (UTC, inclusive)
+     * @param to         optional last creation day (UTC, inclusive)
+     * @param itemId     optional filter on an item the order contains
+     * @param limit      maximum rows (at most {@value #MAX_LIST_LIMIT})
+     * @return the total match count and the newest matching summaries
+     */
+    @GetMapping("/filter")
+    public ResponseEntity<OrderFilterResponse> filterOrders(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long itemId,
+            @RequestParam(defaultValue = "50") int limit) {
+        requireReadModel();
+        if (!orderFilterIndex.isReady()) {
+            throw new ReadModelUnavailableException(FILTER_INDEX_LOADING_MSG);
+        }
+        int capped = Math.max(1, Math.min(limit, MAX_LIST_LIMIT));
+        Matches matches = orderFilterIndex.find(new Criteria(status, customerId, from, to, itemId), capped);
+        List<OrderSummaryView> orders = orderReadModel.findByIds(matches.orderIds());
+        return ResponseEntity.ok(new OrderFilterResponse(matches.count(), orders));
+    }
+
+    /**
+     * Returns one order's summary.
+     *
+     * @param id the order ID
+     * @return the summary
+     */
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<OrderSummaryView> getOrderSummary(@PathVariable Long id) {
+        requireReadModel();
+        return orderReadModel.findById(id)
+            .map(ResponseEntity::ok)
+            .orElseThrow(() -> new OrderNotFoundException(ORDER_NOT_FOUND_MSG + id));
+    }
+
+    private void requireReadModel() {
+        if (!orderReadModel.isReady()) {
+            throw new ReadModelUnavailableException(READ_MODEL_LOADING_MSG);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.orders.controllers;
+
+import com.example.orders.dto.SearchResult;
+import com.example.orders.exceptions.ReadModelUnavailableException;
+import com.example.orders.services.SearchIndex;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for type-ahead search.
+ *
+ * <p>Endpoints:
+ * <ul>
+ *   <li>GET /api/search?q= - Customers and items matching the query (in-memory index)</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private static final int MAX_LIMIT = 50;
+    private static final String INDEX_LOADING_MSG = "Search index is still loading, retry later";
+
+    private final SearchIndex searchIndex;
+
+    public SearchController(SearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    /**
+     * Searches customer names and emails and item names. Every word of
+     * the query must start a word of the match, so partial input works.
+     *
+     * @param q     the query
+     * @param limit maximum results (at most {@value #MAX_LIMIT})
+     * @return matches, best first
+     */
+    @GetMapping
+    public ResponseEntity<List<SearchResult>> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (!searchIndex.isReady()) {
+            throw new ReadModelUnavailableException(INDEX_LOADING_MSG);
+        }
+        int capped = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return ResponseEntity.ok(searchIndex.search(q, capped));
+    }
+}
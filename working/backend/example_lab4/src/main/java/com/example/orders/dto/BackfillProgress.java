@@ -0,0 +1,22 @@
+package com.example.orders.dto;
+
+/**
+ * Snapshot of a backfill job's progress.
+ *
+ * @param jobName         the job's name
+ * @param state           RUNNING, COMPLETED or FAILED
+ * @param totalChunks     chunks in the job, including ones skipped on resume
+ * @param completedChunks chunks finished so far
+ * @param rowsProcessed   orders processed in this run
+ * @param rowsPerSecond   throughput of this run
+ * @param throttleMillis  current pause between chunks
+ */
+public record BackfillProgress(
+    String jobName,
+    String state,
+    long totalChunks,
+    long completedChunks,
+    long rowsProcessed,
+    double rowsPerSecond,
+    long throttleMillis
+) {}
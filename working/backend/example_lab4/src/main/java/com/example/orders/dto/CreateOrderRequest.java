@@ -0,0 +1,20 @@
+package com.example.orders.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * Request DTO for POST /api/orders.
+ *
+ * @param customerId the ordering customer (required)
+ * @param itemIds    the ordered item IDs (at least one)
+ */
+public record CreateOrderRequest(
+    @NotNull(message = "Customer ID is required")
+    Long customerId,
+
+    @NotEmpty(message = "At least one item is required")
+    List<@NotNull Long> itemIds
+) {}
@@ -0,0 +1,34 @@
+package com.example.orders.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One page of a customer's order history, newest first.
+ *
+ * <p>The customer is named once for the whole page rather than on every
+ * order.</p>
+ *
+ * @param customerId   the customer
+ * @param customerName the customer's name
+ * @param orders       orders on this page
+ * @param nextCursor   cursor for the next page, or null on the last page
+ */
+public record CustomerOrderHistoryResponse(
+    Long customerId,
+    String customerName,
+    List<OrderEntry> orders,
+    String nextCursor
+) {
+
+    /**
+     * An order in the history, without customer fields.
+     */
+    public record OrderEntry(
+        Long id,
+        String status,
+        Instant createdAt,
+        BigDecimal total
+    ) {}
+}
@@ -0,0 +1,13 @@
+package com.example.orders.dto;
+
+/**
+ * Response DTO returned when an order has been accepted for creation.
+ *
+ * @param orderId   the ID assigned to the new order
+ * @param committed true once the order is durably stored, false if the
+ *                  write is still queued
+ */
+public record OrderAcceptedResponse(
+    Long orderId,
+    boolean committed
+) {}
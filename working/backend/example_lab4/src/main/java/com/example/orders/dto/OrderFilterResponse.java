@@ -0,0 +1,14 @@
+package com.example.orders.dto;
+
+import java.util.List;
+
+/**
+ * One page of orders matching a multi-criteria filter.
+ *
+ * @param matched how many orders match in total
+ * @param orders  the highest-ID matches, up to the requested limit
+ */
+public record OrderFilterResponse(
+    long matched,
+    List<OrderSummaryView> orders
+) {}
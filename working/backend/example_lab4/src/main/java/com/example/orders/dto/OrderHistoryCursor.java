@@ -0,0 +1,46 @@
+package com.example.orders.dto;
+
+import com.example.orders.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a customer's order history: the last
+ * {@code (created_at, id)} pair seen. Sent to clients as an opaque
+ * URL-safe string.
+ *
+ * @param createdAt creation time of the last order on the previous page
+ * @param id        ID of the last order on the previous page
+ */
+public record OrderHistoryCursor(Instant createdAt, long id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public String encode() {
+        return ENCODER.encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a cursor produced by {@link #encode()}.
+     *
+     * @throws InvalidCursorException if the value is not a valid cursor
+     */
+    public static OrderHistoryCursor decode(String value) {
+        try {
+            String raw = new String(DECODER.decode(value), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new InvalidCursorException(value);
+            }
+            return new OrderHistoryCursor(
+                Instant.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(value);
+        }
+    }
+}
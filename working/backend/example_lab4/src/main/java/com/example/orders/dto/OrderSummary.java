@@ -0,0 +1,21 @@
+package com.example.orders.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Lightweight order row for list and filter views.
+ *
+ * @param id         the order ID
+ * @param customerId the ordering customer
+ * @param status     the current status
+ * @param createdAt  when the order was created
+ * @param total      the materialized order total
+ */
+public record OrderSummary(
+    Long id,
+    Long customerId,
+    String status,
+    Instant createdAt,
+    BigDecimal total
+) {}
@@ -0,0 +1,24 @@
+package com.example.orders.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Order summary served from the in-memory read model, with the
+ * customer's name resolved.
+ *
+ * @param id           the order ID
+ * @param customerId   the ordering customer
+ * @param customerName the customer's name, or null if unknown
+ * @param status       the current status
+ * @param createdAt    when the order was created
+ * @param total        the order total, or null if not yet materialized
+ */
+public record OrderSummaryView(
+    Long id,
+    Long customerId,
+    String customerName,
+    String status,
+    Instant createdAt,
+    BigDecimal total
+) {}
@@ -0,0 +1,21 @@
+package com.example.orders.dto;
+
+/**
+ * One type-ahead search match.
+ *
+ * @param type   whether the match is a customer or an item
+ * @param id     the customer or item ID
+ * @param name   the customer or item name
+ * @param detail the customer's email, or null for items
+ * @param score  relevance; higher is better
+ */
+public record SearchResult(
+    Type type,
+    Long id,
+    String name,
+    String detail,
+    double score
+) {
+
+    public enum Type { CUSTOMER, ITEM }
+}
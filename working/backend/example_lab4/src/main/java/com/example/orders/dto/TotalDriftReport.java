@@ -0,0 +1,20 @@
+package com.example.orders.dto;
+
+import java.util.List;
+
+/**
+ * Result of a stored-total verification run.
+ *
+ * @param ordersChecked   number of orders compared
+ * @param ordersDrifted   number of orders whose stored total differed
+ * @param driftedOrderIds up to the first few drifted order IDs, for investigation
+ * @param repaired        whether drifted totals were overwritten
+ * @param elapsedMillis   wall-clock duration of the run
+ */
+public record TotalDriftReport(
+    long ordersChecked,
+    long ordersDrifted,
+    List<Long> driftedOrderIds,
+    boolean repaired,
+    long elapsedMillis
+) {}
@@ -0,0 +1,32 @@
+package com.example.orders.dto;
+
+/**
+ * Progress of the start-up warm-up run.
+ *
+ * @param state             where the warm-up is
+ * @param calls             synthetic service calls made so far
+ * @param targetCalls       calls to make before the warm-up is complete
+ * @param failures          calls that failed unexpectedly
+ * @param connectionsOpened pool connections opened up front
+ * @param elapsedMillis     time spent so far, or in total once finished
+ */
+public record WarmUpReport(
+    State state,
+    int calls,
+    int targetCalls,
+    int failures,
+    int connectionsOpened,
+    long elapsedMillis
+) {
+
+    public enum State { PENDING, RUNNING, COMPLETED, TIMED_OUT, FAILED, DISABLED }
+
+    /**
+     * Whether the warm-up no longer holds back readiness. A failed
+     * warm-up does not: it is not retried, and an unreachable database
+     * already keeps the read model, and so readiness, down.
+     */
+    public boolean isFinished() {
+        return state != State.PENDING && state != State.RUNNING;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.orders.exceptions;
+
+/**
+ * Exception thrown when a request runs out of its time budget before or
+ * while waiting for the database.
+ *
+ * <p>Maps to HTTP 503 Service Unavailable with Retry-After.</p>
+ */
+public class DeadlineExceededException extends ExpectedException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.orders.exceptions;
+
+/**
+ * Base for exceptions that report an expected outcome, such as a missing
+ * order or a malformed cursor, rather than a fault.
+ *
+ * <p>They are thrown often and always end as an error response, so no
+ * stack trace or suppressed exceptions are captured. Set
+ * {@code -Dorders.exceptions.capture-stack=true} to get stack traces back
+ * while debugging.</p>
+ */
+public abstract class ExpectedException extends RuntimeException {
+
+    static final boolean CAPTURE_STACK = Boolean.getBoolean("orders.exceptions.capture-stack");
+
+    protected ExpectedException(String message) {
+        super(message, null, false, CAPTURE_STACK);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.orders.exceptions;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Global exception handler returning RFC 7807 Problem Details.
+ * Ensures consistent error response format across all endpoints.
+ *
+ * <p>Bodies are written from pre-serialized {@link ProblemTemplate}s.</p>
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+    private static final String DEADLINE_EXCEEDED_MSG = "Request deadline exceeded, retry later";
+
+    private static final ProblemTemplate NOT_FOUND = ProblemTemplate.of(
+        HttpStatus.NOT_FOUND, "Resource Not Found", "https://api.example.com/problems/not-found");
+    private static final ProblemTemplate BAD_REQUEST = ProblemTemplate.of(
+        HttpStatus.BAD_REQUEST, "Bad Request", "https://api.example.com/problems/bad-request");
+    private static final ProblemTemplate SERVICE_UNAVAILABLE = ProblemTemplate.of(
+        HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", "https://api.example.com/problems/service-unavailable");
+    private static final ProblemTemplate DEADLINE_EXCEEDED = ProblemTemplate.of(
+        HttpStatus.SERVICE_UNAVAILABLE, "Deadline Exceeded", "https://api.example.com/problems/deadline-exceeded");
+    private static final ProblemTemplate TOO_MANY_REQUESTS = ProblemTemplate.of(
+        HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", "https://api.example.com/problems/too-many-requests");
+
+    /**
+     * Handles missing orders and customers with 404 Not Found.
+     */
+    @ExceptionHandler({OrderNotFoundException.class, CustomerNotFoundException.class})
+    public ResponseEntity<byte[]> handleNotFound(RuntimeException ex, HttpServletRequest request) {
+        return NOT_FOUND.response(ex.getMessage(), request);
+    }
+
+    /**
+     * Handles invalid order requests and pagination cursors with 400 Bad Request.
+     */
+    @ExceptionHandler({InvalidOrderException.class, InvalidCursorException.class})
+    public ResponseEntity<byte[]> handleBadRequest(RuntimeException ex, HttpServletRequest request) {
+        return BAD_REQUEST.response(ex.getMessage(), request);
+    }
+
+    /**
+     * Handles a full intake queue, a still-loading read model or a shed
+     * request with 503 Service Unavailable and Retry-After.
+     */
+    @ExceptionHandler({
+        OrderIntakeFullException.class,
+        ReadModelUnavailableException.class,
+        ServiceOverloadedException.class
+    })
+    public ResponseEntity<byte[]> handleUnavailable(RuntimeException ex, HttpServletRequest request) {
+        return SERVICE_UNAVAILABLE.response(ex.getMessage(), request, RETRY_AFTER_SECONDS);
+    }
+
+    /**
+     * Handles a request that ran out of time, either before reaching the
+     * database or through a statement timeout, with 503 Service
+     * Unavailable and Retry-After. Statements cancelled by PostgreSQL
+     * (SQLState 57014) reach here as {@link QueryTimeoutException}
+     * through
+     * {@link com.example.orders.config.QueryCanceledExceptionTranslator}.
+     * The detail is fixed so driver messages with SQL never reach the
+     * client.
+     */
+    @ExceptionHandler({DeadlineExceededException.class, QueryTimeoutException.class})
+    public ResponseEntity<byte[]> handleDeadlineExceeded(HttpServletRequest request) {
+        return DEADLINE_EXCEEDED.response(DEADLINE_EXCEEDED_MSG, request, RETRY_AFTER_SECONDS);
+    }
+
+    /**
+     * Handles a client over its rate limit with 429 Too Many Requests and
+     * Retry-After.
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<byte[]> handleRateLimited(RateLimitExceededException ex, HttpServletRequest request) {
+        return TOO_MANY_REQUESTS.response(ex.getMessage(), request, RETRY_AFTER_SECONDS);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.orders.exceptions;
+
+/**
+ * Exception thrown when a pagination cursor cannot be parsed.
+ *
+ * <p>Maps to HTTP 400 Bad Request.</p>
+ */
+public class InvalidCursorException extends ExpectedException {
+
+    public InvalidCursorException(String cursor) {
+        super("Invalid cursor: " + cursor);
+    }
+}
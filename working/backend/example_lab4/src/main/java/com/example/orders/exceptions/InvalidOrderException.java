@@ -0,0 +1,14 @@
+package com.example.orders.exceptions;
+
+/**
+ * Exception thrown when an order request references unknown items
+ * or is otherwise invalid.
+ *
+ * <p>Maps to HTTP 400 Bad Request with Problem Details.</p>
+ */
+public class InvalidOrderException extends RuntimeException {
+
+    public InvalidOrderException(String message) {
+        super(message);
+    }
+}
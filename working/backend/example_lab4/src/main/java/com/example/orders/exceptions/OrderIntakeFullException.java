@@ -0,0 +1,14 @@
+package com.example.orders.exceptions;
+
+/**
+ * Exception thrown when the order intake queue is full and a new
+ * order cannot be accepted.
+ *
+ * <p>Maps to HTTP 503 Service Unavailable so clients back off and retry.</p>
+ */
+public class OrderIntakeFullException extends RuntimeException {
+
+    public OrderIntakeFullException(String message) {
+        super(message);
+    }
+}
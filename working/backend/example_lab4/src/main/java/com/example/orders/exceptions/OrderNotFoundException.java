@@ -0,0 +1,13 @@
+package com.example.orders.exceptions;
+
+/**
+ * Exception thrown when an order does not exist.
+ *
+ * <p>Maps to HTTP 404 Not Found.</p>
+ */
+public class OrderNotFoundException extends ExpectedException {
+
+    public OrderNotFoundException(String message) {
+        super(message);
+    }
+}
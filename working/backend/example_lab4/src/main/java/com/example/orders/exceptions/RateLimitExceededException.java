@@ -0,0 +1,16 @@
+package com.example.orders.exceptions;
+
+/**
+ * Exception thrown when a client has used up its request budget.
+ *
+ * <p>Maps to HTTP 429 Too Many Requests with Retry-After. Clients over
+ * their budget send many of these, so one shared instance is thrown.</p>
+ */
+public class RateLimitExceededException extends ExpectedException {
+
+    public static final RateLimitExceededException INSTANCE = new RateLimitExceededException();
+
+    private RateLimitExceededException() {
+        super("Rate limit exceeded, retry later");
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.orders.exceptions;
+
+/**
+ * Exception thrown when the in-memory order read model is still loading.
+ *
+ * <p>Maps to HTTP 503 Service Unavailable with Retry-After.</p>
+ */
+public class ReadModelUnavailableException extends ExpectedException {
+
+    public ReadModelUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.orders.exceptions;
+
+/**
+ * Exception thrown when a request is shed because the service is at its
+ * concurrency limit or draining for shutdown.
+ *
+ * <p>Maps to HTTP 503 Service Unavailable with Retry-After.</p>
+ */
+public class ServiceOverloadedException extends ExpectedException {
+
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
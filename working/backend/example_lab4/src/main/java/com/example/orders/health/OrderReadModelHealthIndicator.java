@@ -0,0 +1,38 @@
+package com.example.orders.health;
+
+import com.example.orders.services.OrderReadModel;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the order read model as out of service until its initial load
+ * finishes, with load progress as details. Included in the readiness
+ * group so traffic is only routed once reads can be served from memory.
+ * A failed load reports down while it is retried.
+ */
+@Component
+public class OrderReadModelHealthIndicator implements HealthIndicator {
+
+    private final OrderReadModel readModel;
+
+    public OrderReadModelHealthIndicator(OrderReadModel readModel) {
+        this.readModel = readModel;
+    }
+
+    @Override
+    public Health health() {
+        OrderReadModel.Progress progress = readModel.progress();
+        Health.Builder builder = switch (progress.phase()) {
+            case READY -> Health.up();
+            case FAILED -> Health.down();
+            default -> Health.outOfService();
+        };
+        return builder
+            .withDetail("phase", progress.phase())
+            .withDetail("rows", progress.rows())
+            .withDetail("chunksLoaded", progress.chunksLoaded())
+            .withDetail("chunksTotal", progress.chunksTotal())
+            .build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.orders.health;
+
+import com.example.orders.dto.WarmUpReport;
+import com.example.orders.services.WarmUpService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports out of service until the start-up warm-up has reached its
+ * target, timed out or failed, with the warm-up report as details.
+ * Included in the readiness group so traffic only arrives once the
+ * service is warm.
+ */
+@Component
+public class WarmUpHealthIndicator implements HealthIndicator {
+
+    private final WarmUpService warmUpService;
+
+    public WarmUpHealthIndicator(WarmUpService warmUpService) {
+        this.warmUpService = warmUpService;
+    }
+
+    @Override
+    public Health health() {
+        WarmUpReport report = warmUpService.report();
+        Health.Builder builder = report.isFinished() ? Health.up() : Health.outOfService();
+        return builder
+            .withDetail("state", report.state())
+            .withDetail("calls", report.calls())
+            .withDetail("targetCalls", report.targetCalls())
+            .withDetail("failures", report.failures())
+            .withDetail("connectionsOpened", report.connectionsOpened())
+            .withDetail("elapsedMillis", report.elapsedMillis())
+            .build();
+    }
+}
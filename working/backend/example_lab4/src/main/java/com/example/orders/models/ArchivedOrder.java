@@ -0,0 +1,24 @@
+package com.example.orders.models;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * An order read from, or written to, the cold archive tier.
+ *
+ * @param id         the order ID
+ * @param customerId the ordering customer
+ * @param itemIds    the ordered item IDs
+ * @param status     the order status at archival time
+ * @param createdAt  when the order was created
+ * @param total      the stored order total
+ */
+public record ArchivedOrder(
+    long id,
+    long customerId,
+    List<Long> itemIds,
+    String status,
+    Instant createdAt,
+    BigDecimal total
+) {}
@@ -0,0 +1,12 @@
+package com.example.orders.models;
+
+import java.util.Set;
+
+/**
+ * Published by {@link com.example.orders.services.CacheInvalidationBus}
+ * when other instances have changed entities this instance may cache.
+ *
+ * @param kind      which cache holds the entities
+ * @param entityIds IDs of the changed entities, each listed once
+ */
+public record CacheInvalidatedEvent(CacheInvalidation.Kind kind, Set<Long> entityIds) {}
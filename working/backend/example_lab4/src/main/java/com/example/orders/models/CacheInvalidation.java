@@ -0,0 +1,13 @@
+package com.example.orders.models;
+
+/**
+ * A cached entity that has changed, so every instance should reload or
+ * drop its copy.
+ *
+ * @param kind     which cache holds the entity
+ * @param entityId the entity's ID
+ */
+public record CacheInvalidation(Kind kind, long entityId) {
+
+    public enum Kind { ORDER, CUSTOMER, ITEM }
+}
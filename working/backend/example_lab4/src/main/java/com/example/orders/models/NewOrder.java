@@ -0,0 +1,24 @@
+package com.example.orders.models;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * An accepted order waiting to be written by the batch writer.
+ *
+ * @param id         the pre-allocated order ID
+ * @param customerId the ordering customer
+ * @param itemIds    the ordered item IDs
+ * @param unitPrices the price of each item in {@code itemIds} at acceptance time
+ * @param createdAt  when the order was accepted
+ * @param total      sum of {@code unitPrices}
+ */
+public record NewOrder(
+    long id,
+    long customerId,
+    List<Long> itemIds,
+    List<BigDecimal> unitPrices,
+    Instant createdAt,
+    BigDecimal total
+) {}
@@ -0,0 +1,10 @@
+package com.example.orders.models;
+
+/**
+ * Published after an order's status change has been committed.
+ * Mirrors the event of the same name in the order status service.
+ *
+ * @param orderId the order ID
+ * @param status  the new status
+ */
+public record OrderStatusChangedEvent(Long orderId, String status) {}
@@ -0,0 +1,12 @@
+package com.example.orders.models;
+
+import java.util.List;
+
+/**
+ * Published when stored order totals were filled in or repaired outside
+ * the order write path, by the total backfill or the verification job.
+ * Listeners that cache totals run after the change has committed.
+ *
+ * @param orderIds the orders whose total changed
+ */
+public record OrderTotalsChangedEvent(List<Long> orderIds) {}
@@ -0,0 +1,13 @@
+package com.example.orders.models;
+
+import java.time.Instant;
+
+/**
+ * Published when the database holds no order created before a point in
+ * time any more, because the partitions before it were archived and
+ * dropped. In-memory views drop those orders; they stay readable by ID
+ * and in customer history through the archive.
+ *
+ * @param createdBefore orders created before this instant are archived
+ */
+public record OrdersArchivedEvent(Instant createdBefore) {}
@@ -0,0 +1,11 @@
+package com.example.orders.models;
+
+import java.util.List;
+
+/**
+ * Published by {@link com.example.orders.services.OrderIntakeService}
+ * after a batch of new orders has been committed.
+ *
+ * @param orders the committed orders
+ */
+public record OrdersCreatedEvent(List<NewOrder> orders) {}
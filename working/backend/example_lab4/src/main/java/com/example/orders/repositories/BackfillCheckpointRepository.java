@@ -0,0 +1,58 @@
+package com.example.orders.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Checkpoints of completed backfill chunks.
+ *
+ * <p>Backed by the {@code backfill_checkpoints} table (migration V2). A
+ * checkpoint covers exactly {@code chunk_start <= id < chunk_end}.</p>
+ */
+@Repository
+public class BackfillCheckpointRepository {
+
+    private static final String SELECT_COMPLETED =
+        "SELECT chunk_start, chunk_end FROM backfill_checkpoints WHERE job_name = ?";
+    private static final String INSERT_CHECKPOINT =
+        "INSERT INTO backfill_checkpoints (job_name, chunk_start, chunk_end, rows_done) "
+            + "VALUES (?, ?, ?, ?) ON CONFLICT (job_name, chunk_start, chunk_end) DO NOTHING";
+    private static final String DELETE_JOB =
+        "DELETE FROM backfill_checkpoints WHERE job_name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BackfillCheckpointRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns the ranges already completed for a job.
+     */
+    public List<CompletedChunk> findCompletedChunks(String jobName) {
+        return jdbcTemplate.query(SELECT_COMPLETED,
+            (rs, rowNum) -> new CompletedChunk(rs.getLong("chunk_start"), rs.getLong("chunk_end")),
+            jobName);
+    }
+
+    /**
+     * Records a completed chunk. Call in the same transaction as the chunk's work.
+     */
+    public void markCompleted(String jobName, long chunkStart, long chunkEnd, int rowsDone) {
+        jdbcTemplate.update(INSERT_CHECKPOINT, jobName, chunkStart, chunkEnd, rowsDone);
+    }
+
+    /**
+     * Forgets all checkpoints for a job so it runs from the beginning.
+     */
+    public void reset(String jobName) {
+        jdbcTemplate.update(DELETE_JOB, jobName);
+    }
+
+    /**
+     * A completed range, {@code start <= id < end}.
+     */
+    public record CompletedChunk(long start, long end) {}
+}
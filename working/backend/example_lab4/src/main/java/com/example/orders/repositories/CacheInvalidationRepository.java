@@ -0,0 +1,100 @@
+package com.example.orders.repositories;
+
+import com.example.orders.models.CacheInvalidation;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * JDBC access to the {@code cache_invalidations} change table that
+ * instances poll to learn about each other's writes, created by
+ * {@code V5__cache_invalidations.sql} along with the triggers that write
+ * rows for changes made outside the application.
+ */
+@Repository
+public class CacheInvalidationRepository {
+
+    private static final String INSERT =
+        "INSERT INTO cache_invalidations (kind, entity_id, origin) VALUES (?, ?, ?)";
+    private static final String SELECT_MAX_SEQ = "SELECT COALESCE(MAX(seq), 0) FROM cache_invalidations";
+    private static final String SELECT_COLUMNS = "SELECT seq, kind, entity_id, origin FROM cache_invalidations ";
+    private static final String SELECT_AFTER = SELECT_COLUMNS + "WHERE seq > ? ORDER BY seq LIMIT ?";
+    private static final String DELETE_CREATED_BEFORE = "DELETE FROM cache_invalidations WHERE created_at < ?";
+
+    static final RowMapper<InvalidationRow> ROW_MAPPER = (rs, rowNum) -> new InvalidationRow(
+        rs.getLong("seq"),
+        new CacheInvalidation(CacheInvalidation.Kind.valueOf(rs.getString("kind")), rs.getLong("entity_id")),
+        rs.getString("origin")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CacheInvalidationRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns the highest sequence number written so far.
+     */
+    public long findMaxSequence() {
+        Long max = jdbcTemplate.queryForObject(SELECT_MAX_SEQ, Long.class);
+        return max != null ? max : 0L;
+    }
+
+    /**
+     * Inserts one row per invalidation in a single batch.
+     */
+    public void append(String origin, Collection<CacheInvalidation> invalidations) {
+        List<Object[]> args = new ArrayList<>(invalidations.size());
+        for (CacheInvalidation invalidation : invalidations) {
+            args.add(new Object[] {invalidation.kind().name(), invalidation.entityId(), origin});
+        }
+        jdbcTemplate.batchUpdate(INSERT, args);
+    }
+
+    /**
+     * Returns rows with a sequence number above {@code afterSeq}, in
+     * sequence order.
+     */
+    public List<InvalidationRow> findAfter(long afterSeq, int limit) {
+        return jdbcTemplate.query(SELECT_AFTER, ROW_MAPPER, afterSeq, limit);
+    }
+
+    /**
+     * Returns the rows with the given sequence numbers that are now
+     * visible, in sequence order.
+     */
+    public List<InvalidationRow> findBySequences(Collection<Long> sequences) {
+        if (sequences.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(sequences.size(), "?"));
+        return jdbcTemplate.query(SELECT_COLUMNS + "WHERE seq IN (" + placeholders + ") ORDER BY seq",
+            ROW_MAPPER, sequences.toArray());
+    }
+
+    /**
+     * Deletes rows written before the cutoff.
+     *
+     * @return the number of rows deleted
+     */
+    public int deleteCreatedBefore(Instant cutoff) {
+        return jdbcTemplate.update(DELETE_CREATED_BEFORE, Timestamp.from(cutoff));
+    }
+
+    /**
+     * A change table row.
+     *
+     * @param sequence     position in the table, assigned at insert
+     * @param invalidation the changed entity
+     * @param origin       ID of the instance that wrote the row
+     */
+    public record InvalidationRow(long sequence, CacheInvalidation invalidation, String origin) {}
+}
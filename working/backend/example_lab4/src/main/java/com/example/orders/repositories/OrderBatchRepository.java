@@ -0,0 +1,66 @@
+package com.example.orders.repositories;
+
+import com.example.orders.models.NewOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC batch writes for new orders.
+ *
+ * <p>Orders and their {@code order_items} rows are written with multi-row
+ * JDBC batches so a whole group of orders costs two statements and one
+ * commit instead of one transaction per order. Each line keeps the item
+ * price at acceptance time in {@code order_items.unit_price}.</p>
+ */
+@Repository
+public class OrderBatchRepository {
+
+    private static final String ALLOCATE_IDS =
+        "SELECT nextval('orders_id_seq') FROM generate_series(1, ?)";
+    private static final String INSERT_ORDER =
+        "INSERT INTO orders (id, customer_id, status, created_at, total, updated_at) VALUES (?, ?, ?, ?, ?, now())";
+    private static final String INSERT_ORDER_ITEM =
+        "INSERT INTO order_items (order_id, item_id, unit_price) VALUES (?, ?, ?)";
+    public static final String INITIAL_STATUS = "PENDING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reserves a block of order IDs from the orders sequence in one round trip.
+     *
+     * @param count number of IDs to reserve
+     * @return the reserved IDs
+     */
+    public List<Long> allocateIds(int count) {
+        return jdbcTemplate.queryForList(ALLOCATE_IDS, Long.class, count);
+    }
+
+    /**
+     * Inserts a group of orders and their items.
+     * Must be called inside a transaction so the group commits atomically.
+     *
+     * @param orders the orders to insert
+     */
+    public void insertAll(List<NewOrder> orders) {
+        List<Object[]> orderRows = new ArrayList<>(orders.size());
+        List<Object[]> itemRows = new ArrayList<>();
+        for (NewOrder order : orders) {
+            orderRows.add(new Object[] {
+                order.id(), order.customerId(), INITIAL_STATUS, Timestamp.from(order.createdAt()), order.total()
+            });
+            for (int i = 0; i < order.itemIds().size(); i++) {
+                itemRows.add(new Object[] { order.id(), order.itemIds().get(i), order.unitPrices().get(i) });
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_ORDER, orderRows);
+        jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM, itemRows);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.orders.repositories;
+
+import com.example.orders.models.ArchivedOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Maintenance of the monthly {@code orders} partitions.
+ *
+ * <p>{@code orders} is range-partitioned on {@code created_at}, one
+ * partition per month named {@code orders_yYYYYmMM}. Queries that bound
+ * {@code created_at} are pruned by PostgreSQL to the matching months.</p>
+ */
+@Repository
+public class OrderPartitionRepository {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+    private static final String PARTITION_PREFIX = "orders_";
+
+    private static final String CREATE_PARTITION =
+        "CREATE TABLE IF NOT EXISTS %s PARTITION OF orders FOR VALUES FROM ('%s') TO ('%s')";
+    private static final String SELECT_PARTITIONS =
+        "SELECT c.relname FROM pg_inherits i "
+            + "JOIN pg_class c ON c.oid = i.inhrelid "
+            + "JOIN pg_class p ON p.oid = i.inhparent "
+            + "WHERE p.relname = 'orders' ORDER BY c.relname";
+    private static final String LOCK_PARTITION = "LOCK TABLE %s IN EXCLUSIVE MODE";
+    private static final String SELECT_PARTITION_ORDERS =
+        "SELECT o.id, o.customer_id, o.status, o.created_at, "
+            + "COALESCE(o.total, SUM(COALESCE(oi.unit_price, i.price)), 0) AS total, "
+            + "ARRAY_REMOVE(ARRAY_AGG(oi.item_id ORDER BY oi.item_id), NULL) AS item_ids "
+            + "FROM %s o LEFT JOIN order_items oi ON oi.order_id = o.id "
+            + "LEFT JOIN items i ON i.id = oi.item_id "
+            + "GROUP BY o.id, o.customer_id, o.status, o.created_at, o.total "
+            + "ORDER BY o.id";
+    private static final String SELECT_FINGERPRINT =
+        "SELECT COUNT(*) AS row_count, MAX(updated_at) AS last_updated FROM %s";
+    private static final String DELETE_PARTITION_ITEMS =
+        "DELETE FROM order_items WHERE order_id IN (SELECT id FROM %s)";
+    private static final String DETACH_PARTITION = "ALTER TABLE orders DETACH PARTITION %s";
+    private static final String DROP_PARTITION = "DROP TABLE %s";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    /**
+     * Parses the month out of a partition name, or empty if the name does not match.
+     */
+    public static Optional<YearMonth> partitionMonth(String partitionName) {
+        if (!partitionName.startsWith(PARTITION_PREFIX)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(partitionName.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX));
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Creates the partition for a month if it does not exist yet.
+     */
+    public void createPartition(YearMonth month) {
+        jdbcTemplate.execute(String.format(CREATE_PARTITION,
+            partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+    }
+
+    /**
+     * Returns the names of all current partitions of {@code orders}.
+     */
+    public List<String> findPartitionNames() {
+        return jdbcTemplate.queryForList(SELECT_PARTITIONS, String.class);
+    }
+
+    /**
+     * Blocks writes to a partition until the current transaction ends;
+     * reads still go through. Taken before dropping an archived partition
+     * so no order can change between the check that it still matches its
+     * archive and the drop.
+     */
+    public void lockForArchive(String partitionName) {
+        jdbcTemplate.execute(String.format(LOCK_PARTITION, partitionName));
+    }
+
+    /**
+     * Streams every order in a partition, in ID order, with its item IDs.
+     * Orders whose total was never backfilled get it computed the same
+     * way {@link OrderTotalRepository#findTotal} does.
+     */
+    public void forEachOrder(String partitionName, Consumer<ArchivedOrder> consumer) {
+        jdbcTemplate.query(String.format(SELECT_PARTITION_ORDERS, partitionName), rs -> {
+            Array itemArray = rs.getArray("item_ids");
+            Long[] itemIds = itemArray == null ? new Long[0] : (Long[]) itemArray.getArray();
+            consumer.accept(new ArchivedOrder(
+                rs.getLong("id"),
+                rs.getLong("customer_id"),
+                new ArrayList<>(Arrays.asList(itemIds)),
+                rs.getString("status"),
+                rs.getTimestamp("created_at").toInstant(),
+                rs.getBigDecimal("total")
+            ));
+        });
+    }
+
+    /**
+     * Returns the row count and latest {@code updated_at} of a partition.
+     * Every insert and update of an order changes one of them, so equal
+     * fingerprints mean the partition's orders have not changed.
+     */
+    public Fingerprint fingerprint(String partitionName) {
+        return jdbcTemplate.queryForObject(String.format(SELECT_FINGERPRINT, partitionName), (rs, rowNum) -> {
+            Timestamp lastUpdated = rs.getTimestamp("last_updated");
+            return new Fingerprint(rs.getLong("row_count"), lastUpdated == null ? null : lastUpdated.toInstant());
+        });
+    }
+
+    /**
+     * Removes a partition and its order items from the database.
+     * Only call once the partition has been safely archived, in the
+     * transaction that locked it.
+     */
+    public void dropPartition(String partitionName) {
+        jdbcTemplate.update(String.format(DELETE_PARTITION_ITEMS, partitionName));
+        jdbcTemplate.execute(String.format(DETACH_PARTITION, partitionName));
+        jdbcTemplate.execute(String.format(DROP_PARTITION, partitionName));
+    }
+
+    /**
+     * What a partition held when it was read.
+     *
+     * @param rows        number of orders
+     * @param lastUpdated latest {@code updated_at}, or null if the partition is empty
+     */
+    public record Fingerprint(long rows, Instant lastUpdated) {}
+}
@@ -0,0 +1,158 @@
+package com.example.orders.repositories;
+
+import com.example.orders.dto.CustomerOrderHistoryResponse.OrderEntry;
+import com.example.orders.dto.OrderSummary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * List and filter queries over {@code orders}.
+ *
+ * <p>Customer history pages by keyset on {@code (created_at, id)} and
+ * relies on a covering index, so each page is an index-only scan of
+ * {@code limit} entries however many orders the customer has. Later
+ * pages also bound {@code created_at} on its own, since PostgreSQL does
+ * not prune partitions on a row comparison:
+ * <pre>
+ * CREATE INDEX orders_customer_created_idx
+ *     ON orders (customer_id, created_at DESC, id DESC) INCLUDE (status, total);
+ * </pre>
+ *
+ * <p>Read-model catch-up selects by {@code updated_at}. This service
+ * sets it in every statement that inserts an order or writes a total,
+ * and the {@code orders_touch_updated_at} trigger sets it on any other
+ * update, such as status changes made by other services. It is indexed
+ * (migration {@code V4__orders_updated_at.sql}):
+ * <pre>
+ * CREATE INDEX orders_updated_idx ON orders (updated_at);
+ * </pre>
+ */
+@Repository
+public class OrderQueryRepository {
+
+    private static final String ORDER_AND_LIMIT = "ORDER BY created_at DESC, id DESC LIMIT ?";
+    private static final String SELECT_SUMMARIES_BY_ID =
+        "SELECT id, customer_id, status, created_at, total FROM orders WHERE id >= ? AND id < ? ORDER BY id";
+    private static final String SELECT_SUMMARIES_BY_IDS =
+        "SELECT id, customer_id, status, created_at, total FROM orders WHERE id IN (";
+    private static final String SELECT_SUMMARIES_UPDATED_SINCE =
+        "SELECT id, customer_id, status, created_at, total FROM orders WHERE updated_at >= ? ORDER BY id";
+    private static final String SELECT_CUSTOMER_HISTORY =
+        "SELECT id, status, created_at, total FROM orders WHERE customer_id = ? ";
+    private static final String BEFORE_KEY = "AND created_at <= ? AND (created_at, id) < (?, ?) ";
+    private static final String SELECT_ITEM_LINKS_BY_ORDER_ID =
+        "SELECT order_id, item_id FROM order_items WHERE order_id >= ? AND order_id < ?";
+    private static final String SELECT_ITEM_LINKS_BY_ORDER_IDS =
+        "SELECT order_id, item_id FROM order_items WHERE order_id IN (";
+
+    static final RowMapper<OrderSummary> SUMMARY_MAPPER = (rs, rowNum) -> new OrderSummary(
+        rs.getLong("id"),
+        rs.getLong("customer_id"),
+        rs.getString("status"),
+        rs.getTimestamp("created_at").toInstant(),
+        rs.getBigDecimal("total")
+    );
+
+    static final RowMapper<OrderEntry> ENTRY_MAPPER = (rs, rowNum) -> new OrderEntry(
+        rs.getLong("id"),
+        rs.getString("status"),
+        rs.getTimestamp("created_at").toInstant(),
+        rs.getBigDecimal("total")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderQueryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns a customer's orders, newest first, strictly after the
+     * given keyset position.
+     *
+     * @param customerId      the customer
+     * @param beforeCreatedAt creation time of the last order already seen, or null for the first page
+     * @param beforeId        ID of the last order already seen; ignored when {@code beforeCreatedAt} is null
+     * @param limit           maximum rows to return
+     */
+    public List<OrderEntry> findCustomerOrders(long customerId, Instant beforeCreatedAt, long beforeId, int limit) {
+        if (beforeCreatedAt == null) {
+            return jdbcTemplate.query(SELECT_CUSTOMER_HISTORY + ORDER_AND_LIMIT, ENTRY_MAPPER,
+                customerId, limit);
+        }
+        return jdbcTemplate.query(SELECT_CUSTOMER_HISTORY + BEFORE_KEY + ORDER_AND_LIMIT, ENTRY_MAPPER,
+            customerId, Timestamp.from(beforeCreatedAt), Timestamp.from(beforeCreatedAt), beforeId, limit);
+    }
+
+    /**
+     * Returns the summaries of the given orders that exist, in no
+     * particular order.
+     */
+    public List<OrderSummary> findSummariesByIds(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(orderIds.size(), "?"));
+        return jdbcTemplate.query(SELECT_SUMMARIES_BY_IDS + placeholders + ")", SUMMARY_MAPPER, orderIds.toArray());
+    }
+
+    /**
+     * Streams every order with an ID in {@code [fromId, toId)}, in ID
+     * order. Used to bulk-load in-memory views.
+     */
+    public void forEachSummaryInIdRange(long fromId, long toId, Consumer<OrderSummary> consumer) {
+        jdbcTemplate.query(SELECT_SUMMARIES_BY_ID,
+            rs -> { consumer.accept(SUMMARY_MAPPER.mapRow(rs, 0)); },
+            fromId, toId);
+    }
+
+    /**
+     * Streams every order inserted or changed at or after {@code since},
+     * in ID order. Used to bring a restored in-memory view up to date.
+     */
+    public void forEachSummaryUpdatedSince(Instant since, Consumer<OrderSummary> consumer) {
+        jdbcTemplate.query(SELECT_SUMMARIES_UPDATED_SINCE,
+            rs -> { consumer.accept(SUMMARY_MAPPER.mapRow(rs, 0)); },
+            Timestamp.from(since));
+    }
+
+    /**
+     * Streams the {@code (order, item)} pairs of every order with an ID
+     * in {@code [fromId, toId)}, in no particular order.
+     */
+    public void forEachItemLinkInIdRange(long fromId, long toId, ItemLinkConsumer consumer) {
+        jdbcTemplate.query(SELECT_ITEM_LINKS_BY_ORDER_ID,
+            rs -> { consumer.accept(rs.getLong("order_id"), rs.getLong("item_id")); },
+            fromId, toId);
+    }
+
+    /**
+     * Streams the {@code (order, item)} pairs of the given orders, in no
+     * particular order.
+     */
+    public void forEachItemLink(Collection<Long> orderIds, ItemLinkConsumer consumer) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(orderIds.size(), "?"));
+        jdbcTemplate.query(SELECT_ITEM_LINKS_BY_ORDER_IDS + placeholders + ")",
+            rs -> { consumer.accept(rs.getLong("order_id"), rs.getLong("item_id")); },
+            orderIds.toArray());
+    }
+
+    /**
+     * Receives one {@code order_items} row without boxing either ID.
+     */
+    @FunctionalInterface
+    public interface ItemLinkConsumer {
+        void accept(long orderId, long itemId);
+    }
+}
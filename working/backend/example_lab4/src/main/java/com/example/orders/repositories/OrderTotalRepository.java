@@ -0,0 +1,129 @@
+package com.example.orders.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC access to the materialized {@code orders.total} column.
+ *
+ * <p>The stored total is written when an order is created and whenever
+ * its items change, so reads that only need the total never touch
+ * {@code order_items} or {@code items}.</p>
+ *
+ * <p>Totals are always the sum of the order-time line prices in
+ * {@code order_items.unit_price}; repricing an item never changes an
+ * existing order. Lines written before that column existed have no
+ * order-time price, and only the backfill falls back to the current
+ * {@code items.price} for them.</p>
+ *
+ * <p>Every statement that writes a total also sets {@code updated_at},
+ * so read-model catch-up after a restart sees the change.</p>
+ */
+@Repository
+public class OrderTotalRepository {
+
+    /** Order-time price of a line, or the current item price for lines that predate it. */
+    private static final String LINE_PRICE = "COALESCE(oi.unit_price, i.price)";
+
+    private static final String SELECT_TOTAL =
+        "SELECT COALESCE(o.total, ("
+            + "SELECT COALESCE(SUM(" + LINE_PRICE + "), 0) FROM order_items oi "
+            + "JOIN items i ON i.id = oi.item_id WHERE oi.order_id = o.id"
+            + ")) AS total FROM orders o WHERE o.id = ?";
+    private static final String REFRESH_TOTAL =
+        "UPDATE orders o SET total = ("
+            + "SELECT COALESCE(SUM(oi.unit_price), 0) FROM order_items oi WHERE oi.order_id = o.id"
+            + "), updated_at = now() WHERE o.id = ? AND NOT EXISTS ("
+            + "SELECT 1 FROM order_items oi WHERE oi.order_id = o.id AND oi.unit_price IS NULL)";
+    private static final String SELECT_MAX_ID = "SELECT COALESCE(MAX(id), 0) FROM orders";
+    private static final String SELECT_TOTALS_IN_RANGE =
+        "SELECT o.id, o.total AS stored, "
+            + "CASE WHEN COUNT(oi.item_id) = COUNT(oi.unit_price) "
+            + "THEN COALESCE(SUM(oi.unit_price), 0) END AS computed "
+            + "FROM orders o "
+            + "LEFT JOIN order_items oi ON oi.order_id = o.id "
+            + "WHERE o.id >= ? AND o.id < ? "
+            + "GROUP BY o.id, o.total";
+    private static final String FILL_MISSING_IN_RANGE =
+        "UPDATE orders o SET total = t.computed, updated_at = now() FROM ("
+            + "SELECT o2.id, COALESCE(SUM(" + LINE_PRICE + "), 0) AS computed FROM orders o2 "
+            + "LEFT JOIN order_items oi ON oi.order_id = o2.id "
+            + "LEFT JOIN items i ON i.id = oi.item_id "
+            + "WHERE o2.id >= ? AND o2.id < ? AND o2.total IS NULL GROUP BY o2.id"
+            + ") t WHERE o.id = t.id AND o.total IS NULL RETURNING o.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderTotalRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns the total for an order, or empty if the order does not exist.
+     * An order whose total has not been backfilled yet is summed the same
+     * way the backfill would, so every caller sees one figure.
+     */
+    public Optional<BigDecimal> findTotal(Long orderId) {
+        return jdbcTemplate.queryForList(SELECT_TOTAL, BigDecimal.class, orderId)
+            .stream()
+            .findFirst();
+    }
+
+    /**
+     * Recomputes an order's total from its order-time line prices and
+     * stores it, in one statement. Call after changing the items of an
+     * order, inside the same transaction.
+     *
+     * @return false if the order does not exist or has lines without an
+     *         order-time price, in which case its total is left alone
+     */
+    public boolean refreshTotal(Long orderId) {
+        return jdbcTemplate.update(REFRESH_TOTAL, orderId) == 1;
+    }
+
+    public long findMaxOrderId() {
+        Long maxId = jdbcTemplate.queryForObject(SELECT_MAX_ID, Long.class);
+        return maxId == null ? 0 : maxId;
+    }
+
+    /**
+     * Returns stored totals and the sum of order-time line prices for
+     * orders with {@code fromId <= id < toId}.
+     */
+    public List<TotalComparison> compareTotals(long fromId, long toId) {
+        return jdbcTemplate.query(SELECT_TOTALS_IN_RANGE,
+            (rs, rowNum) -> new TotalComparison(
+                rs.getLong("id"),
+                rs.getBigDecimal("stored"),
+                rs.getBigDecimal("computed")
+            ),
+            fromId, toId);
+    }
+
+    /**
+     * Computes and stores the total of every order with
+     * {@code fromId <= id < toId} that has none yet, in a single
+     * set-based statement. Existing totals are never rewritten.
+     *
+     * @return IDs of the orders updated
+     */
+    public List<Long> fillMissingTotals(long fromId, long toId) {
+        return jdbcTemplate.queryForList(FILL_MISSING_IN_RANGE, Long.class, fromId, toId);
+    }
+
+    /**
+     * Stored versus recomputed total for one order. {@code computed} is
+     * null when some of the order's lines have no order-time price; such
+     * an order cannot be verified and is never reported as drifted.
+     */
+    public record TotalComparison(long orderId, BigDecimal stored, BigDecimal computed) {
+
+        public boolean drifted() {
+            return computed != null && (stored == null || stored.compareTo(computed) != 0);
+        }
+    }
+}
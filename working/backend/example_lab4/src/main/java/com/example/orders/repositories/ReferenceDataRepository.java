@@ -0,0 +1,75 @@
+package com.example.orders.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Lightweight JDBC reads of customer and item reference data.
+ *
+ * <p>Selects only the columns needed to validate orders, so loading the
+ * full customer and item tables does not hydrate JPA entities.</p>
+ */
+@Repository
+public class ReferenceDataRepository {
+
+    private static final String SELECT_CUSTOMER_IDS = "SELECT id FROM customers";
+    private static final String SELECT_ITEM_PRICES = "SELECT id, price FROM items";
+    private static final String SELECT_CUSTOMER_NAMES = "SELECT id, name FROM customers";
+    private static final String SELECT_CUSTOMER_NAME = "SELECT name FROM customers WHERE id = ?";
+    private static final String SELECT_ITEM_PRICE = "SELECT price FROM items WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReferenceDataRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns the IDs of all customers.
+     */
+    public List<Long> findAllCustomerIds() {
+        return jdbcTemplate.queryForList(SELECT_CUSTOMER_IDS, Long.class);
+    }
+
+    /**
+     * Returns the current price of every item, keyed by item ID.
+     */
+    public Map<Long, BigDecimal> findAllItemPrices() {
+        Map<Long, BigDecimal> prices = new HashMap<>();
+        jdbcTemplate.query(SELECT_ITEM_PRICES,
+            rs -> { prices.put(rs.getLong("id"), rs.getBigDecimal("price")); });
+        return prices;
+    }
+
+    /**
+     * Returns the name of every customer, keyed by customer ID.
+     */
+    public Map<Long, String> findAllCustomerNames() {
+        Map<Long, String> names = new HashMap<>();
+        jdbcTemplate.query(SELECT_CUSTOMER_NAMES,
+            rs -> { names.put(rs.getLong("id"), rs.getString("name")); });
+        return names;
+    }
+
+    /**
+     * Returns the name of a single customer.
+     */
+    public Optional<String> findCustomerName(long customerId) {
+        List<String> names = jdbcTemplate.queryForList(SELECT_CUSTOMER_NAME, String.class, customerId);
+        return names.stream().findFirst();
+    }
+
+    /**
+     * Returns the current price of a single item.
+     */
+    public Optional<BigDecimal> findItemPrice(long itemId) {
+        List<BigDecimal> prices = jdbcTemplate.queryForList(SELECT_ITEM_PRICE, BigDecimal.class, itemId);
+        return prices.stream().findFirst();
+    }
+}
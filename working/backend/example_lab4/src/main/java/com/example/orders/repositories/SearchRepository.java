@@ -0,0 +1,73 @@
+package com.example.orders.repositories;
+
+import com.example.orders.dto.SearchResult;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC reads of the customer and item columns that feed the search index.
+ *
+ * <p>Range reads let the index load in parallel ID chunks.</p>
+ */
+@Repository
+public class SearchRepository {
+
+    private static final String SELECT_MAX_CUSTOMER_ID = "SELECT COALESCE(MAX(id), 0) FROM customers";
+    private static final String SELECT_MAX_ITEM_ID = "SELECT COALESCE(MAX(id), 0) FROM items";
+    private static final String SELECT_CUSTOMERS_IN_RANGE =
+        "SELECT id, name, email FROM customers WHERE id >= ? AND id < ?";
+    private static final String SELECT_ITEMS_IN_RANGE =
+        "SELECT id, name FROM items WHERE id >= ? AND id < ?";
+    private static final String SELECT_CUSTOMER = "SELECT id, name, email FROM customers WHERE id = ?";
+    private static final String SELECT_ITEM = "SELECT id, name FROM items WHERE id = ?";
+
+    private static final RowMapper<Searchable> CUSTOMER_MAPPER = (rs, rowNum) -> new Searchable(
+        SearchResult.Type.CUSTOMER, rs.getLong("id"), rs.getString("name"), rs.getString("email"));
+    private static final RowMapper<Searchable> ITEM_MAPPER = (rs, rowNum) -> new Searchable(
+        SearchResult.Type.ITEM, rs.getLong("id"), rs.getString("name"), null);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SearchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * A customer or item as the search index sees it.
+     *
+     * @param type   customer or item
+     * @param id     the entity ID
+     * @param name   the name
+     * @param detail the customer's email, or null for items
+     */
+    public record Searchable(SearchResult.Type type, long id, String name, String detail) {}
+
+    public long findMaxId(SearchResult.Type type) {
+        Long maxId = jdbcTemplate.queryForObject(
+            type == SearchResult.Type.CUSTOMER ? SELECT_MAX_CUSTOMER_ID : SELECT_MAX_ITEM_ID, Long.class);
+        return maxId == null ? 0 : maxId;
+    }
+
+    /**
+     * Returns customers or items with {@code fromId <= id < toId}.
+     */
+    public List<Searchable> findInRange(SearchResult.Type type, long fromId, long toId) {
+        return type == SearchResult.Type.CUSTOMER
+            ? jdbcTemplate.query(SELECT_CUSTOMERS_IN_RANGE, CUSTOMER_MAPPER, fromId, toId)
+            : jdbcTemplate.query(SELECT_ITEMS_IN_RANGE, ITEM_MAPPER, fromId, toId);
+    }
+
+    /**
+     * Returns one customer or item, or empty if it no longer exists.
+     */
+    public Optional<Searchable> findById(SearchResult.Type type, long id) {
+        List<Searchable> rows = type == SearchResult.Type.CUSTOMER
+            ? jdbcTemplate.query(SELECT_CUSTOMER, CUSTOMER_MAPPER, id)
+            : jdbcTemplate.query(SELECT_ITEM, ITEM_MAPPER, id);
+        return rows.stream().findFirst();
+    }
+}
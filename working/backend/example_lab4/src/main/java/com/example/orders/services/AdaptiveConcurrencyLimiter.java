@@ -0,0 +1,223 @@
+package com.example.orders.services;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps the number of order API requests in flight, with a cap that
+ * follows measured latency instead of a fixed number.
+ *
+ * <p>Latencies are averaged over windows of
+ * {@code orders.concurrency.window-size} requests and compared with a
+ * slow moving average of earlier windows. While the short average stays
+ * at or below the long one the limit grows by about its square root;
+ * when requests start queueing and the short average rises, the limit
+ * shrinks in proportion, down to at most half per window. The limit
+ * only grows when at least half of it was in use, so a quiet period
+ * does not leave it inflated.</p>
+ *
+ * <p>Writes may use the whole limit, reads only
+ * {@code orders.concurrency.read-share} of it, so under overload list
+ * reads are shed first and status writes keep getting through.</p>
+ *
+ * <p>On shutdown the limiter stops admitting reads and waits up to
+ * {@code orders.concurrency.drain-timeout} for the requests in flight to
+ * finish, before the web server's own graceful shutdown starts.</p>
+ */
+@Service
+public class AdaptiveConcurrencyLimiter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    private static final double LONG_RTT_WEIGHT = 0.05;
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final long DRAIN_POLL_MS = 50;
+
+    public enum Priority { READ, WRITE }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double readShare;
+    private final int windowSize;
+    private final Duration drainTimeout;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger readsInFlight = new AtomicInteger();
+    private final AtomicInteger writesInFlight = new AtomicInteger();
+    private final AtomicLong shed = new AtomicLong();
+    private volatile double limit;
+    private volatile boolean draining;
+    private volatile boolean running;
+
+    // Window state, guarded by this.
+    private long windowLatencySum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private double longLatency;
+
+    public AdaptiveConcurrencyLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${orders.concurrency.initial-limit:20}") int initialLimit,
+            @Value("${orders.concurrency.min-limit:4}") int minLimit,
+            @Value("${orders.concurrency.max-limit:200}") int maxLimit,
+            @Value("${orders.concurrency.read-share:0.75}") double readShare,
+            @Value("${orders.concurrency.window-size:100}") int windowSize,
+            @Value("${orders.concurrency.drain-timeout:PT10S}") Duration drainTimeout) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.readShare = readShare;
+        this.windowSize = windowSize;
+        this.drainTimeout = drainTimeout;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+
+        Gauge.builder("orders.concurrency.limit", this, AdaptiveConcurrencyLimiter::limit)
+            .description("Current adaptive concurrency limit")
+            .register(meterRegistry);
+        Gauge.builder("orders.concurrency.in.flight", readsInFlight, AtomicInteger::get)
+            .tag("priority", "read")
+            .register(meterRegistry);
+        Gauge.builder("orders.concurrency.in.flight", writesInFlight, AtomicInteger::get)
+            .tag("priority", "write")
+            .register(meterRegistry);
+        FunctionCounter.builder("orders.concurrency.shed", shed, AtomicLong::get)
+            .description("Requests rejected because the limit was reached")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Admits a request if there is room for its priority.
+     *
+     * @return {@code true} if admitted, in which case one of the release
+     *         methods must be called when the request completes
+     */
+    public boolean tryAcquire(Priority priority) {
+        int cap;
+        if (priority == Priority.WRITE) {
+            cap = (int) limit;
+        } else if (draining) {
+            cap = 0;
+        } else {
+            cap = Math.max(1, (int) (limit * readShare));
+        }
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= cap) {
+                shed.incrementAndGet();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        counter(priority).incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Releases an admitted request and feeds its latency into the limit.
+     */
+    public void release(Priority priority, long latencyNanos) {
+        int before = inFlight.get();
+        releaseWithoutSample(priority);
+        onSample(latencyNanos, before);
+    }
+
+    /**
+     * Releases an admitted request that failed, without using its
+     * latency: a fast failure says nothing about capacity.
+     */
+    public void releaseWithoutSample(Priority priority) {
+        counter(priority).decrementAndGet();
+        inFlight.decrementAndGet();
+    }
+
+    public double limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public int inFlight(Priority priority) {
+        return counter(priority).get();
+    }
+
+    public long shedCount() {
+        return shed.get();
+    }
+
+    private AtomicInteger counter(Priority priority) {
+        return priority == Priority.WRITE ? writesInFlight : readsInFlight;
+    }
+
+    private synchronized void onSample(long latencyNanos, int inFlightAtCompletion) {
+        windowLatencySum += latencyNanos;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtCompletion);
+        if (++windowSamples < windowSize) {
+            return;
+        }
+        double shortLatency = Math.max(1.0, (double) windowLatencySum / windowSamples);
+        longLatency = longLatency == 0
+            ? shortLatency
+            : longLatency * (1 - LONG_RTT_WEIGHT) + shortLatency * LONG_RTT_WEIGHT;
+        // After a long slow spell, let the baseline come back down quickly
+        longLatency = Math.min(longLatency, shortLatency * 2);
+
+        double current = limit;
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, longLatency / shortLatency));
+        double target = current * gradient + Math.sqrt(current);
+        if (target > current && windowMaxInFlight < current / 2) {
+            target = current;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, current * (1 - SMOOTHING) + target * SMOOTHING));
+
+        windowLatencySum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /**
+     * Stops admitting reads and waits for requests in flight to finish.
+     * Runs before the web server's graceful shutdown, which has a lower
+     * phase.
+     */
+    @Override
+    public void stop() {
+        draining = true;
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        log.info("Draining {} reads and {} writes in flight", readsInFlight.get(), writesInFlight.get());
+        try {
+            while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(DRAIN_POLL_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (inFlight.get() > 0) {
+            log.warn("Drain timed out with {} reads and {} writes still in flight",
+                readsInFlight.get(), writesInFlight.get());
+        }
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
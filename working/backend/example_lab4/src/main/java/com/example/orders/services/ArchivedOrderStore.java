@@ -0,0 +1,456 @@
+package com.example.orders.services;
+
+import com.example.orders.models.ArchivedOrder;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cold storage tier for orders from archived partitions.
+ *
+ * <p>Each archived partition becomes one segment file on local disk: a
+ * small uncompressed header (row count and ID range) followed by a
+ * gzip-compressed, column-by-column body. IDs and timestamps are
+ * delta-encoded and statuses are dictionary-encoded, which keeps
+ * segments small. Lookups check the in-memory ID ranges, then decode
+ * the matching segment (a few are kept decoded) and binary-search it.
+ * Customer history scans segments newest first, skipping those without
+ * the customer by a sorted list of each segment's customers, built the
+ * first time the segment is scanned.</p>
+ *
+ * <p>Segments are the only copy of an archived partition once it is
+ * dropped, so the store is disabled unless {@code orders.archive.dir}
+ * points at durable storage, and {@link OrderPartitionManager} archives
+ * nothing while it is disabled.</p>
+ */
+@Service
+public class ArchivedOrderStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchivedOrderStore.class);
+
+    private static final int MAGIC = 0x4F524441; // "ORDA"
+    private static final byte FORMAT_VERSION = 1;
+    private static final String SEGMENT_SUFFIX = ".orders.gz";
+    private static final int DECODED_SEGMENT_CACHE_SIZE = 4;
+
+    private final Path archiveDir;
+    private final List<SegmentHeader> segments = new CopyOnWriteArrayList<>();
+    private final Map<Path, long[]> customersBySegment = new ConcurrentHashMap<>();
+    private final Map<Path, Segment> decoded = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, Segment> eldest) {
+            return size() > DECODED_SEGMENT_CACHE_SIZE;
+        }
+    };
+
+    public ArchivedOrderStore(@Value("${orders.archive.dir:}") String archiveDir) {
+        this.archiveDir = archiveDir.isBlank() ? null : Path.of(archiveDir);
+    }
+
+    /**
+     * Whether an archive directory is configured.
+     */
+    public boolean isEnabled() {
+        return archiveDir != null;
+    }
+
+    /**
+     * Reads the headers of all existing segments.
+     */
+    @PostConstruct
+    public void loadSegmentHeaders() {
+        if (archiveDir == null) {
+            log.info("Order archive disabled: orders.archive.dir is not set");
+            return;
+        }
+        try {
+            Files.createDirectories(archiveDir);
+            try (Stream<Path> files = Files.list(archiveDir)) {
+                files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .forEach(file -> segments.add(readHeader(file)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open order archive " + archiveDir, e);
+        }
+        log.info("Order archive: {} segments in {}", segments.size(), archiveDir);
+    }
+
+    /**
+     * Looks up an archived order by ID.
+     *
+     * @param orderId the order ID
+     * @return the archived order, or empty if it is not in any segment
+     */
+    public Optional<ArchivedOrder> findById(long orderId) {
+        for (SegmentHeader header : segments) {
+            if (orderId < header.minId() || orderId > header.maxId()) {
+                continue;
+            }
+            Optional<ArchivedOrder> found = segment(header.file()).find(orderId);
+            if (found.isPresent()) {
+                return found;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns a customer's archived orders, newest first, strictly before
+     * the given keyset position, like
+     * {@link com.example.orders.repositories.OrderQueryRepository#findCustomerOrders}.
+     * Segment names sort by month, as partition names do, so segments are
+     * read newest first and reading stops once {@code limit} orders are
+     * found.
+     *
+     * @param customerId      the customer
+     * @param beforeCreatedAt creation time of the last order already seen, or null to start at the newest
+     * @param beforeId        ID of the last order already seen; ignored when {@code beforeCreatedAt} is null
+     * @param limit           maximum orders to return
+     */
+    public List<ArchivedOrder> findCustomerOrders(long customerId, Instant beforeCreatedAt, long beforeId, int limit) {
+        List<SegmentHeader> newestFirst = new ArrayList<>(segments);
+        newestFirst.sort(Comparator.comparing((SegmentHeader header) -> header.file().getFileName().toString())
+            .reversed());
+        List<ArchivedOrder> found = new ArrayList<>();
+        for (SegmentHeader header : newestFirst) {
+            if (found.size() >= limit) {
+                break;
+            }
+            long[] customers = customersBySegment.computeIfAbsent(header.file(),
+                file -> segment(file).customers());
+            if (Arrays.binarySearch(customers, customerId) >= 0) {
+                found.addAll(segment(header.file()).findByCustomer(customerId, beforeCreatedAt, beforeId));
+            }
+        }
+        return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+    }
+
+    /**
+     * Returns whether a segment with the given name has already been written.
+     */
+    public boolean hasSegment(String name) {
+        return archiveDir != null && Files.exists(archiveDir.resolve(name + SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Writes a list of orders, sorted by ID, as a segment, replacing any
+     * segment of the same name. The file is written to a temporary name,
+     * synced, moved into place and the directory synced, so a crash never
+     * leaves a partial segment behind and a returned segment survives
+     * one. The segment is then read back and checked against
+     * {@code orders} before this method returns.
+     *
+     * @param name   segment name, typically the partition name
+     * @param orders the orders to archive, in ascending ID order
+     * @throws IllegalStateException if the store is disabled
+     * @throws UncheckedIOException if the segment could not be written or does not read back
+     */
+    public void writeSegment(String name, List<ArchivedOrder> orders) {
+        if (archiveDir == null) {
+            throw new IllegalStateException("Order archive is disabled");
+        }
+        Path target = archiveDir.resolve(name + SEGMENT_SUFFIX);
+        Path temp = archiveDir.resolve(name + SEGMENT_SUFFIX + ".tmp");
+        Segment written;
+        try {
+            try (OutputStream file = Files.newOutputStream(temp,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.SYNC)) {
+                writeSegment(file, orders);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            try (FileChannel directory = FileChannel.open(archiveDir, StandardOpenOption.READ)) {
+                directory.force(true);
+            }
+            written = readSegment(target);
+            if (!written.matches(orders)) {
+                throw new IOException("Segment does not read back as written");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write archive segment " + target, e);
+        }
+        SegmentHeader header = readHeader(target);
+        synchronized (decoded) {
+            decoded.put(target, written);
+        }
+        customersBySegment.put(target, written.customers());
+        segments.removeIf(existing -> existing.file().equals(target));
+        segments.add(header);
+    }
+
+    private Segment segment(Path file) {
+        synchronized (decoded) {
+            Segment segment = decoded.get(file);
+            if (segment == null) {
+                segment = readSegment(file);
+                decoded.put(file, segment);
+            }
+            return segment;
+        }
+    }
+
+    static void writeSegment(OutputStream target, List<ArchivedOrder> orders) throws IOException {
+        int count = orders.size();
+        DataOutputStream header = new DataOutputStream(target);
+        header.writeInt(MAGIC);
+        header.writeByte(FORMAT_VERSION);
+        header.writeInt(count);
+        header.writeLong(count == 0 ? 0 : orders.get(0).id());
+        header.writeLong(count == 0 ? -1 : orders.get(count - 1).id());
+        header.flush();
+
+        GZIPOutputStream gzip = new GZIPOutputStream(target);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(gzip));
+
+        long previous = 0;
+        for (ArchivedOrder order : orders) {
+            out.writeLong(order.id() - previous);
+            previous = order.id();
+        }
+        for (ArchivedOrder order : orders) {
+            out.writeLong(order.customerId());
+        }
+        previous = 0;
+        for (ArchivedOrder order : orders) {
+            long millis = order.createdAt().toEpochMilli();
+            out.writeLong(millis - previous);
+            previous = millis;
+        }
+
+        List<String> dictionary = new ArrayList<>();
+        for (ArchivedOrder order : orders) {
+            if (!dictionary.contains(order.status())) {
+                dictionary.add(order.status());
+            }
+        }
+        out.writeByte(dictionary.size());
+        for (String status : dictionary) {
+            out.writeUTF(status);
+        }
+        for (ArchivedOrder order : orders) {
+            out.writeByte(dictionary.indexOf(order.status()));
+        }
+
+        for (ArchivedOrder order : orders) {
+            if (order.total() == null) {
+                // an unscaled value is never empty, so length 0 marks a missing total
+                out.writeByte(0);
+                out.writeByte(0);
+                continue;
+            }
+            byte[] unscaled = order.total().unscaledValue().toByteArray();
+            out.writeByte(order.total().scale());
+            out.writeByte(unscaled.length);
+            out.write(unscaled);
+        }
+
+        for (ArchivedOrder order : orders) {
+            out.writeInt(order.itemIds().size());
+        }
+        for (ArchivedOrder order : orders) {
+            for (Long itemId : order.itemIds()) {
+                out.writeLong(itemId);
+            }
+        }
+
+        out.flush();
+        gzip.finish();
+    }
+
+    static Segment readSegment(InputStream source) throws IOException {
+        DataInputStream header = new DataInputStream(source);
+        readAndCheckHeader(header);
+        int count = header.readInt();
+        header.readLong();
+        header.readLong();
+
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(source)));
+        long[] ids = new long[count];
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += in.readLong();
+            ids[i] = previous;
+        }
+        long[] customerIds = new long[count];
+        for (int i = 0; i < count; i++) {
+            customerIds[i] = in.readLong();
+        }
+        long[] createdAt = new long[count];
+        previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += in.readLong();
+            createdAt[i] = previous;
+        }
+
+        String[] dictionary = new String[in.readUnsignedByte()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = in.readUTF();
+        }
+        byte[] statuses = new byte[count];
+        in.readFully(statuses);
+
+        BigDecimal[] totals = new BigDecimal[count];
+        for (int i = 0; i < count; i++) {
+            int scale = in.readByte();
+            byte[] unscaled = new byte[in.readUnsignedByte()];
+            in.readFully(unscaled);
+            totals[i] = unscaled.length == 0 ? null : new BigDecimal(new BigInteger(unscaled), scale);
+        }
+
+        int[] itemOffsets = new int[count + 1];
+        for (int i = 0; i < count; i++) {
+            itemOffsets[i + 1] = itemOffsets[i] + in.readInt();
+        }
+        long[] itemIds = new long[itemOffsets[count]];
+        for (int i = 0; i < itemIds.length; i++) {
+            itemIds[i] = in.readLong();
+        }
+
+        return new Segment(ids, customerIds, createdAt, dictionary, statuses, totals, itemOffsets, itemIds);
+    }
+
+    private static Segment readSegment(Path file) {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            return readSegment(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read archive segment " + file, e);
+        }
+    }
+
+    private static SegmentHeader readHeader(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            readAndCheckHeader(in);
+            in.readInt();
+            return new SegmentHeader(file, in.readLong(), in.readLong());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read archive segment header " + file, e);
+        }
+    }
+
+    private static void readAndCheckHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readByte() != FORMAT_VERSION) {
+            throw new IOException("Not an order archive segment");
+        }
+    }
+
+    private record SegmentHeader(Path file, long minId, long maxId) {}
+
+    /**
+     * A decoded segment held as parallel column arrays.
+     */
+    static final class Segment {
+        private final long[] ids;
+        private final long[] customerIds;
+        private final long[] createdAt;
+        private final String[] statusDictionary;
+        private final byte[] statuses;
+        private final BigDecimal[] totals;
+        private final int[] itemOffsets;
+        private final long[] itemIds;
+
+        private Segment(long[] ids, long[] customerIds, long[] createdAt, String[] statusDictionary,
+                        byte[] statuses, BigDecimal[] totals, int[] itemOffsets, long[] itemIds) {
+            this.ids = ids;
+            this.customerIds = customerIds;
+            this.createdAt = createdAt;
+            this.statusDictionary = statusDictionary;
+            this.statuses = statuses;
+            this.totals = totals;
+            this.itemOffsets = itemOffsets;
+            this.itemIds = itemIds;
+        }
+
+        /**
+         * Whether this segment holds exactly the given orders' IDs, in order.
+         */
+        boolean matches(List<ArchivedOrder> orders) {
+            if (ids.length != orders.size()) {
+                return false;
+            }
+            for (int row = 0; row < ids.length; row++) {
+                if (ids[row] != orders.get(row).id()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Optional<ArchivedOrder> find(long orderId) {
+            int row = Arrays.binarySearch(ids, orderId);
+            return row < 0 ? Optional.empty() : Optional.of(order(row));
+        }
+
+        /**
+         * The distinct customer IDs in this segment, sorted.
+         */
+        long[] customers() {
+            return Arrays.stream(customerIds).sorted().distinct().toArray();
+        }
+
+        /**
+         * One customer's orders before a keyset position, newest first.
+         */
+        List<ArchivedOrder> findByCustomer(long customerId, Instant beforeCreatedAt, long beforeId) {
+            List<ArchivedOrder> found = new ArrayList<>();
+            for (int row = 0; row < ids.length; row++) {
+                if (customerIds[row] != customerId) {
+                    continue;
+                }
+                if (beforeCreatedAt != null) {
+                    int byTime = Instant.ofEpochMilli(createdAt[row]).compareTo(beforeCreatedAt);
+                    if (byTime > 0 || (byTime == 0 && ids[row] >= beforeId)) {
+                        continue;
+                    }
+                }
+                found.add(order(row));
+            }
+            found.sort(Comparator.comparing(ArchivedOrder::createdAt).thenComparingLong(ArchivedOrder::id).reversed());
+            return found;
+        }
+
+        private ArchivedOrder order(int row) {
+            List<Long> items = new ArrayList<>(itemOffsets[row + 1] - itemOffsets[row]);
+            for (int i = itemOffsets[row]; i < itemOffsets[row + 1]; i++) {
+                items.add(itemIds[i]);
+            }
+            return new ArchivedOrder(
+                ids[row],
+                customerIds[row],
+                items,
+                statusDictionary[statuses[row]],
+                Instant.ofEpochMilli(createdAt[row]),
+                totals[row]
+            );
+        }
+    }
+}
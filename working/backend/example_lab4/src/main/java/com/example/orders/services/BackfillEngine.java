@@ -0,0 +1,229 @@
+package com.example.orders.services;
+
+import com.example.orders.dto.BackfillProgress;
+import com.example.orders.repositories.BackfillCheckpointRepository;
+import com.example.orders.repositories.BackfillCheckpointRepository.CompletedChunk;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs {@link BackfillTask}s over the whole order ID space.
+ *
+ * <p>The ID range is split into fixed-size chunks processed on a
+ * fork-join pool. Each chunk runs in its own transaction and writes a
+ * checkpoint of the range it covered in that transaction, so a restarted
+ * job skips chunks whose whole range already committed. A tail chunk
+ * completed before more orders existed, or chunks checkpointed under a
+ * different chunk size, only count for the IDs they covered. Workers slow
+ * down when chunks take longer than the target latency, which keeps the
+ * job from starving online traffic.</p>
+ */
+@Service
+public class BackfillEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(BackfillEngine.class);
+
+    private static final String RUNNING = "RUNNING";
+    private static final String COMPLETED = "COMPLETED";
+    private static final String FAILED = "FAILED";
+    private static final long MAX_THROTTLE_MS = 5_000;
+    private static final long THROTTLE_STEP_MS = 10;
+
+    private final BackfillCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int chunkSize;
+    private final int parallelism;
+    private final long targetChunkMillis;
+    private final Map<String, JobState> jobs = new ConcurrentHashMap<>();
+
+    public BackfillEngine(
+            BackfillCheckpointRepository checkpointRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${orders.backfill.chunk-size:5000}") int chunkSize,
+            @Value("${orders.backfill.parallelism:4}") int parallelism,
+            @Value("${orders.backfill.target-chunk-ms:500}") long targetChunkMillis) {
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.targetChunkMillis = targetChunkMillis;
+    }
+
+    /**
+     * Runs a task to completion, resuming from its last checkpoint.
+     *
+     * @param task the work to apply to every order
+     * @return final progress of the run
+     */
+    public BackfillProgress run(BackfillTask task) {
+        long maxId = task.maxOrderId();
+        NavigableMap<Long, Long> completed = coveredRanges(checkpointRepository.findCompletedChunks(task.name()));
+
+        List<long[]> pending = new ArrayList<>();
+        long totalChunks = 0;
+        for (long from = 1; from <= maxId; from += chunkSize) {
+            totalChunks++;
+            long to = Math.min(from + chunkSize, maxId + 1);
+            if (!isCovered(completed, from, to)) {
+                pending.add(new long[] { from, to });
+            }
+        }
+
+        JobState state = new JobState(totalChunks, totalChunks - pending.size());
+        jobs.put(task.name(), state);
+        registerGauges(task.name());
+        log.info("Backfill {} starting: {} of {} chunks remaining", task.name(), pending.size(), totalChunks);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<ForkJoinTask<?>> submitted = new ArrayList<>(pending.size());
+            for (long[] range : pending) {
+                submitted.add(pool.submit(() -> processChunk(task, state, range[0], range[1])));
+            }
+            for (ForkJoinTask<?> chunk : submitted) {
+                chunk.join();
+            }
+            state.state = COMPLETED;
+        } catch (RuntimeException e) {
+            state.state = FAILED;
+            log.error("Backfill {} failed; rerun to resume from checkpoint", task.name(), e);
+            throw e;
+        } finally {
+            pool.shutdownNow();
+        }
+
+        BackfillProgress progress = state.snapshot(task.name());
+        log.info("Backfill {} finished: {} rows at {} rows/s",
+            task.name(), progress.rowsProcessed(), Math.round(progress.rowsPerSecond()));
+        return progress;
+    }
+
+    /**
+     * Returns the progress of the most recent run of a job.
+     */
+    public Optional<BackfillProgress> progress(String jobName) {
+        return Optional.ofNullable(jobs.get(jobName)).map(state -> state.snapshot(jobName));
+    }
+
+    /**
+     * Merges completed chunks into disjoint ranges keyed by start ID.
+     */
+    private static NavigableMap<Long, Long> coveredRanges(List<CompletedChunk> chunks) {
+        List<CompletedChunk> sorted = new ArrayList<>(chunks);
+        sorted.sort((a, b) -> Long.compare(a.start(), b.start()));
+        NavigableMap<Long, Long> ranges = new TreeMap<>();
+        for (CompletedChunk chunk : sorted) {
+            Map.Entry<Long, Long> last = ranges.lastEntry();
+            if (last != null && chunk.start() <= last.getValue()) {
+                ranges.put(last.getKey(), Math.max(last.getValue(), chunk.end()));
+            } else {
+                ranges.put(chunk.start(), chunk.end());
+            }
+        }
+        return ranges;
+    }
+
+    private static boolean isCovered(NavigableMap<Long, Long> ranges, long fromId, long toId) {
+        Map.Entry<Long, Long> range = ranges.floorEntry(fromId);
+        return range != null && range.getValue() >= toId;
+    }
+
+    private void processChunk(BackfillTask task, JobState state, long fromId, long toId) {
+        pause(state.throttleMillis.get());
+
+        long started = System.nanoTime();
+        Integer rows = transactionTemplate.execute(status -> {
+            int done = task.processChunk(fromId, toId);
+            checkpointRepository.markCompleted(task.name(), fromId, toId, done);
+            return done;
+        });
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        adjustThrottle(state, elapsedMillis);
+        state.rowsProcessed.addAndGet(rows == null ? 0 : rows);
+        state.completedChunks.incrementAndGet();
+    }
+
+    /**
+     * Additive-increase / multiplicative-decrease on the pause between chunks:
+     * back off quickly when the database is slow, recover gradually.
+     */
+    private void adjustThrottle(JobState state, long elapsedMillis) {
+        state.throttleMillis.updateAndGet(current -> elapsedMillis > targetChunkMillis
+            ? Math.min(MAX_THROTTLE_MS, Math.max(THROTTLE_STEP_MS, current * 2))
+            : Math.max(0, current - THROTTLE_STEP_MS));
+    }
+
+    private void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void registerGauges(String jobName) {
+        Gauge.builder("orders.backfill.chunks.completed", jobs,
+                j -> j.containsKey(jobName) ? j.get(jobName).completedChunks.get() : 0)
+            .tag("job", jobName)
+            .register(meterRegistry);
+        Gauge.builder("orders.backfill.rows.per.second", jobs,
+                j -> j.containsKey(jobName) ? j.get(jobName).snapshot(jobName).rowsPerSecond() : 0)
+            .tag("job", jobName)
+            .register(meterRegistry);
+        Gauge.builder("orders.backfill.throttle.ms", jobs,
+                j -> j.containsKey(jobName) ? j.get(jobName).throttleMillis.get() : 0)
+            .tag("job", jobName)
+            .register(meterRegistry);
+    }
+
+    private static final class JobState {
+        private final long totalChunks;
+        private final long startedNanos = System.nanoTime();
+        private final AtomicLong completedChunks;
+        private final AtomicLong rowsProcessed = new AtomicLong();
+        private final AtomicLong throttleMillis = new AtomicLong();
+        private volatile String state = RUNNING;
+
+        private JobState(long totalChunks, long alreadyCompleted) {
+            this.totalChunks = totalChunks;
+            this.completedChunks = new AtomicLong(alreadyCompleted);
+        }
+
+        private BackfillProgress snapshot(String jobName) {
+            double seconds = Math.max(1e-3, (System.nanoTime() - startedNanos) / 1e9);
+            return new BackfillProgress(
+                jobName,
+                state,
+                totalChunks,
+                completedChunks.get(),
+                rowsProcessed.get(),
+                rowsProcessed.get() / seconds,
+                throttleMillis.get()
+            );
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.orders.services;
+
+/**
+ * A unit of bulk work run by {@link BackfillEngine} over the order ID space.
+ *
+ * <p>Implementations process every order with {@code fromId <= id < toId}.
+ * Each call runs inside its own transaction, together with the chunk's
+ * checkpoint, so a chunk is either fully applied or retried on resume.</p>
+ */
+public interface BackfillTask {
+
+    /**
+     * Stable job name, used as the checkpoint key.
+     */
+    String name();
+
+    /**
+     * Highest order ID the job needs to cover.
+     */
+    long maxOrderId();
+
+    /**
+     * Processes one chunk of orders.
+     *
+     * @param fromId first order ID (inclusive)
+     * @param toId   last order ID (exclusive)
+     * @return number of orders processed
+     */
+    int processChunk(long fromId, long toId);
+}
@@ -0,0 +1,219 @@
+package com.example.orders.services;
+
+import com.example.orders.models.CacheInvalidatedEvent;
+import com.example.orders.models.CacheInvalidation;
+import com.example.orders.models.NewOrder;
+import com.example.orders.models.OrderTotalsChangedEvent;
+import com.example.orders.models.OrdersCreatedEvent;
+import com.example.orders.repositories.CacheInvalidationRepository;
+import com.example.orders.repositories.CacheInvalidationRepository.InvalidationRow;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tells the other instances of the service which cached entities have
+ * changed, through the {@code cache_invalidations} table, so no broker
+ * is needed.
+ *
+ * <p>Local changes are collected in a set, which coalesces repeated
+ * changes to the same entity, and written in batches every
+ * {@code orders.cache-bus.flush-interval-ms}. They are written after the
+ * change itself has committed, so by the time another instance sees a
+ * row, reloading the entity returns the new data. Changes other services
+ * make in the database (order statuses, customers, items) are written by
+ * triggers with the origin {@code database}, so every instance applies
+ * them.</p>
+ *
+ * <p>Each instance polls for rows written by the others and publishes a
+ * {@link CacheInvalidatedEvent} per cache with the changed IDs, once
+ * each. Sequence numbers are allocated before commit, so a row can
+ * become visible after a higher one has been read; skipped numbers are
+ * re-checked until they appear or {@code orders.cache-bus.gap-timeout-ms}
+ * passes. The sequence of the last row applied for each entity is kept
+ * and a late row with a lower sequence is dropped, since the reload for
+ * the higher one already saw its change.</p>
+ */
+@Service
+public class CacheInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private static final int MAX_OPEN_GAPS = 1_000;
+    private static final int MAX_TRACKED_ENTITIES = 100_000;
+
+    private final CacheInvalidationRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final long gapTimeoutNanos;
+    private final Duration retention;
+    private final String origin = UUID.randomUUID().toString();
+
+    private final Set<CacheInvalidation> pending = ConcurrentHashMap.newKeySet();
+
+    // Poll state, guarded by the poll() monitor.
+    private long highWater;
+    private final TreeMap<Long, Long> openGaps = new TreeMap<>();
+    private final Map<CacheInvalidation, Long> appliedSequences =
+        new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheInvalidation, Long> eldest) {
+                return size() > MAX_TRACKED_ENTITIES;
+            }
+        };
+
+    public CacheInvalidationBus(
+            CacheInvalidationRepository repository,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${orders.cache-bus.batch-size:500}") int batchSize,
+            @Value("${orders.cache-bus.gap-timeout-ms:10000}") long gapTimeoutMillis,
+            @Value("${orders.cache-bus.retention-minutes:60}") long retentionMinutes) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.gapTimeoutNanos = Duration.ofMillis(gapTimeoutMillis).toNanos();
+        this.retention = Duration.ofMinutes(retentionMinutes);
+    }
+
+    /**
+     * Starts from the current end of the table. Runs before the caches
+     * load, so nothing written while they load is missed.
+     */
+    @PostConstruct
+    public synchronized void start() {
+        highWater = repository.findMaxSequence();
+    }
+
+    /**
+     * Queues an invalidation for the other instances. Call after the
+     * change has committed.
+     */
+    public void publish(CacheInvalidation.Kind kind, long entityId) {
+        pending.add(new CacheInvalidation(kind, entityId));
+    }
+
+    @EventListener
+    public void onOrdersCreated(OrdersCreatedEvent event) {
+        for (NewOrder order : event.orders()) {
+            publish(CacheInvalidation.Kind.ORDER, order.id());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTotalsChanged(OrderTotalsChangedEvent event) {
+        for (Long orderId : event.orderIds()) {
+            publish(CacheInvalidation.Kind.ORDER, orderId);
+        }
+    }
+
+    /**
+     * Writes queued invalidations in batches of
+     * {@code orders.cache-bus.batch-size}. A failed batch is re-queued.
+     */
+    @Scheduled(fixedDelayString = "${orders.cache-bus.flush-interval-ms:200}")
+    public void flush() {
+        while (!pending.isEmpty()) {
+            List<CacheInvalidation> batch = new ArrayList<>(Math.min(pending.size(), batchSize));
+            Iterator<CacheInvalidation> queued = pending.iterator();
+            while (queued.hasNext() && batch.size() < batchSize) {
+                batch.add(queued.next());
+                queued.remove();
+            }
+            try {
+                repository.append(origin, batch);
+            } catch (RuntimeException e) {
+                pending.addAll(batch);
+                log.warn("Could not write {} cache invalidations, will retry", batch.size(), e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes what is still queued so other instances hear about it.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Reads rows written by other instances since the last poll, plus
+     * any earlier rows that have now appeared, and publishes them. Reads
+     * pages of {@code orders.cache-bus.batch-size} until one comes back
+     * short, so a backlog is drained in one poll.
+     */
+    @Scheduled(fixedDelayString = "${orders.cache-bus.poll-interval-ms:500}")
+    public synchronized void poll() {
+        long now = System.nanoTime();
+        Map<CacheInvalidation.Kind, Set<Long>> changed = new EnumMap<>(CacheInvalidation.Kind.class);
+        collect(repository.findBySequences(List.copyOf(openGaps.keySet())), now, changed);
+        List<InvalidationRow> page;
+        do {
+            page = repository.findAfter(highWater, batchSize);
+            collect(page, now, changed);
+        } while (page.size() >= batchSize);
+        openGaps.values().removeIf(deadline -> deadline - now <= 0);
+
+        changed.forEach((kind, ids) -> eventPublisher.publishEvent(new CacheInvalidatedEvent(kind, ids)));
+    }
+
+    /**
+     * Deletes rows older than {@code orders.cache-bus.retention-minutes}.
+     */
+    @Scheduled(fixedDelayString = "${orders.cache-bus.prune-interval-ms:600000}")
+    public void prune() {
+        int deleted = repository.deleteCreatedBefore(Instant.now().minus(retention));
+        if (deleted > 0) {
+            log.debug("Pruned {} cache invalidations", deleted);
+        }
+    }
+
+    private void collect(List<InvalidationRow> rows, long now, Map<CacheInvalidation.Kind, Set<Long>> changed) {
+        for (InvalidationRow row : rows) {
+            trackSequence(row.sequence(), now);
+            if (origin.equals(row.origin())) {
+                continue;
+            }
+            CacheInvalidation invalidation = row.invalidation();
+            Long applied = appliedSequences.get(invalidation);
+            if (applied != null && applied >= row.sequence()) {
+                continue;
+            }
+            appliedSequences.put(invalidation, row.sequence());
+            changed.computeIfAbsent(invalidation.kind(), kind -> new HashSet<>()).add(invalidation.entityId());
+        }
+    }
+
+    private void trackSequence(long sequence, long now) {
+        if (sequence <= highWater) {
+            openGaps.remove(sequence);
+            return;
+        }
+        for (long skipped = highWater + 1; skipped < sequence && openGaps.size() < MAX_OPEN_GAPS; skipped++) {
+            openGaps.put(skipped, now + gapTimeoutNanos);
+        }
+        highWater = sequence;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.orders.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client token buckets for the order API, with separate read and
+ * write budgets so a client polling lists cannot use up its own status
+ * updates.
+ *
+ * <p>Each bucket is a single {@link AtomicLong} holding the time at which
+ * it will be full again (the generic cell rate algorithm, which behaves
+ * exactly like a token bucket). Taking a token is one compare-and-set
+ * that pushes that time forward by one token's worth; a request is
+ * rejected when doing so would push it more than one burst ahead of now.
+ * No locks are taken and nothing is allocated for a known client.</p>
+ *
+ * <p>A bucket whose full-again time has passed is indistinguishable from
+ * a new one, so idle clients are dropped by a periodic sweep. Once
+ * {@code orders.rate-limit.max-clients} are tracked, clients not yet
+ * seen share one overflow bucket pair until the next sweep frees room.</p>
+ */
+@Service
+public class ClientRateLimiter {
+
+    private final long readIntervalNanos;
+    private final long readBurstNanos;
+    private final long writeIntervalNanos;
+    private final long writeBurstNanos;
+    private final int maxClients;
+
+    private final ConcurrentHashMap<String, Buckets> clients = new ConcurrentHashMap<>();
+    private final Buckets overflow = new Buckets(System.nanoTime());
+
+    public ClientRateLimiter(
+            @Value("${orders.rate-limit.read-per-second:50}") double readPerSecond,
+            @Value("${orders.rate-limit.read-burst:100}") int readBurst,
+            @Value("${orders.rate-limit.write-per-second:20}") double writePerSecond,
+            @Value("${orders.rate-limit.write-burst:40}") int writeBurst,
+            @Value("${orders.rate-limit.max-clients:100000}") int maxClients) {
+        this.readIntervalNanos = intervalNanos(readPerSecond);
+        this.readBurstNanos = readIntervalNanos * readBurst;
+        this.writeIntervalNanos = intervalNanos(writePerSecond);
+        this.writeBurstNanos = writeIntervalNanos * writeBurst;
+        this.maxClients = maxClients;
+    }
+
+    private static final class Buckets {
+        final AtomicLong readFullAt;
+        final AtomicLong writeFullAt;
+
+        Buckets(long now) {
+            readFullAt = new AtomicLong(now);
+            writeFullAt = new AtomicLong(now);
+        }
+    }
+
+    /**
+     * Takes one read token for the client.
+     *
+     * @return {@code false} if the client has used up its read budget
+     */
+    public boolean tryRead(String clientKey) {
+        return tryTake(bucketsFor(clientKey).readFullAt, readIntervalNanos, readBurstNanos, System.nanoTime());
+    }
+
+    /**
+     * Takes one write token for the client.
+     *
+     * @return {@code false} if the client has used up its write budget
+     */
+    public boolean tryWrite(String clientKey) {
+        return tryTake(bucketsFor(clientKey).writeFullAt, writeIntervalNanos, writeBurstNanos, System.nanoTime());
+    }
+
+    public int trackedClients() {
+        return clients.size();
+    }
+
+    /**
+     * Drops clients whose buckets have both refilled.
+     */
+    @Scheduled(fixedDelayString = "${orders.rate-limit.sweep-interval-ms:10000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        clients.values().removeIf(buckets ->
+            buckets.readFullAt.get() - now <= 0 && buckets.writeFullAt.get() - now <= 0);
+    }
+
+    private Buckets bucketsFor(String clientKey) {
+        Buckets buckets = clients.get(clientKey);
+        if (buckets != null) {
+            return buckets;
+        }
+        if (clients.size() >= maxClients) {
+            return overflow;
+        }
+        return clients.computeIfAbsent(clientKey, key -> new Buckets(System.nanoTime()));
+    }
+
+    static boolean tryTake(AtomicLong fullAt, long intervalNanos, long burstNanos, long now) {
+        while (true) {
+            long current = fullAt.get();
+            long start = current - now < 0 ? now : current;
+            long next = start + intervalNanos;
+            if (next - now > burstNanos) {
+                return false;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    private static long intervalNanos(double perSecond) {
+        return Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / perSecond));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.orders.services;
+
+import com.example.orders.exceptions.DeadlineExceededException;
+import com.example.orders.exceptions.ServiceOverloadedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caps concurrent database work per kind of endpoint, so one slow kind
+ * cannot take every pooled connection and request thread.
+ *
+ * <p>Order lists and history pages scan index ranges and are the first
+ * to slow down; order details and totals are point lookups that should
+ * keep working meanwhile. Each kind gets its own permits, and together
+ * they are meant to stay below the connection pool size, leaving
+ * connections for the intake writer and background jobs. A caller waits
+ * at most {@code orders.bulkhead.max-wait}, and never past its
+ * {@link RequestDeadline}, then fails with a 503.</p>
+ */
+@Component
+public class DatabaseBulkheads {
+
+    private static final String FULL_MSG = "Too many concurrent %s requests, retry later";
+
+    /**
+     * Kinds of database work with separate limits.
+     */
+    public enum Kind {
+        LIST, DETAIL
+    }
+
+    private final Map<Kind, Semaphore> permits = new EnumMap<>(Kind.class);
+    private final long maxWaitNanos;
+
+    public DatabaseBulkheads(
+            @Value("${orders.bulkhead.list.max-concurrent:4}") int listMaxConcurrent,
+            @Value("${orders.bulkhead.detail.max-concurrent:4}") int detailMaxConcurrent,
+            @Value("${orders.bulkhead.max-wait:PT0.1S}") Duration maxWait) {
+        permits.put(Kind.LIST, new Semaphore(listMaxConcurrent));
+        permits.put(Kind.DETAIL, new Semaphore(detailMaxConcurrent));
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    /**
+     * Runs {@code work} holding one permit of {@code kind}.
+     *
+     * @throws ServiceOverloadedException if no permit frees up in time
+     * @throws DeadlineExceededException  if the request deadline passes first
+     */
+    public <T> T call(Kind kind, Supplier<T> work) {
+        Semaphore semaphore = permits.get(kind);
+        acquire(kind, semaphore);
+        try {
+            return work.get();
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    /**
+     * Permits of {@code kind} not currently held.
+     */
+    public int available(Kind kind) {
+        return permits.get(kind).availablePermits();
+    }
+
+    private void acquire(Kind kind, Semaphore semaphore) {
+        long remaining = RequestDeadline.remainingNanos();
+        if (remaining <= 0) {
+            throw RequestDeadline.expired();
+        }
+        if (semaphore.tryAcquire()) {
+            return;
+        }
+        try {
+            if (semaphore.tryAcquire(Math.min(maxWaitNanos, remaining), TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (maxWaitNanos >= remaining) {
+            throw RequestDeadline.expired();
+        }
+        throw new ServiceOverloadedException(String.format(FULL_MSG, kind.name().toLowerCase(Locale.ROOT)));
+    }
+}
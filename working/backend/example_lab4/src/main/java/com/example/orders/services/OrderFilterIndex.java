@@ -0,0 +1,480 @@
+package com.example.orders.services;
+
+import com.example.orders.collections.LongList;
+import com.example.orders.collections.LongObjectMap;
+import com.example.orders.dto.OrderSummary;
+import com.example.orders.models.CacheInvalidatedEvent;
+import com.example.orders.models.CacheInvalidation;
+import com.example.orders.models.NewOrder;
+import com.example.orders.models.OrderStatusChangedEvent;
+import com.example.orders.models.OrdersArchivedEvent;
+import com.example.orders.models.OrdersCreatedEvent;
+import com.example.orders.repositories.OrderBatchRepository;
+import com.example.orders.repositories.OrderQueryRepository;
+import com.example.orders.repositories.OrderTotalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory bitmap index answering multi-criteria order filters and
+ * counts without scanning orders.
+ *
+ * <p>Each value of each filterable attribute maps to an
+ * {@link OrderIdBitmap} of the orders having it: one per status, one per
+ * customer bucket ({@code customerId mod orders.filter-index.customer-buckets}),
+ * one per UTC creation day and one per ordered item. A query intersects
+ * the bitmaps of its criteria, smallest first, after merging the days of
+ * a date range into one. Status, day and item matches are exact, so the
+ * intersection's cardinality is the count. A customer bucket holds a few
+ * customers' orders, so with a customer filter the candidates are passed
+ * to {@link OrderReadModel} in one batch to keep that customer's; a
+ * bucket is small, so that stays cheap.</p>
+ *
+ * <p>Only IDs come out of the index; callers render the page of matching
+ * orders from {@link OrderReadModel}. The index is built at startup from
+ * {@code orders} and {@code order_items} in parallel
+ * {@value #LOAD_CHUNK_SIZE}-ID chunks, then maintained by the same events
+ * as the read model, with events received during the build replayed
+ * after it. Orders whose partitions were archived are dropped on
+ * {@link OrdersArchivedEvent}, so counts only cover orders still in the
+ * database.</p>
+ *
+ * <p>If the build fails, the partly built index and queued events are
+ * dropped and the build is retried every
+ * {@code orders.filter-index.retry-interval-ms}. Events received while
+ * failed are ignored, since the next build reads their changes from the
+ * database.</p>
+ */
+@Service
+public class OrderFilterIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderFilterIndex.class);
+
+    static final int LOAD_CHUNK_SIZE = 50_000;
+
+    private final OrderQueryRepository orderQueryRepository;
+    private final OrderTotalRepository orderTotalRepository;
+    private final OrderReadModel orderReadModel;
+    private final int loadParallelism;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private OrderIdBitmap all = new OrderIdBitmap();
+    private final Map<String, OrderIdBitmap> byStatus = new HashMap<>();
+    private final OrderIdBitmap[] byCustomerBucket;
+    private final TreeMap<Long, OrderIdBitmap> byDay = new TreeMap<>();
+    private LongObjectMap<OrderIdBitmap> byItem = new LongObjectMap<>();
+    private List<Runnable> deferredWhileLoading = new ArrayList<>();
+    private volatile Phase phase = Phase.LOADING;
+
+    public OrderFilterIndex(
+            OrderQueryRepository orderQueryRepository,
+            OrderTotalRepository orderTotalRepository,
+            OrderReadModel orderReadModel,
+            @Value("${orders.filter-index.load-parallelism:4}") int loadParallelism,
+            @Value("${orders.filter-index.customer-buckets:1024}") int customerBuckets) {
+        this.orderQueryRepository = orderQueryRepository;
+        this.orderTotalRepository = orderTotalRepository;
+        this.orderReadModel = orderReadModel;
+        this.loadParallelism = loadParallelism;
+        this.byCustomerBucket = new OrderIdBitmap[customerBuckets];
+        for (int i = 0; i < customerBuckets; i++) {
+            byCustomerBucket[i] = new OrderIdBitmap();
+        }
+    }
+
+    /**
+     * Filter criteria; null fields match everything.
+     *
+     * @param status      the current status
+     * @param customerId  the ordering customer
+     * @param createdFrom first UTC creation day (inclusive)
+     * @param createdTo   last UTC creation day (inclusive)
+     * @param itemId      an item the order contains
+     */
+    public record Criteria(String status, Long customerId, LocalDate createdFrom, LocalDate createdTo, Long itemId) {}
+
+    /**
+     * Result of a filter.
+     *
+     * @param count    how many orders match in total
+     * @param orderIds up to the requested limit of them, highest ID first
+     */
+    public record Matches(long count, LongList orderIds) {
+        static Matches none() {
+            return new Matches(0, new LongList(0));
+        }
+    }
+
+    /**
+     * Builds the index from the database, then replays events received
+     * meanwhile.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            load();
+        } catch (RuntimeException e) {
+            log.error("Order filter index failed to load; retrying in the background", e);
+            reset();
+        }
+    }
+
+    /**
+     * Retries the initial build after a failure.
+     */
+    @Scheduled(fixedDelayString = "${orders.filter-index.retry-interval-ms:30000}",
+        initialDelayString = "${orders.filter-index.retry-interval-ms:30000}")
+    public void retryFailedLoad() {
+        if (phase == Phase.FAILED) {
+            rebuild();
+        }
+    }
+
+    private void load() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            phase = Phase.LOADING;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        long maxId = orderTotalRepository.findMaxOrderId();
+        ExecutorService loaders = Executors.newFixedThreadPool(loadParallelism, task -> {
+            Thread thread = new Thread(task, "order-filter-index-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Chunk>> chunks = new ArrayList<>();
+            for (long from = 0; from <= maxId; from += LOAD_CHUNK_SIZE) {
+                long fromId = from;
+                chunks.add(loaders.submit(() -> loadChunk(fromId, fromId + LOAD_CHUNK_SIZE)));
+            }
+            for (int i = 0; i < chunks.size(); i++) {
+                Chunk chunk = chunks.get(i).get();
+                chunks.set(i, null);
+                lock.writeLock().lock();
+                try {
+                    apply(chunk);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading order filter index", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to load order filter index", e.getCause());
+        } finally {
+            loaders.shutdownNow();
+        }
+
+        long indexed;
+        int items;
+        lock.writeLock().lock();
+        try {
+            deferredWhileLoading.forEach(Runnable::run);
+            deferredWhileLoading = null;
+            indexed = all.cardinality();
+            items = byItem.size();
+            phase = Phase.READY;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Order filter index loaded {} orders, {} items in {} ms", indexed, items,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    public boolean isReady() {
+        return phase == Phase.READY;
+    }
+
+    /**
+     * Returns how many orders match and the IDs of the first
+     * {@code limit} of them.
+     *
+     * @param criteria the filters
+     * @param limit    maximum IDs to return
+     * @return the count and IDs, highest (most recently accepted) first
+     */
+    public Matches find(Criteria criteria, int limit) {
+        lock.readLock().lock();
+        try {
+            List<OrderIdBitmap> filters = new ArrayList<>(4);
+            if (criteria.status() != null) {
+                OrderIdBitmap withStatus = byStatus.get(criteria.status());
+                if (withStatus == null) {
+                    return Matches.none();
+                }
+                filters.add(withStatus);
+            }
+            if (criteria.itemId() != null) {
+                OrderIdBitmap withItem = byItem.get(criteria.itemId());
+                if (withItem == null) {
+                    return Matches.none();
+                }
+                filters.add(withItem);
+            }
+            if (criteria.customerId() != null) {
+                filters.add(byCustomerBucket[bucket(criteria.customerId())]);
+            }
+            if (criteria.createdFrom() != null || criteria.createdTo() != null) {
+                filters.add(createdBetween(criteria.createdFrom(), criteria.createdTo()));
+            }
+            OrderIdBitmap candidates = intersect(filters);
+
+            if (criteria.customerId() == null) {
+                LongList orderIds = new LongList(Math.min(limit, 64));
+                candidates.forEachDescending(id -> {
+                    if (orderIds.size() == limit) {
+                        return false;
+                    }
+                    orderIds.add(id);
+                    return true;
+                });
+                return new Matches(candidates.cardinality(), orderIds);
+            }
+            LongList inBucket = new LongList();
+            candidates.forEachDescending(id -> {
+                inBucket.add(id);
+                return true;
+            });
+            LongList customerOrders = orderReadModel.ordersOfCustomer(inBucket, criteria.customerId());
+            LongList orderIds = new LongList(Math.min(limit, customerOrders.size()));
+            for (int i = 0; i < customerOrders.size() && i < limit; i++) {
+                orderIds.add(customerOrders.get(i));
+            }
+            return new Matches(customerOrders.size(), orderIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes newly committed orders.
+     */
+    @EventListener
+    public void onOrdersCreated(OrdersCreatedEvent event) {
+        whenLoaded(() -> {
+            for (NewOrder order : event.orders()) {
+                index(order.id(), order.customerId(), order.createdAt(), OrderBatchRepository.INITIAL_STATUS);
+                for (Long itemId : order.itemIds()) {
+                    indexItem(order.id(), itemId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Moves an order to the bitmap of its new status.
+     */
+    @EventListener
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        whenLoaded(() -> {
+            if (all.contains(event.orderId())) {
+                setStatus(event.orderId(), event.status());
+            }
+        });
+    }
+
+    /**
+     * Reindexes orders created or changed by other instances.
+     */
+    @EventListener
+    public void onInvalidated(CacheInvalidatedEvent event) {
+        if (event.kind() != CacheInvalidation.Kind.ORDER) {
+            return;
+        }
+        List<OrderSummary> orders = orderQueryRepository.findSummariesByIds(event.entityIds());
+        Chunk chunk = new Chunk();
+        orders.forEach(chunk.orders::add);
+        orderQueryRepository.forEachItemLink(event.entityIds(), chunk::addItemLink);
+        whenLoaded(() -> apply(chunk));
+    }
+
+    /**
+     * Drops the orders created before the archived boundary. Creation
+     * days are whole UTC days and partitions start at midnight UTC, so
+     * the days before the boundary's hold exactly those orders.
+     */
+    @EventListener
+    public void onOrdersArchived(OrdersArchivedEvent event) {
+        long boundaryDay = event.createdBefore().atOffset(ZoneOffset.UTC).toLocalDate().toEpochDay();
+        whenLoaded(() -> evictCreatedBefore(boundaryDay));
+    }
+
+    /**
+     * Runs an update under the write lock, queues it if the initial load
+     * has not finished yet, or drops it if the load failed.
+     */
+    private void whenLoaded(Runnable update) {
+        lock.writeLock().lock();
+        try {
+            if (phase == Phase.FAILED) {
+                return;
+            }
+            if (deferredWhileLoading != null) {
+                deferredWhileLoading.add(update);
+            } else {
+                update.run();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops everything a failed build left behind, so the retry starts
+     * from an empty index.
+     */
+    private void reset() {
+        lock.writeLock().lock();
+        try {
+            all = new OrderIdBitmap();
+            byStatus.clear();
+            for (int i = 0; i < byCustomerBucket.length; i++) {
+                byCustomerBucket[i] = new OrderIdBitmap();
+            }
+            byDay.clear();
+            byItem = new LongObjectMap<>();
+            deferredWhileLoading = new ArrayList<>();
+            phase = Phase.FAILED;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Chunk loadChunk(long fromId, long toId) {
+        Chunk chunk = new Chunk();
+        orderQueryRepository.forEachSummaryInIdRange(fromId, toId, chunk.orders::add);
+        orderQueryRepository.forEachItemLinkInIdRange(fromId, toId, chunk::addItemLink);
+        return chunk;
+    }
+
+    private void apply(Chunk chunk) {
+        for (OrderSummary order : chunk.orders) {
+            index(order.id(), order.customerId(), order.createdAt(), order.status());
+        }
+        for (int i = 0; i < chunk.linkedOrderIds.size(); i++) {
+            indexItem(chunk.linkedOrderIds.get(i), chunk.linkedItemIds.get(i));
+        }
+    }
+
+    /**
+     * Adds an order, or only updates its status if it is already indexed;
+     * its customer and creation day never change.
+     */
+    private void index(long orderId, long customerId, Instant createdAt, String status) {
+        if (!all.contains(orderId)) {
+            all.add(orderId);
+            byCustomerBucket[bucket(customerId)].add(orderId);
+            long day = createdAt.atOffset(ZoneOffset.UTC).toLocalDate().toEpochDay();
+            byDay.computeIfAbsent(day, d -> new OrderIdBitmap()).add(orderId);
+        }
+        setStatus(orderId, status);
+    }
+
+    private void indexItem(long orderId, long itemId) {
+        byItem.computeIfAbsent(itemId, id -> new OrderIdBitmap()).add(orderId);
+    }
+
+    private void setStatus(long orderId, String status) {
+        for (Map.Entry<String, OrderIdBitmap> entry : byStatus.entrySet()) {
+            if (!entry.getKey().equals(status)) {
+                entry.getValue().remove(orderId);
+            }
+        }
+        byStatus.computeIfAbsent(status, s -> new OrderIdBitmap()).add(orderId);
+    }
+
+    private void evictCreatedBefore(long boundaryDay) {
+        Map<Long, OrderIdBitmap> archivedDays = byDay.headMap(boundaryDay);
+        if (archivedDays.isEmpty()) {
+            return;
+        }
+        OrderIdBitmap archived = new OrderIdBitmap();
+        archivedDays.values().forEach(archived::addAll);
+        all.removeAll(archived);
+        byStatus.values().forEach(bitmap -> bitmap.removeAll(archived));
+        for (OrderIdBitmap bucket : byCustomerBucket) {
+            bucket.removeAll(archived);
+        }
+        byItem.forEachValue(bitmap -> bitmap.removeAll(archived));
+        archivedDays.clear();
+        log.info("Dropped {} archived orders from the order filter index", archived.cardinality());
+    }
+
+    private OrderIdBitmap createdBetween(LocalDate from, LocalDate to) {
+        long fromDay = from == null ? Long.MIN_VALUE : from.toEpochDay();
+        long toDay = to == null ? Long.MAX_VALUE : to.toEpochDay();
+        OrderIdBitmap created = new OrderIdBitmap();
+        if (fromDay <= toDay) {
+            for (OrderIdBitmap day : byDay.subMap(fromDay, true, toDay, true).values()) {
+                created.addAll(day);
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Intersects bitmaps smallest first, so every step is bounded by the
+     * most selective filter. Never modifies its arguments.
+     */
+    private OrderIdBitmap intersect(List<OrderIdBitmap> filters) {
+        if (filters.isEmpty()) {
+            return all;
+        }
+        OrderIdBitmap[] bySize = filters.toArray(new OrderIdBitmap[0]);
+        Arrays.sort(bySize, Comparator.comparingLong(OrderIdBitmap::cardinality));
+        OrderIdBitmap result = bySize[0];
+        for (int i = 1; i < bySize.length && !result.isEmpty(); i++) {
+            result = OrderIdBitmap.and(result, bySize[i]);
+        }
+        return result;
+    }
+
+    private int bucket(long customerId) {
+        return (int) Math.floorMod(customerId, (long) byCustomerBucket.length);
+    }
+
+    /**
+     * Orders and item links loaded for one ID range or invalidation,
+     * waiting to be applied under the write lock.
+     */
+    private static final class Chunk {
+        private final List<OrderSummary> orders = new ArrayList<>();
+        private final LongList linkedOrderIds = new LongList(256);
+        private final LongList linkedItemIds = new LongList(256);
+
+        void addItemLink(long orderId, long itemId) {
+            linkedOrderIds.add(orderId);
+            linkedItemIds.add(itemId);
+        }
+    }
+
+    private enum Phase {
+        LOADING, READY, FAILED
+    }
+}
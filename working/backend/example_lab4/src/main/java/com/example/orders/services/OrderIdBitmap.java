@@ -0,0 +1,465 @@
+package com.example.orders.services;
+
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+/**
+ * Compressed set of order IDs, laid out like a Roaring bitmap.
+ *
+ * <p>IDs are split into a high part, everything above the low 16 bits,
+ * and a 16-bit low part. Each high part present gets one container
+ * holding its low parts: a sorted {@code char[]} while it has at most
+ * {@value #ARRAY_MAX} values, or a 65,536-bit {@code long[]} bitmap once
+ * it has more. Dense ID ranges therefore cost one bit per ID and sparse
+ * ones two bytes per ID, and intersections work container by container
+ * on whichever representation is cheaper.</p>
+ *
+ * <p>Not thread-safe; callers lock around it.</p>
+ */
+final class OrderIdBitmap {
+
+    static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    private long[] keys = new long[4];
+    private Container[] containers = new Container[4];
+    private int size;
+
+    void add(long id) {
+        long key = id >>> 16;
+        char low = (char) id;
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index >= 0) {
+            containers[index] = containers[index].add(low);
+            return;
+        }
+        insertContainer(-index - 1, key, new ArrayContainer().add(low));
+    }
+
+    boolean remove(long id) {
+        int index = Arrays.binarySearch(keys, 0, size, id >>> 16);
+        if (index < 0) {
+            return false;
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        Container after = container.remove((char) id);
+        if (after.cardinality() == 0) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+            containers[--size] = null;
+        } else {
+            containers[index] = after;
+        }
+        return after.cardinality() < before;
+    }
+
+    boolean contains(long id) {
+        int index = Arrays.binarySearch(keys, 0, size, id >>> 16);
+        return index >= 0 && containers[index].contains((char) id);
+    }
+
+    long cardinality() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].cardinality();
+        }
+        return total;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Visits IDs from highest to lowest until {@code visitor} returns
+     * {@code false}.
+     */
+    void forEachDescending(LongPredicate visitor) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (!containers[i].forEachDescending(keys[i] << 16, visitor)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the IDs present in both bitmaps.
+     */
+    static OrderIdBitmap and(OrderIdBitmap a, OrderIdBitmap b) {
+        OrderIdBitmap result = new OrderIdBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                Container both = a.containers[i].and(b.containers[j]);
+                if (both.cardinality() > 0) {
+                    result.insertContainer(result.size, a.keys[i], both);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds every ID of {@code other} to this bitmap.
+     */
+    void addAll(OrderIdBitmap other) {
+        for (int j = 0; j < other.size; j++) {
+            int index = Arrays.binarySearch(keys, 0, size, other.keys[j]);
+            if (index >= 0) {
+                containers[index] = containers[index].addAll(other.containers[j]);
+            } else {
+                insertContainer(-index - 1, other.keys[j], other.containers[j].copy());
+            }
+        }
+    }
+
+    /**
+     * Removes every ID of {@code other} from this bitmap.
+     */
+    void removeAll(OrderIdBitmap other) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                j++;
+            }
+            Container container = containers[i];
+            if (j < other.size && other.keys[j] == keys[i]) {
+                container = container.removeAll(other.containers[j]);
+            }
+            if (container.cardinality() > 0) {
+                keys[kept] = keys[i];
+                containers[kept] = container;
+                kept++;
+            }
+        }
+        Arrays.fill(containers, kept, size, null);
+        size = kept;
+    }
+
+    private void insertContainer(int index, long key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    /**
+     * The low 16 bits of the IDs sharing one high part. Mutators return
+     * the container to use from then on, which changes representation
+     * when the cardinality crosses {@link #ARRAY_MAX}.
+     */
+    private sealed interface Container permits ArrayContainer, BitmapContainer {
+        Container add(char value);
+
+        Container remove(char value);
+
+        boolean contains(char value);
+
+        int cardinality();
+
+        Container and(Container other);
+
+        Container addAll(Container other);
+
+        Container removeAll(Container other);
+
+        Container copy();
+
+        boolean forEachDescending(long base, LongPredicate visitor);
+    }
+
+    private static final class ArrayContainer implements Container {
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        public Container add(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                return toBitmap().add(value);
+            }
+            int insertAt = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, cardinality * 2)));
+            }
+            System.arraycopy(values, insertAt, values, insertAt + 1, cardinality - insertAt);
+            values[insertAt] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public Container and(Container other) {
+            char[] result = new char[cardinality];
+            int count = 0;
+            if (other instanceof ArrayContainer array) {
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        result[count++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        result[count++] = values[i];
+                    }
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        public Container addAll(Container other) {
+            if (other instanceof BitmapContainer bitmap) {
+                return bitmap.copy().addAll(this);
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            char[] merged = new char[cardinality + array.cardinality];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < array.cardinality) {
+                if (j == array.cardinality || (i < cardinality && values[i] < array.values[j])) {
+                    merged[count++] = values[i++];
+                } else if (i == cardinality || values[i] > array.values[j]) {
+                    merged[count++] = array.values[j++];
+                } else {
+                    merged[count++] = values[i++];
+                    j++;
+                }
+            }
+            values = merged;
+            cardinality = count;
+            return count > ARRAY_MAX ? toBitmap() : this;
+        }
+
+        @Override
+        public Container removeAll(Container other) {
+            int count = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (!other.contains(values[i])) {
+                    values[count++] = values[i];
+                }
+            }
+            cardinality = count;
+            return this;
+        }
+
+        @Override
+        public Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(cardinality, 4)), cardinality);
+        }
+
+        @Override
+        public boolean forEachDescending(long base, LongPredicate visitor) {
+            for (int i = cardinality - 1; i >= 0; i--) {
+                if (!visitor.test(base | values[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer implements Container {
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer() {
+            this(new long[BITMAP_WORDS], 0);
+        }
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        public Container add(char value) {
+            long bit = 1L << value;
+            int word = value >>> 6;
+            if ((words[word] & bit) == 0) {
+                words[word] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            long bit = 1L << value;
+            int word = value >>> 6;
+            if ((words[word] & bit) != 0) {
+                words[word] &= ~bit;
+                cardinality--;
+                if (cardinality <= ARRAY_MAX) {
+                    return toArray();
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public Container and(Container other) {
+            if (other instanceof ArrayContainer array) {
+                return array.and(this);
+            }
+            BitmapContainer bitmap = (BitmapContainer) other;
+            long[] result = new long[BITMAP_WORDS];
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result[i] = words[i] & bitmap.words[i];
+                count += Long.bitCount(result[i]);
+            }
+            BitmapContainer both = new BitmapContainer(result, count);
+            return count <= ARRAY_MAX ? both.toArray() : both;
+        }
+
+        @Override
+        public Container addAll(Container other) {
+            if (other instanceof ArrayContainer array) {
+                for (int i = 0; i < array.cardinality; i++) {
+                    add(array.values[i]);
+                }
+                return this;
+            }
+            BitmapContainer bitmap = (BitmapContainer) other;
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                words[i] |= bitmap.words[i];
+                count += Long.bitCount(words[i]);
+            }
+            cardinality = count;
+            return this;
+        }
+
+        @Override
+        public Container removeAll(Container other) {
+            if (other instanceof ArrayContainer array) {
+                for (int i = 0; i < array.cardinality; i++) {
+                    long bit = 1L << array.values[i];
+                    int word = array.values[i] >>> 6;
+                    if ((words[word] & bit) != 0) {
+                        words[word] &= ~bit;
+                        cardinality--;
+                    }
+                }
+            } else {
+                BitmapContainer bitmap = (BitmapContainer) other;
+                int count = 0;
+                for (int i = 0; i < BITMAP_WORDS; i++) {
+                    words[i] &= ~bitmap.words[i];
+                    count += Long.bitCount(words[i]);
+                }
+                cardinality = count;
+            }
+            return cardinality <= ARRAY_MAX ? toArray() : this;
+        }
+
+        @Override
+        public Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        public boolean forEachDescending(long base, LongPredicate visitor) {
+            for (int word = BITMAP_WORDS - 1; word >= 0; word--) {
+                long bits = words[word];
+                while (bits != 0) {
+                    int bit = 63 - Long.numberOfLeadingZeros(bits);
+                    if (!visitor.test(base | ((long) word << 6) | bit)) {
+                        return false;
+                    }
+                    bits &= ~(1L << bit);
+                }
+            }
+            return true;
+        }
+
+        private ArrayContainer toArray() {
+            char[] values = new char[Math.max(cardinality, 4)];
+            int count = 0;
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    int bit = Long.numberOfTrailingZeros(bits);
+                    values[count++] = (char) ((word << 6) | bit);
+                    bits &= bits - 1;
+                }
+            }
+            return new ArrayContainer(values, count);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.orders.services;
+
+import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.exceptions.CustomerNotFoundException;
+import com.example.orders.exceptions.InvalidOrderException;
+import com.example.orders.exceptions.OrderIntakeFullException;
+import com.example.orders.models.NewOrder;
+import com.example.orders.models.OrdersCreatedEvent;
+import com.example.orders.repositories.OrderBatchRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind intake pipeline for order creation.
+ *
+ * <p>Requests are validated against {@link ReferenceDataCache}, given an
+ * order ID straight away and put on a bounded in-process queue. A single
+ * writer thread drains the queue and group-commits up to
+ * {@code batchSize} orders per transaction. Callers can wait on the
+ * returned future to learn when their order is durable.</p>
+ *
+ * <p>Each committed batch is published as an {@link OrdersCreatedEvent}
+ * before the waiting callers are released.</p>
+ */
+@Service
+public class OrderIntakeService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIntakeService.class);
+
+    private static final String CUSTOMER_NOT_FOUND_MSG = "Customer not found: ";
+    private static final String ITEM_NOT_FOUND_MSG = "Item not found: ";
+    private static final String INTAKE_FULL_MSG = "Order intake is at capacity, retry later";
+    private static final String INTAKE_STOPPED_MSG = "Order intake is shutting down, retry later";
+    private static final int ID_BLOCK_SIZE = 256;
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private final OrderBatchRepository orderBatchRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final Duration shutdownTimeout;
+    private final BlockingQueue<PendingOrder> queue;
+    private final Deque<Long> reservedIds = new ArrayDeque<>();
+
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private Thread writer;
+
+    public OrderIntakeService(
+            OrderBatchRepository orderBatchRepository,
+            ReferenceDataCache referenceDataCache,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${orders.intake.queue-capacity:10000}") int queueCapacity,
+            @Value("${orders.intake.batch-size:500}") int batchSize,
+            @Value("${orders.intake.shutdown-timeout:PT8S}") Duration shutdownTimeout) {
+        this.orderBatchRepository = orderBatchRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.shutdownTimeout = shutdownTimeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Validates and enqueues a new order.
+     *
+     * @param request the order to create
+     * @return the assigned order ID and a future completed on durable commit
+     * @throws CustomerNotFoundException if the customer is unknown
+     * @throws InvalidOrderException if any item is unknown
+     * @throws OrderIntakeFullException if the intake queue is full or shutting down
+     */
+    public Submission submit(CreateOrderRequest request) {
+        if (stopped) {
+            throw new OrderIntakeFullException(INTAKE_STOPPED_MSG);
+        }
+        if (!referenceDataCache.containsCustomer(request.customerId())) {
+            throw new CustomerNotFoundException(CUSTOMER_NOT_FOUND_MSG + request.customerId());
+        }
+        List<BigDecimal> unitPrices = new ArrayList<>(request.itemIds().size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (Long itemId : request.itemIds()) {
+            BigDecimal price = referenceDataCache.itemPrice(itemId);
+            if (price == null) {
+                throw new InvalidOrderException(ITEM_NOT_FOUND_MSG + itemId);
+            }
+            unitPrices.add(price);
+            total = total.add(price);
+        }
+        if (queue.remainingCapacity() == 0) {
+            throw new OrderIntakeFullException(INTAKE_FULL_MSG);
+        }
+
+        NewOrder order = new NewOrder(
+            nextOrderId(),
+            request.customerId(),
+            List.copyOf(request.itemIds()),
+            List.copyOf(unitPrices),
+            Instant.now(),
+            total
+        );
+        PendingOrder pending = new PendingOrder(order, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            throw new OrderIntakeFullException(INTAKE_FULL_MSG);
+        }
+        // stop() may have run since the check above; if the writer has not
+        // taken the order by now it may never do so
+        if (stopped && queue.remove(pending)) {
+            throw new OrderIntakeFullException(INTAKE_STOPPED_MSG);
+        }
+        return new Submission(order.id(), pending.committed());
+    }
+
+    /**
+     * Number of accepted orders not yet committed.
+     */
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::runWriter, "order-intake-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stops accepting work and flushes whatever is still queued. Orders
+     * the writer could not flush within {@code orders.intake.shutdown-timeout}
+     * are failed, so no caller waits forever. The timeout must fit in what
+     * is left of the pod's termination grace period once requests have
+     * drained, or the pod is killed before it fails them.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        stopped = true;
+        running = false;
+        if (writer != null) {
+            writer.join(shutdownTimeout.toMillis());
+        }
+        PendingOrder left;
+        while ((left = queue.poll()) != null) {
+            left.committed().completeExceptionally(new OrderIntakeFullException(INTAKE_STOPPED_MSG));
+        }
+    }
+
+    private synchronized long nextOrderId() {
+        if (reservedIds.isEmpty()) {
+            reservedIds.addAll(orderBatchRepository.allocateIds(ID_BLOCK_SIZE));
+        }
+        return reservedIds.removeFirst();
+    }
+
+    private void runWriter() {
+        List<PendingOrder> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                PendingOrder first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    commit(batch);
+                    batch.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+            // poll() would throw straight away from now on; flush without blocking
+            while (queue.drainTo(batch, batchSize) > 0) {
+                commit(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingOrder> batch) {
+        List<NewOrder> orders = new ArrayList<>(batch.size());
+        for (PendingOrder pending : batch) {
+            orders.add(pending.order());
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> orderBatchRepository.insertAll(orders));
+        } catch (RuntimeException e) {
+            log.error("Failed to commit batch of {} orders", orders.size(), e);
+            batch.forEach(pending -> pending.committed().completeExceptionally(e));
+            return;
+        }
+        try {
+            eventPublisher.publishEvent(new OrdersCreatedEvent(orders));
+        } catch (RuntimeException e) {
+            log.error("Listener failed for batch of {} committed orders", orders.size(), e);
+        }
+        batch.forEach(pending -> pending.committed().complete(null));
+    }
+
+    /**
+     * Result of accepting an order.
+     *
+     * @param orderId   the assigned order ID
+     * @param committed completes when the order has been committed,
+     *                  or exceptionally if the write failed
+     */
+    public record Submission(long orderId, CompletableFuture<Void> committed) {}
+
+    private record PendingOrder(NewOrder order, CompletableFuture<Void> committed) {}
+}
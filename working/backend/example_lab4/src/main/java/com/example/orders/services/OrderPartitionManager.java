@@ -0,0 +1,173 @@
+package com.example.orders.services;
+
+import com.example.orders.models.ArchivedOrder;
+import com.example.orders.models.OrdersArchivedEvent;
+import com.example.orders.repositories.OrderPartitionRepository;
+import com.example.orders.repositories.OrderPartitionRepository.Fingerprint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps the monthly {@code orders} partitions in shape.
+ *
+ * <p>Creates partitions a few months ahead so inserts never miss one,
+ * and moves partitions older than the hot window into
+ * {@link ArchivedOrderStore} before dropping them. A partition is read in
+ * one snapshot and its segment written and synced to disk without any
+ * lock. Only then is the partition locked against writes, and it is
+ * dropped in that transaction if it still matches what was archived. A
+ * partition changed in between is kept and archived again on the next
+ * run, so an order changed after it was archived is never lost.</p>
+ *
+ * <p>Nothing is archived or dropped while the archive store is disabled,
+ * that is without {@code orders.archive.dir}.</p>
+ *
+ * <p>At startup and after each run an {@link OrdersArchivedEvent} gives
+ * the start of the oldest remaining partition, so in-memory views drop
+ * the orders the database no longer has.</p>
+ */
+@Service
+public class OrderPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderPartitionManager.class);
+
+    private static final int MONTHS_AHEAD = 3;
+
+    private final OrderPartitionRepository partitionRepository;
+    private final ArchivedOrderStore archivedOrderStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate snapshotRead;
+    private final int hotMonths;
+
+    public OrderPartitionManager(
+            OrderPartitionRepository partitionRepository,
+            ArchivedOrderStore archivedOrderStore,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate,
+            @Value("${orders.partitions.hot-months:18}") int hotMonths) {
+        this.partitionRepository = partitionRepository;
+        this.archivedOrderStore = archivedOrderStore;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.snapshotRead = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.snapshotRead.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotRead.setReadOnly(true);
+        this.hotMonths = hotMonths;
+    }
+
+    /**
+     * Ensures upcoming partitions exist and archives cold ones.
+     */
+    @Scheduled(cron = "${orders.partitions.maintenance-cron:0 0 3 * * *}")
+    public void maintain() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        createUpcomingPartitions(current);
+        archiveColdPartitions(current);
+        publishArchivedBoundary();
+    }
+
+    /**
+     * Tells the in-memory views, once they start loading, which orders
+     * were archived before this instance started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void publishArchivedBoundaryAtStartup() {
+        try {
+            publishArchivedBoundary();
+        } catch (RuntimeException e) {
+            log.warn("Could not read the order partitions; archived orders stay in memory until the next run", e);
+        }
+    }
+
+    /**
+     * Publishes the start of the oldest remaining partition. Nothing is
+     * published unless every partition is a monthly one, since a default
+     * or unexpected partition may hold orders of any age.
+     */
+    void publishArchivedBoundary() {
+        List<String> partitions = partitionRepository.findPartitionNames();
+        Instant createdBefore = null;
+        for (String partition : partitions) {
+            Optional<YearMonth> month = OrderPartitionRepository.partitionMonth(partition);
+            if (month.isEmpty()) {
+                return;
+            }
+            Instant start = month.get().atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+            if (createdBefore == null || start.isBefore(createdBefore)) {
+                createdBefore = start;
+            }
+        }
+        if (createdBefore != null) {
+            eventPublisher.publishEvent(new OrdersArchivedEvent(createdBefore));
+        }
+    }
+
+    void createUpcomingPartitions(YearMonth current) {
+        for (int i = 0; i <= MONTHS_AHEAD; i++) {
+            partitionRepository.createPartition(current.plusMonths(i));
+        }
+    }
+
+    void archiveColdPartitions(YearMonth current) {
+        if (!archivedOrderStore.isEnabled()) {
+            return;
+        }
+        YearMonth oldestHot = current.minusMonths(hotMonths);
+        for (String partition : partitionRepository.findPartitionNames()) {
+            Optional<YearMonth> month = OrderPartitionRepository.partitionMonth(partition);
+            if (month.isEmpty() || !month.get().isBefore(oldestHot)) {
+                continue;
+            }
+            if (!archivePartition(partition)) {
+                // archive oldest first without gaps, so everything before the
+                // oldest remaining partition is archived
+                return;
+            }
+        }
+    }
+
+    /**
+     * Archives and drops one partition.
+     *
+     * @return false if the partition changed while it was archived and was kept
+     */
+    private boolean archivePartition(String partition) {
+        List<ArchivedOrder> orders = new ArrayList<>();
+        Fingerprint archived = snapshotRead.execute(status -> {
+            partitionRepository.forEachOrder(partition, orders::add);
+            return partitionRepository.fingerprint(partition);
+        });
+        archivedOrderStore.writeSegment(partition, orders);
+
+        Boolean dropped = transactionTemplate.execute(status -> {
+            partitionRepository.lockForArchive(partition);
+            if (!partitionRepository.fingerprint(partition).equals(archived)) {
+                return false;
+            }
+            partitionRepository.dropPartition(partition);
+            return true;
+        });
+        if (!Boolean.TRUE.equals(dropped)) {
+            log.warn("Partition {} changed while it was archived; keeping it until the next run", partition);
+            return false;
+        }
+        log.info("Archived partition {} ({} orders)", partition, orders.size());
+        return true;
+    }
+}
@@ -0,0 +1,846 @@
+package com.example.orders.services;
+
+import com.example.orders.collections.LongIntMap;
+import com.example.orders.collections.LongList;
+import com.example.orders.dto.OrderSummary;
+import com.example.orders.dto.OrderSummaryView;
+import com.example.orders.models.CacheInvalidatedEvent;
+import com.example.orders.models.CacheInvalidation;
+import com.example.orders.models.NewOrder;
+import com.example.orders.models.OrderStatusChangedEvent;
+import com.example.orders.models.OrderTotalsChangedEvent;
+import com.example.orders.models.OrdersArchivedEvent;
+import com.example.orders.models.OrdersCreatedEvent;
+import com.example.orders.repositories.OrderBatchRepository;
+import com.example.orders.repositories.OrderQueryRepository;
+import com.example.orders.repositories.OrderTotalRepository;
+import com.example.orders.repositories.ReferenceDataRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Denormalized in-memory view of every order's summary, so list and
+ * summary reads never touch the database.
+ *
+ * <p>Rows are stored column by column in primitive arrays: IDs,
+ * customer IDs, creation times and totals (in cents) as {@code long[]},
+ * and statuses as one byte each, indexing a small status dictionary.
+ * Customer names are kept once per customer. Including the ID index
+ * and spare array capacity that is 60 to 110 bytes per order, so a
+ * million orders take at most about 110 MB of heap.</p>
+ *
+ * <p>The model is rebuilt from the database at startup, loading ID
+ * ranges in parallel, and then kept current by {@link OrdersCreatedEvent}
+ * and {@link OrderStatusChangedEvent}, by {@link OrderTotalsChangedEvent}
+ * for backfilled or repaired totals, and by {@link CacheInvalidatedEvent}
+ * for orders changed on other instances. Events that arrive during the
+ * rebuild are queued and replayed once it finishes, so nothing committed
+ * while loading is lost. {@link OrdersArchivedEvent} drops the orders
+ * whose partitions were archived, from the loaded rows and from a
+ * restored snapshot alike; they are served from the archive instead.</p>
+ *
+ * <p>If the load fails, the partly loaded rows and queued events are
+ * dropped and the model reports {@link Phase#FAILED}; the load is retried
+ * every {@code orders.read-model.retry-interval-ms}. Events received
+ * while failed are ignored, since the next load reads their changes from
+ * the database.</p>
+ *
+ * <p>When {@code orders.read-model.snapshot-dir} is set, the model is
+ * also written to a snapshot file there periodically and on shutdown.
+ * A restart maps that file in as the first rows of the model without
+ * copying it (see {@link OrderSnapshotFile}), then catches up from the
+ * database: orders with an ID above the snapshot's highest, plus orders
+ * updated since shortly before the snapshot was taken. Progress is
+ * exposed through {@link #progress()} for the readiness probe.</p>
+ */
+@Service
+public class OrderReadModel {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderReadModel.class);
+
+    static final int LOAD_CHUNK_SIZE = 50_000;
+    private static final int INITIAL_CAPACITY = 1 << 12;
+    private static final long NO_TOTAL = Long.MIN_VALUE;
+    private static final int CENTS_SCALE = 2;
+    private static final Duration CATCH_UP_MARGIN = Duration.ofMinutes(1);
+
+    private final OrderQueryRepository orderQueryRepository;
+    private final OrderTotalRepository orderTotalRepository;
+    private final ReferenceDataRepository referenceDataRepository;
+    private final ExecutorService loaders;
+    private final Path snapshotFile;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private OrderSnapshotFile.Mapped base;
+    private int baseSize;
+    private long maxLoadedId;
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] customerIds = new long[INITIAL_CAPACITY];
+    private long[] createdAtMillis = new long[INITIAL_CAPACITY];
+    private long[] totalCents = new long[INITIAL_CAPACITY];
+    private byte[] statusCodes = new byte[INITIAL_CAPACITY];
+    private int size;
+    private LongIntMap rowById = new LongIntMap(INITIAL_CAPACITY);
+    private final List<String> statuses = new ArrayList<>();
+    private final Map<String, Byte> statusCodesByName = new HashMap<>();
+    private final Map<Long, String> customerNames = new HashMap<>();
+    private List<Runnable> deferredWhileLoading = new ArrayList<>();
+
+    private volatile long archivedBeforeMillis = Long.MIN_VALUE;
+    private volatile boolean ready;
+    private volatile Phase phase = Phase.STARTING;
+    private volatile int chunksTotal;
+    private final AtomicInteger chunksLoaded = new AtomicInteger();
+
+    public OrderReadModel(
+            OrderQueryRepository orderQueryRepository,
+            OrderTotalRepository orderTotalRepository,
+            ReferenceDataRepository referenceDataRepository,
+            @Value("${orders.read-model.load-parallelism:4}") int loadParallelism,
+            @Value("${orders.read-model.snapshot-dir:}") String snapshotDir) {
+        this.orderQueryRepository = orderQueryRepository;
+        this.orderTotalRepository = orderTotalRepository;
+        this.referenceDataRepository = referenceDataRepository;
+        this.loaders = Executors.newFixedThreadPool(loadParallelism, task -> {
+            Thread thread = new Thread(task, "order-read-model-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.snapshotFile = snapshotDir.isBlank() ? null : Path.of(snapshotDir, OrderSnapshotFile.FILE_NAME);
+    }
+
+    /**
+     * Loads the model, from a snapshot plus catch-up when one exists or
+     * else from the database in {@value #LOAD_CHUNK_SIZE}-ID tasks, then
+     * replays any events received meanwhile. The write lock is only held
+     * while each chunk is appended, so event publishers are never blocked
+     * for the whole load.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            load();
+        } catch (RuntimeException e) {
+            log.error("Order read model failed to load; retrying in the background", e);
+            reset();
+        }
+    }
+
+    /**
+     * Retries the initial load after a failure.
+     */
+    @Scheduled(fixedDelayString = "${orders.read-model.retry-interval-ms:30000}",
+        initialDelayString = "${orders.read-model.retry-interval-ms:30000}")
+    public void retryFailedLoad() {
+        if (phase == Phase.FAILED) {
+            rebuild();
+        }
+    }
+
+    private void load() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            if (deferredWhileLoading == null) {
+                deferredWhileLoading = new ArrayList<>();
+            }
+            phase = Phase.STARTING;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Map<Long, String> names = referenceDataRepository.findAllCustomerNames();
+        long maxId = orderTotalRepository.findMaxOrderId();
+
+        long loadFrom = 0;
+        Instant changedSince = null;
+        OrderSnapshotFile.Mapped snapshot = mapSnapshot();
+        if (snapshot != null) {
+            phase = Phase.MAPPING_SNAPSHOT;
+            lock.writeLock().lock();
+            try {
+                installBase(snapshot);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            loadFrom = snapshot.maxId + 1;
+            changedSince = snapshot.takenAt.minus(CATCH_UP_MARGIN);
+        }
+
+        phase = snapshot != null ? Phase.CATCHING_UP : Phase.LOADING;
+        lock.writeLock().lock();
+        try {
+            customerNames.putAll(names);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        loadIdRange(loadFrom, maxId);
+        if (changedSince != null) {
+            List<OrderSummary> changed = new ArrayList<>();
+            orderQueryRepository.forEachSummaryUpdatedSince(changedSince, changed::add);
+            lock.writeLock().lock();
+            try {
+                changed.forEach(this::upsert);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int loaded;
+        lock.writeLock().lock();
+        try {
+            evictArchived();
+            deferredWhileLoading.forEach(Runnable::run);
+            deferredWhileLoading = null;
+            loaded = size;
+            ready = true;
+            phase = Phase.READY;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Order read model loaded {} orders ({} from snapshot) in {} ms",
+            loaded, baseSize, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Writes the model to the snapshot file, if one is configured. The
+     * rows are copied under the read lock and written after it is
+     * released, so events only wait for the copy, not the file write.
+     */
+    @Scheduled(fixedDelayString = "${orders.read-model.snapshot-interval-ms:600000}",
+        initialDelayString = "${orders.read-model.snapshot-interval-ms:600000}")
+    public void writeSnapshot() {
+        if (snapshotFile == null || !ready) {
+            return;
+        }
+        long started = System.nanoTime();
+        Instant takenAt;
+        long maxId;
+        List<String> statusNames;
+        Map<Long, String> names;
+        long[] idCopy;
+        long[] customerIdCopy;
+        long[] createdAtCopy;
+        long[] totalCopy;
+        byte[] statusCopy;
+        lock.readLock().lock();
+        try {
+            takenAt = Instant.now();
+            maxId = maxLoadedId;
+            statusNames = List.copyOf(statuses);
+            names = new HashMap<>(customerNames);
+            idCopy = new long[size];
+            customerIdCopy = new long[size];
+            createdAtCopy = new long[size];
+            totalCopy = new long[size];
+            statusCopy = new byte[size];
+            for (int row = 0; row < size; row++) {
+                idCopy[row] = idAt(row);
+                customerIdCopy[row] = customerIdAt(row);
+                createdAtCopy[row] = createdAtAt(row);
+                totalCopy[row] = totalAt(row);
+                statusCopy[row] = statusAt(row);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            OrderSnapshotFile.write(snapshotFile, maxId, takenAt, statusNames, names,
+                new OrderSnapshotFile.Columns(idCopy.length, row -> idCopy[row], row -> customerIdCopy[row],
+                    row -> createdAtCopy[row], row -> totalCopy[row], row -> statusCopy[row]));
+        } catch (IOException e) {
+            log.warn("Could not write order read model snapshot {}", snapshotFile, e);
+            return;
+        }
+        log.info("Wrote order read model snapshot in {} ms", (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Adds newly committed orders.
+     */
+    @EventListener
+    public void onOrdersCreated(OrdersCreatedEvent event) {
+        Map<Long, String> names = fetchUnknownCustomerNames(event.orders().stream().map(NewOrder::customerId).toList());
+
+        whenLoaded(() -> {
+            customerNames.putAll(names);
+            for (NewOrder order : event.orders()) {
+                if (rowById.get(order.id()) < 0) {
+                    appendRow(order.id(), order.customerId(), order.createdAt().toEpochMilli(),
+                        toCents(order.total()), statusCode(OrderBatchRepository.INITIAL_STATUS));
+                }
+            }
+        });
+    }
+
+    /**
+     * Applies a committed status change.
+     */
+    @EventListener
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        whenLoaded(() -> {
+            int row = rowById.get(event.orderId());
+            if (row >= 0) {
+                setStatusAt(row, statusCode(event.status()));
+            }
+        });
+    }
+
+    /**
+     * Reloads orders whose total was backfilled or repaired, once that
+     * change has committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTotalsChanged(OrderTotalsChangedEvent event) {
+        reload(event.orderIds());
+    }
+
+    /**
+     * Reloads orders and customer names changed by other instances.
+     */
+    @EventListener
+    public void onInvalidated(CacheInvalidatedEvent event) {
+        if (event.kind() == CacheInvalidation.Kind.ORDER) {
+            reload(event.entityIds());
+        } else if (event.kind() == CacheInvalidation.Kind.CUSTOMER) {
+            Map<Long, String> names = new HashMap<>();
+            for (Long customerId : event.entityIds()) {
+                referenceDataRepository.findCustomerName(customerId).ifPresent(name -> names.put(customerId, name));
+            }
+            whenLoaded(() -> customerNames.putAll(names));
+        }
+    }
+
+    /**
+     * Drops the orders whose partitions were archived. The boundary is
+     * kept across failed loads, so a snapshot restored by a retry is
+     * trimmed too.
+     */
+    @EventListener
+    public void onOrdersArchived(OrdersArchivedEvent event) {
+        long createdBefore = event.createdBefore().toEpochMilli();
+        if (createdBefore > archivedBeforeMillis) {
+            archivedBeforeMillis = createdBefore;
+            whenLoaded(this::evictArchived);
+        }
+    }
+
+    /**
+     * Whether the initial load has finished.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Reports how far the initial load has got.
+     */
+    public Progress progress() {
+        return new Progress(phase, size(), chunksLoaded.get(), chunksTotal);
+    }
+
+    /**
+     * Number of orders currently held.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns one order's summary.
+     *
+     * @param orderId the order ID
+     * @return the summary, or empty if the order is not known
+     */
+    public Optional<OrderSummaryView> findById(long orderId) {
+        lock.readLock().lock();
+        try {
+            int row = rowById.get(orderId);
+            return row < 0 ? Optional.empty() : Optional.of(view(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the summaries of several orders under one lock acquisition.
+     *
+     * @param orderIds the order IDs
+     * @return summaries of the known orders, in the order given
+     */
+    public List<OrderSummaryView> findByIds(LongList orderIds) {
+        List<OrderSummaryView> result = new ArrayList<>(orderIds.size());
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < orderIds.size(); i++) {
+                int row = rowById.get(orderIds.get(i));
+                if (row >= 0) {
+                    result.add(view(row));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Returns those of the given orders placed by one customer.
+     *
+     * @param orderIds   candidate order IDs
+     * @param customerId the customer
+     * @return the customer's orders among the candidates, in the order given
+     */
+    public LongList ordersOfCustomer(LongList orderIds, long customerId) {
+        LongList result = new LongList();
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < orderIds.size(); i++) {
+                int row = rowById.get(orderIds.get(i));
+                if (row >= 0 && customerIdAt(row) == customerId) {
+                    result.add(orderIds.get(i));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Returns the most recently added orders matching the filters.
+     *
+     * @param status     optional status filter, or null for all statuses
+     * @param customerId optional customer filter, or null for all customers
+     * @param limit      maximum rows to return
+     * @return matching summaries, most recently added first
+     */
+    public List<OrderSummaryView> find(String status, Long customerId, int limit) {
+        lock.readLock().lock();
+        try {
+            int statusCode = -1;
+            if (status != null) {
+                Byte code = statusCodesByName.get(status);
+                if (code == null) {
+                    return List.of();
+                }
+                statusCode = code;
+            }
+            List<OrderSummaryView> result = new ArrayList<>(Math.min(limit, 64));
+            for (int row = size - 1; row >= 0 && result.size() < limit; row--) {
+                if (statusCode >= 0 && statusAt(row) != statusCode) {
+                    continue;
+                }
+                if (customerId != null && customerIdAt(row) != customerId) {
+                    continue;
+                }
+                result.add(view(row));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes a final snapshot so the next start can skip the full load.
+     */
+    @PreDestroy
+    public void shutdown() {
+        loaders.shutdownNow();
+        writeSnapshot();
+    }
+
+    private void reload(Collection<Long> orderIds) {
+        List<OrderSummary> orders = orderQueryRepository.findSummariesByIds(orderIds);
+        Map<Long, String> names = fetchUnknownCustomerNames(orders.stream().map(OrderSummary::customerId).toList());
+        whenLoaded(() -> {
+            customerNames.putAll(names);
+            orders.forEach(this::upsert);
+        });
+    }
+
+    /**
+     * Runs an update under the write lock, queues it if the initial load
+     * has not finished yet, or drops it if the load failed.
+     */
+    private void whenLoaded(Runnable update) {
+        lock.writeLock().lock();
+        try {
+            if (phase == Phase.FAILED) {
+                return;
+            }
+            if (deferredWhileLoading != null) {
+                deferredWhileLoading.add(update);
+            } else {
+                update.run();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Looks up names for customers not seen yet, outside the lock.
+     */
+    private Map<Long, String> fetchUnknownCustomerNames(Collection<Long> customerIds) {
+        Set<Long> unknownCustomers = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            for (Long customerId : customerIds) {
+                if (!customerNames.containsKey(customerId)) {
+                    unknownCustomers.add(customerId);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Map<Long, String> names = new HashMap<>();
+        for (Long customerId : unknownCustomers) {
+            referenceDataRepository.findCustomerName(customerId).ifPresent(name -> names.put(customerId, name));
+        }
+        return names;
+    }
+
+    /**
+     * Drops everything a failed load left behind, so the retry starts
+     * from an empty model.
+     */
+    private void reset() {
+        lock.writeLock().lock();
+        try {
+            base = null;
+            baseSize = 0;
+            size = 0;
+            maxLoadedId = 0;
+            ids = new long[INITIAL_CAPACITY];
+            customerIds = new long[INITIAL_CAPACITY];
+            createdAtMillis = new long[INITIAL_CAPACITY];
+            totalCents = new long[INITIAL_CAPACITY];
+            statusCodes = new byte[INITIAL_CAPACITY];
+            rowById = new LongIntMap(INITIAL_CAPACITY);
+            statuses.clear();
+            statusCodesByName.clear();
+            customerNames.clear();
+            deferredWhileLoading = new ArrayList<>();
+            ready = false;
+            phase = Phase.FAILED;
+            chunksLoaded.set(0);
+            chunksTotal = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes rows created before {@link #archivedBeforeMillis}, keeping
+     * the others in their order. Survivors are copied to the heap and the
+     * mapped snapshot is released, so the next snapshot written leaves
+     * the archived orders out too. Runs under the write lock.
+     */
+    private void evictArchived() {
+        long cutoff = archivedBeforeMillis;
+        int kept = 0;
+        for (int row = 0; row < size; row++) {
+            if (createdAtAt(row) >= cutoff) {
+                kept++;
+            }
+        }
+        if (kept == size) {
+            return;
+        }
+        int capacity = Math.max(INITIAL_CAPACITY, kept);
+        long[] keptIds = new long[capacity];
+        long[] keptCustomerIds = new long[capacity];
+        long[] keptCreatedAt = new long[capacity];
+        long[] keptTotals = new long[capacity];
+        byte[] keptStatuses = new byte[capacity];
+        LongIntMap keptRows = new LongIntMap(capacity);
+        int target = 0;
+        for (int row = 0; row < size; row++) {
+            if (createdAtAt(row) < cutoff) {
+                continue;
+            }
+            keptIds[target] = idAt(row);
+            keptCustomerIds[target] = customerIdAt(row);
+            keptCreatedAt[target] = createdAtAt(row);
+            keptTotals[target] = totalAt(row);
+            keptStatuses[target] = statusAt(row);
+            keptRows.put(keptIds[target], target);
+            target++;
+        }
+        log.info("Dropped {} archived orders from the order read model", size - kept);
+        base = null;
+        baseSize = 0;
+        ids = keptIds;
+        customerIds = keptCustomerIds;
+        createdAtMillis = keptCreatedAt;
+        totalCents = keptTotals;
+        statusCodes = keptStatuses;
+        rowById = keptRows;
+        size = kept;
+    }
+
+    private void loadIdRange(long fromId, long maxId) {
+        List<Future<Chunk>> chunks = new ArrayList<>();
+        for (long from = fromId; from <= maxId; from += LOAD_CHUNK_SIZE) {
+            long chunkStart = from;
+            Callable<Chunk> load = () -> loadChunk(chunkStart, chunkStart + LOAD_CHUNK_SIZE);
+            chunks.add(loaders.submit(load));
+        }
+        chunksTotal = chunks.size();
+        try {
+            for (int i = 0; i < chunks.size(); i++) {
+                Chunk chunk = chunks.get(i).get();
+                chunks.set(i, null);
+                lock.writeLock().lock();
+                try {
+                    append(chunk);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                chunksLoaded.incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading order read model", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to load order read model", e.getCause());
+        }
+    }
+
+    private OrderSnapshotFile.Mapped mapSnapshot() {
+        if (snapshotFile == null || !Files.exists(snapshotFile)) {
+            return null;
+        }
+        try {
+            return OrderSnapshotFile.map(snapshotFile);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable order read model snapshot {}", snapshotFile, e);
+            return null;
+        }
+    }
+
+    /**
+     * Makes the snapshot's rows the first rows of the (still empty) model.
+     */
+    private void installBase(OrderSnapshotFile.Mapped snapshot) {
+        base = snapshot;
+        baseSize = snapshot.rows;
+        size = snapshot.rows;
+        for (String status : snapshot.statuses) {
+            statusCode(status);
+        }
+        customerNames.putAll(snapshot.customerNames);
+        for (int row = 0; row < snapshot.rows; row++) {
+            long id = snapshot.id(row);
+            rowById.put(id, row);
+            maxLoadedId = Math.max(maxLoadedId, id);
+        }
+    }
+
+    /**
+     * Adds an order, or refreshes its status and total if already held.
+     */
+    private void upsert(OrderSummary order) {
+        int row = rowById.get(order.id());
+        if (row < 0) {
+            appendRow(order.id(), order.customerId(), order.createdAt().toEpochMilli(),
+                toCents(order.total()), statusCode(order.status()));
+        } else {
+            setStatusAt(row, statusCode(order.status()));
+            setTotalAt(row, toCents(order.total()));
+        }
+    }
+
+    private Chunk loadChunk(long fromId, long toId) {
+        Chunk chunk = new Chunk();
+        orderQueryRepository.forEachSummaryInIdRange(fromId, toId, chunk::add);
+        return chunk;
+    }
+
+    private void append(Chunk chunk) {
+        for (int i = 0; i < chunk.size; i++) {
+            appendRow(chunk.ids[i], chunk.customerIds[i], chunk.createdAtMillis[i],
+                chunk.totalCents[i], statusCode(chunk.statuses[i]));
+        }
+    }
+
+    private void appendRow(long id, long customerId, long createdAt, long total, byte status) {
+        int heapRow = size - baseSize;
+        if (heapRow == ids.length) {
+            int capacity = heapRow * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            customerIds = Arrays.copyOf(customerIds, capacity);
+            createdAtMillis = Arrays.copyOf(createdAtMillis, capacity);
+            totalCents = Arrays.copyOf(totalCents, capacity);
+            statusCodes = Arrays.copyOf(statusCodes, capacity);
+        }
+        ids[heapRow] = id;
+        customerIds[heapRow] = customerId;
+        createdAtMillis[heapRow] = createdAt;
+        totalCents[heapRow] = total;
+        statusCodes[heapRow] = status;
+        rowById.put(id, size);
+        maxLoadedId = Math.max(maxLoadedId, id);
+        size++;
+    }
+
+    // Rows below baseSize live in the mapped snapshot, the rest on the heap.
+
+    private long idAt(int row) {
+        return row < baseSize ? base.id(row) : ids[row - baseSize];
+    }
+
+    private long customerIdAt(int row) {
+        return row < baseSize ? base.customerId(row) : customerIds[row - baseSize];
+    }
+
+    private long createdAtAt(int row) {
+        return row < baseSize ? base.createdAtMillis(row) : createdAtMillis[row - baseSize];
+    }
+
+    private long totalAt(int row) {
+        return row < baseSize ? base.totalCents(row) : totalCents[row - baseSize];
+    }
+
+    private byte statusAt(int row) {
+        return row < baseSize ? base.statusCode(row) : statusCodes[row - baseSize];
+    }
+
+    private void setStatusAt(int row, byte code) {
+        if (row < baseSize) {
+            base.setStatusCode(row, code);
+        } else {
+            statusCodes[row - baseSize] = code;
+        }
+    }
+
+    private void setTotalAt(int row, long cents) {
+        if (row < baseSize) {
+            base.setTotalCents(row, cents);
+        } else {
+            totalCents[row - baseSize] = cents;
+        }
+    }
+
+    private byte statusCode(String status) {
+        Byte code = statusCodesByName.get(status);
+        if (code == null) {
+            if (statuses.size() > Byte.MAX_VALUE) {
+                throw new IllegalStateException("Too many distinct order statuses");
+            }
+            code = (byte) statuses.size();
+            statuses.add(status);
+            statusCodesByName.put(status, code);
+        }
+        return code;
+    }
+
+    private OrderSummaryView view(int row) {
+        long total = totalAt(row);
+        long customerId = customerIdAt(row);
+        return new OrderSummaryView(
+            idAt(row),
+            customerId,
+            customerNames.get(customerId),
+            statuses.get(statusAt(row)),
+            Instant.ofEpochMilli(createdAtAt(row)),
+            total == NO_TOTAL ? null : BigDecimal.valueOf(total, CENTS_SCALE));
+    }
+
+    /**
+     * Converts a total to cents. Totals are sums of prices with at most
+     * two decimal places, so anything finer is a data error.
+     */
+    private static long toCents(BigDecimal total) {
+        if (total == null) {
+            return NO_TOTAL;
+        }
+        return total.setScale(CENTS_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Stages of the initial load.
+     */
+    public enum Phase {
+        STARTING, MAPPING_SNAPSHOT, LOADING, CATCHING_UP, READY, FAILED
+    }
+
+    /**
+     * Load progress.
+     *
+     * @param phase        current stage
+     * @param rows         orders held so far
+     * @param chunksLoaded ID-range chunks loaded from the database so far
+     * @param chunksTotal  ID-range chunks to load in this stage
+     */
+    public record Progress(Phase phase, int rows, int chunksLoaded, int chunksTotal) {}
+
+    /**
+     * Orders loaded for one ID range, in ID order, held in columns until
+     * they are appended. Status strings are shared within the chunk.
+     */
+    private static final class Chunk {
+        private long[] ids = new long[256];
+        private long[] customerIds = new long[256];
+        private long[] createdAtMillis = new long[256];
+        private long[] totalCents = new long[256];
+        private String[] statuses = new String[256];
+        private final Map<String, String> canonicalStatuses = new HashMap<>();
+        private int size;
+
+        void add(OrderSummary row) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                customerIds = Arrays.copyOf(customerIds, capacity);
+                createdAtMillis = Arrays.copyOf(createdAtMillis, capacity);
+                totalCents = Arrays.copyOf(totalCents, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+            }
+            ids[size] = row.id();
+            customerIds[size] = row.customerId();
+            createdAtMillis[size] = row.createdAt().toEpochMilli();
+            totalCents[size] = toCents(row.total());
+            statuses[size] = canonicalStatuses.computeIfAbsent(row.status(), status -> status);
+            size++;
+        }
+    }
+}
@@ -1,17 +1,27 @@
 package com.example.orders.services;
 
+import com.example.orders.dto.CustomerOrderHistoryResponse;
+import com.example.orders.dto.CustomerOrderHistoryResponse.OrderEntry;
 import com.example.orders.dto.OrderDetailsResponse;
+import com.example.orders.dto.OrderHistoryCursor;
+import com.example.orders.dto.OrderSummary;
 import com.example.orders.exceptions.OrderNotFoundException;
 import com.example.orders.exceptions.CustomerNotFoundException;
+import com.example.orders.exceptions.InvalidCursorException;
+import com.example.orders.models.ArchivedOrder;
 import com.example.orders.models.Customer;
 import com.example.orders.models.Item;
 import com.example.orders.models.Order;
 import com.example.orders.repositories.CustomerRepository;
 import com.example.orders.repositories.ItemRepository;
+import com.example.orders.repositories.OrderQueryRepository;
 import com.example.orders.repositories.OrderRepository;
+import com.example.orders.repositories.OrderTotalRepository;
+import com.example.orders.services.DatabaseBulkheads.Kind;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
@@ -22,6 +32,22 @@ import java.util.function.Supplier;
  * Refactored in Lab 4:
  * - Extracted error message constants
  * - Extracted findByIdOrThrow helper to reduce duplication
+ *
+ * The order total is also materialized in {@code orders.total} and is
+ * the one figure both {@link #getOrderDetails} and {@link #getOrderTotal}
+ * return, so current item prices never leak into an order's total;
+ * use {@link #getOrderTotal} when the items themselves are not needed.
+ *
+ * Orders from archived partitions are served from {@link ArchivedOrderStore}
+ * when they are no longer in the database, by ID and at the end of a
+ * customer's history.
+ *
+ * Concurrent {@link #getOrderDetails} calls for the same order share one
+ * load, run on the first caller's thread; nothing is kept once it
+ * completes.
+ *
+ * Database reads run inside {@link DatabaseBulkheads}: list and history
+ * pages in one, detail and total lookups in the other.
  */
 @Service
 public class OrderService {
@@ -29,18 +55,32 @@ public class OrderService {
     // === CONSTANTS (extracted in Lab 4 refactor) ===
     private static final String ORDER_NOT_FOUND_MSG = "Order not found: ";
     private static final String CUSTOMER_NOT_FOUND_MSG = "Customer not found: ";
+    private static final int MAX_HISTORY_PAGE_SIZE = 200;
     
     private final OrderRepository orderRepository;
     private final CustomerRepository customerRepository;
     private final ItemRepository itemRepository;
+    private final OrderTotalRepository orderTotalRepository;
+    private final OrderQueryRepository orderQueryRepository;
+    private final ArchivedOrderStore archivedOrderStore;
+    private final DatabaseBulkheads bulkheads;
+    private final SingleFlight<Long, OrderDetailsResponse> detailLoads = new SingleFlight<>();
 
     public OrderService(
             OrderRepository orderRepository,
             CustomerRepository customerRepository,
-            ItemRepository itemRepository) {
+            ItemRepository itemRepository,
+            OrderTotalRepository orderTotalRepository,
+            OrderQueryRepository orderQueryRepository,
+            ArchivedOrderStore archivedOrderStore,
+            DatabaseBulkheads bulkheads) {
         this.orderRepository = orderRepository;
         this.customerRepository = customerRepository;
         this.itemRepository = itemRepository;
+        this.orderTotalRepository = orderTotalRepository;
+        this.orderQueryRepository = orderQueryRepository;
+        this.archivedOrderStore = archivedOrderStore;
+        this.bulkheads = bulkheads;
     }
 
     /**
@@ -52,11 +92,23 @@ public class OrderService {
      * @throws CustomerNotFoundException if customer does not exist
      */
     public OrderDetailsResponse getOrderDetails(Long orderId) {
-        // Using extracted helper method (Lab 4 refactor)
-        Order order = findByIdOrThrow(
-            orderRepository.findById(orderId),
-            () -> new OrderNotFoundException(ORDER_NOT_FOUND_MSG + orderId)
-        );
+        return detailLoads.load(orderId, () -> bulkheads.call(Kind.DETAIL, () -> loadOrderDetails(orderId)));
+    }
+
+    /**
+     * Returns the number of detail lookups waiting for another caller's
+     * load of the same order.
+     */
+    int detailLoadsWaiting() {
+        return detailLoads.waiting();
+    }
+
+    private OrderDetailsResponse loadOrderDetails(Long orderId) {
+        Optional<Order> live = orderRepository.findById(orderId);
+        if (live.isEmpty()) {
+            return getArchivedOrderDetails(orderId);
+        }
+        Order order = live.get();
 
         Customer customer = findByIdOrThrow(
             customerRepository.findById(order.getCustomerId()),
@@ -64,7 +116,9 @@ public class OrderService {
         );
 
         List<Item> items = itemRepository.findAllById(order.getItemIds());
-        BigDecimal total = calculateTotal(items);
+        // the order may have been archived since it was read above
+        BigDecimal total = orderTotalRepository.findTotal(orderId)
+            .orElseGet(() -> calculateTotal(items));
 
         return new OrderDetailsResponse(
             order.getId(),
@@ -75,6 +129,105 @@ public class OrderService {
         );
     }
 
+    /**
+     * Builds order details for an order that only exists in the archive.
+     */
+    private OrderDetailsResponse getArchivedOrderDetails(Long orderId) {
+        ArchivedOrder order = findByIdOrThrow(
+            archivedOrderStore.findById(orderId),
+            () -> new OrderNotFoundException(ORDER_NOT_FOUND_MSG + orderId)
+        );
+
+        Customer customer = findByIdOrThrow(
+            customerRepository.findById(order.customerId()),
+            () -> new CustomerNotFoundException(CUSTOMER_NOT_FOUND_MSG + order.customerId())
+        );
+
+        List<Item> items = itemRepository.findAllById(order.itemIds());
+
+        return new OrderDetailsResponse(
+            order.id(),
+            customer.getName(),
+            items,
+            order.status(),
+            order.total()
+        );
+    }
+
+    /**
+     * Returns one page of a customer's orders, newest first.
+     *
+     * <p>Pages are keyset-paginated: the returned cursor encodes the
+     * last order on the page, so each page costs the same however deep
+     * the client has scrolled. Once the database has no older orders
+     * for the customer, the page is filled from the archive, so history
+     * continues past the archived partitions.</p>
+     *
+     * @param customerId the customer ID
+     * @param cursor     cursor from the previous page, or null for the first page
+     * @param limit      page size, capped at {@value #MAX_HISTORY_PAGE_SIZE}
+     * @return the page, with the customer name once and the next cursor if more orders exist
+     * @throws CustomerNotFoundException if customer does not exist
+     * @throws InvalidCursorException if the cursor cannot be parsed
+     */
+    public CustomerOrderHistoryResponse getCustomerOrderHistory(Long customerId, String cursor, int limit) {
+        return bulkheads.call(Kind.LIST, () -> loadCustomerOrderHistory(customerId, cursor, limit));
+    }
+
+    private CustomerOrderHistoryResponse loadCustomerOrderHistory(Long customerId, String cursor, int limit) {
+        Customer customer = findByIdOrThrow(
+            customerRepository.findById(customerId),
+            () -> new CustomerNotFoundException(CUSTOMER_NOT_FOUND_MSG + customerId)
+        );
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
+        OrderHistoryCursor after = cursor != null ? OrderHistoryCursor.decode(cursor) : null;
+        List<OrderEntry> rows = new ArrayList<>(orderQueryRepository.findCustomerOrders(
+            customerId,
+            after != null ? after.createdAt() : null,
+            after != null ? after.id() : 0L,
+            pageSize + 1));
+        if (rows.size() <= pageSize) {
+            // The database has nothing older; archived orders come strictly after its last row
+            OrderEntry lastLive = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+            OrderHistoryCursor archivedAfter = lastLive != null
+                ? new OrderHistoryCursor(lastLive.createdAt(), lastLive.id())
+                : after;
+            List<ArchivedOrder> archived = archivedOrderStore.findCustomerOrders(
+                customerId,
+                archivedAfter != null ? archivedAfter.createdAt() : null,
+                archivedAfter != null ? archivedAfter.id() : 0L,
+                pageSize + 1 - rows.size());
+            for (ArchivedOrder order : archived) {
+                rows.add(new OrderEntry(order.id(), order.status(), order.createdAt(), order.total()));
+            }
+        }
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            OrderEntry last = rows.get(pageSize - 1);
+            nextCursor = new OrderHistoryCursor(last.createdAt(), last.id()).encode();
+        }
+        return new CustomerOrderHistoryResponse(customerId, customer.getName(), rows, nextCursor);
+    }
+
+    /**
+     * Returns the stored order total without loading the order's items,
+     * falling back to the archive like {@link #getOrderDetails}.
+     *
+     * @param orderId the order ID to look up
+     * @return the materialized total
+     * @throws OrderNotFoundException if order does not exist
+     */
+    public BigDecimal getOrderTotal(Long orderId) {
+        return bulkheads.call(Kind.DETAIL, () -> findByIdOrThrow(
+            orderTotalRepository.findTotal(orderId)
+                .or(() -> archivedOrderStore.findById(orderId).map(ArchivedOrder::total)),
+            () -> new OrderNotFoundException(ORDER_NOT_FOUND_MSG + orderId)
+        ));
+    }
+
     /**
      * Calculates the total price for a list of items.
      *
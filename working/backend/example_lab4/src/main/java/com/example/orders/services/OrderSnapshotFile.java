@@ -0,0 +1,223 @@
+package com.example.orders.services;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * On-disk snapshot of {@link OrderReadModel}, mapped back into memory on
+ * restart.
+ *
+ * <p>Layout (big-endian, strings are a short length and UTF-8 bytes):
+ * <pre>
+ * header   magic:int version:int rows:int maxId:long takenAt:long
+ * dict     statusCount:int status:str*
+ * names    customerCount:int (customerId:long name:str)*
+ * padding  zero bytes up to an 8-byte boundary
+ * columns  ids:long[rows] customerIds:long[rows] createdAt:long[rows]
+ *          totals:long[rows] statuses:byte[rows]
+ * </pre>
+ * Columns are used in place from a private (copy-on-write) mapping, so
+ * mapping a snapshot copies nothing however large it is, and updates
+ * applied afterwards never reach the file.</p>
+ */
+final class OrderSnapshotFile {
+
+    static final String FILE_NAME = "orders-read-model.snapshot";
+
+    private static final int MAGIC = 0x4F52534D; // "ORSM"
+    private static final int FORMAT_VERSION = 1;
+    private static final int LONG_COLUMNS = 4;
+
+    private OrderSnapshotFile() {
+    }
+
+    /**
+     * Column accessors for the rows being written.
+     */
+    record Columns(
+        int rows,
+        IntToLongFunction ids,
+        IntToLongFunction customerIds,
+        IntToLongFunction createdAtMillis,
+        IntToLongFunction totalCents,
+        IntUnaryOperator statusCodes
+    ) {}
+
+    /**
+     * Writes a snapshot to a temporary file and moves it into place, so
+     * a crash never leaves a partial snapshot behind.
+     */
+    static void write(Path file, long maxId, Instant takenAt, List<String> statuses,
+                      Map<Long, String> customerNames, Columns columns) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream target = Files.newOutputStream(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(target, 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(columns.rows());
+            out.writeLong(maxId);
+            out.writeLong(takenAt.toEpochMilli());
+            out.writeInt(statuses.size());
+            for (String status : statuses) {
+                writeString(out, status);
+            }
+            out.writeInt(customerNames.size());
+            for (Map.Entry<Long, String> name : customerNames.entrySet()) {
+                out.writeLong(name.getKey());
+                writeString(out, name.getValue());
+            }
+            while (out.size() % Long.BYTES != 0) {
+                out.writeByte(0);
+            }
+            for (IntToLongFunction column : List.of(
+                    columns.ids(), columns.customerIds(), columns.createdAtMillis(), columns.totalCents())) {
+                for (int row = 0; row < columns.rows(); row++) {
+                    out.writeLong(column.applyAsLong(row));
+                }
+            }
+            for (int row = 0; row < columns.rows(); row++) {
+                out.writeByte(columns.statusCodes().applyAsInt(row));
+            }
+            out.flush();
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Maps a snapshot into memory.
+     *
+     * @throws IOException if the file cannot be read or is not a valid
+     *                     snapshot of the current format
+     */
+    static Mapped map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long fileSize = channel.size();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.PRIVATE, 0, fileSize);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                throw new IOException("Not a current order read model snapshot: " + file);
+            }
+            int rows = buffer.getInt();
+            long maxId = buffer.getLong();
+            Instant takenAt = Instant.ofEpochMilli(buffer.getLong());
+
+            int statusCount = buffer.getInt();
+            List<String> statuses = new ArrayList<>(statusCount);
+            for (int i = 0; i < statusCount; i++) {
+                statuses.add(readString(buffer));
+            }
+            int customerCount = buffer.getInt();
+            Map<Long, String> customerNames = new HashMap<>(customerCount * 2);
+            for (int i = 0; i < customerCount; i++) {
+                long customerId = buffer.getLong();
+                customerNames.put(customerId, readString(buffer));
+            }
+
+            int offset = (buffer.position() + Long.BYTES - 1) / Long.BYTES * Long.BYTES;
+            long columnBytes = (long) rows * Long.BYTES;
+            if (offset + columnBytes * LONG_COLUMNS + rows != fileSize) {
+                throw new IOException("Truncated order read model snapshot: " + file);
+            }
+            int longBytes = Math.toIntExact(columnBytes);
+            return new Mapped(rows, maxId, takenAt, statuses, customerNames,
+                buffer.slice(offset, longBytes).asLongBuffer(),
+                buffer.slice(offset + longBytes, longBytes).asLongBuffer(),
+                buffer.slice(offset + 2 * longBytes, longBytes).asLongBuffer(),
+                buffer.slice(offset + 3 * longBytes, longBytes).asLongBuffer(),
+                buffer.slice(offset + 4 * longBytes, rows));
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] utf8 = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A mapped snapshot. Column values can be updated in memory; the
+     * mapping is private, so the file itself never changes.
+     */
+    static final class Mapped {
+        final int rows;
+        final long maxId;
+        final Instant takenAt;
+        final List<String> statuses;
+        final Map<Long, String> customerNames;
+        private final LongBuffer ids;
+        private final LongBuffer customerIds;
+        private final LongBuffer createdAtMillis;
+        private final LongBuffer totalCents;
+        private final ByteBuffer statusCodes;
+
+        private Mapped(int rows, long maxId, Instant takenAt, List<String> statuses,
+                       Map<Long, String> customerNames, LongBuffer ids, LongBuffer customerIds,
+                       LongBuffer createdAtMillis, LongBuffer totalCents, ByteBuffer statusCodes) {
+            this.rows = rows;
+            this.maxId = maxId;
+            this.takenAt = takenAt;
+            this.statuses = statuses;
+            this.customerNames = customerNames;
+            this.ids = ids;
+            this.customerIds = customerIds;
+            this.createdAtMillis = createdAtMillis;
+            this.totalCents = totalCents;
+            this.statusCodes = statusCodes;
+        }
+
+        long id(int row) {
+            return ids.get(row);
+        }
+
+        long customerId(int row) {
+            return customerIds.get(row);
+        }
+
+        long createdAtMillis(int row) {
+            return createdAtMillis.get(row);
+        }
+
+        long totalCents(int row) {
+            return totalCents.get(row);
+        }
+
+        byte statusCode(int row) {
+            return statusCodes.get(row);
+        }
+
+        void setTotalCents(int row, long cents) {
+            totalCents.put(row, cents);
+        }
+
+        void setStatusCode(int row, byte code) {
+            statusCodes.put(row, code);
+        }
+    }
+}
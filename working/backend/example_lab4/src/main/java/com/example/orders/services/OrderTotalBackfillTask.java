@@ -0,0 +1,48 @@
+package com.example.orders.services;
+
+import com.example.orders.models.OrderTotalsChangedEvent;
+import com.example.orders.repositories.OrderTotalRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Backfill that fills in the materialized total of orders that have
+ * none, e.g. after the total column is added. Totals that are already
+ * stored are left alone; {@link OrderTotalVerificationJob} checks them.
+ * Each chunk publishes an {@link OrderTotalsChangedEvent} for the orders
+ * it filled, delivered once the chunk commits.
+ */
+@Component
+public class OrderTotalBackfillTask implements BackfillTask {
+
+    static final String NAME = "order-total-recalculation";
+
+    private final OrderTotalRepository orderTotalRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public OrderTotalBackfillTask(OrderTotalRepository orderTotalRepository, ApplicationEventPublisher eventPublisher) {
+        this.orderTotalRepository = orderTotalRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public long maxOrderId() {
+        return orderTotalRepository.findMaxOrderId();
+    }
+
+    @Override
+    public int processChunk(long fromId, long toId) {
+        List<Long> filled = orderTotalRepository.fillMissingTotals(fromId, toId);
+        if (!filled.isEmpty()) {
+            eventPublisher.publishEvent(new OrderTotalsChangedEvent(filled));
+        }
+        return filled.size();
+    }
+}
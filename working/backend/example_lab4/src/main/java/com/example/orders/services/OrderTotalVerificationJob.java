@@ -0,0 +1,125 @@
+package com.example.orders.services;
+
+import com.example.orders.dto.TotalDriftReport;
+import com.example.orders.models.OrderTotalsChangedEvent;
+import com.example.orders.repositories.OrderTotalRepository;
+import com.example.orders.repositories.OrderTotalRepository.TotalComparison;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Verifies the materialized {@code orders.total} column against the
+ * order-time line prices in {@code order_items.unit_price}.
+ *
+ * <p>The order ID space is split into fixed-size chunks that are compared
+ * in parallel, each with a single grouped query. Drifted orders are
+ * counted and, when requested, repaired in place and announced with an
+ * {@link OrderTotalsChangedEvent}. Repricing an item does not make any
+ * order drift.</p>
+ */
+@Service
+public class OrderTotalVerificationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderTotalVerificationJob.class);
+
+    private static final int MAX_REPORTED_IDS = 100;
+
+    private final OrderTotalRepository orderTotalRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int parallelism;
+
+    public OrderTotalVerificationJob(
+            OrderTotalRepository orderTotalRepository,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${orders.totals.verify.chunk-size:10000}") int chunkSize,
+            @Value("${orders.totals.verify.parallelism:4}") int parallelism) {
+        this.orderTotalRepository = orderTotalRepository;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Compares every stored total with the sum of its order-time line prices.
+     *
+     * @param repair whether to recompute and store drifted totals
+     * @return counts and a sample of drifted order IDs
+     */
+    public TotalDriftReport verify(boolean repair) throws InterruptedException {
+        long started = System.currentTimeMillis();
+        long maxId = orderTotalRepository.findMaxOrderId();
+
+        AtomicLong checked = new AtomicLong();
+        AtomicLong drifted = new AtomicLong();
+        List<Long> driftedIds = Collections.synchronizedList(new ArrayList<>());
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (long from = 1; from <= maxId; from += chunkSize) {
+                long chunkStart = from;
+                long chunkEnd = Math.min(from + chunkSize, maxId + 1);
+                chunks.add(executor.submit(() ->
+                    verifyChunk(chunkStart, chunkEnd, repair, checked, drifted, driftedIds)));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Total verification failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        TotalDriftReport report = new TotalDriftReport(
+            checked.get(),
+            drifted.get(),
+            List.copyOf(driftedIds),
+            repair,
+            System.currentTimeMillis() - started
+        );
+        log.info("Order total verification: checked={}, drifted={}, repaired={}",
+            report.ordersChecked(), report.ordersDrifted(), repair);
+        return report;
+    }
+
+    private void verifyChunk(
+            long fromId,
+            long toId,
+            boolean repair,
+            AtomicLong checked,
+            AtomicLong drifted,
+            List<Long> driftedIds) {
+        List<TotalComparison> comparisons = orderTotalRepository.compareTotals(fromId, toId);
+        checked.addAndGet(comparisons.size());
+        List<Long> repaired = new ArrayList<>();
+        for (TotalComparison comparison : comparisons) {
+            if (!comparison.drifted()) {
+                continue;
+            }
+            drifted.incrementAndGet();
+            if (driftedIds.size() < MAX_REPORTED_IDS) {
+                driftedIds.add(comparison.orderId());
+            }
+            if (repair && orderTotalRepository.refreshTotal(comparison.orderId())) {
+                repaired.add(comparison.orderId());
+            }
+        }
+        if (!repaired.isEmpty()) {
+            eventPublisher.publishEvent(new OrderTotalsChangedEvent(repaired));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.orders.services;
+
+import com.example.orders.models.CacheInvalidatedEvent;
+import com.example.orders.models.CacheInvalidation;
+import com.example.orders.repositories.ReferenceDataRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory cache of known customer IDs and item prices.
+ *
+ * <p>Used to validate incoming orders without a database round trip.
+ * Loaded once at startup. Customers and items are maintained by other
+ * services; the database triggers behind {@link CacheInvalidationBus}
+ * record their changes, and the affected entries are reloaded when the
+ * bus delivers them.</p>
+ */
+@Service
+public class ReferenceDataCache {
+
+    private final ReferenceDataRepository referenceDataRepository;
+
+    private final Set<Long> customerIds = ConcurrentHashMap.newKeySet();
+    private final Map<Long, BigDecimal> itemPrices = new ConcurrentHashMap<>();
+
+    public ReferenceDataCache(ReferenceDataRepository referenceDataRepository) {
+        this.referenceDataRepository = referenceDataRepository;
+    }
+
+    /**
+     * Loads all customer IDs and item prices from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        customerIds.addAll(referenceDataRepository.findAllCustomerIds());
+        itemPrices.putAll(referenceDataRepository.findAllItemPrices());
+    }
+
+    public boolean containsCustomer(Long customerId) {
+        return customerId != null && customerIds.contains(customerId);
+    }
+
+    public boolean containsItem(Long itemId) {
+        return itemId != null && itemPrices.containsKey(itemId);
+    }
+
+    /**
+     * Returns the cached price for an item, or null if the item is unknown.
+     */
+    public BigDecimal itemPrice(Long itemId) {
+        return itemId == null ? null : itemPrices.get(itemId);
+    }
+
+    /**
+     * Reloads customers and items that have changed.
+     */
+    @EventListener
+    public void onInvalidated(CacheInvalidatedEvent event) {
+        if (event.kind() == CacheInvalidation.Kind.CUSTOMER) {
+            for (Long customerId : event.entityIds()) {
+                if (referenceDataRepository.findCustomerName(customerId).isPresent()) {
+                    customerIds.add(customerId);
+                } else {
+                    customerIds.remove(customerId);
+                }
+            }
+        } else if (event.kind() == CacheInvalidation.Kind.ITEM) {
+            for (Long itemId : event.entityIds()) {
+                referenceDataRepository.findItemPrice(itemId).ifPresentOrElse(
+                    price -> itemPrices.put(itemId, price),
+                    () -> itemPrices.remove(itemId));
+            }
+        }
+    }
+}
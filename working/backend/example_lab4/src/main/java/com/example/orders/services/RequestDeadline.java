@@ -0,0 +1,67 @@
+package com.example.orders.services;
+
+import com.example.orders.exceptions.DeadlineExceededException;
+
+import java.time.Duration;
+
+/**
+ * The time budget of the request running on the current thread.
+ *
+ * <p>Set when a request enters the API and cleared when it completes.
+ * Database access checks it before starting work and turns what is left
+ * into JDBC statement timeouts, so a slow database cannot hold a request
+ * thread or a connection past the point where the caller has given up.
+ * Threads without a deadline, such as scheduled jobs, are not limited.</p>
+ */
+public final class RequestDeadline {
+
+    /** Deadline value of a thread without a deadline. */
+    private static final long UNBOUNDED = Long.MAX_VALUE;
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    /**
+     * Starts a deadline {@code budget} from now for the current thread.
+     */
+    public static void start(Duration budget) {
+        DEADLINE_NANOS.set(System.nanoTime() + budget.toNanos());
+    }
+
+    public static void clear() {
+        DEADLINE_NANOS.remove();
+    }
+
+    public static boolean isSet() {
+        return current() != UNBOUNDED;
+    }
+
+    /**
+     * Time left, or {@link Long#MAX_VALUE} if no deadline is set.
+     * Negative once the deadline has passed.
+     */
+    public static long remainingNanos() {
+        long deadline = current();
+        return deadline == UNBOUNDED ? Long.MAX_VALUE : deadline - System.nanoTime();
+    }
+
+    /**
+     * @throws DeadlineExceededException if the deadline has passed
+     */
+    public static void check() {
+        if (remainingNanos() <= 0) {
+            throw expired();
+        }
+    }
+
+    private static long current() {
+        Long deadline = DEADLINE_NANOS.get();
+        return deadline == null ? UNBOUNDED : deadline;
+    }
+
+    static DeadlineExceededException expired() {
+        return new DeadlineExceededException("Request deadline exceeded, retry later");
+    }
+}
@@ -0,0 +1,406 @@
+package com.example.orders.services;
+
+import com.example.orders.dto.SearchResult;
+import com.example.orders.models.CacheInvalidatedEvent;
+import com.example.orders.models.CacheInvalidation;
+import com.example.orders.repositories.SearchRepository;
+import com.example.orders.repositories.SearchRepository.Searchable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory type-ahead index over customer names and emails and item
+ * names.
+ *
+ * <p>Text is split into lower-case, accent-free tokens, and each token
+ * maps to the customers and items containing it in a sorted concurrent
+ * map, so all tokens starting with a prefix are one range of that map.
+ * A query matches documents that have a token starting with every query
+ * term. Candidates come from the range of the longest term, the most
+ * selective one; the other terms are checked against each candidate's
+ * own tokens. Exact token matches score above prefix matches, names
+ * above emails, and a match on the first word of a name gets a bonus.</p>
+ *
+ * <p>A one- or two-letter query can match most of the index, so at most
+ * {@code orders.search.max-candidates} candidates are scored per query.
+ * Tokens are visited in alphabetical order, so documents with the exact
+ * token come first; after them the cap keeps the alphabetically first
+ * extensions, not the shortest or best ones. This bounds latency, and
+ * the results sharpen as the user types.</p>
+ *
+ * <p>The index loads at startup in parallel {@value #LOAD_CHUNK_SIZE}-ID
+ * chunks. Afterwards {@link #refresh} reloads single entries when a
+ * {@link CacheInvalidatedEvent} reports that customers or items have
+ * changed. Searches never lock; updates are serialized.</p>
+ *
+ * <p>If the load fails, the partly loaded entries are dropped and the
+ * load is retried every {@code orders.search.retry-interval-ms}.
+ * Refreshes received while failed are ignored, since the next load reads
+ * their changes from the database.</p>
+ */
+@Service
+public class SearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndex.class);
+
+    static final int LOAD_CHUNK_SIZE = 10_000;
+    private static final double EXACT_MATCH = 2.0;
+    private static final double PREFIX_MATCH = 1.0;
+    private static final double DETAIL_WEIGHT = 0.5;
+    private static final double LEADING_TOKEN_BONUS = 0.5;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final String[] NO_TOKENS = new String[0];
+
+    private final SearchRepository searchRepository;
+    private final int loadParallelism;
+    private final int maxCandidates;
+
+    private final ConcurrentSkipListMap<String, Set<Document>> postings = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, Document> documents = new ConcurrentHashMap<>();
+    private final Set<Long> refreshedWhileLoading = ConcurrentHashMap.newKeySet();
+    private volatile Phase phase = Phase.LOADING;
+
+    public SearchIndex(
+            SearchRepository searchRepository,
+            @Value("${orders.search.load-parallelism:4}") int loadParallelism,
+            @Value("${orders.search.max-candidates:2000}") int maxCandidates) {
+        this.searchRepository = searchRepository;
+        this.loadParallelism = loadParallelism;
+        this.maxCandidates = maxCandidates;
+    }
+
+    /**
+     * An indexed entry. Compared by identity, so posting sets hash it
+     * cheaply and a replaced entry is never confused with its successor.
+     */
+    private static final class Document {
+        final Searchable source;
+        final String[] nameTokens;
+        final String[] detailTokens;
+
+        Document(Searchable source) {
+            this.source = source;
+            this.nameTokens = tokenize(source.name());
+            this.detailTokens = tokenize(source.detail());
+        }
+    }
+
+    private record Scored(Document document, double score) {}
+
+    private static final Comparator<Scored> BEST_FIRST = Comparator
+        .comparingDouble(Scored::score).reversed()
+        .thenComparingInt(scored -> scored.document().source.name().length())
+        .thenComparingLong(scored -> scored.document().source.id());
+
+    /**
+     * Loads every customer and item, fetching chunks on
+     * {@code orders.search.load-parallelism} threads, then reapplies
+     * entries refreshed meanwhile.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            load();
+        } catch (RuntimeException e) {
+            log.error("Search index failed to load; retrying in the background", e);
+            reset();
+        }
+    }
+
+    /**
+     * Retries the initial load after a failure.
+     */
+    @Scheduled(fixedDelayString = "${orders.search.retry-interval-ms:30000}",
+        initialDelayString = "${orders.search.retry-interval-ms:30000}")
+    public void retryFailedLoad() {
+        if (phase == Phase.FAILED) {
+            rebuild();
+        }
+    }
+
+    private void load() {
+        long started = System.nanoTime();
+        phase = Phase.LOADING;
+        ExecutorService loaders = Executors.newFixedThreadPool(loadParallelism, task -> {
+            Thread thread = new Thread(task, "search-index-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<List<Searchable>>> chunks = new ArrayList<>();
+            for (SearchResult.Type type : SearchResult.Type.values()) {
+                long maxId = searchRepository.findMaxId(type);
+                for (long from = 1; from <= maxId; from += LOAD_CHUNK_SIZE) {
+                    long fromId = from;
+                    chunks.add(loaders.submit(() -> searchRepository.findInRange(type, fromId, fromId + LOAD_CHUNK_SIZE)));
+                }
+            }
+            for (Future<List<Searchable>> chunk : chunks) {
+                for (Searchable entry : chunk.get()) {
+                    put(entry);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Search index load interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search index load failed", e.getCause());
+        } finally {
+            loaders.shutdownNow();
+        }
+
+        phase = Phase.READY;
+        for (Long key : refreshedWhileLoading) {
+            refresh(typeOf(key), idOf(key));
+        }
+        refreshedWhileLoading.clear();
+        log.info("Search index loaded {} entries, {} tokens in {} ms", documents.size(), postings.size(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    /**
+     * Drops everything a failed load left behind, so the retry starts
+     * from an empty index.
+     */
+    private synchronized void reset() {
+        phase = Phase.FAILED;
+        documents.clear();
+        postings.clear();
+        refreshedWhileLoading.clear();
+    }
+
+    public boolean isReady() {
+        return phase == Phase.READY;
+    }
+
+    /**
+     * Returns the best matches for a type-ahead query.
+     *
+     * @param query free text; every word must prefix a word of the match
+     * @param limit maximum results
+     * @return matches, best first; empty if the query has no words
+     */
+    public List<SearchResult> search(String query, int limit) {
+        String[] terms = tokenize(query);
+        if (terms.length == 0) {
+            return List.of();
+        }
+        String driver = terms[0];
+        for (String term : terms) {
+            if (term.length() > driver.length()) {
+                driver = term;
+            }
+        }
+
+        PriorityQueue<Scored> best = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        double worstKept = 0;
+        int candidates = 0;
+        scan:
+        for (Map.Entry<String, Set<Document>> posting
+                : postings.subMap(driver, true, driver + Character.MAX_VALUE, false).entrySet()) {
+            for (Document document : posting.getValue()) {
+                // A document with several tokens in the range is listed under each; take it once
+                if (!posting.getKey().equals(firstTokenStartingWith(document, driver))) {
+                    continue;
+                }
+                if (++candidates > maxCandidates) {
+                    break scan;
+                }
+                double score = score(document, terms);
+                if (score == 0 || (best.size() == limit && score < worstKept)) {
+                    continue;
+                }
+                best.add(new Scored(document, score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+                if (best.size() == limit) {
+                    worstKept = best.peek().score();
+                }
+            }
+        }
+
+        List<Scored> ranked = new ArrayList<>(best);
+        ranked.sort(BEST_FIRST);
+        List<SearchResult> results = new ArrayList<>(ranked.size());
+        for (Scored scored : ranked) {
+            Searchable source = scored.document().source;
+            results.add(new SearchResult(source.type(), source.id(), source.name(), source.detail(), scored.score()));
+        }
+        return results;
+    }
+
+    /**
+     * Reloads one customer or item from the database. Call after it has
+     * been created, changed or deleted.
+     */
+    public void refresh(SearchResult.Type type, long id) {
+        Phase current = phase;
+        if (current == Phase.FAILED) {
+            return;
+        }
+        if (current == Phase.LOADING) {
+            refreshedWhileLoading.add(key(type, id));
+        }
+        searchRepository.findById(type, id).ifPresentOrElse(this::put, () -> remove(key(type, id)));
+    }
+
+    /**
+     * Reloads customers and items that have changed.
+     */
+    @EventListener
+    public void onInvalidated(CacheInvalidatedEvent event) {
+        SearchResult.Type type;
+        if (event.kind() == CacheInvalidation.Kind.CUSTOMER) {
+            type = SearchResult.Type.CUSTOMER;
+        } else if (event.kind() == CacheInvalidation.Kind.ITEM) {
+            type = SearchResult.Type.ITEM;
+        } else {
+            return;
+        }
+        for (Long id : event.entityIds()) {
+            refresh(type, id);
+        }
+    }
+
+    private synchronized void put(Searchable entry) {
+        long key = key(entry.type(), entry.id());
+        Document document = new Document(entry);
+        Document previous = documents.put(key, document);
+        if (previous != null) {
+            unindex(previous);
+        }
+        for (String token : distinctTokens(document)) {
+            postings.computeIfAbsent(token, t -> ConcurrentHashMap.newKeySet()).add(document);
+        }
+    }
+
+    private synchronized void remove(long key) {
+        Document previous = documents.remove(key);
+        if (previous != null) {
+            unindex(previous);
+        }
+    }
+
+    private void unindex(Document document) {
+        for (String token : distinctTokens(document)) {
+            Set<Document> documentsWithToken = postings.get(token);
+            if (documentsWithToken != null) {
+                documentsWithToken.remove(document);
+                if (documentsWithToken.isEmpty()) {
+                    postings.remove(token, documentsWithToken);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sums each term's best match against the document's tokens, or
+     * returns 0 if any term matches nothing.
+     */
+    private static double score(Document document, String[] terms) {
+        double total = 0;
+        for (String term : terms) {
+            double best = 0;
+            String[] nameTokens = document.nameTokens;
+            for (int i = 0; i < nameTokens.length; i++) {
+                double match = match(term, nameTokens[i]);
+                if (match > 0 && i == 0) {
+                    match += LEADING_TOKEN_BONUS;
+                }
+                best = Math.max(best, match);
+            }
+            for (String token : document.detailTokens) {
+                best = Math.max(best, match(term, token) * DETAIL_WEIGHT);
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private static String firstTokenStartingWith(Document document, String prefix) {
+        for (String token : document.nameTokens) {
+            if (token.startsWith(prefix)) {
+                return token;
+            }
+        }
+        for (String token : document.detailTokens) {
+            if (token.startsWith(prefix)) {
+                return token;
+            }
+        }
+        return null;
+    }
+
+    private static double match(String term, String token) {
+        if (!token.startsWith(term)) {
+            return 0;
+        }
+        return token.length() == term.length() ? EXACT_MATCH : PREFIX_MATCH;
+    }
+
+    private static Set<String> distinctTokens(Document document) {
+        Set<String> tokens = new LinkedHashSet<>(Arrays.asList(document.nameTokens));
+        tokens.addAll(Arrays.asList(document.detailTokens));
+        return tokens;
+    }
+
+    /**
+     * Splits text into lower-case tokens with accents removed, so
+     * "José" is found by "jose".
+     */
+    static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return NO_TOKENS;
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+            .toLowerCase(Locale.ROOT);
+        return Arrays.stream(SEPARATORS.split(folded))
+            .filter(token -> !token.isEmpty())
+            .toArray(String[]::new);
+    }
+
+    private static long key(SearchResult.Type type, long id) {
+        return id << 1 | type.ordinal();
+    }
+
+    private static SearchResult.Type typeOf(long key) {
+        return SearchResult.Type.values()[(int) (key & 1)];
+    }
+
+    private static long idOf(long key) {
+        return key >>> 1;
+    }
+
+    private enum Phase {
+        LOADING, READY, FAILED
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.orders.services;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Shares one in-flight load between concurrent callers asking for the
+ * same key.
+ *
+ * <p>The first caller for a key runs the loader on its own thread, so the
+ * load sees that request's persistence context and no extra threads are
+ * needed; callers arriving while it runs receive the same result, or the
+ * same exception. The entry is removed as soon as the load finishes, so
+ * nothing is cached: a caller arriving afterwards starts a new load.</p>
+ *
+ * <p>The load runs under the first caller's {@link RequestDeadline};
+ * every other caller waits only until its own. If the first caller's
+ * deadline passes while it loads, the waiters are not handed its
+ * failure: those with time left start the load again.</p>
+ *
+ * @param <K> key type
+ * @param <V> result type
+ */
+class SingleFlight<K, V> {
+
+    private static final RuntimeException ABANDONED = new Abandoned();
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    /**
+     * Returns the result of {@code loader}, shared with any concurrent
+     * call for the same key.
+     *
+     * @throws RuntimeException whatever the shared load threw
+     */
+    V load(K key, Supplier<V> loader) {
+        while (true) {
+            CompletableFuture<V> mine = new CompletableFuture<>();
+            CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+            if (running == null) {
+                return run(key, mine, loader);
+            }
+            waiting.incrementAndGet();
+            try {
+                return await(running);
+            } catch (Abandoned e) {
+                RequestDeadline.check();
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of callers currently waiting for a load started
+     * by another caller.
+     */
+    int waiting() {
+        return waiting.get();
+    }
+
+    private V run(K key, CompletableFuture<V> mine, Supplier<V> loader) {
+        try {
+            V result = loader.get();
+            inFlight.remove(key, mine);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(RequestDeadline.remainingNanos() <= 0 ? ABANDONED : e);
+            throw e;
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> running) {
+        if (!RequestDeadline.isSet()) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw unwrap(e);
+            }
+        }
+        try {
+            return running.get(Math.max(0, RequestDeadline.remainingNanos()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (TimeoutException e) {
+            throw RequestDeadline.expired();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw RequestDeadline.expired();
+        }
+    }
+
+    private static RuntimeException unwrap(Exception e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return e instanceof CompletionException completion ? completion : new CompletionException(cause);
+    }
+
+    /**
+     * Handed to the waiters of a load whose caller ran out of time, so
+     * they retry instead of failing with someone else's deadline.
+     */
+    private static final class Abandoned extends RuntimeException {
+
+        Abandoned() {
+            super("Shared load abandoned by its caller", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.orders.services;
+
+import com.example.orders.dto.WarmUpReport;
+import com.example.orders.dto.WarmUpReport.State;
+import com.example.orders.repositories.OrderBatchRepository;
+import com.example.orders.repositories.OrderTotalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms the service up before it is reported ready, so the first real
+ * requests after a deploy do not pay for cold JIT-compiled code, empty
+ * caches and lazily opened connections.
+ *
+ * <p>Opens {@code orders.warm-up.pool-connections} pool connections at
+ * once, waits for the order read model, then replays the order summary,
+ * list and filter endpoints over HTTP on the local server port, for
+ * recent order IDs, on {@code orders.warm-up.parallelism} threads until
+ * {@code orders.warm-up.target-calls} have been made or
+ * {@code orders.warm-up.timeout} passes. Going through the server
+ * exercises the same interceptors, controllers and JSON serialisation
+ * as real traffic. Progress is reported through {@link #report()} and
+ * the readiness group. If no connection can be opened or the order ID
+ * range cannot be read, the warm-up stops and reports
+ * {@link State#FAILED} rather than timed out.</p>
+ *
+ * <p>Warm-up requests carry a random per-process token in
+ * {@value #TOKEN_HEADER}, recognised by {@link #isWarmUpToken} only
+ * while the warm-up runs, so the rate limiter does not cap a replay that
+ * happens before any client traffic is routed here.</p>
+ */
+@Service
+public class WarmUpService {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmUpService.class);
+
+    public static final String TOKEN_HEADER = "X-Warm-Up-Token";
+
+    private static final long SAMPLE_WINDOW = 10_000;
+    private static final int LIST_EVERY = 10;
+    private static final int LIST_LIMIT = 50;
+    private static final int FILTER_DAYS = 30;
+    private static final long READ_MODEL_POLL_MILLIS = 100;
+    private static final Duration CALL_TIMEOUT = Duration.ofSeconds(5);
+
+    private final OrderReadModel orderReadModel;
+    private final OrderTotalRepository orderTotalRepository;
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final int targetCalls;
+    private final int parallelism;
+    private final int poolConnections;
+    private final Duration timeout;
+    private final String token = UUID.randomUUID().toString();
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(CALL_TIMEOUT).build();
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile State state = State.PENDING;
+    private volatile int port = -1;
+    private volatile int connectionsOpened;
+    private volatile long startedNanos;
+    private volatile long elapsedMillis;
+
+    public WarmUpService(
+            OrderReadModel orderReadModel,
+            OrderTotalRepository orderTotalRepository,
+            DataSource dataSource,
+            @Value("${orders.warm-up.enabled:true}") boolean enabled,
+            @Value("${orders.warm-up.target-calls:5000}") int targetCalls,
+            @Value("${orders.warm-up.parallelism:4}") int parallelism,
+            @Value("${orders.warm-up.pool-connections:10}") int poolConnections,
+            @Value("${orders.warm-up.timeout:PT30S}") Duration timeout) {
+        this.orderReadModel = orderReadModel;
+        this.orderTotalRepository = orderTotalRepository;
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.targetCalls = targetCalls;
+        this.parallelism = parallelism;
+        this.poolConnections = poolConnections;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Records the port of the application's own web server. A separate
+     * management server, if configured, is ignored.
+     */
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        if (event.getApplicationContext().getServerNamespace() == null) {
+            port = event.getWebServer().getPort();
+        }
+    }
+
+    void setPort(int port) {
+        this.port = port;
+    }
+
+    /**
+     * Tells whether a {@value #TOKEN_HEADER} value belongs to the running
+     * warm-up. Always false once it has finished.
+     */
+    public boolean isWarmUpToken(String value) {
+        return state == State.RUNNING && value != null
+            && MessageDigest.isEqual(value.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Starts the warm-up in the background once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            state = State.DISABLED;
+            return;
+        }
+        Thread thread = new Thread(this::run, "order-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Returns the current warm-up progress.
+     */
+    public WarmUpReport report() {
+        long elapsed = state == State.RUNNING
+            ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos)
+            : elapsedMillis;
+        return new WarmUpReport(state, calls.get(), targetCalls, failures.get(), connectionsOpened, elapsed);
+    }
+
+    void run() {
+        startedNanos = System.nanoTime();
+        long deadline = startedNanos + timeout.toNanos();
+        state = State.RUNNING;
+        boolean failed = false;
+        try {
+            openPoolConnections();
+            long maxId = orderTotalRepository.findMaxOrderId();
+            if (port < 0) {
+                throw new IllegalStateException("Warm-up found no local web server port");
+            }
+            if (awaitReadModel(deadline)) {
+                replayCalls(maxId, deadline);
+            }
+        } catch (RuntimeException e) {
+            failed = true;
+            failures.incrementAndGet();
+            log.warn("Warm-up failed", e);
+        } finally {
+            elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+            if (failed) {
+                state = State.FAILED;
+            } else {
+                state = calls.get() >= targetCalls ? State.COMPLETED : State.TIMED_OUT;
+            }
+            log.info("Warm-up {} after {} calls ({} failed) in {} ms",
+                state, calls.get(), failures.get(), elapsedMillis);
+        }
+    }
+
+    /**
+     * Waits until the read model serves reads, so the replay does not
+     * spend its calls on "still loading" answers.
+     *
+     * @return whether it became ready before the deadline
+     */
+    private boolean awaitReadModel(long deadline) {
+        try {
+            while (!orderReadModel.isReady()) {
+                if (System.nanoTime() >= deadline) {
+                    return false;
+                }
+                Thread.sleep(READ_MODEL_POLL_MILLIS);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void replayCalls(long maxId, long deadline) {
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, task -> {
+            Thread thread = new Thread(task, "order-warm-up-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < parallelism; i++) {
+            workers.execute(() -> callUntilDone(maxId, deadline));
+        }
+        workers.shutdown();
+        try {
+            workers.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private void callUntilDone(long maxId, long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long window = Math.max(1, Math.min(maxId, SAMPLE_WINDOW));
+        String filterFrom = LocalDate.now(ZoneOffset.UTC).minusDays(FILTER_DAYS).toString();
+        int call;
+        while (System.nanoTime() < deadline && (call = calls.getAndIncrement()) < targetCalls) {
+            String path;
+            if (call % LIST_EVERY == 0) {
+                path = "/api/orders?limit=" + LIST_LIMIT;
+            } else if (call % LIST_EVERY == LIST_EVERY / 2) {
+                path = "/api/orders/filter?status=" + OrderBatchRepository.INITIAL_STATUS
+                    + "&from=" + filterFrom + "&limit=" + LIST_LIMIT;
+            } else {
+                path = "/api/orders/" + (maxId - random.nextLong(window)) + "/summary";
+            }
+            try {
+                int status = get(path, deadline);
+                // Gaps in the ID range answer 404, which warms the error path too
+                if (status != 200 && status != 404) {
+                    failures.incrementAndGet();
+                }
+            } catch (IOException e) {
+                failures.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        calls.updateAndGet(count -> Math.min(count, targetCalls));
+    }
+
+    private int get(String path, long deadline) throws IOException, InterruptedException {
+        long remainingNanos = Math.max(1, deadline - System.nanoTime());
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .header(TOKEN_HEADER, token)
+            .timeout(Duration.ofNanos(Math.min(remainingNanos, CALL_TIMEOUT.toNanos())))
+            .GET()
+            .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /**
+     * Opens pool connections all at once so they exist before traffic
+     * arrives, instead of one by one under load.
+     *
+     * @throws IllegalStateException if not even one connection opens
+     */
+    private void openPoolConnections() {
+        List<Connection> connections = new ArrayList<>(poolConnections);
+        try {
+            for (int i = 0; i < poolConnections; i++) {
+                connections.add(dataSource.getConnection());
+            }
+        } catch (SQLException e) {
+            if (connections.isEmpty()) {
+                throw new IllegalStateException("Warm-up could not open a pool connection", e);
+            }
+            log.warn("Warm-up opened only {} of {} pool connections", connections.size(), poolConnections, e);
+        } finally {
+            connectionsOpened = connections.size();
+            for (Connection connection : connections) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("Could not return warm-up connection", e);
+                }
+            }
+        }
+    }
+}
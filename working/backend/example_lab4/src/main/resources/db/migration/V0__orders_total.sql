@@ -0,0 +1,7 @@
+-- Materialized order total, the sum of the order's line prices.
+--
+-- Written with the order by the intake pipeline and kept current by
+-- OrderTotalRepository. Orders created before this column existed stay
+-- NULL until the total backfill fills them in; readers fall back to
+-- summing order_items until then.
+ALTER TABLE orders ADD COLUMN total NUMERIC(12, 2);
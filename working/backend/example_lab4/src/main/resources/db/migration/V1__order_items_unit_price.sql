@@ -0,0 +1,7 @@
+-- Price of each order line at the time the order was placed.
+--
+-- Order totals are verified and repaired against these prices, never
+-- against the current items.price, so repricing an item does not change
+-- what historical orders cost. Lines written before this column existed
+-- stay NULL: their order-time price is unknown.
+ALTER TABLE order_items ADD COLUMN unit_price NUMERIC(12, 2);
@@ -0,0 +1,14 @@
+-- Checkpoints of BackfillEngine: one row per chunk a job has committed.
+--
+-- A checkpoint covers exactly the range [chunk_start, chunk_end) it
+-- processed. The key includes chunk_end, so a tail chunk completed over a
+-- shorter range, before more orders existed, does not block the full
+-- chunk.
+CREATE TABLE backfill_checkpoints (
+    job_name     VARCHAR(100) NOT NULL,
+    chunk_start  BIGINT       NOT NULL,
+    chunk_end    BIGINT       NOT NULL,
+    rows_done    INT          NOT NULL,
+    completed_at TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    PRIMARY KEY (job_name, chunk_start, chunk_end)
+);
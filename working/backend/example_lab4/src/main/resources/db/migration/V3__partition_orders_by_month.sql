@@ -0,0 +1,39 @@
+-- Turns orders into a table range-partitioned on created_at, one partition
+-- per month named orders_yYYYYmMM, as OrderPartitionRepository expects.
+-- Partitions are created from the month of the oldest order to three
+-- months ahead; OrderPartitionManager creates later ones.
+--
+-- The primary key of a partitioned table must include the partition key,
+-- so it becomes (id, created_at). IDs still come from orders_id_seq and
+-- stay unique. The order_items foreign key cannot reference that key and
+-- is dropped.
+--
+-- Copies every order in one transaction: run it in a maintenance window.
+ALTER TABLE order_items DROP CONSTRAINT IF EXISTS order_items_order_id_fkey;
+
+ALTER TABLE orders RENAME TO orders_unpartitioned;
+ALTER TABLE orders_unpartitioned RENAME CONSTRAINT orders_pkey TO orders_unpartitioned_pkey;
+
+CREATE TABLE orders (
+    LIKE orders_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+DO $$
+DECLARE
+    month DATE := date_trunc('month', COALESCE((SELECT MIN(created_at) FROM orders_unpartitioned), now()));
+    last_month DATE := date_trunc('month', now()) + INTERVAL '3 months';
+BEGIN
+    WHILE month <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF orders FOR VALUES FROM (%L) TO (%L)',
+            'orders_' || to_char(month, '"y"YYYY"m"MM'), month, month + INTERVAL '1 month');
+        month := month + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO orders SELECT * FROM orders_unpartitioned;
+ALTER SEQUENCE orders_id_seq OWNED BY orders.id;
+DROP TABLE orders_unpartitioned;
+
+CREATE INDEX orders_customer_created_idx
+    ON orders (customer_id, created_at DESC, id DESC) INCLUDE (status, total);
@@ -0,0 +1,22 @@
+-- Adds orders.updated_at, which read-model catch-up after a restart
+-- selects on (OrderQueryRepository.forEachSummaryUpdatedSince).
+--
+-- Existing rows get the migration time, so the first restart after it
+-- reloads them all once. The application sets the column explicitly on
+-- insert and when it writes a total; the trigger covers every other
+-- update, such as status changes made by other services. Row triggers
+-- and indexes on a partitioned table apply to all its partitions,
+-- including ones OrderPartitionManager creates later.
+ALTER TABLE orders ADD COLUMN updated_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+CREATE FUNCTION orders_touch_updated_at() RETURNS trigger AS $$
+BEGIN
+    NEW.updated_at := now();
+    RETURN NEW;
+END $$ LANGUAGE plpgsql;
+
+CREATE TRIGGER orders_touch_updated_at
+    BEFORE UPDATE ON orders
+    FOR EACH ROW EXECUTE FUNCTION orders_touch_updated_at();
+
+CREATE INDEX orders_updated_idx ON orders (updated_at);
@@ -0,0 +1,41 @@
+-- Adds the change table CacheInvalidationBus uses to tell instances which
+-- cached entities to reload (CacheInvalidationRepository).
+--
+-- The application writes ORDER rows for orders it creates and totals it
+-- fills in. Status changes and customer and item changes are made by other
+-- services straight in the database, so triggers write those rows in the
+-- same transaction, with origin 'database' so every instance applies them.
+-- Row triggers on a partitioned table apply to all its partitions,
+-- including ones OrderPartitionManager creates later.
+CREATE TABLE cache_invalidations (
+    seq        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    kind       VARCHAR(16) NOT NULL,
+    entity_id  BIGINT NOT NULL,
+    origin     VARCHAR(36) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX cache_invalidations_created_idx ON cache_invalidations (created_at);
+
+CREATE FUNCTION cache_invalidations_capture() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        INSERT INTO cache_invalidations (kind, entity_id, origin) VALUES (TG_ARGV[0], OLD.id, 'database');
+    ELSE
+        INSERT INTO cache_invalidations (kind, entity_id, origin) VALUES (TG_ARGV[0], NEW.id, 'database');
+    END IF;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+CREATE TRIGGER orders_status_invalidation
+    AFTER UPDATE OF status ON orders
+    FOR EACH ROW WHEN (OLD.status IS DISTINCT FROM NEW.status)
+    EXECUTE FUNCTION cache_invalidations_capture('ORDER');
+
+CREATE TRIGGER customers_invalidation
+    AFTER INSERT OR UPDATE OR DELETE ON customers
+    FOR EACH ROW EXECUTE FUNCTION cache_invalidations_capture('CUSTOMER');
+
+CREATE TRIGGER items_invalidation
+    AFTER INSERT OR UPDATE OR DELETE ON items
+    FOR EACH ROW EXECUTE FUNCTION cache_invalidations_capture('ITEM');
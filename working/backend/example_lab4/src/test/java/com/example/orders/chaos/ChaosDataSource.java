@@ -0,0 +1,233 @@
+package com.example.orders.chaos;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * {@link DataSource} wrapper that makes the database slow or flaky
+ * instead of down, so tests can see how the service degrades.
+ *
+ * <p>It also stands in for the connection pool: at most
+ * {@code maxConnections} connections are checked out at once, and a
+ * checkout waiting longer than {@code acquireTimeout} fails with
+ * {@link SQLTransientConnectionException}, as HikariCP does. Statement
+ * timeouts set through {@link Statement#setQueryTimeout} are honoured:
+ * an injected delay longer than the timeout ends at the timeout with a
+ * plain {@link SQLException} with SQLState {@value #QUERY_CANCELED}, which
+ * is what PgJDBC throws (as {@code PSQLException}) when it cancels a
+ * statement at its timeout.</p>
+ *
+ * <p>Faults can be changed while calls are running with
+ * {@link #inject}. Delays and errors are drawn from a random per thread,
+ * each seeded from {@code seed} in the order threads first use the data
+ * source, so a single-threaded scenario fails the same way each run and
+ * threads never contend on one generator.</p>
+ */
+public final class ChaosDataSource implements DataSource {
+
+    /** SQLState of a statement cancelled at its timeout or on request. */
+    public static final String QUERY_CANCELED = "57014";
+
+    private final DataSource delegate;
+    private final Semaphore pool;
+    private final int maxConnections;
+    private final long acquireTimeoutMillis;
+    private final ThreadLocal<Random> randoms;
+    private volatile Faults faults = Faults.NONE;
+
+    public ChaosDataSource(DataSource delegate, int maxConnections, Duration acquireTimeout, long seed) {
+        this.delegate = delegate;
+        this.pool = new Semaphore(maxConnections, true);
+        this.maxConnections = maxConnections;
+        this.acquireTimeoutMillis = acquireTimeout.toMillis();
+        AtomicLong nextSeed = new AtomicLong(seed);
+        this.randoms = ThreadLocal.withInitial(() -> new Random(nextSeed.getAndIncrement()));
+    }
+
+    /**
+     * Applies {@code faults} to checkouts and statements from now on.
+     */
+    public void inject(Faults faults) {
+        this.faults = faults;
+    }
+
+    /**
+     * Stops injecting faults.
+     */
+    public void heal() {
+        inject(Faults.NONE);
+    }
+
+    /**
+     * Connections currently checked out.
+     */
+    public int activeConnections() {
+        return maxConnections - pool.availablePermits();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Faults current = faults;
+        Random random = randoms.get();
+        try {
+            if (!pool.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                    "Connection is not available, request timed out after " + acquireTimeoutMillis + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+        try {
+            pause(current.acquireStall().sampleMillis(random));
+            if (random.nextDouble() < current.connectErrorRate()) {
+                throw new SQLNonTransientConnectionException("Injected connection failure");
+            }
+            return wrap(delegate.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            pool.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) throws SQLException {
+        if (type.isInstance(this)) {
+            return type.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + type);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> type) {
+        return type.isInstance(this);
+    }
+
+    private Connection wrap(Connection connection) {
+        AtomicBoolean closed = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "close":
+                    if (closed.compareAndSet(false, true)) {
+                        pool.release();
+                    }
+                    return forward(connection, method, args);
+                case "isValid":
+                    return isValid(connection, (Integer) args[0]);
+                case "createStatement":
+                case "prepareStatement":
+                case "prepareCall":
+                    return wrap((Statement) forward(connection, method, args), method.getReturnType());
+                default:
+                    return forward(connection, method, args);
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(), new Class<?>[] {Connection.class}, handler);
+    }
+
+    private Object wrap(Statement statement, Class<?> type) {
+        int[] timeoutSeconds = {0};
+        InvocationHandler handler = (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.equals("setQueryTimeout")) {
+                timeoutSeconds[0] = (Integer) args[0];
+            } else if (name.startsWith("execute")) {
+                delayExecution(timeoutSeconds[0]);
+            }
+            return forward(statement, method, args);
+        };
+        return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private boolean isValid(Connection connection, int timeoutSeconds) throws SQLException {
+        Faults current = faults;
+        Random random = randoms.get();
+        long delay = current.queryLatency().sampleMillis(random);
+        if (timeoutSeconds > 0 && delay > timeoutSeconds * 1000L) {
+            pause(timeoutSeconds * 1000L);
+            return false;
+        }
+        pause(delay);
+        return random.nextDouble() >= current.queryErrorRate() && connection.isValid(timeoutSeconds);
+    }
+
+    private void delayExecution(int timeoutSeconds) throws SQLException {
+        Faults current = faults;
+        Random random = randoms.get();
+        long delay = current.queryLatency().sampleMillis(random);
+        if (timeoutSeconds > 0 && delay > timeoutSeconds * 1000L) {
+            pause(timeoutSeconds * 1000L);
+            throw new SQLException("ERROR: canceling statement due to user request", QUERY_CANCELED);
+        }
+        pause(delay);
+        if (random.nextDouble() < current.queryErrorRate()) {
+            throw new SQLTransientConnectionException("Injected query failure: connection reset");
+        }
+    }
+
+    private static void pause(long millis) throws SQLException {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted during injected delay", e);
+        }
+    }
+
+    private static Object forward(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.orders.chaos;
+
+import com.example.orders.repositories.OrderQueryRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.actuate.jdbc.DataSourceHealthIndicator;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * How the order repositories and the database health check behave when
+ * the database is slow or flaky rather than down. Runs against
+ * {@link OfflineDataSource}, so no database is needed.
+ */
+class DatabaseDegradationScenarioTest {
+
+    private static final int POOL_SIZE = 4;
+    private static final Duration ACQUIRE_TIMEOUT = Duration.ofMillis(100);
+    private static final List<Long> ORDER_IDS = List.of(1L, 2L, 3L);
+
+    private ChaosDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private OrderQueryRepository orderQueryRepository;
+    private ExecutorService requestThreads;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ChaosDataSource(new OfflineDataSource(), POOL_SIZE, ACQUIRE_TIMEOUT, 42);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        orderQueryRepository = new OrderQueryRepository(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (requestThreads != null) {
+            requestThreads.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should show occasional slow queries in p99 but not in the median")
+    void shouldShowSlowQueriesInTail() throws Exception {
+        dataSource.inject(Faults.NONE.withQueryLatency(Latency.bimodal(1, 150, 0.05)));
+
+        List<Outcome> outcomes = lookUpConcurrently(POOL_SIZE, 200);
+
+        assertThat(failures(outcomes)).isZero();
+        assertThat(percentile(outcomes, 50)).isLessThan(150);
+        assertThat(percentile(outcomes, 99)).isGreaterThanOrEqualTo(150);
+    }
+
+    @Test
+    @DisplayName("Should end a stuck query at the statement timeout instead of waiting for the database")
+    void shouldCapTailWithQueryTimeout() throws Exception {
+        jdbcTemplate.setQueryTimeout(1);
+        dataSource.inject(Faults.NONE.withQueryLatency(Latency.fixed(5_000)));
+
+        List<Outcome> outcomes = lookUpConcurrently(POOL_SIZE, POOL_SIZE);
+
+        assertThat(outcomes).allSatisfy(outcome -> {
+            assertThat(outcome.error()).rootCause().isInstanceOfSatisfying(SQLException.class,
+                cause -> assertThat(cause.getSQLState()).isEqualTo(ChaosDataSource.QUERY_CANCELED));
+            assertThat(outcome.millis()).isBetween(1_000L, 4_000L);
+        });
+        assertThat(dataSource.activeConnections()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should fail callers fast once the pool is exhausted and return every connection")
+    void shouldFailFastWhenPoolExhausted() throws Exception {
+        dataSource.inject(Faults.NONE.withQueryLatency(Latency.fixed(2_000)));
+
+        List<Outcome> outcomes = lookUpConcurrently(3 * POOL_SIZE, 3 * POOL_SIZE);
+
+        // Rejected at the 100 ms acquire timeout, well before any query finishes
+        List<Outcome> rejected = outcomes.stream().filter(outcome -> outcome.error() != null).toList();
+        assertThat(rejected).hasSize(2 * POOL_SIZE).allSatisfy(outcome -> {
+            assertThat(outcome.error()).isInstanceOf(CannotGetJdbcConnectionException.class);
+            assertThat(outcome.millis()).isLessThan(1_000);
+        });
+        assertThat(dataSource.activeConnections()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should leave no request thread for requests that never touch the database while every thread waits on a stuck query")
+    void shouldStarveUnrelatedRequests() throws Exception {
+        dataSource.inject(Faults.NONE.withQueryLatency(Latency.fixed(5_000)));
+        requestThreads = Executors.newFixedThreadPool(POOL_SIZE);
+        CountDownLatch allBusy = new CountDownLatch(POOL_SIZE);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            requestThreads.submit(() -> {
+                allBusy.countDown();
+                return orderQueryRepository.findSummariesByIds(ORDER_IDS);
+            });
+        }
+        assertThat(allBusy.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<String> unrelated = requestThreads.submit(() -> "served");
+
+        // Every request thread is held by a query with no statement timeout
+        assertThatThrownBy(() -> unrelated.get(1, TimeUnit.SECONDS)).isInstanceOf(TimeoutException.class);
+        assertThat(dataSource.activeConnections()).isEqualTo(POOL_SIZE);
+    }
+
+    @Test
+    @DisplayName("Should surface injected query errors as transient data access failures at the injected rate")
+    void shouldSurfaceQueryErrors() throws Exception {
+        dataSource.inject(Faults.NONE.withQueryErrorRate(0.2));
+
+        List<Outcome> outcomes = lookUpConcurrently(1, 500);
+
+        assertThat(failures(outcomes)).isBetween(60L, 140L);
+        assertThat(outcomes).filteredOn(outcome -> outcome.error() != null)
+            .allSatisfy(outcome -> assertThat(outcome.error()).isInstanceOf(TransientDataAccessException.class));
+    }
+
+    @Test
+    @DisplayName("Should report the database DOWN while connections fail and UP once they recover")
+    void shouldMoveHealthDownAndBackUp() {
+        DataSourceHealthIndicator health = new DataSourceHealthIndicator(dataSource);
+        assertThat(health.health().getStatus()).isEqualTo(Status.UP);
+
+        dataSource.inject(Faults.NONE.withConnectErrorRate(1.0));
+        assertThat(health.health().getStatus()).isEqualTo(Status.DOWN);
+
+        dataSource.heal();
+        assertThat(health.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    @DisplayName("Should keep reporting UP through a connection stall, only slower")
+    void shouldStayUpButSlowDuringStall() {
+        DataSourceHealthIndicator health = new DataSourceHealthIndicator(dataSource);
+        dataSource.inject(Faults.NONE.withAcquireStall(Latency.fixed(500)));
+
+        long started = System.nanoTime();
+        Status status = health.health().getStatus();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        // The check has no timeout of its own: a stalled pool stalls the probe
+        assertThat(status).isEqualTo(Status.UP);
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(500);
+    }
+
+    private record Outcome(long millis, Throwable error) {}
+
+    /**
+     * Runs {@code calls} order lookups on {@code threads} threads and
+     * times each one.
+     */
+    private List<Outcome> lookUpConcurrently(int threads, int calls) throws Exception {
+        requestThreads = Executors.newFixedThreadPool(threads);
+        List<Future<Outcome>> futures = new ArrayList<>(calls);
+        for (int i = 0; i < calls; i++) {
+            futures.add(requestThreads.submit(() -> {
+                long started = System.nanoTime();
+                Throwable error = null;
+                try {
+                    orderQueryRepository.findSummariesByIds(ORDER_IDS);
+                } catch (RuntimeException e) {
+                    error = e;
+                }
+                return new Outcome(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), error);
+            }));
+        }
+        List<Outcome> outcomes = new ArrayList<>(calls);
+        for (Future<Outcome> future : futures) {
+            outcomes.add(future.get(30, TimeUnit.SECONDS));
+        }
+        return outcomes;
+    }
+
+    private static long failures(List<Outcome> outcomes) {
+        return outcomes.stream().filter(outcome -> outcome.error() != null).count();
+    }
+
+    private static long percentile(List<Outcome> outcomes, int percentile) {
+        long[] millis = outcomes.stream().mapToLong(Outcome::millis).sorted().toArray();
+        return millis[Math.min(millis.length - 1, millis.length * percentile / 100)];
+    }
+}
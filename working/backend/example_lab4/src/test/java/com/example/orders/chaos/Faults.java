@@ -0,0 +1,32 @@
+package com.example.orders.chaos;
+
+/**
+ * What {@link ChaosDataSource} injects. Error rates are probabilities
+ * from 0 to 1.
+ *
+ * @param queryLatency     added to every statement execution and {@code isValid} check
+ * @param queryErrorRate   share of statement executions failing with
+ *                         {@link java.sql.SQLTransientConnectionException}, as on a dropped connection
+ * @param acquireStall     added to every connection checkout, while holding the pool slot
+ * @param connectErrorRate share of checkouts failing with {@link java.sql.SQLNonTransientConnectionException}
+ */
+public record Faults(Latency queryLatency, double queryErrorRate, Latency acquireStall, double connectErrorRate) {
+
+    public static final Faults NONE = new Faults(Latency.NONE, 0, Latency.NONE, 0);
+
+    public Faults withQueryLatency(Latency latency) {
+        return new Faults(latency, queryErrorRate, acquireStall, connectErrorRate);
+    }
+
+    public Faults withQueryErrorRate(double rate) {
+        return new Faults(queryLatency, rate, acquireStall, connectErrorRate);
+    }
+
+    public Faults withAcquireStall(Latency stall) {
+        return new Faults(queryLatency, queryErrorRate, stall, connectErrorRate);
+    }
+
+    public Faults withConnectErrorRate(double rate) {
+        return new Faults(queryLatency, queryErrorRate, acquireStall, rate);
+    }
+}
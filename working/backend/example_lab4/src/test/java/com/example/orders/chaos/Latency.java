@@ -0,0 +1,39 @@
+package com.example.orders.chaos;
+
+import java.util.Random;
+
+/**
+ * Distribution of injected delays, in milliseconds.
+ */
+@FunctionalInterface
+public interface Latency {
+
+    Latency NONE = random -> 0;
+
+    long sampleMillis(Random random);
+
+    static Latency fixed(long millis) {
+        return random -> millis;
+    }
+
+    static Latency uniform(long minMillis, long maxMillis) {
+        return random -> minMillis + (long) (random.nextDouble() * (maxMillis - minMillis));
+    }
+
+    /**
+     * Mostly {@code fastMillis}, but {@code slowFraction} of calls take
+     * {@code slowMillis}: a healthy database with occasional lock waits
+     * or checkpoints, which is what shows up in p99 and not in the mean.
+     */
+    static Latency bimodal(long fastMillis, long slowMillis, double slowFraction) {
+        return random -> random.nextDouble() < slowFraction ? slowMillis : fastMillis;
+    }
+
+    /**
+     * Exponentially distributed around {@code meanMillis}, for a database
+     * that is uniformly overloaded.
+     */
+    static Latency exponential(long meanMillis) {
+        return random -> (long) (-meanMillis * Math.log(1 - random.nextDouble()));
+    }
+}
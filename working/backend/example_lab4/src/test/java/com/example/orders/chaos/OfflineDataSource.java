@@ -0,0 +1,114 @@
+package com.example.orders.chaos;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.logging.Logger;
+
+/**
+ * A database that answers instantly and holds no rows: every query
+ * returns an empty result and every update changes nothing. Lets the
+ * chaos scenarios run JDBC code paths without a database server.
+ */
+public final class OfflineDataSource implements DataSource {
+
+    @Override
+    public Connection getConnection() {
+        return stub(Connection.class);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) {
+        return getConnection();
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) throws SQLException {
+        throw new SQLException("Not a wrapper for " + type);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> type) {
+        return false;
+    }
+
+    /**
+     * Returns a JDBC object whose methods return further stubs for JDBC
+     * interfaces and zero, false or null otherwise, except where a
+     * caller needs something more specific.
+     */
+    private static <T> T stub(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(OfflineDataSource.class.getClassLoader(), new Class<?>[] {type},
+            (proxy, method, args) -> {
+                String name = method.getName();
+                Class<?> returnType = method.getReturnType();
+                if (name.equals("isValid") || name.equals("getAutoCommit")) {
+                    return true;
+                }
+                if (name.equals("getUpdateCount")) {
+                    return -1;
+                }
+                if (name.equals("getDatabaseProductName")) {
+                    return "Offline";
+                }
+                if (name.equals("equals")) {
+                    return proxy == args[0];
+                }
+                if (name.equals("hashCode")) {
+                    return System.identityHashCode(proxy);
+                }
+                if (name.equals("toString")) {
+                    return "Offline" + type.getSimpleName();
+                }
+                if (returnType == Connection.class || returnType == DatabaseMetaData.class
+                        || returnType == ResultSet.class || Statement.class.isAssignableFrom(returnType)) {
+                    return stub(returnType);
+                }
+                if (returnType == boolean.class) {
+                    return false;
+                }
+                if (returnType == int.class) {
+                    return 0;
+                }
+                if (returnType == long.class) {
+                    return 0L;
+                }
+                if (returnType == int[].class) {
+                    return new int[0];
+                }
+                if (returnType == String.class && name.startsWith("get")) {
+                    return "";
+                }
+                return null;
+            }));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.orders.collections;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for LongIntMap.
+ */
+class LongIntMapTest {
+
+    @Test
+    @DisplayName("Should keep every entry across resizes")
+    void shouldKeepEntriesAcrossResizes() {
+        LongIntMap map = new LongIntMap(4);
+        for (int row = 0; row < 100_000; row++) {
+            map.put(1_000_000L + row, row);
+        }
+
+        assertThat(map.size()).isEqualTo(100_000);
+        assertThat(map.get(1_000_000L)).isZero();
+        assertThat(map.get(1_099_999L)).isEqualTo(99_999);
+        assertThat(map.get(999_999L)).isEqualTo(LongIntMap.MISSING);
+    }
+
+    @Test
+    @DisplayName("Should replace the value of an existing key")
+    void shouldReplaceValue() {
+        LongIntMap map = new LongIntMap(4);
+        map.put(7, 1);
+
+        map.put(7, 2);
+
+        assertThat(map.get(7)).isEqualTo(2);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should store Long.MIN_VALUE as an ordinary key")
+    void shouldStoreMinValueKey() {
+        LongIntMap map = new LongIntMap(4);
+        map.put(7, 0);
+
+        assertThat(map.get(Long.MIN_VALUE)).isEqualTo(LongIntMap.MISSING);
+
+        map.put(Long.MIN_VALUE, 3);
+
+        assertThat(map.get(Long.MIN_VALUE)).isEqualTo(3);
+        assertThat(map.get(7)).isZero();
+        assertThat(map.size()).isEqualTo(2);
+    }
+}
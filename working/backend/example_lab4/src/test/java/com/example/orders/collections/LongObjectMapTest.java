@@ -0,0 +1,77 @@
+package com.example.orders.collections;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for LongObjectMap.
+ */
+class LongObjectMapTest {
+
+    @Test
+    @DisplayName("Should keep every entry across resizes, including negative keys")
+    void shouldKeepEntriesAcrossResizes() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        for (long key = -50_000; key < 50_000; key++) {
+            map.put(key, "v" + key);
+        }
+
+        assertThat(map.size()).isEqualTo(100_000);
+        assertThat(map.get(-50_000)).isEqualTo("v-50000");
+        assertThat(map.get(49_999)).isEqualTo("v49999");
+        assertThat(map.get(50_000)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should return the previous value when replacing")
+    void shouldReturnPreviousValue() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+
+        assertThat(map.put(1, "a")).isNull();
+        assertThat(map.put(1, "b")).isEqualTo("a");
+        assertThat(map.get(1)).isEqualTo("b");
+    }
+
+    @Test
+    @DisplayName("Should create a value only when the key is absent")
+    void shouldComputeIfAbsent() {
+        LongObjectMap<LongList> map = new LongObjectMap<>();
+
+        map.computeIfAbsent(10, key -> new LongList()).add(1);
+        map.computeIfAbsent(10, key -> new LongList()).add(2);
+
+        assertThat(map.get(10).toArray()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should reject null values")
+    void shouldRejectNullValues() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+
+        assertThatThrownBy(() -> map.put(1, null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should store Long.MIN_VALUE as an ordinary key and visit its value")
+    void shouldStoreMinValueKey() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        map.put(1, "a");
+
+        assertThat(map.get(Long.MIN_VALUE)).isNull();
+        assertThat(map.put(Long.MIN_VALUE, "min")).isNull();
+        assertThat(map.put(Long.MIN_VALUE, "min2")).isEqualTo("min");
+
+        List<String> values = new ArrayList<>();
+        map.forEachValue(values::add);
+
+        assertThat(map.get(Long.MIN_VALUE)).isEqualTo("min2");
+        assertThat(map.size()).isEqualTo(2);
+        assertThat(values).containsExactlyInAnyOrder("a", "min2");
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.orders.config;
+
+import com.example.orders.chaos.ChaosDataSource;
+import com.example.orders.chaos.Faults;
+import com.example.orders.chaos.Latency;
+import com.example.orders.chaos.OfflineDataSource;
+import com.example.orders.exceptions.DeadlineExceededException;
+import com.example.orders.repositories.OrderQueryRepository;
+import com.example.orders.services.RequestDeadline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for DeadlineAwareDataSource, against a slow {@link ChaosDataSource}.
+ */
+class DeadlineAwareDataSourceTest {
+
+    private static final List<Long> ORDER_IDS = List.of(1L, 2L, 3L);
+
+    private ChaosDataSource chaos;
+    private OrderQueryRepository orderQueryRepository;
+
+    @BeforeEach
+    void setUp() {
+        chaos = new ChaosDataSource(new OfflineDataSource(), 4, Duration.ofMillis(100), 42);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DeadlineAwareDataSource(chaos));
+        jdbcTemplate.setExceptionTranslator(new QueryCanceledExceptionTranslator(jdbcTemplate.getExceptionTranslator()));
+        orderQueryRepository = new OrderQueryRepository(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    @DisplayName("Should end a stuck query when the request deadline runs out")
+    void shouldTimeOutQueryAtDeadline() {
+        chaos.inject(Faults.NONE.withQueryLatency(Latency.fixed(5_000)));
+        RequestDeadline.start(Duration.ofMillis(800));
+
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> orderQueryRepository.findSummariesByIds(ORDER_IDS))
+            .isInstanceOf(QueryTimeoutException.class)
+            .rootCause()
+            .isInstanceOfSatisfying(SQLException.class,
+                cause -> assertThat(cause.getSQLState()).isEqualTo(ChaosDataSource.QUERY_CANCELED));
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isBetween(800L, 4_000L);
+        assertThat(chaos.activeConnections()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not take a connection once the deadline has passed")
+    void shouldRejectExpiredRequests() {
+        RequestDeadline.start(Duration.ZERO);
+
+        assertThatThrownBy(() -> orderQueryRepository.findSummariesByIds(ORDER_IDS))
+            .isInstanceOf(DeadlineExceededException.class);
+        assertThat(chaos.activeConnections()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should leave queries without a deadline untouched")
+    void shouldIgnoreThreadsWithoutDeadline() {
+        chaos.inject(Faults.NONE.withQueryLatency(Latency.fixed(50)));
+
+        assertThat(orderQueryRepository.findSummariesByIds(ORDER_IDS)).isEmpty();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.orders.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for QueryCanceledExceptionTranslator.
+ */
+class QueryCanceledExceptionTranslatorTest {
+
+    private final SQLExceptionTranslator fallback =
+        (task, sql, ex) -> new DataAccessResourceFailureException(task, ex);
+    private final QueryCanceledExceptionTranslator translator = new QueryCanceledExceptionTranslator(fallback);
+
+    @Test
+    @DisplayName("Should translate a cancelled statement to a query timeout")
+    void shouldTranslateQueryCanceled() {
+        SQLException canceled = new SQLException("ERROR: canceling statement due to statement timeout", "57014");
+
+        assertThat(translator.translate("select", "SELECT 1", canceled))
+            .isInstanceOf(QueryTimeoutException.class)
+            .hasCause(canceled);
+    }
+
+    @Test
+    @DisplayName("Should leave other SQL states to the default translator")
+    void shouldDelegateOtherStates() {
+        SQLException refused = new SQLException("Connection refused", "08001");
+
+        assertThat(translator.translate("select", "SELECT 1", refused))
+            .isInstanceOf(DataAccessResourceFailureException.class);
+    }
+}
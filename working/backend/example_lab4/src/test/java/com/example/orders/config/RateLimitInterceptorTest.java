@@ -0,0 +1,75 @@
+package com.example.orders.config;
+
+import com.example.orders.exceptions.RateLimitExceededException;
+import com.example.orders.services.ClientRateLimiter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for RateLimitInterceptor.
+ */
+class RateLimitInterceptorTest {
+
+    private final ClientRateLimiter rateLimiter = new ClientRateLimiter(0.001, 2, 0.001, 2, 100);
+    private final RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimiter, Set.of("known-key"));
+
+    @Test
+    @DisplayName("Should give a configured API key its own budget")
+    void shouldKeyOnConfiguredApiKey() {
+        MockHttpServletRequest request = get("10.0.0.1", "known-key");
+
+        assertThat(interceptor.clientKey(request)).isEqualTo("key:known-key");
+    }
+
+    @Test
+    @DisplayName("Should prefer the authenticated principal over any header")
+    void shouldKeyOnPrincipal() {
+        MockHttpServletRequest request = get("10.0.0.1", "known-key");
+        request.setUserPrincipal(() -> "alice");
+
+        assertThat(interceptor.clientKey(request)).isEqualTo("user:alice");
+    }
+
+    @Test
+    @DisplayName("Should charge unknown API keys to the remote address budget")
+    void shouldChargeUnknownKeysToAddress() throws Exception {
+        interceptor.preHandle(get("10.0.0.1", "made-up-1"), new MockHttpServletResponse(), null);
+        interceptor.preHandle(get("10.0.0.1", "made-up-2"), new MockHttpServletResponse(), null);
+
+        assertThatThrownBy(() ->
+            interceptor.preHandle(get("10.0.0.1", "made-up-3"), new MockHttpServletResponse(), null))
+            .isSameAs(RateLimitExceededException.INSTANCE);
+        assertThat(rateLimiter.trackedClients()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should let exempt requests through without drawing on any budget")
+    void shouldSkipExemptRequests() throws Exception {
+        RateLimitInterceptor exempting = new RateLimitInterceptor(rateLimiter, Set.of(),
+            request -> "warm-up".equals(request.getHeader("X-Warm-Up-Token")));
+
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+            request.setRemoteAddr("127.0.0.1");
+            request.addHeader("X-Warm-Up-Token", "warm-up");
+            assertThat(exempting.preHandle(request, new MockHttpServletResponse(), null)).isTrue();
+        }
+
+        assertThat(rateLimiter.trackedClients()).isZero();
+    }
+
+    private static MockHttpServletRequest get(String remoteAddr, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        request.setRemoteAddr(remoteAddr);
+        request.addHeader(RateLimitInterceptor.API_KEY_HEADER, apiKey);
+        return request;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.orders.services;
+
+import com.example.orders.services.AdaptiveConcurrencyLimiter.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for AdaptiveConcurrencyLimiter.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(40);
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(
+            new SimpleMeterRegistry(), initialLimit, 4, 200, 0.75, 10, Duration.ofSeconds(2));
+    }
+
+    @Test
+    @DisplayName("Should shed reads at their share of the limit while writes still get through")
+    void shouldShedReadsBeforeWrites() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8);
+
+        for (int i = 0; i < 6; i++) {
+            assertThat(limiter.tryAcquire(Priority.READ)).isTrue();
+        }
+
+        assertThat(limiter.tryAcquire(Priority.READ)).isFalse();
+        assertThat(limiter.tryAcquire(Priority.WRITE)).isTrue();
+        assertThat(limiter.tryAcquire(Priority.WRITE)).isTrue();
+        assertThat(limiter.tryAcquire(Priority.WRITE)).isFalse();
+        assertThat(limiter.inFlight(Priority.READ)).isEqualTo(6);
+        assertThat(limiter.inFlight(Priority.WRITE)).isEqualTo(2);
+        assertThat(limiter.shedCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should lower the limit when latency rises under load")
+    void shouldShrinkWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40);
+        runWindows(limiter, 20, FAST, 5);
+        double settled = limiter.limit();
+
+        runWindows(limiter, 20, SLOW, 5);
+
+        assertThat(limiter.limit()).isLessThan(settled);
+    }
+
+    @Test
+    @DisplayName("Should raise the limit while latency stays flat and the limit is in use")
+    void shouldGrowWhileLatencyIsFlat() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+
+        runWindows(limiter, 15, FAST, 5);
+
+        assertThat(limiter.limit()).isGreaterThan(20);
+    }
+
+    @Test
+    @DisplayName("Should not raise the limit when most of it is unused")
+    void shouldNotGrowWhenUnused() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+
+        runWindows(limiter, 2, FAST, 5);
+
+        assertThat(limiter.limit()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should stop admitting reads on shutdown and wait for requests in flight")
+    void shouldDrainOnStop() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8);
+        limiter.start();
+        assertThat(limiter.tryAcquire(Priority.WRITE)).isTrue();
+        CompletableFuture<Void> stopped = CompletableFuture.runAsync(limiter::stop);
+
+        await(() -> rejectsReads(limiter));
+        assertThat(stopped).isNotDone();
+        limiter.releaseWithoutSample(Priority.WRITE);
+
+        stopped.join();
+        assertThat(limiter.inFlight()).isZero();
+        assertThat(limiter.isRunning()).isFalse();
+    }
+
+    /**
+     * Runs {@code windows} sample windows with {@code concurrency}
+     * requests in flight, each taking {@code latencyNanos}.
+     */
+    private static void runWindows(AdaptiveConcurrencyLimiter limiter, int concurrency, long latencyNanos,
+                                   int windows) {
+        for (int window = 0; window < windows; window++) {
+            int admitted = 0;
+            while (admitted < concurrency && limiter.tryAcquire(Priority.WRITE)) {
+                admitted++;
+            }
+            for (int i = 0; i < 10 && admitted > 0; i++) {
+                limiter.release(Priority.WRITE, latencyNanos);
+                admitted--;
+                if (limiter.tryAcquire(Priority.WRITE)) {
+                    admitted++;
+                }
+            }
+            for (int i = 0; i < admitted; i++) {
+                limiter.releaseWithoutSample(Priority.WRITE);
+            }
+        }
+    }
+
+    private static boolean rejectsReads(AdaptiveConcurrencyLimiter limiter) {
+        if (limiter.tryAcquire(Priority.READ)) {
+            limiter.releaseWithoutSample(Priority.READ);
+            return false;
+        }
+        return true;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.orders.services;
+
+import com.example.orders.models.ArchivedOrder;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for ArchivedOrderStore segment encoding and lookup.
+ */
+class ArchivedOrderStoreTest {
+
+    @TempDir
+    Path archiveDir;
+
+    private ArchivedOrderStore store;
+
+    private final List<ArchivedOrder> orders = List.of(
+        new ArchivedOrder(1L, 1L, List.of(1L, 2L), "completed",
+            Instant.parse("2024-01-20T10:30:00Z"), new BigDecimal("24.98")),
+        new ArchivedOrder(2L, 2L, List.of(3L), "cancelled",
+            Instant.parse("2024-01-19T14:15:00Z"), new BigDecimal("24.99")),
+        new ArchivedOrder(5L, 1L, List.of(), "completed",
+            Instant.parse("2024-01-21T09:00:00Z"), BigDecimal.ZERO)
+    );
+
+    @BeforeEach
+    void setUp() {
+        store = new ArchivedOrderStore(archiveDir.toString());
+        store.loadSegmentHeaders();
+    }
+
+    @Test
+    @DisplayName("Should return archived orders exactly as written")
+    void shouldRoundTripOrders() {
+        store.writeSegment("orders_y2024m01", orders);
+
+        assertThat(store.findById(1L)).contains(orders.get(0));
+        assertThat(store.findById(2L)).contains(orders.get(1));
+        assertThat(store.findById(5L)).contains(orders.get(2));
+    }
+
+    @Test
+    @DisplayName("Should return empty for IDs not in any segment")
+    void shouldReturnEmptyForUnknownIds() {
+        store.writeSegment("orders_y2024m01", orders);
+
+        assertThat(store.findById(3L)).isEmpty();
+        assertThat(store.findById(99L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should find segments written before a restart")
+    void shouldReloadSegmentsAfterRestart() {
+        store.writeSegment("orders_y2024m01", orders);
+
+        ArchivedOrderStore restarted = new ArchivedOrderStore(archiveDir.toString());
+        restarted.loadSegmentHeaders();
+
+        assertThat(restarted.hasSegment("orders_y2024m01")).isTrue();
+        assertThat(restarted.findById(2L)).contains(orders.get(1));
+    }
+
+    @Test
+    @DisplayName("Should round-trip an order without a total")
+    void shouldRoundTripMissingTotal() {
+        ArchivedOrder untotalled = new ArchivedOrder(9L, 1L, List.of(1L), "completed",
+            Instant.parse("2024-01-22T08:00:00Z"), null);
+
+        store.writeSegment("orders_y2024m01", List.of(untotalled));
+
+        assertThat(store.findById(9L)).contains(untotalled);
+    }
+
+    @Test
+    @DisplayName("Should serve the latest contents when a segment is rewritten")
+    void shouldReplaceRewrittenSegment() {
+        store.writeSegment("orders_y2024m01", orders);
+        assertThat(store.findById(2L)).contains(orders.get(1));
+
+        ArchivedOrder shipped = new ArchivedOrder(2L, 2L, List.of(3L), "shipped",
+            Instant.parse("2024-01-19T14:15:00Z"), new BigDecimal("24.99"));
+        store.writeSegment("orders_y2024m01", List.of(orders.get(0), shipped, orders.get(2)));
+
+        assertThat(store.findById(2L)).contains(shipped);
+    }
+
+    @Test
+    @DisplayName("Should page a customer's archived orders newest first across segments")
+    void shouldFindCustomerOrdersNewestFirst() {
+        ArchivedOrder february = new ArchivedOrder(7L, 1L, List.of(), "completed",
+            Instant.parse("2024-02-03T08:00:00Z"), BigDecimal.ONE);
+        store.writeSegment("orders_y2024m02", List.of(february));
+        store.writeSegment("orders_y2024m01", orders);
+
+        assertThat(store.findCustomerOrders(1L, null, 0L, 2))
+            .containsExactly(february, orders.get(2));
+        assertThat(store.findCustomerOrders(1L, orders.get(2).createdAt(), orders.get(2).id(), 10))
+            .containsExactly(orders.get(0));
+        assertThat(store.findCustomerOrders(3L, null, 0L, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should refuse to archive when no archive directory is configured")
+    void shouldStayDisabledWithoutDirectory() {
+        ArchivedOrderStore disabled = new ArchivedOrderStore("");
+        disabled.loadSegmentHeaders();
+
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.findById(1L)).isEmpty();
+        assertThatThrownBy(() -> disabled.writeSegment("orders_y2024m01", orders))
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.orders.services;
+
+import com.example.orders.dto.BackfillProgress;
+import com.example.orders.repositories.BackfillCheckpointRepository;
+import com.example.orders.repositories.BackfillCheckpointRepository.CompletedChunk;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for BackfillEngine chunking, checkpointing and progress reporting.
+ */
+@ExtendWith(MockitoExtension.class)
+class BackfillEngineTest {
+
+    @Mock
+    private BackfillCheckpointRepository checkpointRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BackfillEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new BackfillEngine(
+            checkpointRepository,
+            new TransactionTemplate(transactionManager),
+            new SimpleMeterRegistry(),
+            10,
+            2,
+            1_000
+        );
+    }
+
+    @Test
+    @DisplayName("Should process every chunk and checkpoint each one")
+    void shouldProcessAndCheckpointAllChunks() {
+        when(checkpointRepository.findCompletedChunks("test")).thenReturn(List.of());
+        RecordingTask task = new RecordingTask(25);
+
+        BackfillProgress progress = engine.run(task);
+
+        assertThat(task.processed).containsExactlyInAnyOrder(1L, 11L, 21L);
+        assertThat(progress.state()).isEqualTo("COMPLETED");
+        assertThat(progress.completedChunks()).isEqualTo(3);
+        assertThat(progress.rowsProcessed()).isEqualTo(25);
+        verify(checkpointRepository).markCompleted("test", 21L, 26L, 5);
+    }
+
+    @Test
+    @DisplayName("Should skip chunks already checkpointed when resuming")
+    void shouldResumeFromCheckpoint() {
+        when(checkpointRepository.findCompletedChunks("test")).thenReturn(List.of(
+            new CompletedChunk(1L, 11L), new CompletedChunk(11L, 21L)));
+        RecordingTask task = new RecordingTask(25);
+
+        BackfillProgress progress = engine.run(task);
+
+        assertThat(task.processed).containsExactly(21L);
+        assertThat(progress.completedChunks()).isEqualTo(3);
+        verify(checkpointRepository, never()).markCompleted(eq("test"), eq(1L), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should redo a tail chunk that was completed before more orders existed")
+    void shouldRedoTailChunkCompletedOverShorterRange() {
+        when(checkpointRepository.findCompletedChunks("test")).thenReturn(List.of(
+            new CompletedChunk(1L, 11L), new CompletedChunk(11L, 21L), new CompletedChunk(21L, 24L)));
+        RecordingTask task = new RecordingTask(25);
+
+        engine.run(task);
+
+        assertThat(task.processed).containsExactly(21L);
+        verify(checkpointRepository).markCompleted("test", 21L, 26L, 5);
+    }
+
+    @Test
+    @DisplayName("Should honour checkpoints written with a different chunk size")
+    void shouldHonourCheckpointsFromDifferentChunkSize() {
+        when(checkpointRepository.findCompletedChunks("test")).thenReturn(List.of(
+            new CompletedChunk(1L, 6L), new CompletedChunk(6L, 11L), new CompletedChunk(11L, 16L)));
+        RecordingTask task = new RecordingTask(25);
+
+        engine.run(task);
+
+        assertThat(task.processed).containsExactlyInAnyOrder(11L, 21L);
+    }
+
+    @Test
+    @DisplayName("Should report FAILED and rethrow when a chunk fails")
+    void shouldReportFailure() {
+        when(checkpointRepository.findCompletedChunks("test")).thenReturn(List.of());
+        RecordingTask task = new RecordingTask(5) {
+            @Override
+            public int processChunk(long fromId, long toId) {
+                throw new IllegalStateException("boom");
+            }
+        };
+
+        assertThatThrownBy(() -> engine.run(task)).isInstanceOf(IllegalStateException.class);
+        assertThat(engine.progress("test")).get()
+                .extracting(BackfillProgress::state)
+                .isEqualTo("FAILED");
+    }
+
+    private static class RecordingTask implements BackfillTask {
+        private final long maxId;
+        private final Set<Long> processed = ConcurrentHashMap.newKeySet();
+
+        RecordingTask(long maxId) {
+            this.maxId = maxId;
+        }
+
+        @Override
+        public String name() {
+            return "test";
+        }
+
+        @Override
+        public long maxOrderId() {
+            return maxId;
+        }
+
+        @Override
+        public int processChunk(long fromId, long toId) {
+            processed.add(fromId);
+            return (int) (toId - fromId);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.orders.services;
+
+import com.example.orders.models.CacheInvalidatedEvent;
+import com.example.orders.models.CacheInvalidation.Kind;
+import com.example.orders.repositories.CacheInvalidationRepository;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests CacheInvalidationBus with three instances sharing one
+ * {@code cache_invalidations} table on an H2 database in PostgreSQL mode.
+ */
+class CacheInvalidationBusTest {
+
+    private JdbcDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private Connection slowTransaction;
+
+    private final List<CacheInvalidatedEvent> receivedByA = new ArrayList<>();
+    private final List<CacheInvalidatedEvent> receivedByB = new ArrayList<>();
+    private final List<CacheInvalidatedEvent> receivedByC = new ArrayList<>();
+
+    private CacheInvalidationBus podA;
+    private CacheInvalidationBus podB;
+    private CacheInvalidationBus podC;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE cache_invalidations ("
+            + "seq BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+            + "kind VARCHAR(16) NOT NULL, "
+            + "entity_id BIGINT NOT NULL, "
+            + "origin VARCHAR(36) NOT NULL, "
+            + "created_at TIMESTAMP NOT NULL DEFAULT now())");
+        slowTransaction = dataSource.getConnection();
+        slowTransaction.setAutoCommit(false);
+
+        podA = startInstance(receivedByA);
+        podB = startInstance(receivedByB);
+        podC = startInstance(receivedByC);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        slowTransaction.close();
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    @DisplayName("Should deliver invalidations to every other instance but not back to the writer")
+    void shouldDeliverToOtherInstances() {
+        podA.publish(Kind.ITEM, 7L);
+        podA.flush();
+
+        pollAll();
+
+        assertThat(receivedByB).containsExactly(new CacheInvalidatedEvent(Kind.ITEM, Set.of(7L)));
+        assertThat(receivedByC).containsExactly(new CacheInvalidatedEvent(Kind.ITEM, Set.of(7L)));
+        assertThat(receivedByA).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should write repeated changes to one entity once and deliver each cache's IDs in one event")
+    void shouldCoalesceRepeatedChanges() {
+        podA.publish(Kind.ORDER, 1L);
+        podA.publish(Kind.ORDER, 1L);
+        podA.publish(Kind.ORDER, 2L);
+        podA.publish(Kind.CUSTOMER, 1L);
+        podA.flush();
+        podC.publish(Kind.ORDER, 1L);
+        podC.flush();
+
+        podB.poll();
+
+        assertThat(rowCount()).isEqualTo(4);
+        assertThat(receivedByB).containsExactlyInAnyOrder(
+            new CacheInvalidatedEvent(Kind.ORDER, Set.of(1L, 2L)),
+            new CacheInvalidatedEvent(Kind.CUSTOMER, Set.of(1L)));
+    }
+
+    @Test
+    @DisplayName("Should pick up a row that commits after a higher sequence has been read")
+    void shouldPickUpRowsCommittedOutOfOrder() throws SQLException {
+        insertUncommitted(Kind.ORDER, 6L);
+        podA.publish(Kind.ORDER, 5L);
+        podA.flush();
+        podB.poll();
+
+        slowTransaction.commit();
+        podB.poll();
+
+        assertThat(receivedByB).containsExactly(
+            new CacheInvalidatedEvent(Kind.ORDER, Set.of(5L)),
+            new CacheInvalidatedEvent(Kind.ORDER, Set.of(6L)));
+    }
+
+    @Test
+    @DisplayName("Should drop a late row for an entity already reloaded for a later row")
+    void shouldDropStaleRows() throws SQLException {
+        insertUncommitted(Kind.ORDER, 5L);
+        podA.publish(Kind.ORDER, 5L);
+        podA.flush();
+        podB.poll();
+
+        slowTransaction.commit();
+        podB.poll();
+        podB.poll();
+
+        assertThat(receivedByB).containsExactly(new CacheInvalidatedEvent(Kind.ORDER, Set.of(5L)));
+    }
+
+    @Test
+    @DisplayName("Should drain more than one batch of rows in a single poll")
+    void shouldDrainBacklogInOnePoll() {
+        List<CacheInvalidatedEvent> received = new ArrayList<>();
+        CacheInvalidationBus smallBatches = startInstance(received, 2);
+        for (long itemId = 1; itemId <= 5; itemId++) {
+            podA.publish(Kind.ITEM, itemId);
+        }
+        podA.flush();
+
+        smallBatches.poll();
+
+        assertThat(received).containsExactly(new CacheInvalidatedEvent(Kind.ITEM, Set.of(1L, 2L, 3L, 4L, 5L)));
+    }
+
+    @Test
+    @DisplayName("Should not replay rows written before the instance started")
+    void shouldStartFromEndOfTable() {
+        podA.publish(Kind.ITEM, 3L);
+        podA.flush();
+
+        List<CacheInvalidatedEvent> receivedByLatecomer = new ArrayList<>();
+        CacheInvalidationBus latecomer = startInstance(receivedByLatecomer);
+        latecomer.poll();
+
+        assertThat(receivedByLatecomer).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should prune only rows older than the retention")
+    void shouldPruneOldRows() {
+        jdbcTemplate.update("INSERT INTO cache_invalidations (kind, entity_id, origin, created_at) VALUES (?, ?, ?, ?)",
+            Kind.ITEM.name(), 1L, "old-pod", Timestamp.from(Instant.now().minus(Duration.ofHours(2))));
+        podA.publish(Kind.ITEM, 2L);
+        podA.flush();
+
+        podA.prune();
+
+        assertThat(jdbcTemplate.queryForList("SELECT entity_id FROM cache_invalidations", Long.class))
+            .containsExactly(2L);
+    }
+
+    private CacheInvalidationBus startInstance(List<CacheInvalidatedEvent> received) {
+        return startInstance(received, 500);
+    }
+
+    private CacheInvalidationBus startInstance(List<CacheInvalidatedEvent> received, int batchSize) {
+        CacheInvalidationBus bus = new CacheInvalidationBus(new CacheInvalidationRepository(jdbcTemplate),
+            event -> received.add((CacheInvalidatedEvent) event), batchSize, 10_000, 60);
+        bus.start();
+        return bus;
+    }
+
+    private void pollAll() {
+        podA.poll();
+        podB.poll();
+        podC.poll();
+    }
+
+    /**
+     * Inserts a row from another instance in a transaction left open, so
+     * its sequence is taken but the row is not visible until
+     * {@code slowTransaction} commits.
+     */
+    private void insertUncommitted(Kind kind, long entityId) throws SQLException {
+        try (PreparedStatement insert = slowTransaction.prepareStatement(
+                "INSERT INTO cache_invalidations (kind, entity_id, origin) VALUES (?, ?, ?)")) {
+            insert.setString(1, kind.name());
+            insert.setLong(2, entityId);
+            insert.setString(3, "slow-pod");
+            insert.executeUpdate();
+        }
+    }
+
+    private int rowCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cache_invalidations", Integer.class);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.orders.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for ClientRateLimiter.
+ */
+class ClientRateLimiterTest {
+
+    private final ClientRateLimiter rateLimiter = new ClientRateLimiter(1, 3, 1, 2, 2);
+
+    @Test
+    @DisplayName("Should allow a burst and then reject the client")
+    void shouldRejectAfterBurst() {
+        assertThat(rateLimiter.tryRead("partner-a")).isTrue();
+        assertThat(rateLimiter.tryRead("partner-a")).isTrue();
+        assertThat(rateLimiter.tryRead("partner-a")).isTrue();
+
+        assertThat(rateLimiter.tryRead("partner-a")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep the write budget when the read budget is used up")
+    void shouldKeepReadAndWriteBudgetsSeparate() {
+        while (rateLimiter.tryRead("partner-a")) {
+            // use up the read budget
+        }
+
+        assertThat(rateLimiter.tryWrite("partner-a")).isTrue();
+        assertThat(rateLimiter.tryWrite("partner-a")).isTrue();
+        assertThat(rateLimiter.tryWrite("partner-a")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not let one client use up another client's budget")
+    void shouldKeepClientsSeparate() {
+        while (rateLimiter.tryRead("partner-a")) {
+            // use up partner-a's read budget
+        }
+
+        assertThat(rateLimiter.tryRead("partner-b")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should refill one token per interval")
+    void shouldRefillOverTime() {
+        AtomicLong fullAt = new AtomicLong(0);
+        long interval = 100;
+        long burst = 200;
+
+        assertThat(ClientRateLimiter.tryTake(fullAt, interval, burst, 0)).isTrue();
+        assertThat(ClientRateLimiter.tryTake(fullAt, interval, burst, 0)).isTrue();
+        assertThat(ClientRateLimiter.tryTake(fullAt, interval, burst, 0)).isFalse();
+        assertThat(ClientRateLimiter.tryTake(fullAt, interval, burst, 99)).isFalse();
+
+        assertThat(ClientRateLimiter.tryTake(fullAt, interval, burst, 100)).isTrue();
+        assertThat(ClientRateLimiter.tryTake(fullAt, interval, burst, 100)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should share one bucket among new clients once the client table is full")
+    void shouldShareOverflowBucketWhenFull() {
+        rateLimiter.tryRead("partner-a");
+        rateLimiter.tryRead("partner-b");
+
+        rateLimiter.tryRead("partner-c");
+        rateLimiter.tryRead("partner-d");
+        rateLimiter.tryRead("partner-e");
+
+        assertThat(rateLimiter.trackedClients()).isEqualTo(2);
+        assertThat(rateLimiter.tryRead("partner-f")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should evict clients whose buckets have refilled")
+    void shouldEvictIdleClients() throws InterruptedException {
+        ClientRateLimiter fastRefill = new ClientRateLimiter(1_000_000, 1, 1_000_000, 1, 10);
+        fastRefill.tryRead("partner-a");
+        fastRefill.tryWrite("partner-b");
+        Thread.sleep(5);
+
+        fastRefill.evictIdle();
+
+        assertThat(fastRefill.trackedClients()).isZero();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.orders.services;
+
+import com.example.orders.exceptions.DeadlineExceededException;
+import com.example.orders.exceptions.ServiceOverloadedException;
+import com.example.orders.services.DatabaseBulkheads.Kind;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for DatabaseBulkheads.
+ */
+class DatabaseBulkheadsTest {
+
+    private final DatabaseBulkheads bulkheads = new DatabaseBulkheads(1, 1, Duration.ofMillis(50));
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should reject a list call while the list bulkhead is full but still serve details")
+    void shouldIsolateKinds() throws Exception {
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> bulkheads.call(Kind.LIST, () -> {
+            holding.countDown();
+            return await(release);
+        }));
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> bulkheads.call(Kind.LIST, () -> "page"))
+            .isInstanceOf(ServiceOverloadedException.class)
+            .hasMessageContaining("list");
+        assertThat(bulkheads.call(Kind.DETAIL, () -> "detail")).isEqualTo("detail");
+
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should return the permit when the work throws")
+    void shouldReleaseOnFailure() {
+        assertThatThrownBy(() -> bulkheads.call(Kind.DETAIL, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(bulkheads.available(Kind.DETAIL)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not start work once the request deadline has passed")
+    void shouldFailFastAfterDeadline() {
+        RequestDeadline.start(Duration.ZERO);
+
+        assertThatThrownBy(() -> bulkheads.call(Kind.DETAIL, () -> "detail"))
+            .isInstanceOf(DeadlineExceededException.class);
+        assertThat(bulkheads.available(Kind.DETAIL)).isEqualTo(1);
+    }
+
+    private static String await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "page";
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.orders.services;
+
+import com.example.orders.collections.LongList;
+import com.example.orders.dto.OrderSummary;
+import com.example.orders.models.NewOrder;
+import com.example.orders.models.OrderStatusChangedEvent;
+import com.example.orders.models.OrdersArchivedEvent;
+import com.example.orders.models.OrdersCreatedEvent;
+import com.example.orders.repositories.OrderBatchRepository;
+import com.example.orders.repositories.OrderQueryRepository;
+import com.example.orders.repositories.OrderQueryRepository.ItemLinkConsumer;
+import com.example.orders.repositories.OrderTotalRepository;
+import com.example.orders.services.OrderFilterIndex.Criteria;
+import com.example.orders.services.OrderFilterIndex.Matches;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for OrderFilterIndex.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderFilterIndexTest {
+
+    private static final Instant OCT_1 = Instant.parse("2026-10-01T10:00:00Z");
+    private static final Instant OCT_2 = Instant.parse("2026-10-02T23:59:00Z");
+
+    @Mock
+    private OrderQueryRepository orderQueryRepository;
+
+    @Mock
+    private OrderTotalRepository orderTotalRepository;
+
+    @Mock
+    private OrderReadModel orderReadModel;
+
+    private OrderFilterIndex index;
+
+    @BeforeEach
+    void setUp() {
+        List<OrderSummary> orders = List.of(
+            new OrderSummary(1L, 1L, "PENDING", OCT_1, BigDecimal.TEN),
+            new OrderSummary(2L, 2L, "SHIPPED", OCT_1, BigDecimal.TEN),
+            new OrderSummary(3L, 3L, "PENDING", OCT_2, BigDecimal.TEN),
+            new OrderSummary(4L, 1L, "PENDING", OCT_2, BigDecimal.TEN));
+        when(orderTotalRepository.findMaxOrderId()).thenReturn(4L);
+        doAnswer(invocation -> {
+            Consumer<OrderSummary> consumer = invocation.getArgument(2);
+            orders.forEach(consumer);
+            return null;
+        }).when(orderQueryRepository).forEachSummaryInIdRange(anyLong(), anyLong(), any());
+        doAnswer(invocation -> {
+            ItemLinkConsumer consumer = invocation.getArgument(2);
+            consumer.accept(1L, 10L);
+            consumer.accept(3L, 10L);
+            consumer.accept(4L, 11L);
+            return null;
+        }).when(orderQueryRepository).forEachItemLinkInIdRange(anyLong(), anyLong(), any());
+        // With two buckets, customers 1 and 3 share one
+        Map<Long, Long> customers = Map.of(1L, 1L, 2L, 2L, 3L, 3L, 4L, 1L, 5L, 1L);
+        lenient().when(orderReadModel.ordersOfCustomer(any(), anyLong())).thenAnswer(invocation -> {
+            LongList candidates = invocation.getArgument(0);
+            long customerId = invocation.getArgument(1);
+            LongList result = new LongList();
+            for (long orderId : candidates.toArray()) {
+                if (customers.get(orderId) == customerId) {
+                    result.add(orderId);
+                }
+            }
+            return result;
+        });
+
+        index = new OrderFilterIndex(orderQueryRepository, orderTotalRepository, orderReadModel, 2, 2);
+    }
+
+    @Test
+    @DisplayName("Should count all matches and return the highest IDs up to the limit")
+    void shouldCountAndLimit() {
+        index.rebuild();
+
+        Matches matches = index.find(new Criteria("PENDING", null, null, null, null), 2);
+
+        assertThat(matches.count()).isEqualTo(3);
+        assertThat(matches.orderIds().toArray()).containsExactly(4L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should intersect creation days and items")
+    void shouldIntersectDayAndItem() {
+        index.rebuild();
+
+        Matches matches = index.find(
+            new Criteria(null, null, LocalDate.parse("2026-10-02"), LocalDate.parse("2026-10-02"), 10L), 10);
+
+        assertThat(matches.count()).isEqualTo(1);
+        assertThat(matches.orderIds().toArray()).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Should drop other customers sharing the customer's bucket")
+    void shouldRefineCustomerBucket() {
+        index.rebuild();
+
+        Matches matches = index.find(new Criteria(null, 1L, null, null, null), 10);
+
+        assertThat(matches.count()).isEqualTo(2);
+        assertThat(matches.orderIds().toArray()).containsExactly(4L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should match nothing for an unknown status or item")
+    void shouldMatchNothingForUnknownValues() {
+        index.rebuild();
+
+        assertThat(index.find(new Criteria("LOST", null, null, null, null), 10).count()).isZero();
+        assertThat(index.find(new Criteria(null, null, null, null, 99L), 10).count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should apply a status change received while loading")
+    void shouldReplayStatusChangeAfterLoad() {
+        index.onStatusChanged(new OrderStatusChangedEvent(1L, "SHIPPED"));
+
+        index.rebuild();
+
+        assertThat(index.find(new Criteria("SHIPPED", null, null, null, null), 10).orderIds().toArray())
+            .containsExactly(2L, 1L);
+        assertThat(index.find(new Criteria("PENDING", null, null, null, null), 10).orderIds().toArray())
+            .containsExactly(4L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should drop events while a failed build waits for its retry, then rebuild from the database")
+    void shouldRetryFailedBuild() {
+        when(orderTotalRepository.findMaxOrderId())
+            .thenThrow(new TransientDataAccessResourceException("connection reset"))
+            .thenReturn(4L);
+
+        index.rebuild();
+        index.onStatusChanged(new OrderStatusChangedEvent(1L, "SHIPPED"));
+
+        assertThat(index.isReady()).isFalse();
+
+        index.retryFailedLoad();
+        index.onStatusChanged(new OrderStatusChangedEvent(3L, "SHIPPED"));
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.find(new Criteria("SHIPPED", null, null, null, null), 10).orderIds().toArray())
+            .containsExactly(3L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should drop orders created before the archived boundary from every count")
+    void shouldDropArchivedOrders() {
+        index.rebuild();
+
+        index.onOrdersArchived(new OrdersArchivedEvent(Instant.parse("2026-10-02T00:00:00Z")));
+
+        assertThat(index.find(new Criteria(null, null, null, null, null), 10).orderIds().toArray())
+            .containsExactly(4L, 3L);
+        assertThat(index.find(new Criteria("SHIPPED", null, null, null, null), 10).count()).isZero();
+        assertThat(index.find(new Criteria(null, 1L, null, null, null), 10).orderIds().toArray())
+            .containsExactly(4L);
+        assertThat(index.find(new Criteria(null, null, null, null, 10L), 10).orderIds().toArray())
+            .containsExactly(3L);
+        assertThat(index.find(
+            new Criteria(null, null, LocalDate.parse("2026-10-01"), LocalDate.parse("2026-10-01"), null), 10).count())
+            .isZero();
+    }
+
+    @Test
+    @DisplayName("Should index new orders with their items")
+    void shouldIndexCreatedOrders() {
+        index.rebuild();
+
+        index.onOrdersCreated(new OrdersCreatedEvent(List.of(
+            new NewOrder(5L, 1L, List.of(11L, 12L), List.of(new BigDecimal("4.00"), new BigDecimal("6.00")),
+                OCT_2, BigDecimal.TEN))));
+
+        Matches matches = index.find(new Criteria(OrderBatchRepository.INITIAL_STATUS, 1L, null, null, 12L), 10);
+        assertThat(matches.orderIds().toArray()).containsExactly(5L);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.orders.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for OrderIdBitmap.
+ */
+class OrderIdBitmapTest {
+
+    @Test
+    @DisplayName("Should keep its contents when a container turns into a bitmap and back")
+    void shouldSurviveContainerConversions() {
+        OrderIdBitmap bitmap = new OrderIdBitmap();
+        for (long id = 0; id < 10_000; id++) {
+            bitmap.add(id * 3);
+        }
+
+        assertThat(bitmap.cardinality()).isEqualTo(10_000);
+        assertThat(bitmap.contains(2_997)).isTrue();
+        assertThat(bitmap.contains(2_998)).isFalse();
+
+        for (long id = 0; id < 9_000; id++) {
+            assertThat(bitmap.remove(id * 3)).isTrue();
+        }
+
+        assertThat(bitmap.cardinality()).isEqualTo(1_000);
+        assertThat(bitmap.contains(27_000)).isTrue();
+        assertThat(bitmap.contains(26_997)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should intersect dense and sparse ranges across high parts")
+    void shouldIntersect() {
+        OrderIdBitmap dense = new OrderIdBitmap();
+        OrderIdBitmap sparse = new OrderIdBitmap();
+        for (long id = 60_000; id < 140_000; id++) {
+            dense.add(id);
+        }
+        sparse.add(5);
+        sparse.add(65_536);
+        sparse.add(139_999);
+        sparse.add(1L << 40);
+
+        OrderIdBitmap both = OrderIdBitmap.and(dense, sparse);
+
+        assertThat(idsDescending(both)).containsExactly(139_999L, 65_536L);
+        assertThat(dense.cardinality()).isEqualTo(80_000);
+    }
+
+    @Test
+    @DisplayName("Should add all IDs of another bitmap without changing it")
+    void shouldUnion() {
+        OrderIdBitmap days = new OrderIdBitmap();
+        OrderIdBitmap day = new OrderIdBitmap();
+        days.add(1);
+        day.add(2);
+        day.add(1L << 40);
+
+        days.addAll(day);
+        days.add(3);
+
+        assertThat(idsDescending(days)).containsExactly(1L << 40, 3L, 2L, 1L);
+        assertThat(idsDescending(day)).containsExactly(1L << 40, 2L);
+    }
+
+    @Test
+    @DisplayName("Should remove the IDs of another bitmap from array and bitmap containers")
+    void shouldRemoveAll() {
+        OrderIdBitmap orders = new OrderIdBitmap();
+        OrderIdBitmap archived = new OrderIdBitmap();
+        for (long id = 0; id < 70_000; id++) {
+            orders.add(id);
+        }
+        orders.add(1L << 40);
+        for (long id = 0; id < 65_536; id++) {
+            archived.add(id);
+        }
+        archived.add(65_540);
+        archived.add(1L << 40);
+
+        orders.removeAll(archived);
+
+        assertThat(orders.cardinality()).isEqualTo(70_000 - 65_536 - 1);
+        assertThat(orders.contains(65_535)).isFalse();
+        assertThat(orders.contains(65_540)).isFalse();
+        assertThat(orders.contains(65_536)).isTrue();
+        assertThat(orders.contains(1L << 40)).isFalse();
+        assertThat(archived.cardinality()).isEqualTo(65_538);
+    }
+
+    private static List<Long> idsDescending(OrderIdBitmap bitmap) {
+        List<Long> ids = new ArrayList<>();
+        bitmap.forEachDescending(id -> {
+            ids.add(id);
+            return true;
+        });
+        return ids;
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.orders.services;
+
+import com.example.orders.dto.CreateOrderRequest;
+import com.example.orders.exceptions.CustomerNotFoundException;
+import com.example.orders.exceptions.InvalidOrderException;
+import com.example.orders.exceptions.OrderIntakeFullException;
+import com.example.orders.models.NewOrder;
+import com.example.orders.models.OrdersCreatedEvent;
+import com.example.orders.repositories.OrderBatchRepository;
+import com.example.orders.services.OrderIntakeService.Submission;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for OrderIntakeService write-behind pipeline.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderIntakeServiceTest {
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(1);
+
+    @Mock
+    private OrderBatchRepository orderBatchRepository;
+
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private OrderIntakeService intakeService;
+
+    @BeforeEach
+    void setUp() {
+        intakeService = new OrderIntakeService(
+            orderBatchRepository,
+            referenceDataCache,
+            new TransactionTemplate(transactionManager),
+            eventPublisher,
+            2,
+            100,
+            SHUTDOWN_TIMEOUT
+        );
+        lenient().when(referenceDataCache.containsCustomer(1L)).thenReturn(true);
+        lenient().when(referenceDataCache.itemPrice(1L)).thenReturn(new BigDecimal("9.99"));
+        lenient().when(referenceDataCache.itemPrice(2L)).thenReturn(new BigDecimal("14.99"));
+        lenient().when(orderBatchRepository.allocateIds(anyInt())).thenReturn(List.of(1000L, 1001L, 1002L));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        intakeService.stop();
+    }
+
+    @Test
+    @DisplayName("Should reject order for unknown customer")
+    void shouldRejectUnknownCustomer() {
+        assertThatThrownBy(() -> intakeService.submit(new CreateOrderRequest(99L, List.of(1L))))
+                .isInstanceOf(CustomerNotFoundException.class)
+                .hasMessage("Customer not found: 99");
+    }
+
+    @Test
+    @DisplayName("Should reject order containing unknown item")
+    void shouldRejectUnknownItem() {
+        assertThatThrownBy(() -> intakeService.submit(new CreateOrderRequest(1L, List.of(1L, 42L))))
+                .isInstanceOf(InvalidOrderException.class)
+                .hasMessage("Item not found: 42");
+    }
+
+    @Test
+    @DisplayName("Should assign order IDs from a single reserved block")
+    void shouldAssignIdsFromReservedBlock() {
+        Submission first = intakeService.submit(new CreateOrderRequest(1L, List.of(1L)));
+        Submission second = intakeService.submit(new CreateOrderRequest(1L, List.of(2L)));
+
+        assertThat(first.orderId()).isEqualTo(1000L);
+        assertThat(second.orderId()).isEqualTo(1001L);
+        verify(orderBatchRepository, times(1)).allocateIds(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should reject order when intake queue is full")
+    void shouldRejectWhenQueueFull() {
+        intakeService.submit(new CreateOrderRequest(1L, List.of(1L)));
+        intakeService.submit(new CreateOrderRequest(1L, List.of(1L)));
+
+        assertThatThrownBy(() -> intakeService.submit(new CreateOrderRequest(1L, List.of(1L))))
+                .isInstanceOf(OrderIntakeFullException.class);
+    }
+
+    @Test
+    @DisplayName("Should group-commit queued orders in one batch")
+    @SuppressWarnings("unchecked")
+    void shouldGroupCommitQueuedOrders() throws Exception {
+        Submission first = intakeService.submit(new CreateOrderRequest(1L, List.of(1L, 2L)));
+        Submission second = intakeService.submit(new CreateOrderRequest(1L, List.of(2L)));
+
+        intakeService.start();
+        first.committed().get(5, TimeUnit.SECONDS);
+        second.committed().get(5, TimeUnit.SECONDS);
+
+        ArgumentCaptor<List<NewOrder>> captor = ArgumentCaptor.forClass(List.class);
+        verify(orderBatchRepository, times(1)).insertAll(captor.capture());
+        assertThat(captor.getValue())
+                .extracting(NewOrder::id)
+                .containsExactly(1000L, 1001L);
+        assertThat(captor.getValue().get(0).total()).isEqualByComparingTo(new BigDecimal("24.98"));
+        verify(eventPublisher).publishEvent(new OrdersCreatedEvent(captor.getValue()));
+    }
+
+    @Test
+    @DisplayName("Should fail every waiter in a batch when the commit fails")
+    void shouldFailWaitersWhenCommitFails() {
+        doThrow(new IllegalStateException("db down")).when(orderBatchRepository).insertAll(anyList());
+        Submission submission = intakeService.submit(new CreateOrderRequest(1L, List.of(1L)));
+
+        intakeService.start();
+
+        assertThatThrownBy(() -> submission.committed().get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject orders submitted after stop instead of stranding them")
+    void shouldRejectAfterStop() throws InterruptedException {
+        intakeService.start();
+        intakeService.stop();
+
+        assertThatThrownBy(() -> intakeService.submit(new CreateOrderRequest(1L, List.of(1L))))
+                .isInstanceOf(OrderIntakeFullException.class)
+                .hasMessageContaining("shutting down");
+        assertThat(intakeService.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should flush queued orders and exit when the writer is interrupted")
+    void shouldFlushAndExitOnInterrupt() throws Exception {
+        Submission first = intakeService.submit(new CreateOrderRequest(1L, List.of(1L)));
+        Submission second = intakeService.submit(new CreateOrderRequest(1L, List.of(2L)));
+
+        intakeService.start();
+        Thread writer = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("order-intake-writer"))
+                .findFirst()
+                .orElseThrow();
+        writer.interrupt();
+
+        first.committed().get(5, TimeUnit.SECONDS);
+        second.committed().get(5, TimeUnit.SECONDS);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        assertThat(writer.isAlive()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should give up on a stuck writer after the shutdown timeout and fail queued orders")
+    void shouldBoundShutdownByTimeout() throws Exception {
+        CountDownLatch inserting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            inserting.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(orderBatchRepository).insertAll(anyList());
+        intakeService.start();
+        intakeService.submit(new CreateOrderRequest(1L, List.of(1L)));
+        assertThat(inserting.await(5, TimeUnit.SECONDS)).isTrue();
+        Submission queued = intakeService.submit(new CreateOrderRequest(1L, List.of(2L)));
+
+        try {
+            long started = System.nanoTime();
+            intakeService.stop();
+
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(5_000L);
+            assertThatThrownBy(() -> queued.committed().get(1, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(OrderIntakeFullException.class);
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.orders.services;
+
+import com.example.orders.dto.OrderSummaryView;
+import com.example.orders.repositories.OrderQueryRepository;
+import com.example.orders.repositories.OrderTotalRepository;
+import com.example.orders.repositories.ReferenceDataRepository;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests OrderReadModel snapshot restarts against the real repositories
+ * on an H2 database in PostgreSQL mode.
+ */
+class OrderReadModelRestartTest {
+
+    @TempDir
+    Path snapshotDir;
+
+    private JdbcTemplate jdbcTemplate;
+    private OrderQueryRepository orderQueryRepository;
+    private OrderTotalRepository orderTotalRepository;
+    private ReferenceDataRepository referenceDataRepository;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE customers (id BIGINT PRIMARY KEY, name VARCHAR(100))");
+        jdbcTemplate.execute("CREATE TABLE items (id BIGINT PRIMARY KEY, price NUMERIC(12, 2))");
+        jdbcTemplate.execute("CREATE TABLE orders (id BIGINT PRIMARY KEY, customer_id BIGINT, status VARCHAR(20), "
+            + "created_at TIMESTAMP WITH TIME ZONE, total NUMERIC(12, 2), "
+            + "updated_at TIMESTAMP WITH TIME ZONE DEFAULT now() NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE order_items (order_id BIGINT, item_id BIGINT, unit_price NUMERIC(12, 2))");
+        jdbcTemplate.execute("INSERT INTO customers VALUES (1, 'Alice')");
+        jdbcTemplate.execute("INSERT INTO items VALUES (1, 5.00), (2, 7.50)");
+        for (long id = 1; id <= 3; id++) {
+            jdbcTemplate.update("INSERT INTO orders VALUES (?, 1, 'PENDING', TIMESTAMP WITH TIME ZONE "
+                + "'2024-01-01 00:00:00+00', 5.00, TIMESTAMP WITH TIME ZONE '2024-01-01 00:00:00+00')", id);
+            jdbcTemplate.update("INSERT INTO order_items VALUES (?, 1, 5.00)", id);
+        }
+
+        orderQueryRepository = new OrderQueryRepository(jdbcTemplate);
+        orderTotalRepository = new OrderTotalRepository(jdbcTemplate);
+        referenceDataRepository = new ReferenceDataRepository(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should show a total changed after the snapshot once restarted from it")
+    void shouldCatchUpOnTotalChangedAfterSnapshot() {
+        OrderReadModel first = newReadModel();
+        first.rebuild();
+        first.writeSnapshot();
+        first.shutdown();
+        assertThat(snapshotDir.resolve(OrderSnapshotFile.FILE_NAME)).exists();
+
+        jdbcTemplate.update("INSERT INTO order_items VALUES (2, 2, 7.50)");
+        assertThat(orderTotalRepository.refreshTotal(2L)).isTrue();
+
+        OrderReadModel restarted = newReadModel();
+        try {
+            restarted.rebuild();
+
+            assertThat(restarted.progress().phase()).isEqualTo(OrderReadModel.Phase.READY);
+            assertThat(restarted.size()).isEqualTo(3);
+            assertThat(restarted.findById(2L)).map(OrderSummaryView::total).contains(new BigDecimal("12.50"));
+            assertThat(restarted.findById(1L)).map(OrderSummaryView::total).contains(new BigDecimal("5.00"));
+        } finally {
+            restarted.shutdown();
+        }
+    }
+
+    private OrderReadModel newReadModel() {
+        return new OrderReadModel(
+            orderQueryRepository, orderTotalRepository, referenceDataRepository, 2, snapshotDir.toString());
+    }
+}
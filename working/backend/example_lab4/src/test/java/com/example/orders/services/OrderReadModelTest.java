@@ -0,0 +1,260 @@
+package com.example.orders.services;
+
+import com.example.orders.dto.OrderSummary;
+import com.example.orders.dto.OrderSummaryView;
+import com.example.orders.models.NewOrder;
+import com.example.orders.models.OrderStatusChangedEvent;
+import com.example.orders.models.OrderTotalsChangedEvent;
+import com.example.orders.models.OrdersArchivedEvent;
+import com.example.orders.models.OrdersCreatedEvent;
+import com.example.orders.repositories.OrderQueryRepository;
+import com.example.orders.repositories.OrderTotalRepository;
+import com.example.orders.repositories.ReferenceDataRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the in-memory OrderReadModel.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderReadModelTest {
+
+    private static final int ORDER_COUNT = 120_000;
+
+    @Mock
+    private OrderQueryRepository orderQueryRepository;
+
+    @Mock
+    private OrderTotalRepository orderTotalRepository;
+
+    @Mock
+    private ReferenceDataRepository referenceDataRepository;
+
+    @TempDir
+    Path snapshotDir;
+
+    private OrderReadModel readModel;
+
+    private final List<OrderSummary> stored = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (long id = 1; id <= ORDER_COUNT; id++) {
+            stored.add(new OrderSummary(id, id % 2 == 0 ? 1L : 2L, id % 3 == 0 ? "SHIPPED" : "PENDING",
+                Instant.ofEpochSecond(1_700_000_000L + id), new BigDecimal("12.50")));
+        }
+        when(orderTotalRepository.findMaxOrderId()).thenReturn((long) ORDER_COUNT);
+        when(referenceDataRepository.findAllCustomerNames()).thenReturn(Map.of(1L, "Alice", 2L, "Bob"));
+        doAnswer(invocation -> {
+            long from = invocation.getArgument(0);
+            long to = invocation.getArgument(1);
+            Consumer<OrderSummary> consumer = invocation.getArgument(2);
+            stored.stream().filter(row -> row.id() >= from && row.id() < to).forEach(consumer);
+            return null;
+        }).when(orderQueryRepository).forEachSummaryInIdRange(anyLong(), anyLong(), any());
+        lenient().when(referenceDataRepository.findCustomerName(3L)).thenReturn(Optional.of("Carol"));
+
+        readModel = new OrderReadModel(orderQueryRepository, orderTotalRepository, referenceDataRepository, 3, "");
+    }
+
+    @AfterEach
+    void tearDown() {
+        readModel.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should load every order from the database in parallel chunks")
+    void shouldLoadAllOrders() {
+        readModel.rebuild();
+
+        assertThat(readModel.isReady()).isTrue();
+        assertThat(readModel.size()).isEqualTo(ORDER_COUNT);
+        assertThat(readModel.findById(4L)).contains(new OrderSummaryView(
+            4L, 1L, "Alice", "PENDING", Instant.ofEpochSecond(1_700_000_004L), new BigDecimal("12.50")));
+    }
+
+    @Test
+    @DisplayName("Should list newest orders first with status and customer filters")
+    void shouldFilterNewestFirst() {
+        readModel.rebuild();
+
+        List<OrderSummaryView> shipped = readModel.find("SHIPPED", 1L, 3);
+
+        assertThat(shipped).extracting(OrderSummaryView::id).containsExactly(120_000L, 119_994L, 119_988L);
+        assertThat(readModel.find("UNKNOWN", null, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should apply status changes and new orders without querying the database")
+    void shouldApplyEvents() {
+        readModel.rebuild();
+
+        readModel.onStatusChanged(new OrderStatusChangedEvent(4L, "CANCELLED"));
+        readModel.onOrdersCreated(new OrdersCreatedEvent(List.of(
+            new NewOrder(200_000L, 3L, List.of(1L), List.of(new BigDecimal("9.99")),
+                Instant.parse("2026-02-01T00:00:00Z"), new BigDecimal("9.99")))));
+
+        assertThat(readModel.findById(4L)).map(OrderSummaryView::status).contains("CANCELLED");
+        assertThat(readModel.find(null, null, 1)).singleElement()
+            .satisfies(view -> {
+                assertThat(view.id()).isEqualTo(200_000L);
+                assertThat(view.customerName()).isEqualTo("Carol");
+                assertThat(view.status()).isEqualTo("PENDING");
+            });
+    }
+
+    @Test
+    @DisplayName("Should replay events received while the initial load is running")
+    void shouldReplayEventsReceivedDuringLoad() {
+        readModel.onStatusChanged(new OrderStatusChangedEvent(7L, "SHIPPED"));
+        readModel.onOrdersCreated(new OrdersCreatedEvent(List.of(
+            new NewOrder(5L, 2L, List.of(), List.of(), Instant.EPOCH, BigDecimal.ZERO))));
+
+        assertThat(readModel.isReady()).isFalse();
+        assertThat(readModel.progress().phase()).isEqualTo(OrderReadModel.Phase.STARTING);
+        readModel.rebuild();
+
+        assertThat(readModel.size()).isEqualTo(ORDER_COUNT);
+        assertThat(readModel.findById(7L)).map(OrderSummaryView::status).contains("SHIPPED");
+    }
+
+    @Test
+    @DisplayName("Should show a backfilled total once the totals change is published")
+    void shouldApplyBackfilledTotal() {
+        stored.set(9, new OrderSummary(10L, 1L, "PENDING", Instant.EPOCH, null));
+        readModel.rebuild();
+        assertThat(readModel.findById(10L)).map(OrderSummaryView::total).isEmpty();
+
+        when(orderQueryRepository.findSummariesByIds(List.of(10L))).thenReturn(
+            List.of(new OrderSummary(10L, 1L, "PENDING", Instant.EPOCH, new BigDecimal("4.20"))));
+        readModel.onTotalsChanged(new OrderTotalsChangedEvent(List.of(10L)));
+
+        assertThat(readModel.findById(10L)).map(OrderSummaryView::total).contains(new BigDecimal("4.20"));
+    }
+
+    @Test
+    @DisplayName("Should reset after a failed load and load fully on retry")
+    void shouldRecoverFromFailedLoad() {
+        when(orderTotalRepository.findMaxOrderId())
+            .thenThrow(new IllegalStateException("connection refused"))
+            .thenReturn((long) ORDER_COUNT);
+
+        readModel.rebuild();
+
+        assertThat(readModel.isReady()).isFalse();
+        assertThat(readModel.progress().phase()).isEqualTo(OrderReadModel.Phase.FAILED);
+        assertThat(readModel.size()).isZero();
+
+        readModel.retryFailedLoad();
+
+        assertThat(readModel.isReady()).isTrue();
+        assertThat(readModel.size()).isEqualTo(ORDER_COUNT);
+    }
+
+    @Test
+    @DisplayName("Should drop archived orders and keep accepting new ones")
+    void shouldDropArchivedOrders() {
+        readModel.rebuild();
+
+        readModel.onOrdersArchived(new OrdersArchivedEvent(Instant.ofEpochSecond(1_700_001_001L)));
+        readModel.onOrdersCreated(new OrdersCreatedEvent(List.of(
+            new NewOrder(200_000L, 3L, List.of(1L), List.of(new BigDecimal("9.99")),
+                Instant.parse("2026-02-01T00:00:00Z"), new BigDecimal("9.99")))));
+
+        assertThat(readModel.size()).isEqualTo(ORDER_COUNT - 1_000 + 1);
+        assertThat(readModel.findById(1_000L)).isEmpty();
+        assertThat(readModel.findById(1_001L)).isPresent();
+        assertThat(readModel.find(null, null, 2)).extracting(OrderSummaryView::id)
+            .containsExactly(200_000L, 120_000L);
+    }
+
+    @Test
+    @DisplayName("Should drop archived orders from a restored snapshot and leave them out of the next one")
+    void shouldDropArchivedOrdersFromSnapshot() {
+        OrderReadModel first = new OrderReadModel(
+            orderQueryRepository, orderTotalRepository, referenceDataRepository, 3, snapshotDir.toString());
+        first.rebuild();
+        first.shutdown();
+
+        OrderReadModel restarted = new OrderReadModel(
+            orderQueryRepository, orderTotalRepository, referenceDataRepository, 3, snapshotDir.toString());
+        restarted.onOrdersArchived(new OrdersArchivedEvent(Instant.ofEpochSecond(1_700_001_001L)));
+        restarted.rebuild();
+        assertThat(restarted.size()).isEqualTo(ORDER_COUNT - 1_000);
+        assertThat(restarted.findById(1_000L)).isEmpty();
+        restarted.shutdown();
+
+        OrderReadModel again = new OrderReadModel(
+            orderQueryRepository, orderTotalRepository, referenceDataRepository, 3, snapshotDir.toString());
+        try {
+            again.rebuild();
+
+            assertThat(again.size()).isEqualTo(ORDER_COUNT - 1_000);
+            assertThat(again.findById(1_001L)).isPresent();
+        } finally {
+            again.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should restart from a snapshot and load only orders added or changed since")
+    void shouldRestartFromSnapshot() {
+        OrderReadModel first = new OrderReadModel(
+            orderQueryRepository, orderTotalRepository, referenceDataRepository, 3, snapshotDir.toString());
+        first.rebuild();
+        first.shutdown();
+
+        long newId = ORDER_COUNT + 1L;
+        stored.add(new OrderSummary(newId, 2L, "PENDING", Instant.EPOCH, new BigDecimal("1.00")));
+        when(orderTotalRepository.findMaxOrderId()).thenReturn(newId);
+        doAnswer(invocation -> {
+            Consumer<OrderSummary> consumer = invocation.getArgument(1);
+            consumer.accept(new OrderSummary(4L, 1L, "CANCELLED",
+                Instant.ofEpochSecond(1_700_000_004L), new BigDecimal("12.50")));
+            return null;
+        }).when(orderQueryRepository).forEachSummaryUpdatedSince(any(), any());
+
+        OrderReadModel restarted = new OrderReadModel(
+            orderQueryRepository, orderTotalRepository, referenceDataRepository, 3, snapshotDir.toString());
+        try {
+            restarted.rebuild();
+
+            assertThat(restarted.progress().phase()).isEqualTo(OrderReadModel.Phase.READY);
+            assertThat(restarted.size()).isEqualTo(ORDER_COUNT + 1);
+            assertThat(restarted.findById(5L)).contains(new OrderSummaryView(
+                5L, 2L, "Bob", "PENDING", Instant.ofEpochSecond(1_700_000_005L), new BigDecimal("12.50")));
+            assertThat(restarted.findById(4L)).map(OrderSummaryView::status).contains("CANCELLED");
+            assertThat(restarted.findById(newId)).isPresent();
+            verify(orderQueryRepository).forEachSummaryInIdRange(eq(newId), anyLong(), any());
+            verify(orderQueryRepository, times(4)).forEachSummaryInIdRange(anyLong(), anyLong(), any());
+        } finally {
+            restarted.shutdown();
+        }
+    }
+}
@@ -1,14 +1,22 @@
 package com.example.orders.services;
 
+import com.example.orders.dto.CustomerOrderHistoryResponse;
+import com.example.orders.dto.CustomerOrderHistoryResponse.OrderEntry;
 import com.example.orders.dto.OrderDetailsResponse;
+import com.example.orders.dto.OrderHistoryCursor;
+import com.example.orders.exceptions.DeadlineExceededException;
+import com.example.orders.exceptions.InvalidCursorException;
 import com.example.orders.exceptions.OrderNotFoundException;
 import com.example.orders.exceptions.CustomerNotFoundException;
+import com.example.orders.models.ArchivedOrder;
 import com.example.orders.models.Customer;
 import com.example.orders.models.Item;
 import com.example.orders.models.Order;
 import com.example.orders.repositories.CustomerRepository;
 import com.example.orders.repositories.ItemRepository;
+import com.example.orders.repositories.OrderQueryRepository;
 import com.example.orders.repositories.OrderRepository;
+import com.example.orders.repositories.OrderTotalRepository;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,16 +24,34 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -44,6 +70,18 @@ class OrderServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private OrderTotalRepository orderTotalRepository;
+
+    @Mock
+    private OrderQueryRepository orderQueryRepository;
+
+    @Mock
+    private ArchivedOrderStore archivedOrderStore;
+
+    @Spy
+    private DatabaseBulkheads bulkheads = new DatabaseBulkheads(4, 4, Duration.ofMillis(100));
+
     @InjectMocks
     private OrderService orderService;
 
@@ -98,6 +136,20 @@ class OrderServiceTest {
         assertThat(result.total()).isEqualByComparingTo(new BigDecimal("24.98"));
     }
 
+    @Test
+    @DisplayName("Should return the stored total rather than current item prices")
+    void shouldReturnStoredTotalInDetails() {
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(itemRepository.findAllById(Arrays.asList(1L, 2L))).thenReturn(testItems);
+        when(orderTotalRepository.findTotal(1L)).thenReturn(Optional.of(new BigDecimal("19.98")));
+
+        OrderDetailsResponse result = orderService.getOrderDetails(1L);
+
+        // priced at order time, before the items were repriced to 9.99 + 14.99
+        assertThat(result.total()).isEqualByComparingTo(new BigDecimal("19.98"));
+    }
+
     @Test
     @DisplayName("Should return zero total for order with no items")
     void shouldReturnZeroTotalForOrderWithNoItems() {
@@ -135,4 +187,246 @@ class OrderServiceTest {
                 .isInstanceOf(OrderNotFoundException.class)
                 .hasMessage("Order not found: 42");
     }
+
+    @Test
+    @DisplayName("Should return stored total without fetching items")
+    void shouldReturnStoredTotalWithoutFetchingItems() {
+        when(orderTotalRepository.findTotal(1L)).thenReturn(Optional.of(new BigDecimal("24.98")));
+
+        BigDecimal total = orderService.getOrderTotal(1L);
+
+        assertThat(total).isEqualByComparingTo(new BigDecimal("24.98"));
+        verify(itemRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Should throw OrderNotFoundException when stored total is missing")
+    void shouldThrowWhenStoredTotalMissing() {
+        when(orderTotalRepository.findTotal(999L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> orderService.getOrderTotal(999L))
+                .isInstanceOf(OrderNotFoundException.class)
+                .hasMessage("Order not found: 999");
+    }
+
+    @Test
+    @DisplayName("Should return the archived total when order is no longer in the database")
+    void shouldReturnArchivedTotal() {
+        ArchivedOrder archived = new ArchivedOrder(
+            7L, 1L, List.of(1L, 2L), "completed", Instant.parse("2024-01-05T10:00:00Z"), new BigDecimal("24.98"));
+        when(orderTotalRepository.findTotal(7L)).thenReturn(Optional.empty());
+        when(archivedOrderStore.findById(7L)).thenReturn(Optional.of(archived));
+
+        assertThat(orderService.getOrderTotal(7L)).isEqualByComparingTo(new BigDecimal("24.98"));
+    }
+
+    @Test
+    @DisplayName("Should read through to the archive when order is no longer in the database")
+    void shouldReadThroughToArchive() {
+        ArchivedOrder archived = new ArchivedOrder(
+            7L, 1L, List.of(1L, 2L), "completed", Instant.parse("2024-01-05T10:00:00Z"), new BigDecimal("24.98"));
+        when(orderRepository.findById(7L)).thenReturn(Optional.empty());
+        when(archivedOrderStore.findById(7L)).thenReturn(Optional.of(archived));
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(itemRepository.findAllById(List.of(1L, 2L))).thenReturn(testItems);
+
+        OrderDetailsResponse result = orderService.getOrderDetails(7L);
+
+        assertThat(result.customerName()).isEqualTo("Alice Johnson");
+        assertThat(result.items()).hasSize(2);
+        assertThat(result.total()).isEqualByComparingTo(new BigDecimal("24.98"));
+    }
+
+    @Test
+    @DisplayName("Should return first history page with customer name once and a next cursor")
+    void shouldReturnFirstHistoryPageWithNextCursor() {
+        List<OrderEntry> rows = List.of(
+            new OrderEntry(9L, "pending", Instant.parse("2026-03-03T10:00:00Z"), new BigDecimal("5.00")),
+            new OrderEntry(8L, "completed", Instant.parse("2026-03-02T10:00:00Z"), new BigDecimal("6.00")),
+            new OrderEntry(7L, "completed", Instant.parse("2026-03-01T10:00:00Z"), new BigDecimal("7.00")));
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(orderQueryRepository.findCustomerOrders(eq(1L), isNull(), anyLong(), eq(3))).thenReturn(rows);
+
+        CustomerOrderHistoryResponse page = orderService.getCustomerOrderHistory(1L, null, 2);
+
+        assertThat(page.customerName()).isEqualTo("Alice Johnson");
+        assertThat(page.orders()).extracting(OrderEntry::id).containsExactly(9L, 8L);
+        assertThat(OrderHistoryCursor.decode(page.nextCursor()))
+            .isEqualTo(new OrderHistoryCursor(Instant.parse("2026-03-02T10:00:00Z"), 8L));
+    }
+
+    @Test
+    @DisplayName("Should continue after the cursor position and stop on the last page")
+    void shouldContinueFromCursorPosition() {
+        Instant createdAt = Instant.parse("2026-03-02T10:00:00Z");
+        String cursor = new OrderHistoryCursor(createdAt, 8L).encode();
+        List<OrderEntry> rows = List.of(
+            new OrderEntry(7L, "completed", Instant.parse("2026-03-01T10:00:00Z"), new BigDecimal("7.00")));
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(orderQueryRepository.findCustomerOrders(1L, createdAt, 8L, 3)).thenReturn(rows);
+
+        CustomerOrderHistoryResponse page = orderService.getCustomerOrderHistory(1L, cursor, 2);
+
+        assertThat(page.orders()).hasSize(1);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should continue history into the archive once the database has no older orders")
+    void shouldFillHistoryFromArchive() {
+        Instant createdAt = Instant.parse("2026-03-01T10:00:00Z");
+        List<OrderEntry> rows = List.of(new OrderEntry(7L, "completed", createdAt, new BigDecimal("7.00")));
+        ArchivedOrder archived = new ArchivedOrder(3L, 1L, List.of(), "completed",
+            Instant.parse("2024-08-01T10:00:00Z"), new BigDecimal("3.00"));
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(orderQueryRepository.findCustomerOrders(eq(1L), isNull(), anyLong(), eq(3))).thenReturn(rows);
+        when(archivedOrderStore.findCustomerOrders(1L, createdAt, 7L, 2)).thenReturn(List.of(archived));
+
+        CustomerOrderHistoryResponse page = orderService.getCustomerOrderHistory(1L, null, 2);
+
+        assertThat(page.orders()).extracting(OrderEntry::id).containsExactly(7L, 3L);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed history cursor")
+    void shouldRejectMalformedCursor() {
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+
+        assertThatThrownBy(() -> orderService.getCustomerOrderHistory(1L, "not-a-cursor", 50))
+                .isInstanceOf(InvalidCursorException.class);
+        verify(orderQueryRepository, never()).findCustomerOrders(anyLong(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should throw CustomerNotFoundException for history of unknown customer")
+    void shouldThrowForHistoryOfUnknownCustomer() {
+        when(customerRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> orderService.getCustomerOrderHistory(999L, null, 50))
+                .isInstanceOf(CustomerNotFoundException.class)
+                .hasMessage("Customer not found: 999");
+    }
+
+    @Test
+    @DisplayName("Should load an order once for concurrent identical detail lookups")
+    void shouldCoalesceConcurrentDetailLookups() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderRepository.findById(1L)).thenAnswer(invocation -> {
+            release.await();
+            return Optional.of(testOrder);
+        });
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(itemRepository.findAllById(Arrays.asList(1L, 2L))).thenReturn(testItems);
+
+        List<Future<OrderDetailsResponse>> results = lookUpConcurrently(1L, 8, release);
+
+        for (Future<OrderDetailsResponse> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS).customerName()).isEqualTo("Alice Johnson");
+        }
+        verify(orderRepository, times(1)).findById(1L);
+        verify(customerRepository, times(1)).findById(1L);
+        verify(itemRepository, times(1)).findAllById(Arrays.asList(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Should pass a shared load's OrderNotFoundException to every waiting caller")
+    void shouldPropagateNotFoundToAllWaiters() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderRepository.findById(999L)).thenAnswer(invocation -> {
+            release.await();
+            return Optional.empty();
+        });
+
+        List<Future<OrderDetailsResponse>> results = lookUpConcurrently(999L, 8, release);
+
+        for (Future<OrderDetailsResponse> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(OrderNotFoundException.class);
+        }
+        verify(orderRepository, times(1)).findById(999L);
+    }
+
+    @Test
+    @DisplayName("Should start the load again for a waiting caller when the starter runs out of time")
+    void shouldRetrySharedLoadWhenStarterTimesOut() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderRepository.findById(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            // as the statement timeout would for the starter
+            RequestDeadline.check();
+            return Optional.of(testOrder);
+        });
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(itemRepository.findAllById(Arrays.asList(1L, 2L))).thenReturn(testItems);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<OrderDetailsResponse> starter = pool.submit(() -> lookUpWithin(Duration.ofMillis(50)));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<OrderDetailsResponse> patient = pool.submit(() -> lookUpWithin(Duration.ofSeconds(30)));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (orderService.detailLoadsWaiting() < 1) {
+                assertThat(System.nanoTime()).as("patient caller joining the shared load").isLessThan(deadline);
+                Thread.onSpinWait();
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            assertThatThrownBy(() -> starter.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(DeadlineExceededException.class);
+            assertThat(patient.get(5, TimeUnit.SECONDS).customerName()).isEqualTo("Alice Johnson");
+            verify(orderRepository, times(2)).findById(1L);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load again once the previous lookup has completed")
+    void shouldNotKeepResultAfterCompletion() {
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(itemRepository.findAllById(Arrays.asList(1L, 2L))).thenReturn(testItems);
+
+        orderService.getOrderDetails(1L);
+        orderService.getOrderDetails(1L);
+
+        verify(orderRepository, times(2)).findById(1L);
+    }
+
+    private OrderDetailsResponse lookUpWithin(Duration budget) {
+        RequestDeadline.start(budget);
+        try {
+            return orderService.getOrderDetails(1L);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    /**
+     * Starts {@code callers} lookups of the same order, waits until all
+     * but the one running the load are waiting for it, then lets the
+     * load finish.
+     */
+    private List<Future<OrderDetailsResponse>> lookUpConcurrently(long orderId, int callers, CountDownLatch release) {
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<OrderDetailsResponse>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> orderService.getOrderDetails(orderId)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (orderService.detailLoadsWaiting() < callers - 1) {
+                assertThat(System.nanoTime()).as("callers joining the shared load").isLessThan(deadline);
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            return results;
+        } finally {
+            pool.shutdown();
+        }
+    }
 }
@@ -0,0 +1,88 @@
+package com.example.orders.services;
+
+import com.example.orders.dto.TotalDriftReport;
+import com.example.orders.models.OrderTotalsChangedEvent;
+import com.example.orders.repositories.OrderTotalRepository;
+import com.example.orders.repositories.OrderTotalRepository.TotalComparison;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for OrderTotalVerificationJob.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderTotalVerificationJobTest {
+
+    @Mock
+    private OrderTotalRepository orderTotalRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private OrderTotalVerificationJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new OrderTotalVerificationJob(orderTotalRepository, eventPublisher, 2, 2);
+        when(orderTotalRepository.findMaxOrderId()).thenReturn(4L);
+        when(orderTotalRepository.compareTotals(1L, 3L)).thenReturn(List.of(
+            new TotalComparison(1L, new BigDecimal("24.98"), new BigDecimal("24.98")),
+            new TotalComparison(2L, new BigDecimal("20.00"), new BigDecimal("24.99"))
+        ));
+        when(orderTotalRepository.compareTotals(3L, 5L)).thenReturn(List.of(
+            new TotalComparison(3L, null, new BigDecimal("39.97")),
+            new TotalComparison(4L, new BigDecimal("15.00"), null)
+        ));
+    }
+
+    @Test
+    @DisplayName("Should report drifted totals across all chunks")
+    void shouldReportDriftAcrossChunks() throws InterruptedException {
+        TotalDriftReport report = job.verify(false);
+
+        assertThat(report.ordersChecked()).isEqualTo(4);
+        assertThat(report.ordersDrifted()).isEqualTo(2);
+        assertThat(report.driftedOrderIds()).containsExactlyInAnyOrder(2L, 3L);
+        verify(orderTotalRepository, never()).refreshTotal(anyLong());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should recompute drifted totals when repair is requested")
+    void shouldRepairDriftedTotals() throws InterruptedException {
+        when(orderTotalRepository.refreshTotal(2L)).thenReturn(true);
+        when(orderTotalRepository.refreshTotal(3L)).thenReturn(true);
+
+        TotalDriftReport report = job.verify(true);
+
+        assertThat(report.repaired()).isTrue();
+        verify(orderTotalRepository, never()).refreshTotal(1L);
+        verify(eventPublisher).publishEvent(new OrderTotalsChangedEvent(List.of(2L)));
+        verify(eventPublisher).publishEvent(new OrderTotalsChangedEvent(List.of(3L)));
+    }
+
+    @Test
+    @DisplayName("Should leave orders without order-time prices alone")
+    void shouldSkipOrdersWithoutOrderTimePrices() throws InterruptedException {
+        TotalDriftReport report = job.verify(true);
+
+        assertThat(report.driftedOrderIds()).doesNotContain(4L);
+        verify(orderTotalRepository, never()).refreshTotal(4L);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.orders.services;
+
+import com.example.orders.dto.SearchResult;
+import com.example.orders.dto.SearchResult.Type;
+import com.example.orders.models.CacheInvalidatedEvent;
+import com.example.orders.models.CacheInvalidation;
+import com.example.orders.repositories.SearchRepository;
+import com.example.orders.repositories.SearchRepository.Searchable;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for SearchIndex.
+ */
+@ExtendWith(MockitoExtension.class)
+class SearchIndexTest {
+
+    @Mock
+    private SearchRepository searchRepository;
+
+    private SearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        List<Searchable> customers = List.of(
+            new Searchable(Type.CUSTOMER, 1L, "Alice Johnson", "alice@example.com"),
+            new Searchable(Type.CUSTOMER, 2L, "Bob Alison", "bob@example.com"),
+            new Searchable(Type.CUSTOMER, 3L, "José Álvarez", "jalvarez@example.com"));
+        List<Searchable> items = List.of(
+            new Searchable(Type.ITEM, 1L, "Widget", null),
+            new Searchable(Type.ITEM, 2L, "Wide Gadget", null));
+        when(searchRepository.findMaxId(Type.CUSTOMER)).thenReturn(3L);
+        when(searchRepository.findMaxId(Type.ITEM)).thenReturn(2L);
+        when(searchRepository.findInRange(eq(Type.CUSTOMER), eq(1L), anyLong())).thenReturn(customers);
+        when(searchRepository.findInRange(eq(Type.ITEM), eq(1L), anyLong())).thenReturn(items);
+
+        searchIndex = new SearchIndex(searchRepository, 2, 2000);
+        searchIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should match word prefixes and rank a leading name match first")
+    void shouldRankLeadingNameMatchFirst() {
+        List<SearchResult> results = searchIndex.search("ali", 10);
+
+        assertThat(results).extracting(SearchResult::id).containsExactly(1L, 2L);
+        assertThat(results.get(0).score()).isGreaterThan(results.get(1).score());
+    }
+
+    @Test
+    @DisplayName("Should require every query word to match")
+    void shouldRequireAllTerms() {
+        List<SearchResult> results = searchIndex.search("wid gad", 10);
+
+        assertThat(results).extracting(SearchResult::type, SearchResult::id)
+            .containsExactly(tuple(Type.ITEM, 2L));
+    }
+
+    @Test
+    @DisplayName("Should find customers by email and ignore case and accents")
+    void shouldMatchEmailsCaseAndAccentInsensitively() {
+        assertThat(searchIndex.search("JALV", 10)).extracting(SearchResult::id).containsExactly(3L);
+        assertThat(searchIndex.search("jose alv", 10)).extracting(SearchResult::name).containsExactly("José Álvarez");
+    }
+
+    @Test
+    @DisplayName("Should return no results for a query without words")
+    void shouldReturnNothingForBlankQuery() {
+        assertThat(searchIndex.search(" ,. ", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should cap results at the limit, keeping the best")
+    void shouldKeepBestResultsWithinLimit() {
+        List<SearchResult> results = searchIndex.search("wid", 1);
+
+        assertThat(results).extracting(SearchResult::id).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should score exact token matches first when candidates are capped")
+    void shouldVisitExactTokenFirstWhenCapped() {
+        SearchIndex capped = new SearchIndex(searchRepository, 2, 1);
+        capped.rebuild();
+
+        assertThat(capped.search("wide", 10)).extracting(SearchResult::id).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should reindex a renamed customer and drop its old words")
+    void shouldUpdateOnRefresh() {
+        when(searchRepository.findById(Type.CUSTOMER, 1L))
+            .thenReturn(Optional.of(new Searchable(Type.CUSTOMER, 1L, "Alicia Keys", "alicia@example.com")));
+
+        searchIndex.refresh(Type.CUSTOMER, 1L);
+
+        assertThat(searchIndex.search("johnson", 10)).isEmpty();
+        assertThat(searchIndex.search("keys", 10)).extracting(SearchResult::id).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should remove an item deleted on another instance")
+    void shouldRemoveOnInvalidation() {
+        when(searchRepository.findById(Type.ITEM, 1L)).thenReturn(Optional.empty());
+
+        searchIndex.onInvalidated(new CacheInvalidatedEvent(CacheInvalidation.Kind.ITEM, Set.of(1L)));
+
+        assertThat(searchIndex.search("widget", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should drop a failed load and retry it in the background")
+    void shouldRetryFailedLoad() {
+        when(searchRepository.findInRange(eq(Type.ITEM), eq(1L), anyLong()))
+            .thenThrow(new TransientDataAccessResourceException("connection reset"))
+            .thenReturn(List.of(new Searchable(Type.ITEM, 1L, "Widget", null)));
+        SearchIndex retrying = new SearchIndex(searchRepository, 2, 2000);
+
+        retrying.rebuild();
+
+        assertThat(retrying.isReady()).isFalse();
+        assertThat(retrying.search("ali", 10)).isEmpty();
+
+        retrying.retryFailedLoad();
+
+        assertThat(retrying.isReady()).isTrue();
+        assertThat(retrying.search("widget", 10)).extracting(SearchResult::id).containsExactly(1L);
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.orders.services;
+
+import com.example.orders.dto.WarmUpReport;
+import com.example.orders.dto.WarmUpReport.State;
+import com.example.orders.repositories.OrderTotalRepository;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.net.InetSocketAddress;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for WarmUpService.
+ */
+@ExtendWith(MockitoExtension.class)
+class WarmUpServiceTest {
+
+    @Mock
+    private OrderReadModel orderReadModel;
+
+    @Mock
+    private OrderTotalRepository orderTotalRepository;
+
+    @Mock
+    private DataSource dataSource;
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final List<String> tokens = new CopyOnWriteArrayList<>();
+    private final AtomicInteger responseStatus = new AtomicInteger(200);
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        lenient().when(orderTotalRepository.findMaxOrderId()).thenReturn(1_000L);
+        lenient().when(dataSource.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        lenient().when(orderReadModel.isReady()).thenReturn(true);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.add(exchange.getRequestURI().toString());
+            tokens.add(exchange.getRequestHeaders().getFirst(WarmUpService.TOKEN_HEADER));
+            exchange.sendResponseHeaders(responseStatus.get(), -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private WarmUpService warmUp(boolean enabled, Duration timeout) {
+        WarmUpService service = new WarmUpService(
+            orderReadModel, orderTotalRepository, dataSource, enabled, 200, 2, 3, timeout);
+        service.setPort(server.getAddress().getPort());
+        return service;
+    }
+
+    @Test
+    @DisplayName("Should complete once the target number of calls has been made")
+    void shouldCompleteWhenTargetReached() {
+        WarmUpService service = warmUp(true, Duration.ofSeconds(30));
+
+        service.run();
+
+        WarmUpReport report = service.report();
+        assertThat(report.state()).isEqualTo(State.COMPLETED);
+        assertThat(report.calls()).isEqualTo(200);
+        assertThat(report.connectionsOpened()).isEqualTo(3);
+        assertThat(report.isFinished()).isTrue();
+        assertThat(report.failures()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should replay the summary, list and filter endpoints with the warm-up token")
+    void shouldReplayServedEndpoints() {
+        WarmUpService service = warmUp(true, Duration.ofSeconds(30));
+
+        service.run();
+
+        assertThat(requests).hasSize(200);
+        assertThat(requests).anyMatch(uri -> uri.matches("/api/orders/\\d+/summary"));
+        assertThat(requests).anyMatch(uri -> uri.startsWith("/api/orders?limit="));
+        assertThat(requests).anyMatch(uri -> uri.startsWith("/api/orders/filter?status=PENDING&from="));
+        assertThat(tokens).doesNotContainNull().containsOnly(tokens.get(0));
+        assertThat(service.isWarmUpToken(tokens.get(0))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not count missing orders as failures")
+    void shouldNotCountMissingOrdersAsFailures() {
+        responseStatus.set(404);
+        WarmUpService service = warmUp(true, Duration.ofSeconds(30));
+
+        service.run();
+
+        assertThat(service.report().failures()).isZero();
+        assertThat(service.report().state()).isEqualTo(State.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Should count error responses as failures")
+    void shouldCountErrorResponsesAsFailures() {
+        responseStatus.set(500);
+        WarmUpService service = warmUp(true, Duration.ofSeconds(30));
+
+        service.run();
+
+        assertThat(service.report().failures()).isEqualTo(200);
+        assertThat(service.report().state()).isEqualTo(State.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Should time out without calls while the read model is not ready")
+    void shouldWaitForReadModel() {
+        when(orderReadModel.isReady()).thenReturn(false);
+        WarmUpService service = warmUp(true, Duration.ofMillis(300));
+
+        service.run();
+
+        assertThat(service.report().state()).isEqualTo(State.TIMED_OUT);
+        assertThat(requests).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should give up and report timed out when the deadline passes first")
+    void shouldTimeOutWhenDeadlinePasses() {
+        WarmUpService service = warmUp(true, Duration.ZERO);
+
+        service.run();
+
+        assertThat(service.report().state()).isEqualTo(State.TIMED_OUT);
+        assertThat(service.report().isFinished()).isTrue();
+        assertThat(requests).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should report failed when the order ID range cannot be read")
+    void shouldFailWhenMaxOrderIdThrows() {
+        when(orderTotalRepository.findMaxOrderId()).thenThrow(new IllegalStateException("connection refused"));
+        WarmUpService service = warmUp(true, Duration.ofSeconds(30));
+
+        service.run();
+
+        assertThat(service.report().state()).isEqualTo(State.FAILED);
+        assertThat(service.report().isFinished()).isTrue();
+        assertThat(requests).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should report failed without replaying calls when no connection opens")
+    void shouldFailWhenNoConnectionOpens() throws Exception {
+        when(dataSource.getConnection()).thenThrow(new SQLException("connection refused"));
+        WarmUpService service = warmUp(true, Duration.ofSeconds(30));
+
+        service.run();
+
+        assertThat(service.report().state()).isEqualTo(State.FAILED);
+        assertThat(service.report().connectionsOpened()).isZero();
+        assertThat(requests).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should report pending until started and disabled when switched off")
+    void shouldReportPendingThenDisabled() {
+        WarmUpService service = warmUp(false, Duration.ofSeconds(30));
+        assertThat(service.report().state()).isEqualTo(State.PENDING);
+        assertThat(service.report().isFinished()).isFalse();
+
+        service.start();
+
+        assertThat(service.report().state()).isEqualTo(State.DISABLED);
+        assertThat(service.report().isFinished()).isTrue();
+    }
+}
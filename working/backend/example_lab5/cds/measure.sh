@@ -0,0 +1,26 @@
+#!/bin/sh
+# Measures time to first successful request and resident memory.
+#
+# Usage: measure.sh <image> [label]
+#
+# Starts the image, polls GET /api/orders until it returns 2xx, then
+# reports the elapsed time and the JVM's RSS. Run it for the plain image
+# (override the entrypoint with `java -jar orders-api.jar`) and the
+# fast-start image to compare.
+set -eu
+
+IMAGE="$1"
+LABEL="${2:-$IMAGE}"
+NAME="orders-measure-$$"
+
+START=$(date +%s%N)
+docker run -d --rm --name "$NAME" -p 18081:8080 --env-file "${ENV_FILE:-/dev/null}" "$IMAGE" > /dev/null
+trap 'docker stop "$NAME" > /dev/null 2>&1 || true' EXIT
+
+until curl -sf -o /dev/null http://localhost:18081/api/orders; do
+    sleep 0.05
+done
+END=$(date +%s%N)
+
+RSS_KB=$(docker exec "$NAME" sh -c 'grep VmRSS /proc/1/status' | awk '{print $2}')
+echo "$LABEL: first successful request after $(( (END - START) / 1000000 )) ms, RSS $(( RSS_KB / 1024 )) MiB"
@@ -0,0 +1,28 @@
+package com.edf.bootcamp.orders.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Runs the {@code @Scheduled} tasks: the change-feed long-poll
+ * completion and outbox pruning, and the idempotency key purge.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    /**
+     * Scheduler with more than one thread, so a slow outbox prune or key
+     * purge does not hold up completing parked long-poll requests.
+     */
+    @Bean
+    ThreadPoolTaskScheduler taskScheduler(@Value("${orders.scheduling.pool-size:2}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("orders-scheduled-");
+        return scheduler;
+    }
+}
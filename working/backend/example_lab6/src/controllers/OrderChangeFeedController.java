@@ -0,0 +1,63 @@
+package com.edf.bootcamp.orders.controllers;
+
+import com.edf.bootcamp.orders.dto.OrderChangeFeedResponse;
+import com.edf.bootcamp.orders.services.OrderChangeFeedService;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * REST controller for the order change feed.
+ *
+ * <p>Endpoints:
+ * <ul>
+ *   <li>GET /api/orders/changes?since=0&amp;limit=100&amp;waitSeconds=20 - Changes after a sequence, long-polling when there are none</li>
+ * </ul>
+ *
+ * <p>Consumers store {@code next} from each page and pass it back as
+ * {@code since}, instead of re-reading the whole order list.</p>
+ */
+@RestController
+@RequestMapping("/api/orders")
+public class OrderChangeFeedController {
+
+    static final int MAX_WAIT_SECONDS = 30;
+
+    private final OrderChangeFeedService orderChangeFeedService;
+
+    public OrderChangeFeedController(OrderChangeFeedService orderChangeFeedService) {
+        this.orderChangeFeedService = orderChangeFeedService;
+    }
+
+    /**
+     * Returns order changes after a sequence number.
+     *
+     * @param since       Last sequence already seen, 0 for the oldest retained change
+     * @param limit       Maximum changes to return
+     * @param waitSeconds How long to wait for a change if there are none, at most 30
+     * @return The changes in sequence order and the next cursor
+     */
+    @GetMapping("/changes")
+    public DeferredResult<OrderChangeFeedResponse> getChanges(
+            @RequestParam long since,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "0") int waitSeconds) {
+        Duration wait = Duration.ofSeconds(Math.max(0, Math.min(waitSeconds, MAX_WAIT_SECONDS)));
+        return orderChangeFeedService.changesSince(since, limit, wait);
+    }
+
+    /**
+     * Rejects invalid cursors and limits with Problem Details.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleInvalidArgument(IllegalArgumentException e) {
+        ProblemDetail problem = ProblemDetail.forStatus(400);
+        problem.setType(URI.create("https://api.edf.com/problems/validation-error"));
+        problem.setTitle("Validation Error");
+        problem.setDetail(e.getMessage());
+        return problem;
+    }
+}
@@ -0,0 +1,53 @@
+package com.edf.bootcamp.orders.controllers;
+
+import com.edf.bootcamp.orders.dto.OrderReportResponse;
+import com.edf.bootcamp.orders.services.OrderReportService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.time.LocalDate;
+
+/**
+ * REST controller for order reporting.
+ *
+ * <p>Endpoints:
+ * <ul>
+ *   <li>GET /api/orders/report?from=2024-01-01&amp;to=2024-01-31 - Revenue per status, customer and day</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping("/api/orders")
+public class OrderReportController {
+
+    private final OrderReportService orderReportService;
+
+    public OrderReportController(OrderReportService orderReportService) {
+        this.orderReportService = orderReportService;
+    }
+
+    /**
+     * Returns the revenue report for a date range.
+     *
+     * @param from First day, inclusive (ISO date)
+     * @param to   Last day, inclusive (ISO date)
+     * @return The report or Problem Details for an invalid range
+     */
+    @GetMapping("/report")
+    public ResponseEntity<?> getReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            OrderReportResponse report = orderReportService.report(from, to);
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            ProblemDetail problem = ProblemDetail.forStatus(400);
+            problem.setType(URI.create("https://api.edf.com/problems/validation-error"));
+            problem.setTitle("Validation Error");
+            problem.setDetail(e.getMessage());
+            return ResponseEntity.badRequest().body(problem);
+        }
+    }
+}
@@ -1,12 +1,21 @@
 package com.edf.bootcamp.orders.controllers;
 
 import com.edf.bootcamp.orders.dto.StatusUpdateRequest;
+import com.edf.bootcamp.orders.exceptions.StatusWritesBusyException;
+import com.edf.bootcamp.orders.model.IdempotentResponse;
 import com.edf.bootcamp.orders.model.Order;
 import com.edf.bootcamp.orders.model.OrderStatus;
+import com.edf.bootcamp.orders.services.IdempotencyStore;
 import com.edf.bootcamp.orders.services.OrderStatusService;
+import com.edf.bootcamp.orders.services.StatusWriteBulkhead;
 import jakarta.validation.Valid;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
@@ -20,28 +29,52 @@ import java.util.Set;
  *   <li>PUT /api/orders/{id}/status - Update order status</li>
  *   <li>GET /api/orders/{id}/status/next - Get valid next statuses</li>
  * </ul>
+ *
+ * <p>Status updates honour an optional {@code Idempotency-Key} header:
+ * a retry with the same key and payload replays the original response
+ * without re-running the transition. The key is claimed before the
+ * transition runs, so a retry arriving while the original is still
+ * running waits for its response, or gets 409 if it does not finish in
+ * time.</p>
+ *
+ * <p>Updates run through {@link StatusWriteBulkhead}. An update rejected
+ * by it, or cancelled by its transaction timeout, gets 503 with
+ * {@code Retry-After}.</p>
  */
 @RestController
 @RequestMapping("/api/orders")
 public class OrderStatusController {
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAY_HEADER = "Idempotent-Replayed";
+    static final String RETRY_AFTER_SECONDS = "1";
+
     private final OrderStatusService orderStatusService;
+    private final IdempotencyStore idempotencyStore;
+    private final StatusWriteBulkhead statusWriteBulkhead;
 
-    public OrderStatusController(OrderStatusService orderStatusService) {
+    public OrderStatusController(
+            OrderStatusService orderStatusService,
+            IdempotencyStore idempotencyStore,
+            StatusWriteBulkhead statusWriteBulkhead) {
         this.orderStatusService = orderStatusService;
+        this.idempotencyStore = idempotencyStore;
+        this.statusWriteBulkhead = statusWriteBulkhead;
     }
 
     /**
      * Updates the status of an order.
      *
-     * @param id      The order ID
-     * @param request The status update request
+     * @param id             The order ID
+     * @param request        The status update request
+     * @param idempotencyKey Optional client-supplied key for safe retries
      * @return Updated order or Problem Details on error
      */
     @PutMapping("/{id}/status")
     public ResponseEntity<?> updateStatus(
             @PathVariable Long id,
-            @Valid @RequestBody StatusUpdateRequest request) {
+            @Valid @RequestBody StatusUpdateRequest request,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         
         // Validate cancellation reason requirement
         if (!request.isValid()) {
@@ -53,15 +86,56 @@ public class OrderStatusController {
             return ResponseEntity.badRequest().body(problem);
         }
 
-        Order updatedOrder = orderStatusService.updateStatus(
-            id, 
-            request.newStatus(), 
-            request.reason()
-        );
-        
+        String fingerprint = id + ":" + request.newStatus() + ":" + request.reason();
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(update(id, request));
+        }
+
+        IdempotencyStore.Claim claim = idempotencyStore.claim(idempotencyKey, fingerprint);
+        if (!claim.acquired()) {
+            return replay(claim.existing(), fingerprint);
+        }
+        Order updatedOrder;
+        try {
+            updatedOrder = update(id, request);
+        } catch (RuntimeException | Error e) {
+            idempotencyStore.release(claim);
+            throw e;
+        }
+        idempotencyStore.complete(claim, HttpStatus.OK.value(), updatedOrder);
         return ResponseEntity.ok(updatedOrder);
     }
 
+    private Order update(Long id, StatusUpdateRequest request) {
+        return statusWriteBulkhead.call(
+            () -> orderStatusService.updateStatus(id, request.newStatus(), request.reason()));
+    }
+
+    /**
+     * Replays a stored response, or rejects reuse of a key with a different
+     * payload or while the request holding it is still running.
+     */
+    private ResponseEntity<?> replay(IdempotentResponse stored, String fingerprint) {
+        if (stored != null && !stored.fingerprint().equals(fingerprint)) {
+            ProblemDetail problem = ProblemDetail.forStatus(HttpStatus.UNPROCESSABLE_ENTITY);
+            problem.setType(URI.create("https://api.edf.com/problems/idempotency-key-reused"));
+            problem.setTitle("Idempotency Key Reused");
+            problem.setDetail("Idempotency-Key was already used for a different request");
+            return ResponseEntity.unprocessableEntity().body(problem);
+        }
+        if (stored == null || stored.isPending()) {
+            ProblemDetail problem = ProblemDetail.forStatus(HttpStatus.CONFLICT);
+            problem.setType(URI.create("https://api.edf.com/problems/idempotency-key-in-use"));
+            problem.setTitle("Idempotency Key In Use");
+            problem.setDetail("A request with this Idempotency-Key is still in progress, retry later");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(problem);
+        }
+        return ResponseEntity.status(stored.statusCode())
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(IDEMPOTENT_REPLAY_HEADER, "true")
+            .body(stored.body());
+    }
+
     /**
      * Gets valid next statuses for an order.
      * 
@@ -77,4 +151,21 @@ public class OrderStatusController {
         Set<OrderStatus> validNext = orderStatusService.getValidNextStatuses(OrderStatus.PENDING);
         return ResponseEntity.ok(validNext);
     }
+
+    /**
+     * Answers updates that were not run, or ran out of time, with 503 so
+     * clients retry them later.
+     */
+    @ExceptionHandler({StatusWritesBusyException.class, TransactionTimedOutException.class, QueryTimeoutException.class})
+    public ResponseEntity<ProblemDetail> handleUnavailable(RuntimeException e) {
+        ProblemDetail problem = ProblemDetail.forStatus(HttpStatus.SERVICE_UNAVAILABLE);
+        problem.setType(URI.create("https://api.edf.com/problems/service-unavailable"));
+        problem.setTitle("Service Unavailable");
+        problem.setDetail(e instanceof StatusWritesBusyException
+            ? e.getMessage()
+            : "Status update timed out, retry later");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+            .body(problem);
+    }
 }
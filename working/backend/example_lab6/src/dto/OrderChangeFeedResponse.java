@@ -0,0 +1,27 @@
+package com.edf.bootcamp.orders.dto;
+
+import com.edf.bootcamp.orders.model.OrderStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One page of the order change feed.
+ *
+ * @param changes changes in sequence order, possibly empty
+ * @param next    value to pass as {@code since} for the following page
+ */
+public record OrderChangeFeedResponse(List<OrderChange> changes, long next) {
+
+    /**
+     * A single order change.
+     *
+     * @param seq       position in the feed
+     * @param orderId   the changed order
+     * @param from      previous status, or null for a new order
+     * @param to        new status
+     * @param changedAt when the change was recorded
+     */
+    public record OrderChange(long seq, long orderId, OrderStatus from, OrderStatus to, Instant changedAt) {
+    }
+}
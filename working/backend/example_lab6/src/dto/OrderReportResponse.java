@@ -0,0 +1,28 @@
+package com.edf.bootcamp.orders.dto;
+
+import com.edf.bootcamp.orders.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Revenue report for a date range.
+ *
+ * <p>{@code revenueByStatus} covers every order, including cancelled ones.
+ * {@code revenueByCustomer} and {@code revenueByDay} exclude cancelled
+ * orders, since those are not revenue.</p>
+ *
+ * @param from              first day, inclusive
+ * @param to                last day, inclusive
+ * @param revenueByStatus   order totals per status
+ * @param revenueByCustomer order totals per customer ID
+ * @param revenueByDay      order totals per day, in date order
+ */
+public record OrderReportResponse(
+    LocalDate from,
+    LocalDate to,
+    Map<OrderStatus, BigDecimal> revenueByStatus,
+    Map<Long, BigDecimal> revenueByCustomer,
+    Map<LocalDate, BigDecimal> revenueByDay
+) {}
@@ -7,23 +7,31 @@ import com.edf.bootcamp.orders.model.OrderStatus;
  * 
  * <p>This exception should be mapped to HTTP 400 Bad Request with
  * Problem Details format in the global exception handler.</p>
+ *
+ * <p>The message is only formatted when it is read.</p>
  */
-public class InvalidStatusTransitionException extends RuntimeException {
-    
+public class InvalidStatusTransitionException extends ExpectedException {
+
     private final OrderStatus currentStatus;
     private final OrderStatus requestedStatus;
     private final Long orderId;
+    private String message;
 
     public InvalidStatusTransitionException(Long orderId, OrderStatus current, OrderStatus requested) {
-        super(String.format(
-            "Cannot transition order %d from %s to %s", 
-            orderId, current, requested
-        ));
+        super(null);
         this.orderId = orderId;
         this.currentStatus = current;
         this.requestedStatus = requested;
     }
 
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            message = "Cannot transition order " + orderId + " from " + currentStatus + " to " + requestedStatus;
+        }
+        return message;
+    }
+
     public OrderStatus getCurrentStatus() {
         return currentStatus;
     }
@@ -0,0 +1,14 @@
+package com.edf.bootcamp.orders.exceptions;
+
+/**
+ * Exception thrown when too many status updates are already running.
+ *
+ * <p>Mapped to HTTP 503 Service Unavailable with a {@code Retry-After}
+ * header; the update was not attempted and is safe to retry.</p>
+ */
+public class StatusWritesBusyException extends ExpectedException {
+
+    public StatusWritesBusyException() {
+        super("Too many status updates in progress, retry later");
+    }
+}
@@ -0,0 +1,34 @@
+package com.edf.bootcamp.orders.model;
+
+import java.time.Instant;
+
+/**
+ * A stored response for a request carrying an {@code Idempotency-Key}.
+ *
+ * @param key         The client-supplied idempotency key
+ * @param fingerprint Digest of the original request, used to detect key reuse
+ *                    with a different payload
+ * @param statusCode  HTTP status of the original response
+ * @param body        JSON body of the original response, or null while the
+ *                    request holding the key is still running
+ * @param expiresAt   When the entry may be evicted, or taken over if still pending
+ */
+public record IdempotentResponse(
+    String key,
+    String fingerprint,
+    int statusCode,
+    String body,
+    Instant expiresAt
+) {
+    public boolean isExpired(Instant now) {
+        return now.isAfter(expiresAt);
+    }
+
+    /**
+     * True while the key is claimed but the original request has not
+     * finished yet.
+     */
+    public boolean isPending() {
+        return body == null;
+    }
+}
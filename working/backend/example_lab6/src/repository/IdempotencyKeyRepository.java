@@ -0,0 +1,106 @@
+package com.edf.bootcamp.orders.repository;
+
+import com.edf.bootcamp.orders.model.IdempotentResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persistent store of idempotent responses, shared by all replicas.
+ *
+ * <p>Backed by the {@code idempotency_keys} table:
+ * <pre>
+ * key          VARCHAR(255) PRIMARY KEY
+ * fingerprint  VARCHAR(255) NOT NULL
+ * status_code  INT          NOT NULL
+ * body         TEXT                    -- NULL while the claiming request runs
+ * expires_at   TIMESTAMP    NOT NULL
+ * claim_token  VARCHAR(36)  NOT NULL
+ * </pre>
+ *
+ * <p>A request first claims its key by inserting a row without a body.
+ * The primary key makes the claim atomic across replicas: exactly one
+ * request inserts the row and runs, and it later fills in the body.</p>
+ */
+@Repository
+public class IdempotencyKeyRepository {
+
+    private static final String SELECT_BY_KEY =
+        "SELECT key, fingerprint, status_code, body, expires_at FROM idempotency_keys WHERE key = ?";
+    private static final String CLAIM =
+        "INSERT INTO idempotency_keys (key, fingerprint, status_code, body, expires_at, claim_token) "
+            + "VALUES (?, ?, 0, NULL, ?, ?) "
+            + "ON CONFLICT (key) DO UPDATE SET fingerprint = EXCLUDED.fingerprint, status_code = 0, body = NULL, "
+            + "expires_at = EXCLUDED.expires_at, claim_token = EXCLUDED.claim_token "
+            + "WHERE idempotency_keys.expires_at < ?";
+    private static final String COMPLETE =
+        "UPDATE idempotency_keys SET status_code = ?, body = ?, expires_at = ? "
+            + "WHERE key = ? AND claim_token = ? AND body IS NULL";
+    private static final String RELEASE =
+        "DELETE FROM idempotency_keys WHERE key = ? AND claim_token = ? AND body IS NULL";
+    private static final String DELETE_EXPIRED =
+        "DELETE FROM idempotency_keys WHERE expires_at < ?";
+
+    private static final RowMapper<IdempotentResponse> ROW_MAPPER = (rs, rowNum) -> new IdempotentResponse(
+        rs.getString("key"),
+        rs.getString("fingerprint"),
+        rs.getInt("status_code"),
+        rs.getString("body"),
+        rs.getTimestamp("expires_at").toInstant()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdempotencyKeyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<IdempotentResponse> findByKey(String key) {
+        List<IdempotentResponse> rows = jdbcTemplate.query(SELECT_BY_KEY, ROW_MAPPER, key);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * Claims a key for the calling request. Succeeds if the key is unknown
+     * or its row expired before {@code now}, which also takes over the
+     * claim of a request that died before completing.
+     *
+     * @param claimExpiresAt when the claim may be taken over if never completed
+     * @param token          identifies this claim in {@link #complete} and {@link #release}
+     * @return true if this call now holds the key
+     */
+    public boolean tryClaim(String key, String fingerprint, Instant claimExpiresAt, String token, Instant now) {
+        return jdbcTemplate.update(CLAIM,
+            key, fingerprint, Timestamp.from(claimExpiresAt), token, Timestamp.from(now)) == 1;
+    }
+
+    /**
+     * Stores the response of a claimed key.
+     *
+     * @return true if stored; false if the claim was taken over meanwhile
+     */
+    public boolean complete(String key, String token, int statusCode, String body, Instant expiresAt) {
+        return jdbcTemplate.update(COMPLETE, statusCode, body, Timestamp.from(expiresAt), key, token) == 1;
+    }
+
+    /**
+     * Gives up a claim without a response, so a retry can run.
+     */
+    public void release(String key, String token) {
+        jdbcTemplate.update(RELEASE, key, token);
+    }
+
+    /**
+     * Deletes entries that expired before the given instant.
+     *
+     * @return number of rows removed
+     */
+    public int deleteExpiredBefore(Instant cutoff) {
+        return jdbcTemplate.update(DELETE_EXPIRED, Timestamp.from(cutoff));
+    }
+}
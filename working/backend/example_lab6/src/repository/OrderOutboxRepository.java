@@ -0,0 +1,92 @@
+package com.edf.bootcamp.orders.repository;
+
+import com.edf.bootcamp.orders.model.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Transactional outbox of order changes, read by the change feed.
+ *
+ * <p>Rows are inserted through the same connection as the order update,
+ * so they commit or roll back with it. Backed by the
+ * {@code order_outbox} table:
+ * <pre>
+ * seq         BIGSERIAL    PRIMARY KEY
+ * order_id    BIGINT       NOT NULL
+ * old_status  VARCHAR(20)
+ * new_status  VARCHAR(20)  NOT NULL
+ * created_at  TIMESTAMP    NOT NULL DEFAULT clock_timestamp()
+ * </pre>
+ * {@code created_at} uses {@code clock_timestamp()} rather than
+ * {@code now()} so it records when the sequence number was taken, not
+ * when the transaction began.</p>
+ */
+@Repository
+public class OrderOutboxRepository {
+
+    private static final String INSERT =
+        "INSERT INTO order_outbox (order_id, old_status, new_status) VALUES (?, ?, ?)";
+    private static final String SELECT_AFTER =
+        "SELECT seq, order_id, old_status, new_status, created_at, "
+            + "CAST(EXTRACT(EPOCH FROM clock_timestamp() - created_at) * 1000 AS BIGINT) AS age_ms "
+            + "FROM order_outbox WHERE seq > ? ORDER BY seq LIMIT ?";
+    private static final String DELETE_CREATED_BEFORE =
+        "DELETE FROM order_outbox WHERE created_at < ?";
+
+    private static final RowMapper<OutboxRow> ROW_MAPPER = (rs, rowNum) -> new OutboxRow(
+        rs.getLong("seq"),
+        rs.getLong("order_id"),
+        rs.getString("old_status") != null ? OrderStatus.valueOf(rs.getString("old_status")) : null,
+        OrderStatus.valueOf(rs.getString("new_status")),
+        rs.getTimestamp("created_at").toInstant(),
+        rs.getLong("age_ms")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderOutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * One outbox row.
+     *
+     * @param sequence  position in the outbox
+     * @param orderId   the changed order
+     * @param from      previous status, or null for a new order
+     * @param to        new status
+     * @param createdAt when the row was inserted
+     * @param ageMillis how long ago that was, by the database clock
+     */
+    public record OutboxRow(long sequence, long orderId, OrderStatus from, OrderStatus to,
+                            Instant createdAt, long ageMillis) {
+    }
+
+    /**
+     * Records a status change. Call inside the transaction that makes it.
+     */
+    public void append(long orderId, OrderStatus from, OrderStatus to) {
+        jdbcTemplate.update(INSERT, orderId, from != null ? from.name() : null, to.name());
+    }
+
+    /**
+     * Returns committed rows after {@code afterSeq}, in sequence order.
+     */
+    public List<OutboxRow> findAfter(long afterSeq, int limit) {
+        return jdbcTemplate.query(SELECT_AFTER, ROW_MAPPER, afterSeq, limit);
+    }
+
+    /**
+     * Deletes rows inserted before the cutoff.
+     *
+     * @return the number of rows deleted
+     */
+    public int deleteCreatedBefore(Instant cutoff) {
+        return jdbcTemplate.update(DELETE_CREATED_BEFORE, Timestamp.from(cutoff));
+    }
+}
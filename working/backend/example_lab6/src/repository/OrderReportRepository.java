@@ -0,0 +1,118 @@
+package com.edf.bootcamp.orders.repository;
+
+import com.edf.bootcamp.orders.model.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+
+/**
+ * Read-only queries behind the order revenue report.
+ *
+ * <p>Both queries bound {@code created_at} so PostgreSQL can use the
+ * {@code orders (created_at)} index.</p>
+ *
+ * <p>Days are UTC days of {@code created_at} (a {@code TIMESTAMPTZ})
+ * whatever the session or JVM time zone, and an order without a stored
+ * total counts as zero, so the grouped query and the streamed rows
+ * always add up to the same report.</p>
+ */
+@Repository
+public class OrderReportRepository {
+
+    private static final int FETCH_SIZE = 5_000;
+
+    private static final String AGGREGATE =
+        "SELECT status, customer_id, CAST(created_at AT TIME ZONE 'UTC' AS DATE) AS day, "
+            + "GROUPING(status) AS not_by_status, GROUPING(customer_id) AS not_by_customer, "
+            + "CASE WHEN GROUPING(status) = 0 THEN SUM(COALESCE(total, 0)) "
+            + "ELSE SUM(COALESCE(total, 0)) FILTER (WHERE status <> 'CANCELLED') END AS revenue "
+            + "FROM orders WHERE created_at >= ? AND created_at < ? "
+            + "GROUP BY GROUPING SETS ((status), (customer_id), (CAST(created_at AT TIME ZONE 'UTC' AS DATE)))";
+    private static final String SELECT_RANGE =
+        "SELECT status, customer_id, created_at, COALESCE(total, 0) AS total "
+            + "FROM orders WHERE created_at >= ? AND created_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderReportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Receives aggregated revenue from {@link #aggregate}.
+     */
+    public interface RevenueSink {
+        void byStatus(OrderStatus status, BigDecimal revenue);
+
+        void byCustomer(long customerId, BigDecimal revenue);
+
+        void byDay(LocalDate day, BigDecimal revenue);
+    }
+
+    /**
+     * One order as seen by the report.
+     */
+    public record RevenueRow(OrderStatus status, long customerId, LocalDate day, BigDecimal total) {
+    }
+
+    /**
+     * Aggregates revenue per status, customer and day in a single scan
+     * using grouping sets. Cancelled orders only count towards their status.
+     *
+     * @param from  first day, inclusive
+     * @param until last day, exclusive
+     */
+    public void aggregate(LocalDate from, LocalDate until, RevenueSink sink) {
+        jdbcTemplate.query(AGGREGATE, rs -> {
+            BigDecimal revenue = rs.getBigDecimal("revenue");
+            if (revenue == null) {
+                return;
+            }
+            if (rs.getInt("not_by_status") == 0) {
+                sink.byStatus(OrderStatus.valueOf(rs.getString("status")), revenue);
+            } else if (rs.getInt("not_by_customer") == 0) {
+                sink.byCustomer(rs.getLong("customer_id"), revenue);
+            } else {
+                sink.byDay(rs.getObject("day", LocalDate.class), revenue);
+            }
+        }, startOfUtcDay(from), startOfUtcDay(until));
+    }
+
+    /**
+     * Streams every order in the range through a server-side cursor.
+     * The transaction keeps the cursor open; PostgreSQL only honours the
+     * fetch size outside auto-commit.
+     *
+     * @param from  first day, inclusive
+     * @param until last day, exclusive
+     */
+    @Transactional(readOnly = true)
+    public void forEachOrder(LocalDate from, LocalDate until, Consumer<RevenueRow> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_RANGE);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setObject(1, startOfUtcDay(from));
+            ps.setObject(2, startOfUtcDay(until));
+            return ps;
+        }, rs -> {
+            Timestamp createdAt = rs.getTimestamp("created_at");
+            consumer.accept(new RevenueRow(
+                OrderStatus.valueOf(rs.getString("status")),
+                rs.getLong("customer_id"),
+                createdAt.toInstant().atOffset(ZoneOffset.UTC).toLocalDate(),
+                rs.getBigDecimal("total")));
+        });
+    }
+
+    private static OffsetDateTime startOfUtcDay(LocalDate day) {
+        return day.atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+}
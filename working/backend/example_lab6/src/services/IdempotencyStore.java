@@ -0,0 +1,236 @@
+package com.edf.bootcamp.orders.services;
+
+import com.edf.bootcamp.orders.model.IdempotentResponse;
+import com.edf.bootcamp.orders.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Two-tier store of responses keyed by {@code Idempotency-Key}.
+ *
+ * <p>A bounded, access-ordered in-memory map answers repeat requests in
+ * O(1) without touching the order tables. Misses fall through to
+ * {@link IdempotencyKeyRepository} so keys survive pod restarts and are
+ * shared across replicas. Entries expire after the configured TTL.</p>
+ *
+ * <p>A request must {@link #claim} its key before doing any work. Only
+ * one request, on any replica, wins the claim; it runs and then
+ * {@link #complete}s the key with its response. Concurrent retries wait
+ * briefly for that response and replay it, so a retry racing the
+ * original never runs the work a second time. Only completed responses
+ * as stored in the database are cached, so every replica replays the
+ * same body.</p>
+ */
+@Service
+public class IdempotencyStore {
+
+    private static final long POLL_INTERVAL_MS = 50;
+
+    private final IdempotencyKeyRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final Duration ttl;
+    private final Duration claimTimeout;
+    private final Duration inProgressWait;
+    private final Map<String, IdempotentResponse> recent;
+
+    @Autowired
+    public IdempotencyStore(
+            IdempotencyKeyRepository repository,
+            ObjectMapper objectMapper,
+            @Value("${orders.idempotency.max-entries:100000}") int maxEntries,
+            @Value("${orders.idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${orders.idempotency.claim-timeout:PT30S}") Duration claimTimeout,
+            @Value("${orders.idempotency.in-progress-wait:PT2S}") Duration inProgressWait) {
+        this(repository, objectMapper, maxEntries, ttl, claimTimeout, inProgressWait, Clock.systemUTC());
+    }
+
+    IdempotencyStore(
+            IdempotencyKeyRepository repository,
+            ObjectMapper objectMapper,
+            int maxEntries,
+            Duration ttl,
+            Duration claimTimeout,
+            Duration inProgressWait,
+            Clock clock) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.claimTimeout = claimTimeout;
+        this.inProgressWait = inProgressWait;
+        this.clock = clock;
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotentResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Outcome of {@link #claim}.
+     *
+     * @param key         The idempotency key
+     * @param fingerprint Digest of the request payload
+     * @param token       Identifies the claim if it was acquired, otherwise null
+     * @param existing    The stored entry if the key was not acquired; pending
+     *                    if another request still holds it, or null if that
+     *                    request released it without finishing in time
+     */
+    public record Claim(String key, String fingerprint, String token, IdempotentResponse existing) {
+
+        public boolean acquired() {
+            return token != null;
+        }
+    }
+
+    /**
+     * Looks up a completed response for the given key.
+     *
+     * @param key The idempotency key
+     * @return The stored response, or empty if unknown, still pending or expired
+     */
+    public Optional<IdempotentResponse> find(String key) {
+        IdempotentResponse cached = cachedResponse(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Instant now = clock.instant();
+        Optional<IdempotentResponse> stored = repository.findByKey(key)
+            .filter(response -> !response.isPending() && !response.isExpired(now));
+        stored.ifPresent(this::remember);
+        return stored;
+    }
+
+    /**
+     * Claims a key before running the request it guards.
+     *
+     * <p>If another request holds the key with the same fingerprint, waits
+     * up to {@code orders.idempotency.in-progress-wait} for its response.</p>
+     *
+     * @param key         The idempotency key
+     * @param fingerprint Digest of the request payload
+     * @return The claim; if not acquired, the entry to replay or reject
+     */
+    public Claim claim(String key, String fingerprint) {
+        IdempotentResponse cached = cachedResponse(key);
+        if (cached != null) {
+            return new Claim(key, fingerprint, null, cached);
+        }
+
+        String token = UUID.randomUUID().toString();
+        long waitUntil = System.nanoTime() + inProgressWait.toNanos();
+        IdempotentResponse pending = null;
+        do {
+            Instant now = clock.instant();
+            if (repository.tryClaim(key, fingerprint, now.plus(claimTimeout), token, now)) {
+                return new Claim(key, fingerprint, token, null);
+            }
+            Optional<IdempotentResponse> stored = repository.findByKey(key);
+            if (stored.isPresent()) {
+                IdempotentResponse existing = stored.get();
+                if (!existing.isPending()) {
+                    remember(existing);
+                    return new Claim(key, fingerprint, null, existing);
+                }
+                if (!existing.fingerprint().equals(fingerprint)) {
+                    return new Claim(key, fingerprint, null, existing);
+                }
+                pending = existing;
+                if (!pause()) {
+                    break;
+                }
+            }
+            // A missing row means the holder released its claim; try again
+        } while (System.nanoTime() - waitUntil < 0);
+        return new Claim(key, fingerprint, null, pending);
+    }
+
+    /**
+     * Records the response of an acquired claim so later retries can be
+     * replayed.
+     *
+     * @param claim      An acquired claim
+     * @param statusCode HTTP status returned
+     * @param body       Response body, serialized to JSON
+     * @return The response now stored for the key, or empty if the claim
+     *         expired and another request holds the key
+     */
+    public Optional<IdempotentResponse> complete(Claim claim, int statusCode, Object body) {
+        IdempotentResponse response = new IdempotentResponse(
+            claim.key(), claim.fingerprint(), statusCode, toJson(body), clock.instant().plus(ttl)
+        );
+        if (repository.complete(claim.key(), claim.token(), statusCode, response.body(), response.expiresAt())) {
+            remember(response);
+            return Optional.of(response);
+        }
+        // Lost the key to another request; cache whatever it stored, not our body
+        return find(claim.key());
+    }
+
+    /**
+     * Gives up an acquired claim after the request failed, so a retry
+     * runs it again instead of waiting for a response that never comes.
+     */
+    public void release(Claim claim) {
+        repository.release(claim.key(), claim.token());
+    }
+
+    /**
+     * Removes expired rows from the persistent store.
+     */
+    @Scheduled(fixedDelayString = "${orders.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        repository.deleteExpiredBefore(clock.instant());
+    }
+
+    private IdempotentResponse cachedResponse(String key) {
+        Instant now = clock.instant();
+        synchronized (recent) {
+            IdempotentResponse cached = recent.get(key);
+            if (cached != null && cached.isExpired(now)) {
+                recent.remove(key);
+                return null;
+            }
+            return cached;
+        }
+    }
+
+    private void remember(IdempotentResponse response) {
+        synchronized (recent) {
+            recent.put(response.key(), response);
+        }
+    }
+
+    private static boolean pause() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(POLL_INTERVAL_MS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize idempotent response", e);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.edf.bootcamp.orders.services;
+
+import com.edf.bootcamp.orders.dto.OrderChangeFeedResponse;
+import com.edf.bootcamp.orders.dto.OrderChangeFeedResponse.OrderChange;
+import com.edf.bootcamp.orders.repository.OrderOutboxRepository;
+import com.edf.bootcamp.orders.repository.OrderOutboxRepository.OutboxRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Serves the order change feed from the outbox.
+ *
+ * <p>Sequence numbers are taken at insert but become visible at commit,
+ * so a gap in the outbox may be a transaction still in flight. The feed
+ * stops just before a gap until the row after it is older than
+ * {@code orders.changes.gap-timeout-ms}, which must exceed the longest
+ * write transaction. A consumer that stores {@code next} therefore never
+ * misses a change; gaps left by rolled-back transactions are skipped
+ * once they are old enough.</p>
+ *
+ * <p>Long-poll requests that find nothing are parked without holding a
+ * request thread. Every {@code orders.changes.poll-interval-ms} one
+ * query reads past the lowest parked cursor, and each parked request
+ * with new changes is completed.</p>
+ */
+@Service
+public class OrderChangeFeedService {
+
+    private final OrderOutboxRepository outboxRepository;
+    private final int maxBatch;
+    private final long gapTimeoutMillis;
+    private final Duration retention;
+
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    public OrderChangeFeedService(
+            OrderOutboxRepository outboxRepository,
+            @Value("${orders.changes.max-batch:500}") int maxBatch,
+            @Value("${orders.changes.gap-timeout-ms:30000}") long gapTimeoutMillis,
+            @Value("${orders.changes.retention:P7D}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.maxBatch = maxBatch;
+        this.gapTimeoutMillis = gapTimeoutMillis;
+        this.retention = retention;
+    }
+
+    private record Waiter(long since, int limit, DeferredResult<OrderChangeFeedResponse> result) {
+    }
+
+    /**
+     * Returns changes after {@code since}, waiting up to {@code wait} for
+     * one to arrive if there are none yet.
+     *
+     * @param since last sequence the consumer has seen, 0 to start from the oldest retained change
+     * @param limit maximum changes to return, capped at {@code orders.changes.max-batch}
+     * @param wait  how long to wait when nothing is available; zero returns at once
+     * @return a result completed with the changes, or with an empty page on timeout
+     * @throws IllegalArgumentException if {@code since} is negative or {@code limit} is not positive
+     */
+    public DeferredResult<OrderChangeFeedResponse> changesSince(long since, int limit, Duration wait) {
+        if (since < 0) {
+            throw new IllegalArgumentException("since must not be negative");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        int pageSize = Math.min(limit, maxBatch);
+        OrderChangeFeedResponse current = page(since, outboxRepository.findAfter(since, pageSize), pageSize);
+        if (!current.changes().isEmpty() || wait.isZero()) {
+            DeferredResult<OrderChangeFeedResponse> result = new DeferredResult<>();
+            result.setResult(current);
+            return result;
+        }
+
+        DeferredResult<OrderChangeFeedResponse> result = new DeferredResult<>(wait.toMillis(), current);
+        Waiter waiter = new Waiter(since, pageSize, result);
+        result.onCompletion(() -> waiters.remove(waiter));
+        waiters.add(waiter);
+        return result;
+    }
+
+    /**
+     * Completes parked long-poll requests that now have changes.
+     */
+    @Scheduled(fixedDelayString = "${orders.changes.poll-interval-ms:200}")
+    public void completeWaiters() {
+        if (waiters.isEmpty()) {
+            return;
+        }
+        long from = Long.MAX_VALUE;
+        for (Waiter waiter : waiters) {
+            from = Math.min(from, waiter.since());
+        }
+        List<OutboxRow> rows = outboxRepository.findAfter(from, maxBatch);
+        if (rows.isEmpty()) {
+            return;
+        }
+        for (Waiter waiter : waiters) {
+            OrderChangeFeedResponse response = page(waiter.since(), rows, waiter.limit());
+            if (!response.changes().isEmpty()) {
+                waiter.result().setResult(response);
+            }
+        }
+    }
+
+    /**
+     * Deletes outbox rows older than {@code orders.changes.retention}.
+     */
+    @Scheduled(fixedDelayString = "${orders.changes.prune-interval-ms:3600000}")
+    public void prune() {
+        outboxRepository.deleteCreatedBefore(Instant.now().minus(retention));
+    }
+
+    /**
+     * Takes rows after {@code since} up to the first gap that may still
+     * be filled by an open transaction.
+     */
+    private OrderChangeFeedResponse page(long since, List<OutboxRow> rows, int limit) {
+        List<OrderChange> changes = new ArrayList<>(Math.min(rows.size(), limit));
+        long next = since;
+        for (OutboxRow row : rows) {
+            if (row.sequence() <= since) {
+                continue;
+            }
+            if (row.sequence() != next + 1 && row.ageMillis() < gapTimeoutMillis) {
+                break;
+            }
+            changes.add(new OrderChange(row.sequence(), row.orderId(), row.from(), row.to(), row.createdAt()));
+            next = row.sequence();
+            if (changes.size() == limit) {
+                break;
+            }
+        }
+        return new OrderChangeFeedResponse(changes, next);
+    }
+}
@@ -0,0 +1,229 @@
+package com.edf.bootcamp.orders.services;
+
+import com.edf.bootcamp.orders.dto.OrderReportResponse;
+import com.edf.bootcamp.orders.repository.OrderReportRepository;
+import com.edf.bootcamp.orders.repository.OrderReportRepository.RevenueRow;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds revenue reports per status, customer and day.
+ *
+ * <p>Short ranges are aggregated by PostgreSQL in one grouping-sets
+ * query. Longer ranges are streamed through a cursor and aggregated in
+ * chunks on a small worker pool. Each report keeps at most
+ * {@code parallelism} chunks in flight and merges finished ones into a
+ * running total as it reads, so the rows held in memory stay bounded
+ * however large the range.</p>
+ *
+ * <p>Reports are cached per range once the range has ended: a range
+ * reaching today (UTC) or later still gains orders, so it is computed
+ * afresh every time. Any committed status change clears the cache,
+ * since it moves revenue between statuses and in or out of the
+ * cancelled bucket.</p>
+ */
+@Service
+public class OrderReportService {
+
+    static final int CHUNK_SIZE = 10_000;
+    private static final int CACHE_SIZE = 64;
+
+    private final OrderReportRepository reportRepository;
+    private final long sqlMaxDays;
+    private final long maxDays;
+    private final int maxChunksInFlight;
+    private final ThreadPoolExecutor workers;
+    private final Clock clock;
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<ReportRange, OrderReportResponse> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ReportRange, OrderReportResponse> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    @Autowired
+    public OrderReportService(
+            OrderReportRepository reportRepository,
+            @Value("${orders.report.sql-max-days:31}") long sqlMaxDays,
+            @Value("${orders.report.max-days:1100}") long maxDays,
+            @Value("${orders.report.parallelism:4}") int parallelism) {
+        this(reportRepository, sqlMaxDays, maxDays, parallelism, Clock.systemUTC());
+    }
+
+    OrderReportService(
+            OrderReportRepository reportRepository,
+            long sqlMaxDays,
+            long maxDays,
+            int parallelism,
+            Clock clock) {
+        this.reportRepository = reportRepository;
+        this.clock = clock;
+        this.sqlMaxDays = sqlMaxDays;
+        this.maxDays = maxDays;
+        this.maxChunksInFlight = parallelism;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(parallelism, parallelism, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(parallelism * 2),
+            task -> {
+                Thread thread = new Thread(task, "order-report-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Returns the revenue report for a date range.
+     *
+     * @param from first UTC day, inclusive
+     * @param to   last UTC day, inclusive
+     * @return the report
+     * @throws IllegalArgumentException if the range is empty or longer than allowed
+     */
+    public OrderReportResponse report(LocalDate from, LocalDate to) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days < 1) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (days > maxDays) {
+            throw new IllegalArgumentException("Report range must not exceed " + maxDays + " days");
+        }
+
+        ReportRange range = new ReportRange(from, to);
+        boolean cacheable = to.isBefore(LocalDate.now(clock));
+        if (cacheable) {
+            synchronized (cache) {
+                OrderReportResponse cached = cache.get(range);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+        }
+
+        long startGeneration = generation.get();
+        RevenueAggregate aggregate = days <= sqlMaxDays
+            ? aggregateInDatabase(from, to.plusDays(1))
+            : aggregateStreaming(from, to.plusDays(1));
+        OrderReportResponse report = aggregate.toResponse(from, to);
+
+        if (cacheable) {
+            synchronized (cache) {
+                if (generation.get() == startGeneration) {
+                    cache.put(range, report);
+                }
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Drops cached reports once a status change has committed.
+     */
+    @TransactionalEventListener
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        synchronized (cache) {
+            generation.incrementAndGet();
+            cache.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private RevenueAggregate aggregateInDatabase(LocalDate from, LocalDate until) {
+        RevenueAggregate aggregate = new RevenueAggregate();
+        reportRepository.aggregate(from, until, aggregate);
+        return aggregate;
+    }
+
+    private RevenueAggregate aggregateStreaming(LocalDate from, LocalDate until) {
+        ChunkedAggregation aggregation = new ChunkedAggregation();
+        try {
+            reportRepository.forEachOrder(from, until, aggregation::add);
+            return aggregation.finish();
+        } catch (RuntimeException | Error e) {
+            aggregation.cancel();
+            throw e;
+        }
+    }
+
+    private static RevenueAggregate aggregateChunk(List<RevenueRow> rows) {
+        RevenueAggregate aggregate = new RevenueAggregate();
+        rows.forEach(aggregate::add);
+        return aggregate;
+    }
+
+    /**
+     * Aggregates streamed rows in chunks on the worker pool. Before
+     * submitting a chunk the reading thread merges every finished one,
+     * and waits for the oldest while {@link #maxChunksInFlight} are still
+     * queued or running.
+     */
+    private final class ChunkedAggregation {
+        private final Deque<Future<RevenueAggregate>> inFlight = new ArrayDeque<>();
+        private final RevenueAggregate result = new RevenueAggregate();
+        private List<RevenueRow> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        void add(RevenueRow row) {
+            chunk.add(row);
+            if (chunk.size() < CHUNK_SIZE) {
+                return;
+            }
+            List<RevenueRow> rows = chunk;
+            chunk = new ArrayList<>(CHUNK_SIZE);
+            while (!inFlight.isEmpty() && (inFlight.peekFirst().isDone() || inFlight.size() >= maxChunksInFlight)) {
+                mergeOldest();
+            }
+            inFlight.addLast(workers.submit(() -> aggregateChunk(rows)));
+        }
+
+        RevenueAggregate finish() {
+            result.merge(aggregateChunk(chunk));
+            while (!inFlight.isEmpty()) {
+                mergeOldest();
+            }
+            return result;
+        }
+
+        void cancel() {
+            inFlight.forEach(partial -> partial.cancel(true));
+        }
+
+        private void mergeOldest() {
+            try {
+                result.merge(inFlight.removeFirst().get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while building order report", e);
+            } catch (ExecutionException e) {
+                throw new CompletionException(e.getCause());
+            }
+        }
+    }
+
+    private record ReportRange(LocalDate from, LocalDate to) {}
+}
@@ -0,0 +1,15 @@
+package com.edf.bootcamp.orders.services;
+
+import com.edf.bootcamp.orders.model.OrderStatus;
+
+/**
+ * Published by {@link OrderStatusService} whenever an order changes status.
+ * Listeners that maintain derived data should use
+ * {@code @TransactionalEventListener} so they only react to committed changes.
+ *
+ * @param orderId the order ID
+ * @param from    the previous status
+ * @param to      the new status
+ */
+public record OrderStatusChangedEvent(Long orderId, OrderStatus from, OrderStatus to) {
+}
@@ -3,7 +3,9 @@ package com.edf.bootcamp.orders.services;
 import com.edf.bootcamp.orders.exceptions.InvalidStatusTransitionException;
 import com.edf.bootcamp.orders.model.Order;
 import com.edf.bootcamp.orders.model.OrderStatus;
+import com.edf.bootcamp.orders.repository.OrderOutboxRepository;
 import com.edf.bootcamp.orders.repository.OrderRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,11 +23,23 @@ import java.util.Set;
  * DELIVERED → (terminal)
  * CANCELLED → (terminal)
  * </pre>
+ *
+ * <p>Every successful transition publishes an {@link OrderStatusChangedEvent}
+ * and is recorded in the order outbox in the same transaction, for the
+ * change feed served by {@link OrderChangeFeedService}.
+ *
+ * <p>A status update's transaction times out after
+ * {@code orders.status.write-timeout-seconds}. The timeout is passed to
+ * every query as a statement timeout, so an update stuck on a row lock
+ * or a slow database is cancelled and rolled back instead of holding its
+ * connection. Callers run updates through {@link StatusWriteBulkhead}.
  */
 @Service
 public class OrderStatusService {
 
     private final OrderRepository orderRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderOutboxRepository outboxRepository;
 
     /**
      * Valid status transitions matrix.
@@ -39,8 +53,13 @@ public class OrderStatusService {
         OrderStatus.CANCELLED, Set.of()   // Terminal state
     );
 
-    public OrderStatusService(OrderRepository orderRepository) {
+    public OrderStatusService(
+            OrderRepository orderRepository,
+            ApplicationEventPublisher eventPublisher,
+            OrderOutboxRepository outboxRepository) {
         this.orderRepository = orderRepository;
+        this.eventPublisher = eventPublisher;
+        this.outboxRepository = outboxRepository;
     }
 
     /**
@@ -52,8 +71,9 @@ public class OrderStatusService {
      * @return The updated order
      * @throws jakarta.persistence.EntityNotFoundException if order not found
      * @throws InvalidStatusTransitionException if transition not allowed
+     * @throws org.springframework.transaction.TransactionTimedOutException if the update runs out of time
      */
-    @Transactional
+    @Transactional(timeoutString = "${orders.status.write-timeout-seconds:5}")
     public Order updateStatus(Long orderId, OrderStatus newStatus, String reason) {
         Order order = orderRepository.findById(orderId)
             .orElseThrow(() -> new jakarta.persistence.EntityNotFoundException(
@@ -72,7 +92,10 @@ public class OrderStatusService {
             order.setCancellationReason(reason);
         }
 
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        outboxRepository.append(orderId, currentStatus, newStatus);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(orderId, currentStatus, newStatus));
+        return saved;
     }
 
     /**
@@ -0,0 +1,61 @@
+package com.edf.bootcamp.orders.services;
+
+import com.edf.bootcamp.orders.dto.OrderReportResponse;
+import com.edf.bootcamp.orders.model.OrderStatus;
+import com.edf.bootcamp.orders.repository.OrderReportRepository.RevenueRow;
+import com.edf.bootcamp.orders.repository.OrderReportRepository.RevenueSink;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mutable revenue totals. Not thread-safe: each worker fills its own
+ * instance and the results are merged at the end.
+ */
+final class RevenueAggregate implements RevenueSink {
+
+    private final Map<OrderStatus, BigDecimal> byStatus = new EnumMap<>(OrderStatus.class);
+    private final Map<Long, BigDecimal> byCustomer = new HashMap<>();
+    private final Map<LocalDate, BigDecimal> byDay = new TreeMap<>();
+
+    void add(RevenueRow row) {
+        byStatus(row.status(), row.total());
+        if (row.status() != OrderStatus.CANCELLED) {
+            byCustomer(row.customerId(), row.total());
+            byDay(row.day(), row.total());
+        }
+    }
+
+    void merge(RevenueAggregate other) {
+        other.byStatus.forEach(this::byStatus);
+        other.byCustomer.forEach(this::byCustomer);
+        other.byDay.forEach(this::byDay);
+    }
+
+    @Override
+    public void byStatus(OrderStatus status, BigDecimal revenue) {
+        byStatus.merge(status, revenue, BigDecimal::add);
+    }
+
+    @Override
+    public void byCustomer(long customerId, BigDecimal revenue) {
+        byCustomer.merge(customerId, revenue, BigDecimal::add);
+    }
+
+    @Override
+    public void byDay(LocalDate day, BigDecimal revenue) {
+        byDay.merge(day, revenue, BigDecimal::add);
+    }
+
+    OrderReportResponse toResponse(LocalDate from, LocalDate to) {
+        return new OrderReportResponse(from, to,
+            Collections.unmodifiableMap(new EnumMap<>(byStatus)),
+            Map.copyOf(byCustomer),
+            Collections.unmodifiableMap(new TreeMap<>(byDay)));
+    }
+}
@@ -0,0 +1,58 @@
+package com.edf.bootcamp.orders.services;
+
+import com.edf.bootcamp.orders.exceptions.StatusWritesBusyException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caps how many status updates run against the database at once.
+ *
+ * <p>Each update holds a pooled connection and row locks for the whole
+ * transaction. Without a cap, a burst of updates, or a slow database,
+ * can take every connection and stall reads and the outbox poller too.
+ * An update waits at most {@code orders.status.bulkhead.max-wait} for a
+ * permit and is then rejected with {@link StatusWritesBusyException},
+ * which the controller answers with 503.</p>
+ *
+ * <p>Permits are taken outside the transaction, so a waiting update
+ * holds no connection.</p>
+ */
+@Component
+public class StatusWriteBulkhead {
+
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+
+    public StatusWriteBulkhead(
+            @Value("${orders.status.bulkhead.max-concurrent:8}") int maxConcurrent,
+            @Value("${orders.status.bulkhead.max-wait:PT0.1S}") Duration maxWait) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    /**
+     * Runs a status update once a permit is free.
+     *
+     * @throws StatusWritesBusyException if no permit frees up in time
+     */
+    public <T> T call(Supplier<T> update) {
+        try {
+            if (!permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                throw new StatusWritesBusyException();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StatusWritesBusyException();
+        }
+        try {
+            return update.get();
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.edf.bootcamp.orders.controllers;
 
 import com.edf.bootcamp.orders.exceptions.InvalidStatusTransitionException;
+import com.edf.bootcamp.orders.model.IdempotentResponse;
 import com.edf.bootcamp.orders.model.Order;
 import com.edf.bootcamp.orders.model.OrderStatus;
+import com.edf.bootcamp.orders.services.IdempotencyStore;
 import com.edf.bootcamp.orders.services.OrderStatusService;
+import com.edf.bootcamp.orders.services.StatusWriteBulkhead;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.DisplayName;
@@ -12,10 +15,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.time.Instant;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -26,6 +35,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Uses @WebMvcTest for lightweight controller testing with mocked service layer.
  */
 @WebMvcTest(OrderStatusController.class)
+@Import(StatusWriteBulkhead.class)
 @DisplayName("OrderStatusController")
 class OrderStatusControllerTest {
 
@@ -38,6 +48,9 @@ class OrderStatusControllerTest {
     @MockBean
     private OrderStatusService orderStatusService;
 
+    @MockBean
+    private IdempotencyStore idempotencyStore;
+
     @Nested
     @DisplayName("PUT /api/orders/{id}/status")
     class UpdateStatus {
@@ -175,5 +188,142 @@ class OrderStatusControllerTest {
                 .andExpect(jsonPath("$.status").value("CANCELLED"))
                 .andExpect(jsonPath("$.cancellationReason").value("Customer request"));
         }
+
+        @Test
+        @DisplayName("should return 503 with Retry-After when the update times out")
+        void should_Return503_When_UpdateTimesOut() throws Exception {
+            // Arrange
+            when(orderStatusService.updateStatus(eq(1L), eq(OrderStatus.CONFIRMED), isNull()))
+                .thenThrow(new TransactionTimedOutException("Transaction timed out"));
+
+            String requestBody = """
+                {
+                    "newStatus": "CONFIRMED"
+                }
+                """;
+
+            // Act & Assert
+            mockMvc.perform(put("/api/orders/1/status")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(requestBody))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.title").value("Service Unavailable"));
+        }
+    }
+
+    @Nested
+    @DisplayName("PUT /api/orders/{id}/status with Idempotency-Key")
+    class IdempotentUpdateStatus {
+
+        private static final String CONFIRM_BODY = """
+            {
+                "newStatus": "CONFIRMED"
+            }
+            """;
+
+        @Test
+        @DisplayName("should store the response on first use of a key")
+        void should_SaveResponse_When_KeyIsNew() throws Exception {
+            // Arrange
+            Order updatedOrder = new Order();
+            updatedOrder.setId(1L);
+            updatedOrder.setStatus(OrderStatus.CONFIRMED);
+
+            IdempotencyStore.Claim claim = new IdempotencyStore.Claim("key-1", "1:CONFIRMED:null", "token", null);
+            when(idempotencyStore.claim("key-1", "1:CONFIRMED:null")).thenReturn(claim);
+            when(orderStatusService.updateStatus(eq(1L), eq(OrderStatus.CONFIRMED), isNull()))
+                .thenReturn(updatedOrder);
+
+            // Act & Assert
+            mockMvc.perform(put("/api/orders/1/status")
+                    .header("Idempotency-Key", "key-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(CONFIRM_BODY))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CONFIRMED"));
+
+            verify(idempotencyStore).complete(claim, 200, updatedOrder);
+        }
+
+        @Test
+        @DisplayName("should replay stored response without updating the order again")
+        void should_ReplayStoredResponse_When_KeyIsRepeated() throws Exception {
+            // Arrange
+            when(idempotencyStore.claim("key-1", "1:CONFIRMED:null")).thenReturn(new IdempotencyStore.Claim(
+                "key-1", "1:CONFIRMED:null", null, new IdempotentResponse(
+                    "key-1", "1:CONFIRMED:null", 200,
+                    "{\"id\":1,\"status\":\"CONFIRMED\"}", Instant.now().plusSeconds(60))));
+
+            // Act & Assert
+            mockMvc.perform(put("/api/orders/1/status")
+                    .header("Idempotency-Key", "key-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(CONFIRM_BODY))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.status").value("CONFIRMED"));
+
+            verify(orderStatusService, never()).updateStatus(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("should return 422 when a key is reused for a different request")
+        void should_Return422_When_KeyReusedWithDifferentPayload() throws Exception {
+            // Arrange
+            when(idempotencyStore.claim("key-1", "1:CONFIRMED:null")).thenReturn(new IdempotencyStore.Claim(
+                "key-1", "1:CONFIRMED:null", null, new IdempotentResponse(
+                    "key-1", "2:CONFIRMED:null", 200, "{}", Instant.now().plusSeconds(60))));
+
+            // Act & Assert
+            mockMvc.perform(put("/api/orders/1/status")
+                    .header("Idempotency-Key", "key-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(CONFIRM_BODY))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.title").value("Idempotency Key Reused"));
+
+            verify(orderStatusService, never()).updateStatus(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("should return 409 while another request with the key is still running")
+        void should_Return409_When_KeyStillInProgress() throws Exception {
+            // Arrange
+            when(idempotencyStore.claim("key-1", "1:CONFIRMED:null")).thenReturn(new IdempotencyStore.Claim(
+                "key-1", "1:CONFIRMED:null", null, new IdempotentResponse(
+                    "key-1", "1:CONFIRMED:null", 0, null, Instant.now().plusSeconds(30))));
+
+            // Act & Assert
+            mockMvc.perform(put("/api/orders/1/status")
+                    .header("Idempotency-Key", "key-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(CONFIRM_BODY))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.title").value("Idempotency Key In Use"));
+
+            verify(orderStatusService, never()).updateStatus(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("should release the key when the transition fails")
+        void should_ReleaseClaim_When_TransitionFails() throws Exception {
+            // Arrange
+            IdempotencyStore.Claim claim = new IdempotencyStore.Claim("key-1", "1:CONFIRMED:null", "token", null);
+            when(idempotencyStore.claim("key-1", "1:CONFIRMED:null")).thenReturn(claim);
+            when(orderStatusService.updateStatus(eq(1L), eq(OrderStatus.CONFIRMED), isNull()))
+                .thenThrow(new InvalidStatusTransitionException(1L, OrderStatus.DELIVERED, OrderStatus.CONFIRMED));
+
+            // Act & Assert
+            mockMvc.perform(put("/api/orders/1/status")
+                    .header("Idempotency-Key", "key-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(CONFIRM_BODY))
+                .andExpect(status().isBadRequest());
+
+            verify(idempotencyStore).release(claim);
+            verify(idempotencyStore, never()).complete(any(), anyInt(), any());
+        }
     }
 }
@@ -0,0 +1,32 @@
+package com.edf.bootcamp.orders.exceptions;
+
+import com.edf.bootcamp.orders.model.OrderStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for InvalidStatusTransitionException.
+ */
+@DisplayName("InvalidStatusTransitionException")
+class InvalidStatusTransitionExceptionTest {
+
+    @Test
+    @DisplayName("should format the same message as before lazily")
+    void should_FormatMessage_When_MessageIsRead() {
+        InvalidStatusTransitionException ex =
+            new InvalidStatusTransitionException(1L, OrderStatus.PENDING, OrderStatus.DELIVERED);
+
+        assertThat(ex.getMessage()).isEqualTo("Cannot transition order 1 from PENDING to DELIVERED");
+    }
+
+    @Test
+    @DisplayName("should not capture a stack trace by default")
+    void should_HaveEmptyStackTrace_When_Created() {
+        InvalidStatusTransitionException ex =
+            new InvalidStatusTransitionException(1L, OrderStatus.SHIPPED, OrderStatus.PENDING);
+
+        assertThat(ex.getStackTrace()).isEmpty();
+    }
+}
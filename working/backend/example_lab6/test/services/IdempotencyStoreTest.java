@@ -0,0 +1,223 @@
+package com.edf.bootcamp.orders.services;
+
+import com.edf.bootcamp.orders.model.IdempotentResponse;
+import com.edf.bootcamp.orders.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for IdempotencyStore.
+ *
+ * Tests the in-memory tier, persistent fallback, expiry rules and key claims.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyStore")
+class IdempotencyStoreTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-20T10:30:00Z");
+
+    @Mock
+    private IdempotencyKeyRepository repository;
+
+    @Mock
+    private Clock clock;
+
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(clock.instant()).thenReturn(NOW);
+        lenient().when(repository.tryClaim(anyString(), anyString(), any(), anyString(), any())).thenReturn(true);
+        lenient().when(repository.complete(anyString(), anyString(), anyInt(), anyString(), any())).thenReturn(true);
+        store = new IdempotencyStore(repository, new ObjectMapper(), 2, Duration.ofHours(1),
+            Duration.ofSeconds(30), Duration.ofMillis(200), clock);
+    }
+
+    private void save(String key, String fingerprint, Object body) {
+        store.complete(store.claim(key, fingerprint), 200, body);
+    }
+
+    @Nested
+    @DisplayName("find")
+    class Find {
+
+        @Test
+        @DisplayName("should replay a saved response without hitting the database")
+        void should_ReturnFromMemory_When_KeyWasSaved() {
+            // Arrange
+            save("key-1", "1:CONFIRMED:null", Map.of("id", 1));
+
+            // Act
+            Optional<IdempotentResponse> result = store.find("key-1");
+
+            // Assert
+            assertThat(result).isPresent();
+            assertThat(result.get().body()).isEqualTo("{\"id\":1}");
+            verify(repository, never()).findByKey(any());
+        }
+
+        @Test
+        @DisplayName("should fall back to the persistent store on a memory miss")
+        void should_ReturnFromRepository_When_NotInMemory() {
+            // Arrange
+            IdempotentResponse persisted = new IdempotentResponse(
+                "key-2", "1:SHIPPED:null", 200, "{}", NOW.plusSeconds(60));
+            when(repository.findByKey("key-2")).thenReturn(Optional.of(persisted));
+
+            // Act
+            store.find("key-2");
+            Optional<IdempotentResponse> second = store.find("key-2");
+
+            // Assert
+            assertThat(second).contains(persisted);
+            verify(repository, times(1)).findByKey("key-2");
+        }
+
+        @Test
+        @DisplayName("should ignore entries past their TTL")
+        void should_ReturnEmpty_When_EntryExpired() {
+            // Arrange
+            save("key-1", "1:CONFIRMED:null", Map.of("id", 1));
+            when(clock.instant()).thenReturn(NOW.plus(Duration.ofHours(2)));
+
+            // Act & Assert
+            assertThat(store.find("key-1")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should evict the least recently used key beyond capacity")
+        void should_EvictOldest_When_CapacityExceeded() {
+            // Arrange
+            save("key-1", "f1", Map.of());
+            save("key-2", "f2", Map.of());
+            save("key-3", "f3", Map.of());
+
+            // Act
+            store.find("key-1");
+
+            // Assert
+            verify(repository).findByKey("key-1");
+        }
+    }
+
+    @Nested
+    @DisplayName("claim")
+    class ClaimKey {
+
+        private static final String FINGERPRINT = "1:CONFIRMED:null";
+
+        @Test
+        @DisplayName("should acquire an unknown key")
+        void should_Acquire_When_KeyIsNew() {
+            IdempotencyStore.Claim claim = store.claim("key-1", FINGERPRINT);
+
+            assertThat(claim.acquired()).isTrue();
+            verify(repository).tryClaim(eq("key-1"), eq(FINGERPRINT), eq(NOW.plusSeconds(30)), anyString(), eq(NOW));
+        }
+
+        @Test
+        @DisplayName("should wait for a concurrent request with the same key and replay its response")
+        void should_ReplayWinner_When_KeyHeldByConcurrentRequest() {
+            // Arrange
+            when(repository.tryClaim(anyString(), anyString(), any(), anyString(), any())).thenReturn(false);
+            IdempotentResponse pending = new IdempotentResponse("key-1", FINGERPRINT, 0, null, NOW.plusSeconds(30));
+            IdempotentResponse done = new IdempotentResponse("key-1", FINGERPRINT, 200, "{\"id\":1}", NOW.plusSeconds(60));
+            when(repository.findByKey("key-1")).thenReturn(Optional.of(pending), Optional.of(done));
+
+            // Act
+            IdempotencyStore.Claim claim = store.claim("key-1", FINGERPRINT);
+
+            // Assert
+            assertThat(claim.acquired()).isFalse();
+            assertThat(claim.existing()).isEqualTo(done);
+        }
+
+        @Test
+        @DisplayName("should report the key as pending when the holder does not finish in time")
+        void should_ReturnPending_When_HolderTooSlow() {
+            // Arrange
+            when(repository.tryClaim(anyString(), anyString(), any(), anyString(), any())).thenReturn(false);
+            IdempotentResponse pending = new IdempotentResponse("key-1", FINGERPRINT, 0, null, NOW.plusSeconds(30));
+            when(repository.findByKey("key-1")).thenReturn(Optional.of(pending));
+
+            // Act
+            IdempotencyStore.Claim claim = store.claim("key-1", FINGERPRINT);
+
+            // Assert
+            assertThat(claim.acquired()).isFalse();
+            assertThat(claim.existing().isPending()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should not wait when the key is held for a different request")
+        void should_ReturnAtOnce_When_FingerprintDiffers() {
+            // Arrange
+            when(repository.tryClaim(anyString(), anyString(), any(), anyString(), any())).thenReturn(false);
+            IdempotentResponse other = new IdempotentResponse("key-1", "2:SHIPPED:null", 0, null, NOW.plusSeconds(30));
+            when(repository.findByKey("key-1")).thenReturn(Optional.of(other));
+
+            // Act
+            IdempotencyStore.Claim claim = store.claim("key-1", FINGERPRINT);
+
+            // Assert
+            assertThat(claim.existing()).isEqualTo(other);
+            verify(repository, times(1)).findByKey("key-1");
+        }
+
+        @Test
+        @DisplayName("should cache the stored response, not its own, after losing an expired claim")
+        void should_CacheStoredWinner_When_CompleteLoses() {
+            // Arrange
+            IdempotencyStore.Claim claim = store.claim("key-1", FINGERPRINT);
+            when(repository.complete(anyString(), anyString(), anyInt(), anyString(), any())).thenReturn(false);
+            IdempotentResponse winner = new IdempotentResponse("key-1", FINGERPRINT, 200, "{\"id\":1,\"v\":2}", NOW.plusSeconds(60));
+            when(repository.findByKey("key-1")).thenReturn(Optional.of(winner));
+
+            // Act
+            Optional<IdempotentResponse> stored = store.complete(claim, 200, Map.of("id", 1));
+
+            // Assert
+            assertThat(stored).contains(winner);
+            assertThat(store.find("key-1")).contains(winner);
+            verify(repository, times(1)).findByKey("key-1");
+        }
+
+        @Test
+        @DisplayName("should release a claim so a retry can run")
+        void should_DeleteClaim_When_Released() {
+            IdempotencyStore.Claim claim = store.claim("key-1", FINGERPRINT);
+
+            store.release(claim);
+
+            verify(repository).release("key-1", claim.token());
+        }
+    }
+
+    @Nested
+    @DisplayName("purgeExpired")
+    class PurgeExpired {
+
+        @Test
+        @DisplayName("should delete persistent rows expired before now")
+        void should_DeleteExpiredRows() {
+            store.purgeExpired();
+
+            verify(repository).deleteExpiredBefore(NOW);
+        }
+    }
+}
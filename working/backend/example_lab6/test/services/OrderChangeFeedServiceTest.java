@@ -0,0 +1,172 @@
+package com.edf.bootcamp.orders.services;
+
+import com.edf.bootcamp.orders.dto.OrderChangeFeedResponse;
+import com.edf.bootcamp.orders.dto.OrderChangeFeedResponse.OrderChange;
+import com.edf.bootcamp.orders.model.OrderStatus;
+import com.edf.bootcamp.orders.repository.OrderOutboxRepository;
+import com.edf.bootcamp.orders.repository.OrderOutboxRepository.OutboxRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OrderChangeFeedService.
+ *
+ * Tests paging, gap handling and long-poll completion.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderChangeFeedService")
+class OrderChangeFeedServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T12:00:00Z");
+    private static final long GAP_TIMEOUT_MS = 30_000;
+
+    @Mock
+    private OrderOutboxRepository outboxRepository;
+
+    private OrderChangeFeedService feedService;
+
+    @BeforeEach
+    void setUp() {
+        feedService = new OrderChangeFeedService(outboxRepository, 500, GAP_TIMEOUT_MS, Duration.ofDays(7));
+    }
+
+    private static OutboxRow row(long seq, long ageMillis) {
+        return new OutboxRow(seq, 100 + seq, OrderStatus.PENDING, OrderStatus.CONFIRMED, NOW, ageMillis);
+    }
+
+    private static OrderChangeFeedResponse resultOf(DeferredResult<OrderChangeFeedResponse> result) {
+        return (OrderChangeFeedResponse) result.getResult();
+    }
+
+    @Nested
+    @DisplayName("changesSince")
+    class ChangesSince {
+
+        @Test
+        @DisplayName("should return changes in sequence order with the last sequence as next cursor")
+        void should_ReturnChanges_When_RowsAreContiguous() {
+            // Arrange
+            when(outboxRepository.findAfter(4L, 100)).thenReturn(List.of(row(5, 10), row(6, 10)));
+
+            // Act
+            OrderChangeFeedResponse response = resultOf(feedService.changesSince(4L, 100, Duration.ZERO));
+
+            // Assert
+            assertThat(response.changes()).extracting(OrderChange::seq).containsExactly(5L, 6L);
+            assertThat(response.changes().get(0).orderId()).isEqualTo(105L);
+            assertThat(response.next()).isEqualTo(6L);
+        }
+
+        @Test
+        @DisplayName("should stop before a gap that an open transaction may still fill")
+        void should_StopBeforeGap_When_NextRowIsRecent() {
+            // Arrange
+            when(outboxRepository.findAfter(4L, 100)).thenReturn(List.of(row(5, 10), row(7, 10)));
+
+            // Act
+            OrderChangeFeedResponse response = resultOf(feedService.changesSince(4L, 100, Duration.ZERO));
+
+            // Assert
+            assertThat(response.changes()).extracting(OrderChange::seq).containsExactly(5L);
+            assertThat(response.next()).isEqualTo(5L);
+        }
+
+        @Test
+        @DisplayName("should skip a gap once the row after it is older than the gap timeout")
+        void should_SkipGap_When_NextRowIsOld() {
+            // Arrange
+            when(outboxRepository.findAfter(4L, 100)).thenReturn(List.of(row(5, 60_000), row(7, 60_000)));
+
+            // Act
+            OrderChangeFeedResponse response = resultOf(feedService.changesSince(4L, 100, Duration.ZERO));
+
+            // Assert
+            assertThat(response.changes()).extracting(OrderChange::seq).containsExactly(5L, 7L);
+        }
+
+        @Test
+        @DisplayName("should cap the page size at the configured maximum batch")
+        void should_CapLimit_When_LimitExceedsMaxBatch() {
+            // Arrange
+            when(outboxRepository.findAfter(0L, 500)).thenReturn(List.of());
+
+            // Act
+            feedService.changesSince(0L, 10_000, Duration.ZERO);
+
+            // Assert
+            verify(outboxRepository).findAfter(0L, 500);
+        }
+
+        @Test
+        @DisplayName("should reject a negative cursor")
+        void should_Throw_When_SinceIsNegative() {
+            assertThatThrownBy(() -> feedService.changesSince(-1L, 100, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("long polling")
+    class LongPolling {
+
+        @Test
+        @DisplayName("should park the request and complete it when a change arrives")
+        void should_CompleteParkedRequest_When_ChangeArrives() {
+            // Arrange
+            when(outboxRepository.findAfter(eq(6L), anyInt())).thenReturn(List.of(), List.of(row(7, 10)));
+            DeferredResult<OrderChangeFeedResponse> result = feedService.changesSince(6L, 100, Duration.ofSeconds(20));
+            assertThat(result.hasResult()).isFalse();
+
+            // Act
+            feedService.completeWaiters();
+
+            // Assert
+            assertThat(resultOf(result).changes()).extracting(OrderChange::seq).containsExactly(7L);
+        }
+
+        @Test
+        @DisplayName("should read once for all parked requests from the lowest cursor")
+        void should_QueryOnce_When_SeveralRequestsAreParked() {
+            // Arrange
+            when(outboxRepository.findAfter(anyLong(), anyInt())).thenReturn(List.of());
+            DeferredResult<OrderChangeFeedResponse> behind = feedService.changesSince(3L, 100, Duration.ofSeconds(20));
+            DeferredResult<OrderChangeFeedResponse> ahead = feedService.changesSince(5L, 100, Duration.ofSeconds(20));
+            when(outboxRepository.findAfter(3L, 500)).thenReturn(List.of(row(4, 10), row(5, 10)));
+
+            // Act
+            feedService.completeWaiters();
+
+            // Assert
+            verify(outboxRepository).findAfter(3L, 500);
+            assertThat(resultOf(behind).changes()).extracting(OrderChange::seq).containsExactly(4L, 5L);
+            assertThat(ahead.hasResult()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should not query when no request is parked")
+        void should_NotQuery_When_NoRequestIsParked() {
+            // Act
+            feedService.completeWaiters();
+
+            // Assert
+            verifyNoInteractions(outboxRepository);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.edf.bootcamp.orders.services;
+
+import com.edf.bootcamp.orders.dto.OrderReportResponse;
+import com.edf.bootcamp.orders.model.OrderStatus;
+import com.edf.bootcamp.orders.repository.OrderReportRepository;
+import com.edf.bootcamp.orders.repository.OrderReportRepository.RevenueRow;
+import com.edf.bootcamp.orders.repository.OrderReportRepository.RevenueSink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OrderReportService.
+ *
+ * Tests the SQL and streaming aggregation paths and cache invalidation.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderReportService")
+class OrderReportServiceTest {
+
+    private static final LocalDate JAN_1 = LocalDate.of(2026, 1, 1);
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 1);
+
+    @Mock
+    private OrderReportRepository reportRepository;
+
+    private OrderReportService service;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(TODAY.atTime(23, 30).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        service = new OrderReportService(reportRepository, 31, 1100, 3, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Nested
+    @DisplayName("report")
+    class Report {
+
+        @Test
+        @DisplayName("should aggregate in SQL when the range is short")
+        void should_AggregateInDatabase_When_RangeIsShort() {
+            // Arrange
+            doAnswer(invocation -> {
+                RevenueSink sink = invocation.getArgument(2);
+                sink.byStatus(OrderStatus.PENDING, new BigDecimal("10.00"));
+                sink.byCustomer(7L, new BigDecimal("10.00"));
+                sink.byDay(JAN_1, new BigDecimal("10.00"));
+                return null;
+            }).when(reportRepository).aggregate(eq(JAN_1), eq(JAN_1.plusDays(31)), any());
+
+            // Act
+            OrderReportResponse report = service.report(JAN_1, JAN_1.plusDays(30));
+
+            // Assert
+            assertThat(report.revenueByStatus()).containsEntry(OrderStatus.PENDING, new BigDecimal("10.00"));
+            assertThat(report.revenueByCustomer()).containsEntry(7L, new BigDecimal("10.00"));
+            verify(reportRepository, never()).forEachOrder(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("should stream and aggregate in chunks when the range is long")
+        void should_AggregateStreaming_When_RangeIsLong() {
+            // Arrange
+            int rows = OrderReportService.CHUNK_SIZE * 5 + 123;
+            doAnswer(invocation -> {
+                Consumer<RevenueRow> consumer = invocation.getArgument(2);
+                for (int i = 0; i < rows; i++) {
+                    OrderStatus status = i % 10 == 0 ? OrderStatus.CANCELLED : OrderStatus.DELIVERED;
+                    consumer.accept(new RevenueRow(status, i % 3, JAN_1.plusDays(i % 90), BigDecimal.ONE));
+                }
+                return null;
+            }).when(reportRepository).forEachOrder(eq(JAN_1), eq(JAN_1.plusDays(90)), any());
+
+            // Act
+            OrderReportResponse report = service.report(JAN_1, JAN_1.plusDays(89));
+
+            // Assert
+            long cancelled = (rows + 9) / 10;
+            assertThat(report.revenueByStatus())
+                .containsEntry(OrderStatus.CANCELLED, BigDecimal.valueOf(cancelled))
+                .containsEntry(OrderStatus.DELIVERED, BigDecimal.valueOf(rows - cancelled));
+            assertThat(report.revenueByCustomer().values().stream().reduce(BigDecimal.ZERO, BigDecimal::add))
+                .isEqualTo(BigDecimal.valueOf(rows - cancelled));
+            assertThat(report.revenueByDay()).hasSize(90);
+            assertThat(report.revenueByDay().keySet()).first().isEqualTo(JAN_1);
+        }
+
+        @Test
+        @DisplayName("should reject a range whose start is after its end")
+        void should_Reject_When_FromIsAfterTo() {
+            // Act & Assert
+            assertThatThrownBy(() -> service.report(JAN_1.plusDays(1), JAN_1))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("should reject a range longer than the configured maximum")
+        void should_Reject_When_RangeIsTooLong() {
+            // Act & Assert
+            assertThatThrownBy(() -> service.report(JAN_1, JAN_1.plusDays(1100)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("1100");
+        }
+    }
+
+    @Nested
+    @DisplayName("caching")
+    class Caching {
+
+        @Test
+        @DisplayName("should serve a repeated range from the cache")
+        void should_ReturnCachedReport_When_RangeRepeats() {
+            // Act
+            OrderReportResponse first = service.report(JAN_1, JAN_1.plusDays(6));
+            OrderReportResponse second = service.report(JAN_1, JAN_1.plusDays(6));
+
+            // Assert
+            assertThat(second).isSameAs(first);
+            verify(reportRepository, times(1)).aggregate(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("should recompute a range that reaches today")
+        void should_NotCache_When_RangeReachesToday() {
+            // Act
+            service.report(TODAY.minusDays(6), TODAY);
+            service.report(TODAY.minusDays(6), TODAY);
+            service.report(TODAY, TODAY.plusDays(3));
+            service.report(TODAY, TODAY.plusDays(3));
+
+            // Assert
+            verify(reportRepository, times(4)).aggregate(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("should recompute after an order status change")
+        void should_Recompute_When_StatusChanged() {
+            // Arrange
+            service.report(JAN_1, JAN_1.plusDays(6));
+
+            // Act
+            service.onStatusChanged(new OrderStatusChangedEvent(1L, OrderStatus.PENDING, OrderStatus.CANCELLED));
+            service.report(JAN_1, JAN_1.plusDays(6));
+
+            // Assert
+            verify(reportRepository, times(2)).aggregate(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("should not cache a report computed while a status change happened")
+        void should_NotCache_When_StatusChangedDuringComputation() {
+            // Arrange
+            doAnswer(invocation -> {
+                service.onStatusChanged(new OrderStatusChangedEvent(1L, OrderStatus.PENDING, OrderStatus.CONFIRMED));
+                return null;
+            }).doNothing().when(reportRepository).aggregate(any(), any(), any());
+
+            // Act
+            service.report(JAN_1, JAN_1.plusDays(6));
+            service.report(JAN_1, JAN_1.plusDays(6));
+
+            // Assert
+            verify(reportRepository, times(2)).aggregate(any(), any(), any());
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.edf.bootcamp.orders.services;
 import com.edf.bootcamp.orders.exceptions.InvalidStatusTransitionException;
 import com.edf.bootcamp.orders.model.Order;
 import com.edf.bootcamp.orders.model.OrderStatus;
+import com.edf.bootcamp.orders.repository.OrderOutboxRepository;
 import com.edf.bootcamp.orders.repository.OrderRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 import java.util.Set;
@@ -34,6 +36,12 @@ class OrderStatusServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OrderOutboxRepository outboxRepository;
+
     @InjectMocks
     private OrderStatusService orderStatusService;
 
@@ -140,6 +148,55 @@ class OrderStatusServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("status change events")
+    class StatusChangeEvents {
+
+        @Test
+        @DisplayName("should publish an event with the previous and new status")
+        void should_PublishEvent_When_TransitionSucceeds() {
+            // Arrange
+            when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+            when(orderRepository.save(any(Order.class))).thenAnswer(i -> i.getArgument(0));
+
+            // Act
+            orderStatusService.updateStatus(1L, OrderStatus.CONFIRMED, null);
+
+            // Assert
+            verify(eventPublisher).publishEvent(
+                new OrderStatusChangedEvent(1L, OrderStatus.PENDING, OrderStatus.CONFIRMED));
+        }
+
+        @Test
+        @DisplayName("should not publish an event when the transition is rejected")
+        void should_NotPublishEvent_When_TransitionIsInvalid() {
+            // Arrange
+            when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+
+            // Act
+            assertThatThrownBy(() -> orderStatusService.updateStatus(1L, OrderStatus.DELIVERED, null))
+                .isInstanceOf(InvalidStatusTransitionException.class);
+
+            // Assert
+            verifyNoInteractions(eventPublisher);
+            verifyNoInteractions(outboxRepository);
+        }
+
+        @Test
+        @DisplayName("should record the change in the outbox")
+        void should_AppendOutboxRow_When_TransitionSucceeds() {
+            // Arrange
+            when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+            when(orderRepository.save(any(Order.class))).thenAnswer(i -> i.getArgument(0));
+
+            // Act
+            orderStatusService.updateStatus(1L, OrderStatus.CONFIRMED, null);
+
+            // Assert
+            verify(outboxRepository).append(1L, OrderStatus.PENDING, OrderStatus.CONFIRMED);
+        }
+    }
+
     @Nested
     @DisplayName("isValidTransition")
     class IsValidTransition {
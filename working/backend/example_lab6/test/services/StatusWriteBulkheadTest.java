@@ -0,0 +1,80 @@
+package com.edf.bootcamp.orders.services;
+
+import com.edf.bootcamp.orders.exceptions.StatusWritesBusyException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for StatusWriteBulkhead.
+ */
+@DisplayName("StatusWriteBulkhead")
+class StatusWriteBulkheadTest {
+
+    private final StatusWriteBulkhead bulkhead = new StatusWriteBulkhead(1, Duration.ofMillis(50));
+
+    @Nested
+    @DisplayName("call")
+    class Call {
+
+        @Test
+        @DisplayName("should run the update when a permit is free")
+        void should_RunUpdate_When_PermitIsFree() {
+            // Act
+            String result = bulkhead.call(() -> "done");
+
+            // Assert
+            assertThat(result).isEqualTo("done");
+        }
+
+        @Test
+        @DisplayName("should reject the update when every permit stays taken")
+        void should_RejectUpdate_When_PermitsStayTaken() throws Exception {
+            // Arrange
+            CountDownLatch running = new CountDownLatch(1);
+            CountDownLatch finish = new CountDownLatch(1);
+            CompletableFuture<String> holder = CompletableFuture.supplyAsync(() -> bulkhead.call(() -> {
+                running.countDown();
+                await(finish);
+                return "held";
+            }));
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // Act & Assert
+            assertThatThrownBy(() -> bulkhead.call(() -> "rejected"))
+                .isInstanceOf(StatusWritesBusyException.class);
+
+            finish.countDown();
+            assertThat(holder.get(5, TimeUnit.SECONDS)).isEqualTo("held");
+            assertThat(bulkhead.call(() -> "after")).isEqualTo("after");
+        }
+
+        @Test
+        @DisplayName("should release the permit when the update fails")
+        void should_ReleasePermit_When_UpdateFails() {
+            // Act
+            assertThatThrownBy(() -> bulkhead.call(() -> {
+                throw new IllegalStateException("boom");
+            })).isInstanceOf(IllegalStateException.class);
+
+            // Assert
+            assertThat(bulkhead.call(() -> "next")).isEqualTo("next");
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}